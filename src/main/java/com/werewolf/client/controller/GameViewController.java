@@ -31,7 +31,13 @@ public class GameViewController {
         List<Player> alivePlayers = update.getAlivePlayers();
         Map<String, Object> metadata = update.getMetadata();
 
-        if (alivePlayers != null && !alivePlayers.isEmpty()) {
+        if (update.isSnapshot()) {
+            model.setAlivePlayers(alivePlayers != null ? alivePlayers : List.of());
+        } else if (update.isDelta()) {
+            if (!update.getRemovedPlayerIds().isEmpty() || !update.getAddedPlayers().isEmpty()) {
+                model.applyAlivePlayersDelta(update.getRemovedPlayerIds(), update.getAddedPlayers());
+            }
+        } else if (alivePlayers != null && !alivePlayers.isEmpty()) {
             model.setAlivePlayers(alivePlayers);
         }
 
@@ -43,6 +49,9 @@ public class GameViewController {
         if (metadata.containsKey("role")) {
             model.setMyRole((String) metadata.get("role"));
         }
+        if (metadata.get("nightAction") instanceof String) {
+            model.setMyNightAction((String) metadata.get("nightAction"));
+        }
 
         // Fin de la partie
         if (phase == GameState.GAME_OVER) {
@@ -59,6 +68,12 @@ public class GameViewController {
             return;
         }
 
+        // Échéance de la phase, fournie par le serveur avec chaque changement de phase
+        if (metadata.get("phaseDeadline") instanceof Number && metadata.get("phaseDurationMs") instanceof Number) {
+            model.setPhaseTiming(((Number) metadata.get("phaseDeadline")).longValue(),
+                    ((Number) metadata.get("phaseDurationMs")).longValue());
+        }
+
         // Changement de phase → réinitialiser l'état de l'action
         if (phase != null && phase != model.getGamePhase()) {
             model.setGamePhase(phase);
@@ -83,6 +98,18 @@ public class GameViewController {
         }
     }
 
+    /**
+     * Reporte dans le journal le décompte diffusé par le serveur après chaque vote.
+     */
+    public void processVoteTally(Map<?, ?> tally) {
+        Object targetName = tally.get("targetName");
+        Object targetVotes = tally.get("targetVotes");
+        if (targetName == null || !(targetVotes instanceof Number)) return;
+
+        int votes = ((Number) targetVotes).intValue();
+        model.addEventLog("🗳️ " + targetName + " : " + votes + " voix");
+    }
+
     /**
      * Envoie la commande d'action de nuit appropriée en fonction du rôle du joueur.
      *
@@ -94,19 +121,11 @@ public class GameViewController {
         String targetId = model.findPlayerIdByUsername(targetUsername);
         if (targetId == null) return;
 
-        String role = model.getMyRole();
-        if (role == null) return;
+        // L'action est fournie par le serveur : les rôles ajoutés côté serveur n'exigent pas de mise à jour du client
+        String nightAction = model.getMyNightAction();
+        if (nightAction == null) return;
 
-        MessageType type = switch (role) {
-            case "Werewolf" -> MessageType.KILL;
-            case "Seer"     -> MessageType.PEEK;
-            case "Medic"    -> MessageType.HEAL;
-            default -> null;
-        };
-
-        if (type == null) return;
-
-        connectionManager.sendGameCommand(type, targetId, model.getMyUsername());
+        connectionManager.sendGameCommand(nightAction, targetId, model.getMyUsername());
         model.setHasActedThisPhase(true);
         model.setCanAct(false);
         model.addEventLog("Action envoyée. En attente des autres joueurs...");
@@ -129,6 +148,17 @@ public class GameViewController {
         model.addEventLog("Vote envoyé contre " + targetUsername + ". En attente des autres...");
     }
 
+    /**
+     * Signale au serveur que ce joueur est prêt à passer au vote.
+     */
+    public void markReady() {
+        if (model.getGamePhase() != GameState.DAY_DISCUSSION || model.isHasActedThisPhase()) return;
+
+        connectionManager.sendReady(model.getMyUsername());
+        model.setHasActedThisPhase(true);
+        model.addEventLog("Vous êtes prêt à voter. En attente des autres...");
+    }
+
     /**
      * Diffuse un message de chat aux autres joueurs.
      * @param message Contenu textuel du message.
@@ -14,6 +14,8 @@ import java.util.stream.Collectors;
 public class GameModel {
     private final String myUsername;
     private String myRole;
+    // Action de nuit annoncée par le serveur pour ce rôle (KILL, HEAL, PEEK...), null si le rôle dort
+    private String myNightAction;
     private GameState gamePhase;
     private List<Player> alivePlayers;
     private final List<String> eventLog;
@@ -21,6 +23,9 @@ public class GameModel {
     private boolean hasActedThisPhase;
     private String gameOverWinner;
     private Map<String, String> allRoles;
+    // Échéance de la phase en cours, fixée par le serveur (0 si inconnue)
+    private long phaseDeadline;
+    private long phaseDurationMs;
 
     private final List<PropertyChangeListener> listeners = new ArrayList<>();
 
@@ -41,6 +46,10 @@ public class GameModel {
         notifyListeners("myRole", old, role);
     }
 
+    public void setMyNightAction(String nightAction) {
+        this.myNightAction = nightAction;
+    }
+
     public void setGamePhase(GameState phase) {
         GameState old = this.gamePhase;
         this.gamePhase = phase;
@@ -53,6 +62,29 @@ public class GameModel {
         notifyListeners("alivePlayers", old, this.alivePlayers);
     }
 
+    /**
+     * Applique un delta du serveur : retire les joueurs éliminés ou partis, ajoute les nouveaux.
+     */
+    public void applyAlivePlayersDelta(List<String> removedIds, List<Player> added) {
+        List<Player> old = this.alivePlayers;
+        List<Player> updated = new ArrayList<>(old.size() + added.size());
+        for (Player player : old) {
+            if (!removedIds.contains(player.getId())) {
+                updated.add(player);
+            }
+        }
+        updated.addAll(added);
+        this.alivePlayers = updated;
+        notifyListeners("alivePlayers", old, this.alivePlayers);
+    }
+
+    public void setPhaseTiming(long deadline, long durationMs) {
+        long old = this.phaseDeadline;
+        this.phaseDeadline = deadline;
+        this.phaseDurationMs = durationMs;
+        notifyListeners("phaseDeadline", old, deadline);
+    }
+
     public void addEventLog(String message) {
         this.eventLog.add(message);
         notifyListeners("eventLog", null, message);
@@ -84,6 +116,7 @@ public class GameModel {
 
     public String getMyUsername() { return myUsername; }
     public String getMyRole() { return myRole; }
+    public String getMyNightAction() { return myNightAction; }
     public GameState getGamePhase() { return gamePhase; }
     public List<Player> getAlivePlayers() { return new ArrayList<>(alivePlayers); }
     public List<String> getEventLog() { return new ArrayList<>(eventLog); }
@@ -91,9 +124,11 @@ public class GameModel {
     public boolean isHasActedThisPhase() { return hasActedThisPhase; }
     public String getGameOverWinner() { return gameOverWinner; }
     public Map<String, String> getAllRoles() { return new HashMap<>(allRoles); }
+    public long getPhaseDeadline() { return phaseDeadline; }
+    public long getPhaseDurationMs() { return phaseDurationMs; }
 
     /**
-     * Trouve l'identifiant attribué par le serveur au joueur (par ex. "Player-43210")
+     * Trouve l'identifiant attribué par le serveur au joueur (par ex. "Player-42")
      * à partir du nom d'utilisateur affiché.
      */
     public String findPlayerIdByUsername(String username) {
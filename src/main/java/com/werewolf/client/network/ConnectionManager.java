@@ -5,6 +5,9 @@ import com.werewolf.client.model.MainMenuModel;
 import com.werewolf.event.GameStateUpdate;
 import com.werewolf.network.shared.JoinGameRequest;
 import com.werewolf.network.shared.Message;
+import com.werewolf.network.shared.MessageCodec;
+import com.werewolf.network.shared.MessageCodecs;
+import com.werewolf.network.shared.MessageFraming;
 import com.werewolf.network.shared.MessageType;
 import com.werewolf.network.shared.PlayerListUpdate;
 import com.werewolf.security.CertificateManager;
@@ -12,12 +15,16 @@ import com.werewolf.security.SSLContextFactory;
 
 import com.werewolf.network.shared.GameCommand;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import java.io.OutputStream;
 import java.net.SocketTimeoutException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
 
 import javax.net.ssl.SSLContext;
@@ -26,12 +33,18 @@ import javax.net.ssl.SSLSocketFactory;
 
 public class ConnectionManager {
     private static final String DEFAULT_STORE_PASSWORD = "werewolf";
+    // Tentatives de reprise après une coupure, espacées de 1, 2, 4, 8 puis 16 s : de quoi couvrir le délai de grâce du serveur
+    private static final int RESUME_ATTEMPTS = 5;
+    private static final long RESUME_BACKOFF_MS = 1_000;
     private final MainMenuModel model;
     private final Consumer<Boolean> onConnectionResult;
 
     private SSLSocket socket;
-    private ObjectOutputStream out;
-    private ObjectInputStream in;
+    private OutputStream out;
+    private DataInputStream in;
+    private final Object outLock = new Object();
+    // Codec des trames envoyées, fixé par la négociation CONNECT
+    private volatile MessageCodec codec = MessageCodecs.BINARY;
     private volatile boolean disconnectRequested;
 
     /**
@@ -41,12 +54,26 @@ public class ConnectionManager {
      */
     private volatile Consumer<GameStateUpdate> gameStateUpdateHandler = null;
     private final List<GameStateUpdate> pendingGameUpdates = new ArrayList<>();
+    private volatile Consumer<Map<?, ?>> voteTallyHandler = null;
+    private volatile Consumer<Map<?, ?>> leaderboardHandler = null;
+
+    // Dernier numéro du flux d'état appliqué ; les deltas ne sont acceptés que dans l'ordre
+    private long lastSequence;
+    private boolean awaitingSnapshot;
+
+    private volatile ConnectionConfig config;
+    // Jeton remis par le serveur à l'arrivée dans la session : une nouvelle connexion reprend la place avec
+    private volatile String resumeToken;
 
     public ConnectionManager(MainMenuModel model, Consumer<Boolean> onConnectionResult) {
         this.model = model;
         this.onConnectionResult = onConnectionResult;
     }
 
+    /**
+     * Contexte partagé par toutes les connexions du processus : une reconnexion présente le ticket de la session
+     * précédente et la reprend en un aller-retour, sans nouvel échange de certificats.
+     */
     private static SSLContext createSslContext() {
         try {
             String storePassword = loadStorePassword();
@@ -91,22 +118,11 @@ public class ConnectionManager {
     }
 
     private void connect(ConnectionConfig config) throws IOException {
+        this.config = config;
         model.setStatusMessage("Connecting to " + config.getIpAddress() + ":" + config.getPort() + "...");
 
-        SSLContext sslContext = createSslContext();
-        SSLSocketFactory factory = sslContext.getSocketFactory();
-        socket = (SSLSocket) factory.createSocket(
-            config.getIpAddress(),
-            config.getPort()
-        );
-
-        socket.setEnabledProtocols(new String[]{"TLSv1.2", "TLSv1.3"});
-        socket.startHandshake();
-
-        out = new ObjectOutputStream(socket.getOutputStream());
-        out.flush();
-        in = new ObjectInputStream(socket.getInputStream());
-
+        openSocket(config);
+        negotiateCodec(config.getUsername());
         sendJoinGame(config.getUsername());
 
         Message joinResponse = awaitJoinResponse();
@@ -130,6 +146,78 @@ public class ConnectionManager {
         onConnectionResult.accept(true);
     }
 
+    private void openSocket(ConnectionConfig config) throws IOException {
+        SSLContext sslContext = createSslContext();
+        SSLSocketFactory factory = sslContext.getSocketFactory();
+        socket = (SSLSocket) factory.createSocket(
+            config.getIpAddress(),
+            config.getPort()
+        );
+
+        socket.setEnabledProtocols(new String[]{"TLSv1.2", "TLSv1.3"});
+        socket.startHandshake();
+
+        out = new BufferedOutputStream(socket.getOutputStream());
+        in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+    }
+
+    /**
+     * Reprend la place du joueur après une coupure : nouvelle connexion, puis {@code RESUME} avec le jeton
+     * et le dernier numéro du flux d'état appliqué ; le serveur ne renvoie que les mises à jour manquées.
+     * Appelé depuis le thread d'écoute, qui s'arrête ensuite.
+     *
+     * @return {@code true} si la place a été reprise et l'écoute relancée
+     */
+    private boolean resume() {
+        String token = resumeToken;
+        ConnectionConfig current = config;
+        if (token == null || current == null) {
+            return false;
+        }
+        for (int attempt = 0; attempt < RESUME_ATTEMPTS && !disconnectRequested; attempt++) {
+            model.setStatusMessage("Connection lost, reconnecting (" + (attempt + 1) + "/" + RESUME_ATTEMPTS + ")...");
+            try {
+                Thread.sleep(RESUME_BACKOFF_MS << attempt);
+                closeSocket();
+                openSocket(current);
+                negotiateCodec(current.getUsername());
+                awaitingSnapshot = false;
+                Map<String, Object> request = new HashMap<>();
+                request.put("token", token);
+                request.put("lastSequence", lastSequence);
+                send(new Message(MessageType.RESUME, current.getUsername(), request));
+
+                Message response = awaitJoinResponse();
+                if (response != null && response.getType() == MessageType.PLAYER_LIST_UPDATE) {
+                    model.setStatusMessage("Reconnected.");
+                    startListener();
+                    return true;
+                }
+                if (response != null) {
+                    // Délai de grâce écoulé : la place n'existe plus
+                    resumeToken = null;
+                    return false;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } catch (IOException e) {
+                System.err.println("Reconnection attempt failed: " + e.getMessage());
+            }
+        }
+        return false;
+    }
+
+    private void closeSocket() {
+        try {
+            if (socket != null && !socket.isClosed()) {
+                socket.close();
+            }
+        } catch (IOException e) {
+            System.err.println("Error closing socket: " + e.getMessage());
+        }
+    }
+
     private void handleConnectionError(Exception e) {
         if (disconnectRequested) {
             return;
@@ -161,32 +249,56 @@ public class ConnectionManager {
         try {
             JoinGameRequest request = new JoinGameRequest(username);
             Message message = new Message(MessageType.JOIN_GAME, username, request);
-            out.writeObject(message);
-            out.flush();
+            send(message);
         } catch (IOException e) {
             handleConnectionError(e);
         }
     }
 
-    private Message awaitJoinResponse() throws IOException {
+    /**
+     * Annonce les codecs acceptés par ce client et adopte celui retenu par le serveur.
+     */
+    private void negotiateCodec(String username) throws IOException {
+        send(new Message(MessageType.CONNECT, username, MessageCodecs.CLIENT_OFFER));
         int previousTimeout = socket.getSoTimeout();
         socket.setSoTimeout(5000);
         try {
             while (true) {
-                Object incoming = in.readObject();
-                if (incoming instanceof Message) {
-                    Message message = (Message) incoming;
-                    if (message.getType() == MessageType.PLAYER_LIST_UPDATE || message.getType() == MessageType.ERROR) {
-                        handleIncomingMessage(message);
-                        return message;
+                Message message = MessageFraming.read(in);
+                if (message.getType() == MessageType.CONNECT) {
+                    MessageCodec chosen = MessageCodecs.forName(String.valueOf(message.getContent()));
+                    if (chosen == null) {
+                        throw new IOException("Server chose an unknown codec: " + message.getContent());
                     }
+                    codec = chosen;
+                    return;
+                }
+                if (message.getType() == MessageType.ERROR) {
+                    throw new IOException(String.valueOf(message.getContent()));
+                }
+                handleIncomingMessage(message);
+            }
+        } catch (SocketTimeoutException e) {
+            throw new IOException("Protocol negotiation timed out");
+        } finally {
+            socket.setSoTimeout(previousTimeout);
+        }
+    }
+
+    private Message awaitJoinResponse() throws IOException {
+        int previousTimeout = socket.getSoTimeout();
+        socket.setSoTimeout(5000);
+        try {
+            while (true) {
+                Message message = MessageFraming.read(in);
+                if (message.getType() == MessageType.PLAYER_LIST_UPDATE || message.getType() == MessageType.ERROR) {
                     handleIncomingMessage(message);
+                    return message;
                 }
+                handleIncomingMessage(message);
             }
         } catch (SocketTimeoutException e) {
             return null;
-        } catch (ClassNotFoundException e) {
-            throw new IOException("Failed to read join response", e);
         } finally {
             socket.setSoTimeout(previousTimeout);
         }
@@ -198,8 +310,33 @@ public class ConnectionManager {
         }
         try {
             Message message = new Message(MessageType.START_GAME, username, "start");
-            out.writeObject(message);
-            out.flush();
+            send(message);
+        } catch (IOException e) {
+            handleConnectionError(e);
+        }
+    }
+
+    public void sendReady(String username) {
+        if (!isConnected() || out == null) {
+            return;
+        }
+        try {
+            send(new Message(MessageType.READY, username, null));
+        } catch (IOException e) {
+            handleConnectionError(e);
+        }
+    }
+
+    /**
+     * Demande un classement par son nom (voir {@code Leaderboard}) ; la réponse parvient au gestionnaire
+     * enregistré par {@link #setLeaderboardHandler}.
+     */
+    public void requestLeaderboard(String board) {
+        if (!isConnected() || out == null) {
+            return;
+        }
+        try {
+            send(new Message(MessageType.LEADERBOARD, model.getUsername(), board));
         } catch (IOException e) {
             handleConnectionError(e);
         }
@@ -209,13 +346,10 @@ public class ConnectionManager {
         Thread listenerThread = new Thread(() -> {
             try {
                 while (socket != null && socket.isConnected()) {
-                    Object incoming = in.readObject();
-                    if (incoming instanceof Message) {
-                        handleIncomingMessage((Message) incoming);
-                    }
+                    handleIncomingMessage(MessageFraming.read(in));
                 }
-            } catch (IOException | ClassNotFoundException e) {
-                if (!disconnectRequested) {
+            } catch (IOException e) {
+                if (!disconnectRequested && !resume()) {
                     handleConnectionError(e);
                 }
             }
@@ -226,6 +360,14 @@ public class ConnectionManager {
 
     private void handleIncomingMessage(Message message) {
         switch (message.getType()) {
+            case PING:
+                // Battement de cœur du serveur : le contenu est renvoyé tel quel pour mesurer l'aller-retour
+                try {
+                    send(new Message(MessageType.PONG, model.getUsername(), message.getContent()));
+                } catch (IOException e) {
+                    // La perte de connexion sera constatée par la prochaine lecture
+                }
+                break;
             case PLAYER_LIST_UPDATE:
                 Object content = message.getContent();
                 if (content instanceof PlayerListUpdate) {
@@ -243,11 +385,30 @@ public class ConnectionManager {
             case GAME_STATE_UPDATE:
                 Object updateContent = message.getContent();
                 if (updateContent instanceof GameStateUpdate gameUpdate) {
-                    routeGameStateUpdate(gameUpdate);
+                    if (acceptInSequence(gameUpdate)) {
+                        routeGameStateUpdate(gameUpdate);
+                    }
                 } else if (updateContent != null) {
                     model.setStatusMessage(updateContent.toString());
                 }
                 break;
+            case VOTE_TALLY:
+                Consumer<Map<?, ?>> tallyHandler = voteTallyHandler;
+                if (tallyHandler != null && message.getContent() instanceof Map<?, ?> tally) {
+                    tallyHandler.accept(tally);
+                }
+                break;
+            case SESSION_TOKEN:
+                if (message.getContent() instanceof Map<?, ?> session && session.get("token") instanceof String token) {
+                    resumeToken = token;
+                }
+                break;
+            case LEADERBOARD:
+                Consumer<Map<?, ?>> boardHandler = leaderboardHandler;
+                if (boardHandler != null && message.getContent() instanceof Map<?, ?> board) {
+                    boardHandler.accept(board);
+                }
+                break;
             case ERROR:
                 if (message.getContent() != null) {
                     model.setStatusMessage("Server error: " + message.getContent());
@@ -260,6 +421,39 @@ public class ConnectionManager {
         }
     }
 
+    /**
+     * Vérifie la continuité du flux d'état. Un trou (message écarté par le serveur, par exemple) déclenche
+     * une demande d'instantané ; les deltas reçus d'ici là sont ignorés. Appelé depuis le seul thread d'écoute.
+     */
+    private boolean acceptInSequence(GameStateUpdate update) {
+        long sequence = update.getSequence();
+        if (sequence == 0) {
+            return true;
+        }
+        if (update.isSnapshot()) {
+            lastSequence = sequence;
+            awaitingSnapshot = false;
+            return true;
+        }
+        if (!awaitingSnapshot && sequence == lastSequence + 1) {
+            lastSequence = sequence;
+            return true;
+        }
+        if (!awaitingSnapshot) {
+            awaitingSnapshot = true;
+            requestResync();
+        }
+        return false;
+    }
+
+    private void requestResync() {
+        try {
+            send(new Message(MessageType.RESYNC, model.getUsername(), lastSequence));
+        } catch (IOException e) {
+            handleConnectionError(e);
+        }
+    }
+
     private void routeGameStateUpdate(GameStateUpdate update) {
         Consumer<GameStateUpdate> handler = gameStateUpdateHandler;
         if (handler != null) {
@@ -276,6 +470,17 @@ public class ConnectionManager {
         }
     }
 
+    /**
+     * Enregistre le gestionnaire des décomptes de votes diffusés pendant la phase de vote.
+     */
+    public void setVoteTallyHandler(Consumer<Map<?, ?>> handler) {
+        this.voteTallyHandler = handler;
+    }
+
+    public void setLeaderboardHandler(Consumer<Map<?, ?>> handler) {
+        this.leaderboardHandler = handler;
+    }
+
     /**
      * Enregistre le gestionnaire de messages liés à la phase de jeu. Réplique immédiatement
      * toutes les mises à jour arrivées avant l'initialisation de la vue de jeu
@@ -312,19 +517,37 @@ public class ConnectionManager {
         try {
             GameCommand cmd = new GameCommand(type.name(), targetId);
             Message message = new Message(type, senderUsername, cmd);
-            out.writeObject(message);
-            out.flush();
+            send(message);
         } catch (IOException e) {
             handleConnectionError(e);
         }
     }
 
-    public ObjectOutputStream getOutputStream() {
-        return out;
+    /**
+     * Envoie une action nommée par le serveur. Les actions du jeu de base gardent leur type de message ;
+     * celles déclarées par un fournisseur de rôles partent en {@link MessageType#ACTION}.
+     */
+    public void sendGameCommand(String action, String targetId, String senderUsername) {
+        if (!isConnected() || out == null) return;
+        MessageType type;
+        try {
+            type = MessageType.valueOf(action);
+        } catch (IllegalArgumentException e) {
+            type = MessageType.ACTION;
+        }
+        try {
+            send(new Message(type, senderUsername, new GameCommand(action, targetId)));
+        } catch (IOException e) {
+            handleConnectionError(e);
+        }
     }
 
-    public ObjectInputStream getInputStream() {
-        return in;
+    private void send(Message message) throws IOException {
+        byte[] frame = codec.encode(message);
+        synchronized (outLock) {
+            out.write(frame);
+            out.flush();
+        }
     }
 
     public boolean isConnected() {
@@ -390,19 +390,15 @@ public class GameView {
         if (phaseTimer != null) {
             phaseTimer.stop();
         }
-        
-        timeRemaining = switch (phase) {
-            case NIGHT -> 30;           // 30 secondes pour la nuit
-            case DAY_DISCUSSION -> 60;  // 60 secondes pour débattre
-            case DAY_VOTING -> 30;      // 30 secondes pour voter
-            default -> 0;
-        };
+
+        boolean timedPhase = phase == GameState.NIGHT || phase == GameState.DAY_DISCUSSION || phase == GameState.DAY_VOTING;
+        timeRemaining = timedPhase ? secondsUntilDeadline() : 0;
 
         if (timeRemaining > 0) {
             timerLabel.setVisible(true);
             timerLabel.setText(formatTime(timeRemaining));
             phaseTimer = new Timeline(new KeyFrame(Duration.seconds(1), e -> {
-                timeRemaining--;
+                timeRemaining = secondsUntilDeadline();
                 if (timeRemaining <= 0) {
                     timeRemaining = 0;
                     phaseTimer.stop();
@@ -416,6 +412,20 @@ public class GameView {
         }
     }
 
+    /**
+     * Temps restant d'après l'échéance envoyée par le serveur, borné par la durée de la phase
+     * pour rester lisible si l'horloge locale est décalée.
+     */
+    private int secondsUntilDeadline() {
+        long deadline = model.getPhaseDeadline();
+        long duration = model.getPhaseDurationMs();
+        if (deadline <= 0 || duration <= 0) {
+            return 0;
+        }
+        long remaining = Math.max(0, Math.min(duration, deadline - System.currentTimeMillis()));
+        return (int) ((remaining + 999) / 1000);
+    }
+
     private String formatTime(int seconds) {
         int m = seconds / 60;
         int s = seconds % 60;
@@ -438,10 +448,11 @@ public class GameView {
                     actionPromptLabel.setText("🌙 Phase de nuit — fermez les yeux…");
                     hideTargetList();
                 } else {
-                    String prompt = switch (myRole) {
-                        case "Werewolf" -> "🐺 Choisissez une victime à éliminer :";
-                        case "Seer"     -> "👁️ Choisissez un joueur à investiguer :";
-                        case "Medic"    -> "💊 Choisissez un joueur à protéger :";
+                    String nightAction = model.getMyNightAction() != null ? model.getMyNightAction() : "";
+                    String prompt = switch (nightAction) {
+                        case "KILL" -> "🐺 Choisissez une victime à éliminer :";
+                        case "PEEK" -> "👁️ Choisissez un joueur à investiguer :";
+                        case "HEAL" -> "💊 Choisissez un joueur à protéger :";
                         default -> "🌙 Phase de nuit — fermez les yeux…";
                     };
                     actionPromptLabel.setText(prompt);
@@ -453,8 +464,14 @@ public class GameView {
                 }
             }
             case DAY_DISCUSSION -> {
-                actionPromptLabel.setText("☀️ Discutez avec le village. Le vote commence bientôt…");
                 hideTargetList();
+                if (isAlive && !model.isHasActedThisPhase()) {
+                    actionPromptLabel.setText("☀️ Discutez avec le village. Prêt ? Passez au vote sans attendre :");
+                    actionButton.setText("Prêt à voter");
+                    actionButton.setDisable(false);
+                } else {
+                    actionPromptLabel.setText("☀️ Discutez avec le village. Le vote commence bientôt…");
+                }
             }
             case DAY_VOTING -> {
                 if (!isAlive) {
@@ -551,6 +568,10 @@ public class GameView {
     // ─────────────────────────── Gestionnaire d'actions ───────────────────────────────
 
     private void handleActionClick() {
+        if (model.getGamePhase() == GameState.DAY_DISCUSSION) {
+            controller.markReady();
+            return;
+        }
         String selected = targetListView.getSelectionModel().getSelectedItem();
         if (selected == null) {
             actionPromptLabel.setText("⚠️ Veuillez sélectionner un joueur !");
@@ -223,6 +223,7 @@ public class MainMenuView extends Application {
         );
         // Enregistrer le gestionnaire d'abord — cela rejoue également toutes les mises à jour mises en mémoire tampon (ex: assignation de rôle)
         controller.getConnectionManager().setGameStateUpdateHandler(gameViewController::processGameStateUpdate);
+        controller.getConnectionManager().setVoteTallyHandler(gameViewController::processVoteTally);
 
         activeGameView = new GameView(primaryStage, gameModel, gameViewController, this::closeAfterGameOver);
         activeGameView.show();
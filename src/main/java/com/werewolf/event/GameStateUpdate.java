@@ -4,17 +4,29 @@ import com.werewolf.game.GameState;
 import com.werewolf.game.Player;
 
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+/**
+ * Mise à jour de l'état d'une partie.
+ * Dans le processus serveur, elle porte la liste complète des joueurs en vie. Sur le réseau, les diffusions
+ * forment un flux numéroté : un instantané complet ({@link #isSnapshot()}) à l'arrivée ou sur demande de
+ * resynchronisation, puis des deltas ne portant que les joueurs retirés ou ajoutés depuis le numéro précédent.
+ * Un numéro de séquence nul désigne un message hors flux (message privé), sans liste de joueurs.
+ */
 public class GameStateUpdate implements Serializable {
-    private static final long serialVersionUID = 1L;
+    private static final long serialVersionUID = 2L;
 
     private String message;
     private GameState newPhase;
     private List<Player> alivePlayers;
     private Map<String, Object> metadata;
+    private long sequence;
+    private boolean snapshot;
+    private List<String> removedPlayerIds = Collections.emptyList();
+    private List<Player> addedPlayers = Collections.emptyList();
 
     public GameStateUpdate(String message, GameState phase, List<Player> alive) {
         this.message = message;
@@ -30,6 +42,29 @@ public class GameStateUpdate implements Serializable {
         this.metadata = (metadata != null) ? new HashMap<>(metadata) : new HashMap<>();
     }
 
+    /**
+     * Instantané complet au numéro {@code sequence} du flux de la session.
+     */
+    public static GameStateUpdate snapshot(long sequence, String message, GameState phase, List<Player> alive,
+            Map<String, Object> metadata) {
+        GameStateUpdate update = new GameStateUpdate(message, phase, alive, metadata);
+        update.sequence = sequence;
+        update.snapshot = true;
+        return update;
+    }
+
+    /**
+     * Delta au numéro {@code sequence} : s'applique à l'état du numéro précédent.
+     */
+    public static GameStateUpdate delta(long sequence, String message, GameState phase, List<String> removedPlayerIds,
+            List<Player> addedPlayers, Map<String, Object> metadata) {
+        GameStateUpdate update = new GameStateUpdate(message, phase, null, metadata);
+        update.sequence = sequence;
+        update.removedPlayerIds = removedPlayerIds;
+        update.addedPlayers = addedPlayers;
+        return update;
+    }
+
     public String getMessage() {
         return message;
     }
@@ -49,4 +84,24 @@ public class GameStateUpdate implements Serializable {
     public void addMetadata(String key, Object value) {
         this.metadata.put(key, value);
     }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public boolean isSnapshot() {
+        return snapshot;
+    }
+
+    public boolean isDelta() {
+        return sequence > 0 && !snapshot;
+    }
+
+    public List<String> getRemovedPlayerIds() {
+        return removedPlayerIds;
+    }
+
+    public List<Player> getAddedPlayers() {
+        return addedPlayers;
+    }
 }
\ No newline at end of file
@@ -1,12 +1,20 @@
 package com.werewolf.game;
 
 import com.werewolf.event.GameStateUpdate;
-import com.werewolf.game.role.MedicRole;
+import com.werewolf.game.action.ActionType;
+import com.werewolf.game.action.NightResolution;
+import com.werewolf.game.action.NightStage;
+import com.werewolf.game.replay.GameInput;
+import com.werewolf.game.replay.InputLog;
+import com.werewolf.game.role.Faction;
 import com.werewolf.game.role.PlayerRole;
-import com.werewolf.game.role.SeerRole;
-import com.werewolf.game.role.VillagerRole;
-import com.werewolf.game.role.WerewolfRole;
-import com.werewolf.network.server.PlayerConnectionManager;
+import com.werewolf.game.role.RoleDefinition;
+import com.werewolf.game.role.RoleRegistry;
+import com.werewolf.game.snapshot.SessionSnapshot;
+import com.werewolf.game.stats.GameSummary;
+import com.werewolf.game.stats.GameSummaryListener;
+import com.werewolf.game.store.EventSink;
+import com.werewolf.game.store.GameEvent;
 import com.werewolf.network.shared.GameCommand;
 import com.werewolf.network.shared.Message;
 import com.werewolf.network.shared.MessageType;
@@ -17,50 +25,145 @@ import com.werewolf.validation.ValidationResult;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
-
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Déroulement d'une partie : rôles, phases, actions de nuit et votes.
+ * Toutes les méthodes publiques doivent être appelées depuis la {@link SessionMailbox} de la session ;
+ * les échéances de phase y sont elles-mêmes déposées, si bien que l'état n'est jamais modifié en parallèle.
+ * Tout le hasard de la partie vient d'une graine : avec la même graine et les mêmes entrées, dans le même
+ * ordre, la partie se déroule à l'identique. Ces entrées sont transmises au {@link InputLog} de la session,
+ * et les faits marquants de la partie (phases, votes, actions de nuit, morts, discussion) à son {@link EventSink}.
+ * En fin de partie, un bilan par joueur est remis au {@link GameSummaryListener}.
+ * L'état complet se capture par {@link #snapshot()} et se recharge par {@link #restore}, pour reprendre
+ * une partie après un arrêt du serveur.
+ */
 public class GameManager {
-    private static final long NIGHT_DURATION_MS = 30000;
-    private static final long DAY_DISCUSSION_MS = 45000;
-    private static final long DAY_VOTING_MS = 30000;
-
     private final GameSession session;
+    private final PlayerMessenger connections;
     private final CommandOrchestrator orchestrator;
-    private final ScheduledExecutorService scheduler;
-    private final Random random;
-
-    private ScheduledFuture<?> phaseTimer;
+    private final SessionMailbox mailbox;
+    private final PhaseScheduler scheduler;
+    private final RoleRegistry roles;
+    private final long seed;
+    private final GameRandom random;
+    private InputLog inputLog = InputLog.NONE;
+    private EventSink events = EventSink.NONE;
+    private GameSummaryListener summaryListener = GameSummaryListener.NONE;
+
+    private PhaseConfig phaseConfig;
+    private Faction winner;
+    private Timeout phaseTimer;
+    // Action de l'échéance en cours et heure prévue, conservées pour l'instantané
+    private Runnable phaseTask;
+    private long phaseDeadline;
+    // Incrémenté à chaque arrêt du minuteur : une échéance déjà déposée dans la boîte pour une phase révolue est ignorée
+    private long phaseEpoch;
+
+    // Choix et effets de la nuit en cours ; étapes de résolution dans l'ordre de priorité des rôles
+    private final NightResolution night;
+    private final NightStage[] nightStages;
+    // Votes et visions de chaque joueur, pour le bilan de fin de partie
+    private final GameSummary.Builder summary = new GameSummary.Builder();
+    // Joueurs prêts à passer au vote pendant la discussion
+    private final Set<String> readyPlayers = new HashSet<>();
+
+    public GameManager(GameSession session, PlayerMessenger connections, SessionMailbox mailbox,
+            PhaseScheduler scheduler, PhaseConfig phaseConfig) {
+        this(session, connections, mailbox, scheduler, phaseConfig, RoleRegistry.getDefault());
+    }
 
-    private final Map<String, String> nightKills = new ConcurrentHashMap<>();
-    private final Map<String, String> nightHeals = new ConcurrentHashMap<>();
-    private final Map<String, String> nightPeeks = new ConcurrentHashMap<>();
+    public GameManager(GameSession session, PlayerMessenger connections, SessionMailbox mailbox,
+            PhaseScheduler scheduler, PhaseConfig phaseConfig, RoleRegistry roles) {
+        this(session, connections, mailbox, scheduler, phaseConfig, roles, ThreadLocalRandom.current().nextLong());
+    }
 
-    public GameManager(GameSession session) {
+    public GameManager(GameSession session, PlayerMessenger connections, SessionMailbox mailbox,
+            PhaseScheduler scheduler, PhaseConfig phaseConfig, RoleRegistry roles, long seed) {
         this.session = session;
+        this.connections = connections;
         this.orchestrator = new CommandOrchestrator(session);
-        this.scheduler = Executors.newSingleThreadScheduledExecutor();
-        this.random = new Random();
+        this.mailbox = mailbox;
+        this.scheduler = scheduler;
+        this.phaseConfig = phaseConfig;
+        this.roles = roles;
+        this.seed = seed;
+        this.random = new GameRandom(seed);
+        this.night = new NightResolution(session, random);
+        this.nightStages = roles.getNightStages();
+    }
+
+    /**
+     * Branche le journal des entrées ; la graine et les durées de phase y sont écrites aussitôt.
+     * À appeler avant l'arrivée du premier joueur.
+     */
+    public void setInputLog(InputLog inputLog) {
+        this.inputLog = inputLog;
+        inputLog.append(GameInput.seed(scheduler.currentTimeMillis(), seed, session.getSessionId(), phaseConfig));
+    }
+
+    public void setEventSink(EventSink events) {
+        this.events = events;
+    }
+
+    public void setGameSummaryListener(GameSummaryListener summaryListener) {
+        this.summaryListener = summaryListener;
+    }
+
+    private void recordEvent(GameEvent.Type type, String actorId, String targetId, String text) {
+        events.record(new GameEvent(type, scheduler.currentTimeMillis(), session.getSessionId(), actorId, targetId,
+                text));
+    }
+
+    /**
+     * Ajoute un joueur à la session ; le premier arrivé en devient l'administrateur.
+     */
+    public Player addPlayer(String playerId, String username) {
+        inputLog.append(GameInput.join(scheduler.currentTimeMillis(), playerId, username));
+        Player player = new Player(playerId, username);
+        session.addPlayer(player);
+        session.assignAdminIfNeeded();
+        return player;
+    }
+
+    public void removePlayer(String playerId) {
+        inputLog.append(GameInput.leave(scheduler.currentTimeMillis(), playerId));
+        summary.leave(playerId);
+        session.removePlayer(playerId);
+        // Le départ d'un joueur qui traînait peut laisser une discussion où tous les autres sont prêts
+        readyPlayers.remove(playerId);
+        advanceIfAllReady();
     }
 
     public CommandExecutionResult startGame(String requesterId) {
+        return startGame(requesterId, null);
+    }
+
+    /**
+     * Lance la partie avec, éventuellement, des durées de phase propres à cette session.
+     *
+     * @param overrides réglages demandés par l'administrateur (voir {@link PhaseConfig#withOverrides}), ou {@code null}
+     */
+    public CommandExecutionResult startGame(String requesterId, Map<?, ?> overrides) {
+        inputLog.append(GameInput.start(scheduler.currentTimeMillis(), requesterId, overrides));
         if (session.getCurrentPhase() != GameState.LOBBY) {
             return CommandExecutionResult.failed("Game already started");
         }
         if (requesterId == null || !requesterId.equals(session.getAdminId())) {
             return CommandExecutionResult.failed("Only the admin can start the game");
         }
-        if (session.getAlivePlayers().size() < 3) {
+        if (session.getAliveCount() < 3) {
             return CommandExecutionResult.failed("Not enough players to start (min 3)");
         }
 
+        phaseConfig = phaseConfig.withOverrides(overrides);
+        recordEvent(GameEvent.Type.GAME_STARTED, requesterId, null, Long.toString(seed));
         assignRoles();
+        session.getPlayersInJoinOrder().forEach(summary::seat);
         broadcastGameStarted();
         transitionTo(GameState.NIGHT, "Night falls. All villagers close their eyes.");
         return CommandExecutionResult.success();
@@ -68,67 +171,96 @@ public class GameManager {
 
     private void broadcastGameStarted() {
         Message started = new Message(MessageType.GAME_STARTED, "Server", "Game started");
-        PlayerConnectionManager.broadcastToAll(started);
+        connections.broadcastToAll(started);
+    }
+
+    /**
+     * Consigne un message de discussion publié par {@code playerId} ; la diffusion reste à l'appelant.
+     */
+    public void recordChat(String playerId, String text) {
+        recordEvent(GameEvent.Type.CHAT, playerId, null, text);
     }
 
     public CommandExecutionResult handleCommand(String playerId, GameCommand cmd) {
+        inputLog.append(GameInput.command(scheduler.currentTimeMillis(), playerId, cmd.getActionType(),
+                cmd.getTargetPlayerId()));
         ValidationResult validation = orchestrator.validateCommand(playerId, cmd);
         if (!validation.isValid()) {
             return CommandExecutionResult.failed(validation.getErrorMessage());
         }
 
-        String actionType = cmd.getActionType().toUpperCase();
-        switch (actionType) {
-            case "KILL" -> {
-                nightKills.put(playerId, cmd.getTargetPlayerId());
-                if (nightActionsComplete()) {
-                    resolveNightPhase();
-                }
-            }
-            case "HEAL" -> {
-                nightHeals.put(playerId, cmd.getTargetPlayerId());
-                if (nightActionsComplete()) {
-                    resolveNightPhase();
-                }
+        ActionType action = cmd.getAction();
+        if (action == null) {
+            return CommandExecutionResult.failed("Unsupported action type: " + cmd.getActionType());
+        }
+        if (action == ActionType.VOTE) {
+            recordEvent(GameEvent.Type.VOTE, playerId, cmd.getTargetPlayerId(), null);
+            String previous = session.recordVote(playerId, cmd.getTargetPlayerId());
+            broadcastVoteTally(playerId, cmd.getTargetPlayerId(), previous);
+            if (votesComplete()) {
+                resolveVotingPhase();
             }
-            case "PEEK" -> {
-                nightPeeks.put(playerId, cmd.getTargetPlayerId());
-                if (nightActionsComplete()) {
-                    resolveNightPhase();
-                }
-            }
-            case "VOTE" -> {
-                session.recordVote(playerId, cmd.getTargetPlayerId());
-                if (votesComplete()) {
-                    resolveVotingPhase();
-                }
-            }
-            default -> {
-                return CommandExecutionResult.failed("Unsupported action type: " + actionType);
+        } else {
+            recordEvent(GameEvent.Type.NIGHT_ACTION, playerId, cmd.getTargetPlayerId(), action.name());
+            night.choose(action, playerId, cmd.getTargetPlayerId());
+            if (nightActionsComplete()) {
+                resolveNightPhase();
             }
         }
 
         return CommandExecutionResult.success();
     }
 
+    /**
+     * Déclare un joueur prêt à passer au vote. Lorsque tous les joueurs en vie le sont,
+     * la discussion s'achève sans attendre son échéance (si la règle est active pour la session).
+     */
+    public CommandExecutionResult handleReady(String playerId) {
+        inputLog.append(GameInput.ready(scheduler.currentTimeMillis(), playerId));
+        if (session.getCurrentPhase() != GameState.DAY_DISCUSSION) {
+            return CommandExecutionResult.failed("Ready is only available during the discussion");
+        }
+        Player player = session.getPlayer(playerId);
+        if (player == null || !player.isAlive()) {
+            return CommandExecutionResult.failed("Only alive players can ready up");
+        }
+        if (!readyPlayers.add(playerId)) {
+            return CommandExecutionResult.success();
+        }
+
+        int alive = session.getAliveCount();
+        session.notifySessionUpdate(player.getUsername() + " is ready to vote (" + readyPlayers.size() + "/" + alive + ").");
+        advanceIfAllReady();
+        return CommandExecutionResult.success();
+    }
+
+    private void advanceIfAllReady() {
+        if (session.getCurrentPhase() == GameState.DAY_DISCUSSION && phaseConfig.isAdvanceWhenReady()
+                && !readyPlayers.isEmpty() && readyPlayers.size() >= session.getAliveCount()) {
+            startVotingPhase();
+        }
+    }
+
     private void transitionTo(GameState nextState, String message) {
         stopPhaseTimer();
+        readyPlayers.clear();
+        recordEvent(GameEvent.Type.PHASE, null, null, nextState.name());
         if (nextState == GameState.NIGHT) {
             resetNightState();
-            session.updatePhase(nextState, message);
+            session.updatePhase(nextState, message, phaseTiming(nextState));
             sendNightPrompts();
-            schedulePhaseTimer(this::resolveNightPhase, NIGHT_DURATION_MS);
+            schedulePhaseTimer(deadlineTaskOf(nextState), phaseConfig.durationOf(nextState));
             return;
         }
         if (nextState == GameState.DAY_DISCUSSION) {
-            session.updatePhase(nextState, message);
-            schedulePhaseTimer(this::startVotingPhase, DAY_DISCUSSION_MS);
+            session.updatePhase(nextState, message, phaseTiming(nextState));
+            schedulePhaseTimer(deadlineTaskOf(nextState), phaseConfig.durationOf(nextState));
             return;
         }
         if (nextState == GameState.DAY_VOTING) {
             session.resetVotes();
-            session.updatePhase(nextState, message);
-            schedulePhaseTimer(this::resolveVotingPhase, DAY_VOTING_MS);
+            session.updatePhase(nextState, message, phaseTiming(nextState));
+            schedulePhaseTimer(deadlineTaskOf(nextState), phaseConfig.durationOf(nextState));
             return;
         }
         if (nextState == GameState.GAME_OVER) {
@@ -136,6 +268,15 @@ public class GameManager {
         }
     }
 
+    // Échéance de référence transmise aux clients : leur compte à rebours se cale dessus
+    private Map<String, Object> phaseTiming(GameState phase) {
+        long duration = phaseConfig.durationOf(phase);
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("phaseDurationMs", duration);
+        metadata.put("phaseDeadline", scheduler.currentTimeMillis() + duration);
+        return metadata;
+    }
+
     private void startVotingPhase() {
         if (session.getCurrentPhase() != GameState.DAY_DISCUSSION) {
             return;
@@ -149,17 +290,20 @@ public class GameManager {
         }
         stopPhaseTimer();
 
-        applyNightProtections();
-        Player killed = resolveWerewolfKill();
-        sendSeerResults();
-
-        String summaryMessage = (killed != null)
-            ? "Day breaks. " + killed.getUsername() + " was found dead."
-            : "Day breaks. No one died last night.";
-
-        Map<String, Object> metadata = new HashMap<>();
-        metadata.put("killedPlayer", killed != null ? killed.getUsername() : null);
-        session.notifySessionUpdate(summaryMessage, metadata);
+        for (NightStage stage : nightStages) {
+            if (stage.getAction() != ActionType.PEEK) {
+                continue;
+            }
+            night.choicesFor(ActionType.PEEK, stage.getFaction()).getVotes().forEach((seerId, targetId) -> {
+                Player seer = session.getPlayer(seerId);
+                Player target = session.getPlayer(targetId);
+                if (seer != null && target != null) {
+                    summary.peek(seer, target);
+                }
+            });
+        }
+        night.resolve(nightStages);
+        publishNightResults();
 
         if (checkWinConditions()) {
             return;
@@ -174,7 +318,14 @@ public class GameManager {
         }
         stopPhaseTimer();
 
-        Map<String, String> votes = session.getCurrentVotes();
+        VoteLedger votes = session.getVoteLedger();
+        votes.getVotes().forEach((voterId, targetId) -> {
+            Player voter = session.getPlayer(voterId);
+            Player target = session.getPlayer(targetId);
+            if (voter != null && target != null) {
+                summary.vote(voter, target);
+            }
+        });
         if (votes.isEmpty()) {
             session.notifySessionUpdate("No votes were cast. No one is eliminated.");
             if (checkWinConditions()) {
@@ -184,10 +335,8 @@ public class GameManager {
             return;
         }
 
-        Map<String, Integer> tally = tallyVotes(votes);
-        List<String> topTargets = resolveTopTargets(tally);
-
-        if (topTargets.size() != 1) {
+        String leader = votes.getLeader();
+        if (leader == null) {
             session.notifySessionUpdate("Vote tie. No one is eliminated.");
             if (checkWinConditions()) {
                 return;
@@ -196,9 +345,10 @@ public class GameManager {
             return;
         }
 
-        Player eliminated = session.getPlayer(topTargets.get(0));
+        Player eliminated = session.getPlayer(leader);
         if (eliminated != null) {
             eliminated.setAlive(false);
+            recordEvent(GameEvent.Type.DEATH, null, eliminated.getId(), "VOTE");
             String roleName = eliminated.getRole() != null ? eliminated.getRole().getName() : "Unknown";
             session.notifySessionUpdate(
                 "The village eliminated " + eliminated.getUsername() + ". Role: " + roleName + "."
@@ -212,166 +362,167 @@ public class GameManager {
         transitionTo(GameState.NIGHT, "Night falls. All villagers close their eyes.");
     }
 
-    private void applyNightProtections() {
-        for (String targetId : nightHeals.values()) {
-            Player target = session.getPlayer(targetId);
-            if (target != null && target.isAlive()) {
-                target.setProtected(true);
-            }
-        }
+    /**
+     * Diffuse le décompte après un vote : seules les deux cibles concernées sont transmises, avec leur total
+     * absolu, si bien qu'un décompte manqué par un client lent est corrigé au vote suivant sur la même cible.
+     */
+    private void broadcastVoteTally(String voterId, String targetId, String previousTargetId) {
+        VoteLedger votes = session.getVoteLedger();
+        Player target = session.getPlayer(targetId);
+        Map<String, Object> tally = new HashMap<>();
+        tally.put("voter", voterId);
+        tally.put("target", targetId);
+        tally.put("targetName", target != null ? target.getUsername() : targetId);
+        tally.put("targetVotes", votes.countFor(targetId));
+        if (previousTargetId != null && !previousTargetId.equals(targetId)) {
+            tally.put("previous", previousTargetId);
+            tally.put("previousVotes", votes.countFor(previousTargetId));
+        }
+        tally.put("leader", votes.getLeader());
+        tally.put("votes", votes.size());
+        connections.broadcastToAll(new Message(MessageType.VOTE_TALLY, "Server", tally));
     }
 
-    private Player resolveWerewolfKill() {
-        if (nightKills.isEmpty()) {
-            return null;
-        }
-
-        Map<String, Integer> tally = tallyVotes(nightKills);
-        List<String> topTargets = resolveTopTargets(tally);
-        if (topTargets.isEmpty()) {
-            return null;
-        }
-
-        String targetId = topTargets.get(random.nextInt(topTargets.size()));
-        Player target = session.getPlayer(targetId);
-        if (target == null || !target.isAlive()) {
-            return null;
+    /**
+     * Publie le lot d'effets de la nuit : résultats privés (visions), puis un seul bilan pour la session.
+     */
+    private void publishNightResults() {
+        for (NightResolution.PrivateResult result : night.getPrivateResults()) {
+            GameStateUpdate update = new GameStateUpdate(result.getMessage(), session.getCurrentPhase(), null);
+            sendPrivateUpdate(result.getPlayerId(), update);
         }
 
-        if (target.isProtected()) {
-            return null;
+        List<Player> deaths = night.getDeaths();
+        for (Player dead : deaths) {
+            recordEvent(GameEvent.Type.DEATH, null, dead.getId(), "NIGHT");
         }
-
-        target.setAlive(false);
-        return target;
-    }
-
-    private void sendSeerResults() {
-        for (Map.Entry<String, String> entry : nightPeeks.entrySet()) {
-            Player seer = session.getPlayer(entry.getKey());
-            Player target = session.getPlayer(entry.getValue());
-            if (seer == null || target == null) {
-                continue;
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("killedPlayer", deaths.isEmpty() ? null : deaths.get(0).getUsername());
+        String summaryMessage;
+        if (deaths.isEmpty()) {
+            summaryMessage = "Day breaks. No one died last night.";
+        } else {
+            List<String> names = new ArrayList<>(deaths.size());
+            for (Player dead : deaths) {
+                names.add(dead.getUsername());
+            }
+            summaryMessage = "Day breaks. " + String.join(", ", names)
+                + (names.size() == 1 ? " was found dead." : " were found dead.");
+            if (names.size() > 1) {
+                metadata.put("killedPlayers", names);
             }
-            String roleName = target.getRole() != null ? target.getRole().getName() : "Unknown";
-            GameStateUpdate update = new GameStateUpdate(
-                "Your vision reveals that " + target.getUsername() + " is " + roleName + ".",
-                session.getCurrentPhase(),
-                session.getAlivePlayers()
-            );
-            sendPrivateUpdate(seer.getId(), update);
         }
+        session.notifySessionUpdate(summaryMessage, metadata);
     }
 
     private void sendNightPrompts() {
         for (Player player : session.getAlivePlayers()) {
-            if (player.getRole() == null) {
-                continue;
-            }
-            String roleName = player.getRole().getName();
-            String prompt = switch (roleName) {
-                case "Werewolf" -> "Werewolves wake up and choose a target.";
-                case "Seer" -> "Seer, choose a player to investigate.";
-                case "Medic" -> "Medic, choose a player to protect.";
-                default -> null;
-            };
-            if (prompt != null) {
-                GameStateUpdate update = new GameStateUpdate(
-                    prompt,
-                    session.getCurrentPhase(),
-                    session.getAlivePlayers()
-                );
-                update.addMetadata("prompt", true);
-                sendPrivateUpdate(player.getId(), update);
-            }
+            sendNightPrompt(player);
+        }
+    }
+
+    private void sendNightPrompt(Player player) {
+        RoleDefinition definition = roles.definitionOf(player.getRole());
+        if (definition == null || !definition.hasNightAction()) {
+            return;
         }
+        GameStateUpdate update = new GameStateUpdate(
+            definition.getNightPrompt(),
+            session.getCurrentPhase(),
+            null
+        );
+        update.addMetadata("prompt", true);
+        update.addMetadata("nightAction", definition.getNightAction().name());
+        sendPrivateUpdate(player.getId(), update);
     }
 
+    // Message privé hors du flux numéroté de la session : il ne porte pas la liste des joueurs
     private void sendPrivateUpdate(String playerId, GameStateUpdate update) {
         Message message = new Message(MessageType.GAME_STATE_UPDATE, "Server", update);
-        PlayerConnectionManager.sendToPlayer(playerId, message);
+        connections.sendToPlayer(playerId, message);
     }
 
+    // Chaque camp doit avoir fait tous ses choix : les loups ne comptent pas pour les vampires
     private boolean nightActionsComplete() {
-        long werewolves = countAliveRole("Werewolf");
-        long seers = countAliveRole("Seer");
-        long medics = countAliveRole("Medic");
-        return nightKills.size() >= werewolves
-            && nightPeeks.size() >= seers
-            && nightHeals.size() >= medics;
+        for (int i = 0; i < nightStages.length; i++) {
+            int expected = 0;
+            for (RoleDefinition actor : roles.actorsOf(i)) {
+                expected += session.countAliveWithRole(actor.getName());
+            }
+            if (night.choiceCount(nightStages[i].getAction(), nightStages[i].getFaction()) < expected) {
+                return false;
+            }
+        }
+        return true;
     }
 
+
     private boolean votesComplete() {
-        return session.getCurrentVotes().size() >= session.getAlivePlayers().size();
+        return session.getVoteCount() >= session.getAliveCount();
     }
 
     private void resetNightState() {
-        nightKills.clear();
-        nightHeals.clear();
-        nightPeeks.clear();
+        night.reset();
     }
 
     private void schedulePhaseTimer(Runnable task, long delayMs) {
-        phaseTimer = scheduler.schedule(task, delayMs, TimeUnit.MILLISECONDS);
+        long epoch = phaseEpoch;
+        phaseTask = task;
+        phaseDeadline = scheduler.currentTimeMillis() + delayMs;
+        phaseTimer = scheduler.schedule(() -> mailbox.execute(() -> {
+            if (epoch == phaseEpoch) {
+                firePhaseDeadline();
+            }
+        }), delayMs);
     }
 
-    private void stopPhaseTimer() {
-        if (phaseTimer != null && !phaseTimer.isDone()) {
-            phaseTimer.cancel(false);
-            phaseTimer = null;
-        }
+    /**
+     * Déclenche sans attendre l'échéance de la phase en cours, comme si son minuteur avait expiré.
+     *
+     * @return {@code false} si aucune échéance n'est en attente
+     */
+    public boolean firePhaseDeadline() {
+        Runnable task = phaseTask;
+        if (task == null) {
+            return false;
+        }
+        inputLog.append(GameInput.timer(scheduler.currentTimeMillis(), session.getCurrentPhase()));
+        task.run();
+        return true;
     }
 
-    private Map<String, Integer> tallyVotes(Map<String, String> votes) {
-        Map<String, Integer> tally = new HashMap<>();
-        for (String targetId : votes.values()) {
-            tally.merge(targetId, 1, Integer::sum);
-        }
-        return tally;
+    // Action à l'échéance de chaque phase minutée
+    private Runnable deadlineTaskOf(GameState phase) {
+        return switch (phase) {
+            case NIGHT -> this::resolveNightPhase;
+            case DAY_DISCUSSION -> this::startVotingPhase;
+            case DAY_VOTING -> this::resolveVotingPhase;
+            default -> null;
+        };
     }
 
-    private List<String> resolveTopTargets(Map<String, Integer> tally) {
-        int max = tally.values().stream().mapToInt(Integer::intValue).max().orElse(0);
-        if (max == 0) {
-            return List.of();
-        }
-        List<String> topTargets = new ArrayList<>();
-        for (Map.Entry<String, Integer> entry : tally.entrySet()) {
-            if (entry.getValue() == max) {
-                topTargets.add(entry.getKey());
-            }
+    private void stopPhaseTimer() {
+        phaseEpoch++;
+        phaseTask = null;
+        phaseDeadline = 0;
+        if (phaseTimer != null) {
+            phaseTimer.cancel();
+            phaseTimer = null;
         }
-        return topTargets;
     }
 
     private void assignRoles() {
         List<Player> players = new ArrayList<>(session.getAlivePlayers());
         Collections.shuffle(players, random);
 
-        int total = players.size();
-        int werewolfCount = Math.max(1, total / 4);
-        boolean includeSeer = total >= 4;
-        boolean includeMedic = total >= 5;
-
-        List<PlayerRole> roles = new ArrayList<>();
-        for (int i = 0; i < werewolfCount; i++) {
-            roles.add(new WerewolfRole());
-        }
-        if (includeSeer) {
-            roles.add(new SeerRole());
-        }
-        if (includeMedic) {
-            roles.add(new MedicRole());
-        }
-        while (roles.size() < total) {
-            roles.add(new VillagerRole());
-        }
-        Collections.shuffle(roles, random);
+        List<PlayerRole> dealt = roles.deal(players.size());
+        Collections.shuffle(dealt, random);
 
         for (int i = 0; i < players.size(); i++) {
             Player player = players.get(i);
-            PlayerRole role = roles.get(i);
+            PlayerRole role = dealt.get(i);
             player.setRole(role);
+            recordEvent(GameEvent.Type.ROLE, player.getId(), null, role.getName());
             sendPrivateRole(player, role);
         }
     }
@@ -380,29 +531,228 @@ public class GameManager {
         GameStateUpdate update = new GameStateUpdate(
             "Your role is: " + role.getName(),
             session.getCurrentPhase(),
-            session.getAlivePlayers()
+            null
         );
         update.addMetadata("role", role.getName());
+        RoleDefinition definition = roles.definitionOf(role);
+        if (definition != null && definition.hasNightAction()) {
+            update.addMetadata("nightAction", definition.getNightAction().name());
+        }
         sendPrivateUpdate(player.getId(), update);
     }
 
     private boolean checkWinConditions() {
-        long aliveWerewolves = session.countAliveWerewolves();
-        long aliveVillagers = session.countAliveVillagers();
+        int alive = session.getAliveCount();
+        for (Faction faction : roles.getFactions()) {
+            int members = session.countAliveInFaction(faction);
+            if (faction.getWinCondition().isMet(members, alive - members)) {
+                winner = faction;
+                endGame(faction.getWinMessage());
+                return true;
+            }
+        }
+        return false;
+    }
 
-        if (aliveWerewolves == 0) {
-            endGame("Villagers win!");
-            return true;
+    public PhaseConfig getPhaseConfig() {
+        return phaseConfig;
+    }
+
+    /**
+     * @return le camp vainqueur, ou {@code null} tant que la partie n'est pas terminée
+     */
+    public Faction getWinner() {
+        return winner;
+    }
+
+    public RoleRegistry getRoles() {
+        return roles;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Rejoue une entrée du journal. L'entrée est consignée à nouveau, comme une entrée reçue en direct ;
+     * la graine et l'issue, qui ne sont pas des entrées de la partie, sont ignorées.
+     */
+    public void replayInput(GameInput input) {
+        switch (input.getType()) {
+            case JOIN -> addPlayer(input.getPlayerId(), input.getValue());
+            case LEAVE -> removePlayer(input.getPlayerId());
+            case START -> startGame(input.getPlayerId(), input.getSettings());
+            case COMMAND -> handleCommand(input.getPlayerId(), new GameCommand(input.getValue(), input.getTargetId()));
+            case READY -> handleReady(input.getPlayerId());
+            case TIMER -> firePhaseDeadline();
+            default -> {
+            }
         }
-        if (aliveWerewolves >= aliveVillagers) {
-            endGame("Werewolves win!");
-            return true;
+    }
+
+    /**
+     * Capture l'état de la partie : joueurs et rôles, phase et temps restant avant son échéance,
+     * votes, choix de la nuit en cours, joueurs prêts, compteurs du bilan et état du générateur.
+     */
+    public SessionSnapshot snapshot() {
+        return snapshot(Map.of());
+    }
+
+    /**
+     * Capture l'état de la partie avec les jetons de reprise des joueurs, tenus par la couche réseau.
+     *
+     * @param resumeTokens jeton vers identifiant du joueur
+     */
+    public SessionSnapshot snapshot(Map<String, String> resumeTokens) {
+        long now = scheduler.currentTimeMillis();
+        SessionSnapshot.Builder snapshot = SessionSnapshot.builder(session.getSessionId(), now)
+                .random(seed, random.getState())
+                .phaseConfig(phaseConfig)
+                .phase(session.getCurrentPhase(), phaseTask != null ? Math.max(0, phaseDeadline - now) : 0)
+                .winner(winner != null ? winner.name() : null);
+        for (Player player : session.getPlayersInJoinOrder()) {
+            snapshot.player(player.getId(), player.getUsername(),
+                    player.getRole() != null ? player.getRole().getName() : null, player.isAlive());
+        }
+        for (Player player : summary.getDeparted()) {
+            snapshot.departed(player.getId(), player.getUsername(), player.getRole().getName());
+        }
+        session.getVoteLedger().getVotes().forEach(snapshot::vote);
+        if (session.getCurrentPhase() == GameState.NIGHT) {
+            // Le camp n'est pas conservé : il se déduit du rôle de l'acteur au rechargement
+            for (NightStage stage : nightStages) {
+                night.choicesFor(stage.getAction(), stage.getFaction()).getVotes().forEach((actorId, targetId) ->
+                        snapshot.nightChoice(stage.getAction(), actorId, targetId));
+            }
+        }
+        readyPlayers.forEach(snapshot::ready);
+        summary.getCounters().forEach(snapshot::summaryCounters);
+        resumeTokens.forEach((token, playerId) -> {
+            if (session.getPlayer(playerId) != null) {
+                snapshot.resumeToken(token, playerId);
+            }
+        });
+        return snapshot.build();
+    }
+
+    /**
+     * Recharge un instantané dans une session vide, relance l'échéance de la phase pour le temps qu'il
+     * lui restait, puis rejoue les entrées reçues depuis. Ni ces entrées ni les événements qu'elles
+     * produisent ne sont consignés à nouveau : ils l'ont été avant l'arrêt.
+     *
+     * @param tail entrées postérieures à l'instantané, dans l'ordre
+     */
+    public void restore(SessionSnapshot snapshot, List<GameInput> tail) {
+        if (!session.getPlayers().isEmpty() || session.getCurrentPhase() != GameState.LOBBY) {
+            throw new IllegalStateException("Snapshots are restored into an empty session");
+        }
+        random.setState(snapshot.getRandomState());
+        phaseConfig = snapshot.getPhaseConfig();
+        for (SessionSnapshot.PlayerState state : snapshot.getPlayers()) {
+            Player player = new Player(state.getId(), state.getUsername());
+            if (state.getRole() != null) {
+                player.setRole(roleOf(state.getRole()));
+            }
+            player.setAlive(state.isAlive());
+            session.addPlayer(player);
+            if (player.getRole() != null) {
+                summary.seat(player);
+            }
+        }
+        for (SessionSnapshot.PlayerState state : snapshot.getDeparted()) {
+            Player player = new Player(state.getId(), state.getUsername());
+            player.setRole(roleOf(state.getRole()));
+            player.setAlive(false);
+            summary.seat(player);
+            summary.leave(player.getId());
+        }
+        winner = snapshot.getWinner() != null ? Faction.valueOf(snapshot.getWinner()) : null;
+        snapshot.getSummaryCounters().forEach(summary::restore);
+
+        GameState phase = snapshot.getPhase();
+        if (phase != GameState.LOBBY) {
+            Map<String, Object> timing = phaseTiming(phase);
+            timing.put("phaseDeadline", scheduler.currentTimeMillis() + snapshot.getRemainingMs());
+            session.updatePhase(phase, "The game has been restored.", timing);
+        }
+        snapshot.getVotes().forEach(session::recordVote);
+        snapshot.getNightChoices().forEach((action, choices) ->
+                choices.forEach((actorId, targetId) -> night.choose(action, factionOf(actorId), actorId, targetId)));
+        readyPlayers.addAll(snapshot.getReadyPlayers());
+        Runnable deadline = deadlineTaskOf(phase);
+        if (deadline != null) {
+            schedulePhaseTimer(deadline, snapshot.getRemainingMs());
+        }
+
+        InputLog log = inputLog;
+        EventSink sink = events;
+        GameSummaryListener listener = summaryListener;
+        inputLog = InputLog.NONE;
+        events = EventSink.NONE;
+        summaryListener = GameSummaryListener.NONE;
+        try {
+            for (GameInput input : tail) {
+                replayInput(input);
+            }
+        } finally {
+            inputLog = log;
+            events = sink;
+            summaryListener = listener;
         }
-        return false;
+    }
+
+    // Camp d'un acteur de la nuit, y compris d'un joueur parti après avoir fait son choix
+    private Faction factionOf(String playerId) {
+        Player player = session.getPlayer(playerId);
+        if (player == null) {
+            for (Player departed : summary.getDeparted()) {
+                if (departed.getId().equals(playerId)) {
+                    player = departed;
+                    break;
+                }
+            }
+        }
+        return player != null && player.getRole() != null ? player.getRole().getFaction() : Faction.VILLAGE;
+    }
+
+    private PlayerRole roleOf(String roleName) {
+        RoleDefinition definition = roles.get(roleName);
+        if (definition == null) {
+            throw new IllegalStateException("Unknown role in snapshot: " + roleName);
+        }
+        return definition.getRole();
+    }
+
+    /**
+     * Renvoie à un joueur qui reprend sa place ce que le flux de la session ne porte pas :
+     * son rôle et, de nuit, l'invite à agir s'il n'a pas encore choisi.
+     */
+    public void resendPrivateState(String playerId) {
+        Player player = session.getPlayer(playerId);
+        if (player == null || player.getRole() == null) {
+            return;
+        }
+        sendPrivateRole(player, player.getRole());
+        RoleDefinition definition = roles.definitionOf(player.getRole());
+        if (session.getCurrentPhase() == GameState.NIGHT && player.isAlive() && definition != null
+                && definition.hasNightAction()
+                && night.choicesFor(definition.getNightAction(), definition.getFaction()).getVote(playerId) == null) {
+            sendNightPrompt(player);
+        }
+    }
+
+    /**
+     * Annule l'échéance de phase lorsque la session est détruite ; le planificateur, partagé, reste actif.
+     */
+    public void shutdown() {
+        stopPhaseTimer();
     }
 
     private void endGame(String message) {
         stopPhaseTimer();
+        inputLog.append(GameInput.outcome(scheduler.currentTimeMillis(), winner != null ? winner.name() : null));
+        recordEvent(GameEvent.Type.GAME_OVER, null, null, winner != null ? winner.name() : null);
+        summaryListener.onGameOver(summary.build(session.getSessionId(), scheduler.currentTimeMillis(), winner));
 
         Map<String, Object> metadata = new HashMap<>();
         metadata.put("winner", message);
@@ -415,10 +765,4 @@ public class GameManager {
 
         session.updatePhase(GameState.GAME_OVER, message, metadata);
     }
-
-    private long countAliveRole(String roleName) {
-        return session.getAlivePlayers().stream()
-            .filter(p -> p.getRole() != null && roleName.equals(p.getRole().getName()))
-            .count();
-    }
 }
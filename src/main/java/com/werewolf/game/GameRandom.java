@@ -0,0 +1,42 @@
+package com.werewolf.game;
+
+import java.util.Random;
+
+/**
+ * Générateur de la partie : même suite que {@link Random} pour une même graine, mais dont l'état
+ * interne se lit et se restaure, pour qu'une partie reprise d'un instantané poursuive le même tirage.
+ * Non synchronisé : utilisé depuis la boîte aux lettres de la session.
+ */
+public final class GameRandom extends Random {
+    private static final long serialVersionUID = 1L;
+    // Constantes du générateur congruentiel de java.util.Random
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    private long state;
+
+    public GameRandom(long seed) {
+        super(seed);
+    }
+
+    @Override
+    public synchronized void setSeed(long seed) {
+        super.setSeed(seed);
+        state = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    @Override
+    protected int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+
+    public long getState() {
+        return state;
+    }
+
+    public void setState(long state) {
+        this.state = state & MASK;
+    }
+}
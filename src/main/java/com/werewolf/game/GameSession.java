@@ -2,21 +2,34 @@ package com.werewolf.game;
 
 import com.werewolf.event.GameStateObserver;
 import com.werewolf.event.GameStateUpdate;
+import com.werewolf.game.role.Faction;
+import com.werewolf.game.role.PlayerRole;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.stream.Collectors;
 
+/**
+ * État d'une partie : joueurs, phase, votes et observateurs.
+ * Les joueurs en vie sont indexés au fil des changements ({@link Player#setAlive}, {@link Player#setRole}) :
+ * la liste des vivants et les décomptes par rôle ou par camp se lisent sans parcourir les joueurs.
+ */
 public class GameSession {
     private String sessionId;
     private Map<String, Player> players;
     private GameState currentPhase;
-    private Map<String, String> currentVotes = new ConcurrentHashMap<>();
+    private final VoteLedger votes = new VoteLedger();
     private final List<String> joinOrder = new CopyOnWriteArrayList<>();
     private String adminId;
     
     private final List<GameStateObserver> observers = new CopyOnWriteArrayList<>();
+    private final PlayerIndex index = new PlayerIndex();
 
     public GameSession(String sessionId) {
         this.sessionId = sessionId;
@@ -25,10 +38,16 @@ public class GameSession {
     }
 
     public void addPlayer(Player player) {
-        players.put(player.getId(), player);
+        Player previous = players.put(player.getId(), player);
         if (!joinOrder.contains(player.getId())) {
             joinOrder.add(player.getId());
         }
+        if (previous != null && previous != player) {
+            index.remove(previous);
+        }
+        if (previous != player) {
+            index.add(player);
+        }
         assignAdminIfNeeded();
     }
 
@@ -36,16 +55,44 @@ public class GameSession {
         return players.get(id);
     }
 
+    /**
+     * @return les joueurs en vie, dans l'ordre d'arrivée ; liste immuable partagée, reconstruite seulement
+     *         lorsqu'un joueur arrive, part, meurt ou revient
+     */
     public List<Player> getAlivePlayers() {
-        return players.values().stream()
-                .filter(Player::isAlive)
-                .collect(Collectors.toList());
+        return index.aliveSnapshot;
+    }
+
+    public int getAliveCount() {
+        return index.alive.get();
+    }
+
+    /**
+     * @return le nombre de joueurs en vie ayant ce rôle, en temps constant
+     */
+    public int countAliveWithRole(String roleName) {
+        AtomicInteger count = index.aliveByRole.get(roleName);
+        return count != null ? count.get() : 0;
+    }
+
+    public int countAliveInFaction(Faction faction) {
+        return index.aliveByFaction.get(faction.ordinal());
     }
 
     public List<Player> getPlayers() {
         return List.copyOf(players.values());
     }
 
+    /**
+     * @return tous les joueurs, morts compris, dans l'ordre d'arrivée
+     */
+    public List<Player> getPlayersInJoinOrder() {
+        return joinOrder.stream()
+            .map(players::get)
+            .filter(p -> p != null)
+            .collect(Collectors.toList());
+    }
+
     public void removePlayer(String playerId) {
         handlePlayerLeave(playerId);
     }
@@ -54,6 +101,8 @@ public class GameSession {
         Player removed = players.remove(playerId);
         joinOrder.remove(playerId);
         if (removed != null) {
+            index.remove(removed);
+            votes.retract(playerId);
             if (playerId.equals(adminId)) {
                 adminId = null;
                 assignAdminIfNeeded();
@@ -136,16 +185,27 @@ public class GameSession {
         players.values().forEach(p -> p.setProtected(false));
     }
 
-    public void recordVote(String voterId, String targetId) {
-        currentVotes.put(voterId, targetId);
+    /**
+     * @return la cible précédente de ce votant, ou {@code null} s'il n'avait pas encore voté
+     */
+    public String recordVote(String voterId, String targetId) {
+        return votes.cast(voterId, targetId);
     }
 
     public Map<String, String> getCurrentVotes() {
-        return new ConcurrentHashMap<>(currentVotes);
+        return new HashMap<>(votes.getVotes());
+    }
+
+    public int getVoteCount() {
+        return votes.size();
+    }
+
+    public VoteLedger getVoteLedger() {
+        return votes;
     }
 
     public void resetVotes() {
-        currentVotes.clear();
+        votes.clear();
     }
 
     public void sendPrivateMessage(String playerId, String message) {
@@ -157,13 +217,74 @@ public class GameSession {
     public String getAdminId() { return adminId; }
 
     public long countAliveWerewolves() {
-        return getAlivePlayers().stream()
-            .filter(p -> p.getRole() != null && "Werewolf".equals(p.getRole().getName()))
-            .count();
+        return countAliveInFaction(Faction.WEREWOLVES);
     }
 
+    // Un joueur encore sans rôle compte parmi les villageois
     public long countAliveVillagers() {
-        long alive = getAlivePlayers().size();
-        return alive - countAliveWerewolves();
+        return getAliveCount() - countAliveWerewolves();
+    }
+
+    /**
+     * Compteurs et liste des joueurs en vie, mis à jour par les notifications des joueurs de la session.
+     * Écrits depuis la boîte aux lettres de la session ; lisibles depuis n'importe quel thread.
+     */
+    private final class PlayerIndex implements PlayerListener {
+        private final Map<String, AtomicInteger> aliveByRole = new ConcurrentHashMap<>();
+        private final AtomicIntegerArray aliveByFaction = new AtomicIntegerArray(Faction.MAX_FACTIONS);
+        private final AtomicInteger alive = new AtomicInteger();
+        private volatile List<Player> aliveSnapshot = List.of();
+
+        void add(Player player) {
+            player.setListener(this);
+            if (player.isAlive()) {
+                count(player.getRole(), 1);
+                alive.incrementAndGet();
+            }
+            rebuildSnapshot();
+        }
+
+        void remove(Player player) {
+            player.setListener(null);
+            if (player.isAlive()) {
+                count(player.getRole(), -1);
+                alive.decrementAndGet();
+            }
+            rebuildSnapshot();
+        }
+
+        @Override
+        public void onAliveChanged(Player player, boolean nowAlive) {
+            count(player.getRole(), nowAlive ? 1 : -1);
+            alive.addAndGet(nowAlive ? 1 : -1);
+            rebuildSnapshot();
+        }
+
+        @Override
+        public void onRoleChanged(Player player, PlayerRole previous, PlayerRole current) {
+            if (player.isAlive()) {
+                count(previous, -1);
+                count(current, 1);
+            }
+        }
+
+        private void count(PlayerRole role, int delta) {
+            if (role == null) {
+                return;
+            }
+            aliveByRole.computeIfAbsent(role.getName(), name -> new AtomicInteger()).addAndGet(delta);
+            aliveByFaction.addAndGet(role.getFaction().ordinal(), delta);
+        }
+
+        private void rebuildSnapshot() {
+            List<Player> snapshot = new ArrayList<>(alive.get());
+            for (String id : joinOrder) {
+                Player player = players.get(id);
+                if (player != null && player.isAlive()) {
+                    snapshot.add(player);
+                }
+            }
+            aliveSnapshot = Collections.unmodifiableList(snapshot);
+        }
     }
 }
\ No newline at end of file
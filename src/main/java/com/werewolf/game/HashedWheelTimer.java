@@ -0,0 +1,272 @@
+package com.werewolf.game;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Roue temporelle hachée : un seul thread sert les échéances de toutes les sessions.
+ * Planifier et annuler coûtent O(1) ; la précision est celle du pas de la roue ({@code tickMs}),
+ * largement suffisante pour des phases de plusieurs dizaines de secondes.
+ * Les échéances annulées sont retirées de leur case au pas suivant plutôt que d'attendre leur expiration.
+ */
+public class HashedWheelTimer implements PhaseScheduler {
+    private static final int INIT = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+    // Borne le transfert des nouvelles échéances par pas, pour ne pas retarder l'expiration des autres
+    private static final int MAX_TRANSFER_PER_TICK = 100_000;
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Queue<HashedTimeout> pending = new ConcurrentLinkedQueue<>();
+    private final Queue<HashedTimeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingTimeouts = new AtomicInteger();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final Thread worker;
+    private final long startTime = System.nanoTime();
+    private volatile boolean running = true;
+
+    // Numéro du pas courant, utilisé uniquement depuis le thread de la roue
+    private long tick;
+
+    public HashedWheelTimer() {
+        this(100, 512);
+    }
+
+    /**
+     * @param tickMs    durée d'un pas de la roue, en millisecondes
+     * @param wheelSize nombre de cases, arrondi à la puissance de deux supérieure
+     */
+    public HashedWheelTimer(long tickMs, int wheelSize) {
+        if (tickMs <= 0) {
+            throw new IllegalArgumentException("tickMs must be positive: " + tickMs);
+        }
+        if (wheelSize <= 0 || wheelSize > (1 << 30)) {
+            throw new IllegalArgumentException("wheelSize out of range: " + wheelSize);
+        }
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMs);
+        int size = 1;
+        while (size < wheelSize) {
+            size <<= 1;
+        }
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = wheel.length - 1;
+        this.worker = new Thread(this::run, "werewolf-timer");
+        this.worker.setDaemon(true);
+    }
+
+    @Override
+    public Timeout schedule(Runnable task, long delayMs) {
+        if (!running) {
+            throw new IllegalStateException("Timer stopped");
+        }
+        if (started.compareAndSet(false, true)) {
+            worker.start();
+        }
+        long deadline = System.nanoTime() - startTime + TimeUnit.MILLISECONDS.toNanos(Math.max(0, delayMs));
+        HashedTimeout timeout = new HashedTimeout(task, deadline);
+        pendingTimeouts.incrementAndGet();
+        pending.add(timeout);
+        return timeout;
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    /**
+     * Arrête le thread de la roue ; les échéances en attente sont abandonnées.
+     */
+    public void stop() {
+        running = false;
+        worker.interrupt();
+    }
+
+    /**
+     * @return le nombre d'échéances planifiées qui n'ont encore ni expiré ni été annulées
+     */
+    public int pendingTimeouts() {
+        return pendingTimeouts.get();
+    }
+
+    public int getWheelSize() {
+        return wheel.length;
+    }
+
+    private void run() {
+        while (running) {
+            long deadline = waitForNextTick();
+            if (deadline < 0) {
+                break;
+            }
+            removeCancelled();
+            transferPending();
+            expire(wheel[(int) (tick & mask)], deadline);
+            tick++;
+        }
+        pending.clear();
+        cancelled.clear();
+    }
+
+    /**
+     * Attend la fin du pas courant.
+     *
+     * @return l'instant atteint, relatif au démarrage de la roue, ou -1 si la roue a été arrêtée
+     */
+    private long waitForNextTick() {
+        long deadline = tickNanos * (tick + 1);
+        while (true) {
+            long current = System.nanoTime() - startTime;
+            long sleepMs = (deadline - current + 999_999) / 1_000_000;
+            if (sleepMs <= 0) {
+                return current;
+            }
+            try {
+                Thread.sleep(sleepMs);
+            } catch (InterruptedException e) {
+                if (!running) {
+                    return -1;
+                }
+            }
+        }
+    }
+
+    private void removeCancelled() {
+        HashedTimeout timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void transferPending() {
+        for (int i = 0; i < MAX_TRANSFER_PER_TICK; i++) {
+            HashedTimeout timeout = pending.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.state.get() == CANCELLED) {
+                continue;
+            }
+            long calculated = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (calculated - tick) / wheel.length;
+            // Une échéance déjà dépassée part dans la case courante
+            long ticks = Math.max(calculated, tick);
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    private void expire(Bucket bucket, long deadline) {
+        HashedTimeout timeout = bucket.head;
+        while (timeout != null) {
+            HashedTimeout next = timeout.next;
+            if (timeout.remainingRounds <= 0) {
+                bucket.remove(timeout);
+                if (timeout.deadline <= deadline) {
+                    timeout.expire();
+                } else {
+                    // Ne devrait pas arriver : la case a été choisie d'après l'échéance
+                    System.err.println("Timer: timeout placed in the wrong bucket, rescheduling");
+                    pending.add(timeout);
+                }
+            } else {
+                timeout.remainingRounds--;
+            }
+            timeout = next;
+        }
+    }
+
+    private final class HashedTimeout implements Timeout {
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(INIT);
+
+        // Chaînage dans la case, manipulé uniquement depuis le thread de la roue
+        private long remainingRounds;
+        private Bucket bucket;
+        private HashedTimeout next;
+        private HashedTimeout prev;
+
+        private HashedTimeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!state.compareAndSet(INIT, CANCELLED)) {
+                return false;
+            }
+            pendingTimeouts.decrementAndGet();
+            cancelled.add(this);
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(INIT, EXPIRED)) {
+                return;
+            }
+            pendingTimeouts.decrementAndGet();
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                System.err.println("Timer task failed: " + e);
+            }
+        }
+    }
+
+    // Liste doublement chaînée : le retrait d'une échéance annulée se fait en O(1)
+    private static final class Bucket {
+        private HashedTimeout head;
+        private HashedTimeout tail;
+
+        void add(HashedTimeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void remove(HashedTimeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            } else {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.werewolf.game;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Durées des phases d'une partie et règle d'avance anticipée.
+ * Le serveur fournit les valeurs par défaut ; l'administrateur d'une session peut les ajuster
+ * au lancement de la partie, dans les bornes {@link #MIN_DURATION_MS} et {@link #MAX_DURATION_MS}.
+ */
+public final class PhaseConfig {
+    public static final long MIN_DURATION_MS = 5_000;
+    public static final long MAX_DURATION_MS = 600_000;
+    public static final PhaseConfig DEFAULT = new PhaseConfig(30_000, 45_000, 30_000, true);
+
+    private final long nightMs;
+    private final long discussionMs;
+    private final long votingMs;
+    // Passe au vote dès que tous les joueurs en vie se sont déclarés prêts
+    private final boolean advanceWhenReady;
+
+    public PhaseConfig(long nightMs, long discussionMs, long votingMs, boolean advanceWhenReady) {
+        this.nightMs = clamp(nightMs);
+        this.discussionMs = clamp(discussionMs);
+        this.votingMs = clamp(votingMs);
+        this.advanceWhenReady = advanceWhenReady;
+    }
+
+    /**
+     * Applique les réglages demandés par un client ; les clés absentes ou invalides gardent la valeur courante.
+     * Clés reconnues : {@code nightMs}, {@code discussionMs}, {@code votingMs}, {@code advanceWhenReady}.
+     */
+    public PhaseConfig withOverrides(Map<?, ?> overrides) {
+        if (overrides == null || overrides.isEmpty()) {
+            return this;
+        }
+        Object advance = overrides.get("advanceWhenReady");
+        return new PhaseConfig(
+                readDuration(overrides, "nightMs", nightMs),
+                readDuration(overrides, "discussionMs", discussionMs),
+                readDuration(overrides, "votingMs", votingMs),
+                advance instanceof Boolean ? (Boolean) advance : advanceWhenReady);
+    }
+
+    /**
+     * @return les réglages sous la forme acceptée par {@link #withOverrides}
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("nightMs", nightMs);
+        settings.put("discussionMs", discussionMs);
+        settings.put("votingMs", votingMs);
+        settings.put("advanceWhenReady", advanceWhenReady);
+        return settings;
+    }
+
+    private static long readDuration(Map<?, ?> overrides, String key, long current) {
+        Object value = overrides.get(key);
+        return value instanceof Number ? ((Number) value).longValue() : current;
+    }
+
+    private static long clamp(long durationMs) {
+        return Math.max(MIN_DURATION_MS, Math.min(MAX_DURATION_MS, durationMs));
+    }
+
+    /**
+     * @return la durée de la phase en millisecondes, ou 0 pour une phase sans échéance
+     */
+    public long durationOf(GameState phase) {
+        return switch (phase) {
+            case NIGHT -> nightMs;
+            case DAY_DISCUSSION -> discussionMs;
+            case DAY_VOTING -> votingMs;
+            default -> 0;
+        };
+    }
+
+    public long getNightMs() {
+        return nightMs;
+    }
+
+    public long getDiscussionMs() {
+        return discussionMs;
+    }
+
+    public long getVotingMs() {
+        return votingMs;
+    }
+
+    public boolean isAdvanceWhenReady() {
+        return advanceWhenReady;
+    }
+
+    @Override
+    public String toString() {
+        return "PhaseConfig{night=" + nightMs + "ms, discussion=" + discussionMs + "ms, voting=" + votingMs
+                + "ms, advanceWhenReady=" + advanceWhenReady + '}';
+    }
+}
@@ -0,0 +1,22 @@
+package com.werewolf.game;
+
+/**
+ * Planificateur des échéances de phase. Les tâches planifiées doivent être brèves :
+ * elles se contentent en pratique de déposer un événement dans la {@link SessionMailbox} de la session.
+ */
+public interface PhaseScheduler {
+
+    /**
+     * Planifie une tâche après un délai.
+     *
+     * @param task    la tâche à exécuter
+     * @param delayMs le délai en millisecondes
+     * @return l'échéance, annulable
+     */
+    Timeout schedule(Runnable task, long delayMs);
+
+    /**
+     * @return l'heure courante de ce planificateur, en millisecondes
+     */
+    long currentTimeMillis();
+}
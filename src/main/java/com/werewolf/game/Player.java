@@ -10,6 +10,8 @@ public class Player implements Serializable {
     private PlayerRole role;
     private boolean isAlive;
     private boolean isProtected;
+    // Session qui indexe ce joueur ; non transmis avec le joueur
+    private transient PlayerListener listener;
 
     public Player(String id, String username) {
         this.id = id;
@@ -31,7 +33,11 @@ public class Player implements Serializable {
     }
 
     public void setRole(PlayerRole role) {
+        PlayerRole previous = this.role;
         this.role = role;
+        if (listener != null && previous != role) {
+            listener.onRoleChanged(this, previous, role);
+        }
     }
 
     public boolean isAlive() {
@@ -39,7 +45,13 @@ public class Player implements Serializable {
     }
 
     public void setAlive(boolean alive) {
+        if (isAlive == alive) {
+            return;
+        }
         isAlive = alive;
+        if (listener != null) {
+            listener.onAliveChanged(this, alive);
+        }
     }
 
     public boolean isProtected() {
@@ -49,4 +61,8 @@ public class Player implements Serializable {
     public void setProtected(boolean aProtected) {
         isProtected = aProtected;
     }
+
+    void setListener(PlayerListener listener) {
+        this.listener = listener;
+    }
 }
@@ -0,0 +1,13 @@
+package com.werewolf.game;
+
+import com.werewolf.game.role.PlayerRole;
+
+/**
+ * Prévenu par un {@link Player} lorsque son état de vie ou son rôle change réellement.
+ */
+interface PlayerListener {
+
+    void onAliveChanged(Player player, boolean alive);
+
+    void onRoleChanged(Player player, PlayerRole previous, PlayerRole current);
+}
@@ -0,0 +1,23 @@
+package com.werewolf.game;
+
+import com.werewolf.network.shared.Message;
+
+/**
+ * Sortie des messages d'une partie vers ses joueurs. Sur le serveur, c'est le gestionnaire de connexions
+ * de la session ; une partie simulée n'a personne à prévenir et utilise {@link #DISCARD}.
+ */
+public interface PlayerMessenger {
+    PlayerMessenger DISCARD = new PlayerMessenger() {
+        @Override
+        public void broadcastToAll(Message message) {
+        }
+
+        @Override
+        public void sendToPlayer(String playerId, Message message) {
+        }
+    };
+
+    void broadcastToAll(Message message);
+
+    void sendToPlayer(String playerId, Message message);
+}
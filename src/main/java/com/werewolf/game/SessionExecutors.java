@@ -0,0 +1,37 @@
+package com.werewolf.game;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pools partagés par toutes les sessions du processus : un pool de travail qui vide les
+ * {@link SessionMailbox} et une unique {@link HashedWheelTimer} pour les échéances de phase.
+ * Le nombre de threads ne dépend pas du nombre de sessions.
+ */
+public final class SessionExecutors {
+    private static final ExecutorService WORKERS = Executors.newFixedThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors()), daemonFactory("werewolf-session-"));
+    private static final HashedWheelTimer TIMER = new HashedWheelTimer();
+
+    private SessionExecutors() {
+    }
+
+    public static ExecutorService workers() {
+        return WORKERS;
+    }
+
+    public static HashedWheelTimer timer() {
+        return TIMER;
+    }
+
+    private static ThreadFactory daemonFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
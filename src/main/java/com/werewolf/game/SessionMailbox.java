@@ -0,0 +1,98 @@
+package com.werewolf.game;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Boîte aux lettres d'une session : les événements qui y sont déposés (commandes, échéances de phase,
+ * arrivées et départs de joueurs) sont exécutés un par un, dans l'ordre de dépôt.
+ * Les boîtes de toutes les sessions partagent le même pool : une session n'occupe un thread que
+ * le temps de vider sa file, et la logique de jeu n'a besoin d'aucun verrou.
+ */
+public class SessionMailbox implements Executor {
+    // Nombre maximal d'événements traités d'affilée avant de rendre le thread aux autres sessions
+    private static final int BATCH_SIZE = 64;
+
+    private final String name;
+    private final Executor executor;
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile Thread owner;
+    private volatile boolean closed;
+
+    public SessionMailbox(String name, Executor executor) {
+        this.name = name;
+        this.executor = executor;
+    }
+
+    /**
+     * Dépose un événement. Sans effet une fois la boîte fermée.
+     */
+    @Override
+    public void execute(Runnable task) {
+        if (closed) {
+            return;
+        }
+        queue.add(task);
+        schedule();
+    }
+
+    /**
+     * @return {@code true} si l'appelant est en train de traiter un événement de cette boîte
+     */
+    public boolean inMailbox() {
+        return owner == Thread.currentThread();
+    }
+
+    /**
+     * Ferme la boîte : les événements encore en file sont abandonnés et les suivants ignorés.
+     */
+    public void close() {
+        closed = true;
+        queue.clear();
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public int pendingCount() {
+        return queue.size();
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+                System.err.println("Mailbox " + name + " rejected: " + e.getMessage());
+            }
+        }
+    }
+
+    private void drain() {
+        owner = Thread.currentThread();
+        try {
+            Runnable task;
+            int processed = 0;
+            while (processed++ < BATCH_SIZE && !closed && (task = queue.poll()) != null) {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    System.err.println("Mailbox " + name + " task failed: " + e);
+                }
+            }
+        } finally {
+            owner = null;
+            scheduled.set(false);
+        }
+        // Un dépôt a pu arriver entre le dernier poll et la remise à zéro du drapeau
+        if (!queue.isEmpty() && !closed) {
+            schedule();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.werewolf.game;
+
+/**
+ * Échéance planifiée par un {@link PhaseScheduler}.
+ */
+public interface Timeout {
+
+    /**
+     * Annule l'échéance si elle n'a pas encore expiré.
+     *
+     * @return {@code true} si l'échéance a été annulée par cet appel
+     */
+    boolean cancel();
+
+    boolean isCancelled();
+
+    boolean isExpired();
+}
@@ -0,0 +1,178 @@
+package com.werewolf.game;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Registre de votes tenu à jour au fil de l'eau : chaque vote, nouveau ou modifié, ajuste en O(1)
+ * le décompte de la cible et l'ensemble des meneurs. Les cibles sont rangées par nombre de voix,
+ * si bien que le ou les meneurs se lisent directement dans la case du maximum.
+ * Les votes sont gardés dans l'ordre où ils ont été exprimés, un vote modifié passant en dernier :
+ * rejouer {@link #getVotes()} dans cet ordre reconstruit un registre équivalent, départage compris.
+ * Non synchronisé : utilisé depuis la boîte aux lettres de la session.
+ */
+public class VoteLedger {
+    private final Map<String, String> voteByVoter = new LinkedHashMap<>();
+    private final Map<String, Integer> countByTarget = new HashMap<>();
+    // buckets.get(n) : cibles ayant exactement n voix (la case 0 reste vide)
+    private final List<Set<String>> buckets = new ArrayList<>();
+    private int maxCount;
+
+    public VoteLedger() {
+        buckets.add(Collections.emptySet());
+    }
+
+    /**
+     * Enregistre ou remplace le vote d'un joueur.
+     *
+     * @return la cible précédente de ce votant, ou {@code null} s'il n'avait pas encore voté
+     */
+    public String cast(String voterId, String targetId) {
+        String previous = voteByVoter.get(voterId);
+        if (targetId.equals(previous)) {
+            return previous;
+        }
+        // Retiré puis remis : le vote modifié prend sa place en fin d'ordre
+        voteByVoter.remove(voterId);
+        voteByVoter.put(voterId, targetId);
+        if (previous != null) {
+            decrement(previous);
+        }
+        increment(targetId);
+        return previous;
+    }
+
+    /**
+     * Retire le vote d'un joueur (départ, élimination).
+     *
+     * @return la cible retirée, ou {@code null} si ce joueur n'avait pas voté
+     */
+    public String retract(String voterId) {
+        String previous = voteByVoter.remove(voterId);
+        if (previous != null) {
+            decrement(previous);
+        }
+        return previous;
+    }
+
+    public void clear() {
+        voteByVoter.clear();
+        countByTarget.clear();
+        for (int i = 1; i < buckets.size(); i++) {
+            buckets.get(i).clear();
+        }
+        maxCount = 0;
+    }
+
+    private void increment(String targetId) {
+        int count = countByTarget.getOrDefault(targetId, 0);
+        if (count > 0) {
+            buckets.get(count).remove(targetId);
+        }
+        int next = count + 1;
+        if (next == buckets.size()) {
+            buckets.add(new LinkedHashSet<>());
+        }
+        buckets.get(next).add(targetId);
+        countByTarget.put(targetId, next);
+        if (next > maxCount) {
+            maxCount = next;
+        }
+    }
+
+    private void decrement(String targetId) {
+        int count = countByTarget.get(targetId);
+        buckets.get(count).remove(targetId);
+        int next = count - 1;
+        if (next > 0) {
+            buckets.get(next).add(targetId);
+            countByTarget.put(targetId, next);
+        } else {
+            countByTarget.remove(targetId);
+        }
+        // La cible retirée a au plus perdu une place : le maximum ne peut baisser que d'une voix
+        if (count == maxCount && buckets.get(count).isEmpty()) {
+            maxCount = next;
+        }
+    }
+
+    public int countFor(String targetId) {
+        return countByTarget.getOrDefault(targetId, 0);
+    }
+
+    /**
+     * @return le nombre de votants
+     */
+    public int size() {
+        return voteByVoter.size();
+    }
+
+    public boolean isEmpty() {
+        return voteByVoter.isEmpty();
+    }
+
+    public int getMaxCount() {
+        return maxCount;
+    }
+
+    /**
+     * @return les cibles à égalité en tête (vue non modifiable), vide si personne n'a voté
+     */
+    public Set<String> getLeaders() {
+        return maxCount == 0 ? Collections.emptySet() : Collections.unmodifiableSet(buckets.get(maxCount));
+    }
+
+    /**
+     * Cibles à égalité en tête, dans l'ordre du premier vote qu'elles conservent. Contrairement à
+     * {@link #getLeaders()}, cet ordre ne dépend que des votes actuels et non des votes retirés entre-temps,
+     * si bien qu'un tirage au sort sur cette liste donne le même résultat après une reprise.
+     */
+    public List<String> getLeadersInCastOrder() {
+        if (maxCount == 0) {
+            return List.of();
+        }
+        Set<String> leaders = buckets.get(maxCount);
+        List<String> ordered = new ArrayList<>(leaders.size());
+        for (String targetId : voteByVoter.values()) {
+            if (leaders.contains(targetId) && !ordered.contains(targetId)) {
+                ordered.add(targetId);
+                if (ordered.size() == leaders.size()) {
+                    break;
+                }
+            }
+        }
+        return ordered;
+    }
+
+    /**
+     * @return la cible seule en tête, ou {@code null} en cas d'égalité ou en l'absence de vote
+     */
+    public String getLeader() {
+        if (maxCount == 0) {
+            return null;
+        }
+        Set<String> leaders = buckets.get(maxCount);
+        return leaders.size() == 1 ? leaders.iterator().next() : null;
+    }
+
+    public boolean isTie() {
+        return maxCount > 0 && buckets.get(maxCount).size() > 1;
+    }
+
+    public String getVote(String voterId) {
+        return voteByVoter.get(voterId);
+    }
+
+    /**
+     * @return les votes, votant vers cible, dans l'ordre où ils ont été exprimés (vue non modifiable)
+     */
+    public Map<String, String> getVotes() {
+        return Collections.unmodifiableMap(voteByVoter);
+    }
+}
@@ -1,19 +1,45 @@
 package com.werewolf.game.action;
 
+import com.werewolf.network.shared.GameCommand;
+
+import java.util.HashMap;
+import java.util.Map;
+
 public class ActionFactory {
+    // Les actions sont sans état : une instance par type suffit pour toutes les commandes
+    private final Map<ActionType, GameAction> actions = new HashMap<>();
+
+    public ActionFactory() {
+        actions.put(ActionType.KILL, new KillAction());
+        actions.put(ActionType.VOTE, new VoteAction());
+        actions.put(ActionType.HEAL, new ProtectAction());
+        actions.put(ActionType.PEEK, new InvestigateAction());
+    }
+
+    public GameAction getAction(ActionType actionType) {
+        if (actionType == null) {
+            throw new IllegalArgumentException("Action type must not be null");
+        }
+        return actions.get(actionType);
+    }
+
+    public GameAction getAction(GameCommand command) {
+        ActionType actionType = command.getAction();
+        if (actionType == null) {
+            return getAction(command.getActionType());
+        }
+        return actions.get(actionType);
+    }
 
     public GameAction getAction(String actionType) {
         if (actionType == null || actionType.trim().isEmpty()) {
             throw new IllegalArgumentException("Action type must not be null or blank");
         }
 
-        String normalizedActionType = actionType.trim().toUpperCase();
-        return switch (normalizedActionType) {
-            case "KILL" -> new KillAction();
-            case "VOTE" -> new VoteAction();
-            case "HEAL" -> new ProtectAction();
-            case "PEEK" -> new InvestigateAction();
-            default -> throw new IllegalArgumentException("Unknown action: " + actionType);
-        };
+        ActionType parsed = ActionType.parse(actionType);
+        if (parsed == null) {
+            throw new IllegalArgumentException("Unknown action: " + actionType);
+        }
+        return actions.get(parsed);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,189 @@
+package com.werewolf.game.action;
+
+import com.werewolf.game.GameState;
+
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Actions de jeu qu'un joueur peut commander. Chaque action occupe un bit, si bien que les droits
+ * d'un rôle ou d'une phase tiennent dans un {@code int} et se vérifient par un simple masque.
+ * Les quatre actions du jeu de base sont des constantes ; un {@link com.werewolf.game.role.RoleProvider}
+ * en déclare d'autres par {@link #define} avant la compilation du catalogue des rôles.
+ * Ce n'est pas une énumération mais un registre ouvert : chaque nom correspond à une seule instance,
+ * comparable par {@code ==}.
+ * <p>
+ * Ce registre est global et vit autant que la JVM, partagé par tous les catalogues de rôles. Redéclarer
+ * une action existante pour la même phase la renvoie sans consommer de bit : recharger des rôles ne
+ * réduit pas les {@link #MAX_ACTIONS} places, que seuls des noms nouveaux occupent.
+ */
+public final class ActionType implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /** Nombre maximal d'actions : une par bit d'un {@code int}. */
+    public static final int MAX_ACTIONS = Integer.SIZE;
+
+    // Table copiée à chaque déclaration : les lectures, bien plus fréquentes, se font sans verrou
+    private static volatile ActionType[] values = new ActionType[0];
+    // Nom en majuscules vers action, recopiée avec la table
+    private static volatile Map<String, ActionType> byName = Map.of();
+    // Actions autorisées par phase, indexées par l'ordinal de la phase
+    private static volatile int[] phaseMasks = new int[GameState.values().length];
+
+    public static final ActionType KILL = define("KILL", GameState.NIGHT);
+    public static final ActionType VOTE = define("VOTE", GameState.DAY_VOTING);
+    public static final ActionType HEAL = define("HEAL", GameState.NIGHT);
+    public static final ActionType PEEK = define("PEEK", GameState.NIGHT);
+
+    private final String name;
+    private final GameState phase;
+    private final int ordinal;
+    private final int bit;
+
+    private ActionType(String name, GameState phase, int ordinal) {
+        this.name = name;
+        this.phase = phase;
+        this.ordinal = ordinal;
+        this.bit = 1 << ordinal;
+    }
+
+    /**
+     * Déclare une action, ou renvoie celle qui porte déjà ce nom.
+     *
+     * @throws IllegalArgumentException si le nom est pris par une action d'une autre phase,
+     *                                  ou si les {@link #MAX_ACTIONS} bits sont épuisés
+     */
+    public static synchronized ActionType define(String name, GameState phase) {
+        if (name == null || name.isBlank() || phase == null) {
+            throw new IllegalArgumentException("Action name and phase are required");
+        }
+        String normalized = name.strip().toUpperCase(Locale.ROOT);
+        ActionType existing = byName.get(normalized);
+        if (existing != null) {
+            if (existing.phase != phase) {
+                throw new IllegalArgumentException("Action " + normalized + " is already played during "
+                        + existing.phase);
+            }
+            return existing;
+        }
+        ActionType[] current = values;
+        if (current.length >= MAX_ACTIONS) {
+            throw new IllegalArgumentException("Too many actions, cannot define " + normalized);
+        }
+        ActionType action = new ActionType(normalized, phase, current.length);
+        ActionType[] next = Arrays.copyOf(current, current.length + 1);
+        next[action.ordinal] = action;
+        int[] masks = phaseMasks.clone();
+        masks[phase.ordinal()] |= action.bit;
+        Map<String, ActionType> names = new HashMap<>(byName);
+        names.put(normalized, action);
+        phaseMasks = masks;
+        byName = names;
+        values = next;
+        return action;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * @return le rang de déclaration de l'action, utilisable comme index de table
+     */
+    public int ordinal() {
+        return ordinal;
+    }
+
+    public int bit() {
+        return bit;
+    }
+
+    /**
+     * @return la phase pendant laquelle cette action est permise
+     */
+    public GameState getPhase() {
+        return phase;
+    }
+
+    public boolean isAllowedIn(GameState state) {
+        return state != null && (phaseMasks[state.ordinal()] & bit) != 0;
+    }
+
+    /**
+     * @return le masque des actions permises pendant cette phase
+     */
+    public static int phaseMask(GameState state) {
+        return state != null ? phaseMasks[state.ordinal()] : 0;
+    }
+
+    /**
+     * @return toutes les actions déclarées, dans l'ordre de déclaration
+     */
+    public static ActionType[] values() {
+        return values.clone();
+    }
+
+    /**
+     * @throws IllegalArgumentException si aucune action ne porte ce nom
+     */
+    public static ActionType valueOf(String name) {
+        ActionType action = parse(name);
+        if (action == null) {
+            throw new IllegalArgumentException("Unknown action: " + name);
+        }
+        return action;
+    }
+
+    /**
+     * Reconnaît une action sans tenir compte de la casse. Le nom doit arriver sans espaces autour : il est
+     * résolu une fois, au décodage de la commande ou au chargement du fichier de rôles.
+     *
+     * @return l'action, ou {@code null} si le nom est inconnu
+     */
+    public static ActionType parse(String name) {
+        if (name == null) {
+            return null;
+        }
+        Map<String, ActionType> names = byName;
+        ActionType action = names.get(name);
+        // Les clients envoient la forme canonique : la mise en majuscules n'est payée qu'à défaut
+        return action != null ? action : names.get(name.toUpperCase(Locale.ROOT));
+    }
+
+    public static int maskOf(ActionType... actions) {
+        int mask = 0;
+        for (ActionType action : actions) {
+            mask |= action.bit;
+        }
+        return mask;
+    }
+
+    /**
+     * Masque correspondant à une liste de noms d'actions ; les noms inconnus sont ignorés.
+     */
+    public static int maskOf(Collection<String> names) {
+        int mask = 0;
+        for (String name : names) {
+            ActionType action = parse(name);
+            if (action != null) {
+                mask |= action.bit;
+            }
+        }
+        return mask;
+    }
+
+    // Une instance désérialisée est remplacée par celle du même nom, déclarée au besoin
+    private Object readResolve() throws ObjectStreamException {
+        return define(name, phase);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -2,7 +2,30 @@ package com.werewolf.game.action;
 
 import com.werewolf.game.GameSession;
 import com.werewolf.game.Player;
+import com.werewolf.game.VoteLedger;
+import com.werewolf.game.role.Faction;
+
+import java.util.concurrent.ThreadLocalRandom;
 
 public interface GameAction {
-    void execute(Player actor, Player target, GameSession session);
-}
\ No newline at end of file
+    ActionType getType();
+
+    /**
+     * Étape de résolution de nuit : applique au contexte les choix des joueurs d'un même camp ayant joué
+     * cette action ; appelée une fois par camp qui la joue.
+     * Les actions de jour n'y contribuent pas.
+     */
+    default void resolve(NightResolution night, VoteLedger choices) {
+    }
+
+    /**
+     * Exécute immédiatement l'action d'un seul joueur, par la même étape de résolution qu'en fin de nuit.
+     */
+    default void execute(Player actor, Player target, GameSession session) {
+        Faction faction = actor.getRole() != null ? actor.getRole().getFaction() : Faction.VILLAGE;
+        NightResolution night = new NightResolution(session, ThreadLocalRandom.current());
+        night.choose(getType(), faction, actor.getId(), target.getId());
+        night.resolve(new NightStage[] {new NightStage(getType(), faction, this)});
+        night.publishTo(session);
+    }
+}
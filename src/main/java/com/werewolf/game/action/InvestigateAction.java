@@ -1,14 +1,26 @@
 package com.werewolf.game.action;
 
-import com.werewolf.game.GameSession;
 import com.werewolf.game.Player;
+import com.werewolf.game.VoteLedger;
+
+import java.util.Map;
 
 public class InvestigateAction implements GameAction {
     @Override
-    public void execute(Player actor, Player target, GameSession session) {
-        System.out.println("Seer " + actor.getUsername() + " investigated " + target.getUsername());
-        String roleName = target.getRole().getName();
-        
-        session.sendPrivateMessage(actor.getId(), "L'enquête révèle que " + target.getUsername() + " est " + roleName);
+    public ActionType getType() {
+        return ActionType.PEEK;
+    }
+
+    @Override
+    public void resolve(NightResolution night, VoteLedger choices) {
+        for (Map.Entry<String, String> entry : choices.getVotes().entrySet()) {
+            Player seer = night.getPlayer(entry.getKey());
+            Player target = night.getPlayer(entry.getValue());
+            if (seer == null || target == null) {
+                continue;
+            }
+            String roleName = target.getRole() != null ? target.getRole().getName() : "Unknown";
+            night.tell(seer.getId(), "Your vision reveals that " + target.getUsername() + " is " + roleName + ".");
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,18 +1,26 @@
 package com.werewolf.game.action;
 
-import com.werewolf.game.GameSession;
-import com.werewolf.game.Player;
+import com.werewolf.game.VoteLedger;
+
+import java.util.List;
 
 public class KillAction implements GameAction {
     @Override
-    public void execute(Player actor, Player target, GameSession session) {
-        System.out.println("Werewolf " + actor.getUsername() + " killed " + target.getUsername());
-        
-        if (!target.isProtected()) {
-            target.setAlive(false);
-            session.notifySessionUpdate("Player " + target.getUsername() + " was killed by werewolves.");
-        } else {
-            System.out.println("Kill failed: " + target.getUsername() + " was protected.");
+    public ActionType getType() {
+        return ActionType.KILL;
+    }
+
+    @Override
+    public void resolve(NightResolution night, VoteLedger choices) {
+        if (choices.isEmpty()) {
+            return;
+        }
+        String targetId = choices.getLeader();
+        if (targetId == null) {
+            // Égalité au sein du camp : tirage au sort parmi les cibles en tête, rangées dans l'ordre des votes
+            List<String> topTargets = choices.getLeadersInCastOrder();
+            targetId = topTargets.get(night.getRandom().nextInt(topTargets.size()));
         }
+        night.kill(night.getPlayer(targetId));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,177 @@
+package com.werewolf.game.action;
+
+import com.werewolf.game.GameSession;
+import com.werewolf.game.Player;
+import com.werewolf.game.VoteLedger;
+import com.werewolf.game.role.Faction;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Contexte d'une nuit : les choix de chaque joueur, regroupés par action et par camp, puis les effets
+ * produits par les étapes de résolution (protections, morts, révélations privées). Les étapes s'exécutent
+ * dans l'ordre de priorité des rôles et lisent les effets des étapes précédentes ; le résultat est
+ * publié en un seul lot une fois la nuit résolue.
+ * Réutilisé d'une nuit à l'autre par sa session ; non synchronisé (boîte aux lettres de la session).
+ */
+public final class NightResolution {
+    private final GameSession session;
+    private final Random random;
+    // Choix de chaque action, indexés par l'ordinal du camp qui la joue
+    private final Map<ActionType, VoteLedger[]> choices = new HashMap<>();
+    private final List<Player> deaths = new ArrayList<>();
+    private final List<PrivateResult> privateResults = new ArrayList<>();
+
+    public NightResolution(GameSession session, Random random) {
+        this.session = session;
+        this.random = random;
+    }
+
+    /**
+     * Prépare une nouvelle nuit : efface les choix et les effets de la précédente.
+     */
+    public void reset() {
+        for (VoteLedger[] byFaction : choices.values()) {
+            for (VoteLedger ledger : byFaction) {
+                if (ledger != null) {
+                    ledger.clear();
+                }
+            }
+        }
+        deaths.clear();
+        privateResults.clear();
+    }
+
+    /**
+     * Enregistre ou remplace le choix d'un joueur pour cette nuit, au nom du camp de son rôle
+     * (le village pour un joueur sans rôle).
+     *
+     * @return la cible choisie précédemment, ou {@code null}
+     */
+    public String choose(ActionType action, String actorId, String targetId) {
+        return choose(action, factionOf(actorId), actorId, targetId);
+    }
+
+    /**
+     * @return la cible choisie précédemment par ce joueur, ou {@code null}
+     */
+    public String choose(ActionType action, Faction faction, String actorId, String targetId) {
+        return choicesFor(action, faction).cast(actorId, targetId);
+    }
+
+    public VoteLedger choicesFor(ActionType action, Faction faction) {
+        // Une action déclarée après la création de la session reçoit ses registres au premier choix
+        VoteLedger[] byFaction = choices.computeIfAbsent(action, ignored -> new VoteLedger[Faction.MAX_FACTIONS]);
+        VoteLedger ledger = byFaction[faction.ordinal()];
+        if (ledger == null) {
+            ledger = new VoteLedger();
+            byFaction[faction.ordinal()] = ledger;
+        }
+        return ledger;
+    }
+
+    public int choiceCount(ActionType action, Faction faction) {
+        return choicesFor(action, faction).size();
+    }
+
+    /**
+     * Exécute les étapes dans l'ordre donné, chacune avec les choix faits par son camp pour son action.
+     */
+    public void resolve(NightStage[] stages) {
+        for (NightStage stage : stages) {
+            stage.getResolver().resolve(this, choicesFor(stage.getAction(), stage.getFaction()));
+        }
+    }
+
+    private Faction factionOf(String actorId) {
+        Player actor = getPlayer(actorId);
+        return actor != null && actor.getRole() != null ? actor.getRole().getFaction() : Faction.VILLAGE;
+    }
+
+    // ============== EFFETS ==============
+
+    public void protect(Player target) {
+        if (target != null && target.isAlive()) {
+            target.setProtected(true);
+        }
+    }
+
+    /**
+     * Élimine la cible si elle est en vie et n'a pas été protégée.
+     *
+     * @return {@code true} si la cible est morte
+     */
+    public boolean kill(Player target) {
+        if (target == null || !target.isAlive() || target.isProtected()) {
+            return false;
+        }
+        target.setAlive(false);
+        deaths.add(target);
+        return true;
+    }
+
+    /**
+     * Ajoute un résultat destiné à un seul joueur (vision de la voyante, par exemple).
+     */
+    public void tell(String playerId, String message) {
+        privateResults.add(new PrivateResult(playerId, message));
+    }
+
+    public GameSession getSession() {
+        return session;
+    }
+
+    public Random getRandom() {
+        return random;
+    }
+
+    public Player getPlayer(String playerId) {
+        return playerId != null ? session.getPlayer(playerId) : null;
+    }
+
+    /**
+     * @return les joueurs morts cette nuit, dans l'ordre des étapes
+     */
+    public List<Player> getDeaths() {
+        return Collections.unmodifiableList(deaths);
+    }
+
+    public List<PrivateResult> getPrivateResults() {
+        return Collections.unmodifiableList(privateResults);
+    }
+
+    /**
+     * Publie les effets par les notifications de la session ; utilisé lorsqu'une action est exécutée seule.
+     */
+    public void publishTo(GameSession target) {
+        for (PrivateResult result : privateResults) {
+            target.sendPrivateMessage(result.getPlayerId(), result.getMessage());
+        }
+        for (Player dead : deaths) {
+            target.notifySessionUpdate("Player " + dead.getUsername() + " was killed during the night.");
+        }
+    }
+
+    public static final class PrivateResult {
+        private final String playerId;
+        private final String message;
+
+        PrivateResult(String playerId, String message) {
+            this.playerId = playerId;
+            this.message = message;
+        }
+
+        public String getPlayerId() {
+            return playerId;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.werewolf.game.action;
+
+import com.werewolf.game.role.Faction;
+
+/**
+ * Étape de la résolution de nuit : une action jouée par un camp, et le code qui la résout.
+ * Chaque camp qui joue une action a sa propre étape et ses propres choix : loups et vampires
+ * désignent chacun leur victime, sans mettre leurs votes en commun.
+ */
+public final class NightStage {
+    private final ActionType action;
+    private final Faction faction;
+    private final GameAction resolver;
+
+    public NightStage(ActionType action, Faction faction, GameAction resolver) {
+        if (action == null || faction == null || resolver == null) {
+            throw new IllegalArgumentException("Night stage needs an action, a faction and a resolver");
+        }
+        this.action = action;
+        this.faction = faction;
+        this.resolver = resolver;
+    }
+
+    public ActionType getAction() {
+        return action;
+    }
+
+    public Faction getFaction() {
+        return faction;
+    }
+
+    public GameAction getResolver() {
+        return resolver;
+    }
+
+    @Override
+    public String toString() {
+        return action + "/" + faction;
+    }
+}
@@ -1,12 +1,17 @@
 package com.werewolf.game.action;
 
-import com.werewolf.game.GameSession;
-import com.werewolf.game.Player;
+import com.werewolf.game.VoteLedger;
 
 public class ProtectAction implements GameAction {
     @Override
-    public void execute(Player actor, Player target, GameSession session) {
-        System.out.println("Medic " + actor.getUsername() + " protected " + target.getUsername());
-        target.setProtected(true);
+    public ActionType getType() {
+        return ActionType.HEAL;
+    }
+
+    @Override
+    public void resolve(NightResolution night, VoteLedger choices) {
+        for (String targetId : choices.getVotes().values()) {
+            night.protect(night.getPlayer(targetId));
+        }
     }
 }
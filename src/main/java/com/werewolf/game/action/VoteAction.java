@@ -4,6 +4,11 @@ import com.werewolf.game.GameSession;
 import com.werewolf.game.Player;
 
 public class VoteAction implements GameAction {
+    @Override
+    public ActionType getType() {
+        return ActionType.VOTE;
+    }
+
     @Override
     public void execute(Player actor, Player target, GameSession session) {
         System.out.println(actor.getUsername() + " voted for " + target.getUsername());
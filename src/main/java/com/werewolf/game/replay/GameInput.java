@@ -0,0 +1,159 @@
+package com.werewolf.game.replay;
+
+import com.werewolf.game.GameState;
+import com.werewolf.game.PhaseConfig;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Entrée d'une partie, telle que reçue par le {@link com.werewolf.game.GameManager} : arrivée ou départ
+ * d'un joueur, lancement, commande, échéance de phase. La graine et ces entrées suffisent à rejouer
+ * la partie à l'identique.
+ */
+public final class GameInput {
+
+    /**
+     * Le rang de chaque type fait partie du format du journal : ajouter les nouveaux types à la fin.
+     */
+    public enum Type {
+        SEED,
+        JOIN,
+        LEAVE,
+        START,
+        COMMAND,
+        READY,
+        TIMER,
+        OUTCOME
+    }
+
+    private final Type type;
+    private final long time;
+    private final String playerId;
+    private final String value;
+    private final String targetId;
+    private final long number;
+    private final Map<String, Object> settings;
+
+    GameInput(Type type, long time, String playerId, String value, String targetId, long number,
+            Map<String, Object> settings) {
+        this.type = type;
+        this.time = time;
+        this.playerId = playerId;
+        this.value = value;
+        this.targetId = targetId;
+        this.number = number;
+        this.settings = settings != null ? settings : Collections.emptyMap();
+    }
+
+    /**
+     * Première entrée du journal : graine de la partie, session et durées de phase du serveur.
+     */
+    public static GameInput seed(long time, long seed, String sessionId, PhaseConfig phaseConfig) {
+        return new GameInput(Type.SEED, time, null, sessionId, null, seed, phaseConfig.toMap());
+    }
+
+    public static GameInput join(long time, String playerId, String username) {
+        return new GameInput(Type.JOIN, time, playerId, username, null, 0, null);
+    }
+
+    public static GameInput leave(long time, String playerId) {
+        return new GameInput(Type.LEAVE, time, playerId, null, null, 0, null);
+    }
+
+    /**
+     * Seuls les réglages numériques et booléens sont retenus : ce sont les seuls que la partie lit.
+     */
+    public static GameInput start(long time, String requesterId, Map<?, ?> overrides) {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        if (overrides != null) {
+            overrides.forEach((key, val) -> {
+                if (key != null && (val instanceof Number || val instanceof Boolean)) {
+                    settings.put(key.toString(), val instanceof Number ? ((Number) val).longValue() : val);
+                }
+            });
+        }
+        return new GameInput(Type.START, time, requesterId, null, null, 0, settings);
+    }
+
+    public static GameInput command(long time, String playerId, String actionType, String targetId) {
+        return new GameInput(Type.COMMAND, time, playerId, actionType, targetId, 0, null);
+    }
+
+    public static GameInput ready(long time, String playerId) {
+        return new GameInput(Type.READY, time, playerId, null, null, 0, null);
+    }
+
+    /**
+     * Échéance de phase effectivement déclenchée ; la phase close sert à détecter une divergence au rejeu.
+     */
+    public static GameInput timer(long time, GameState phase) {
+        return new GameInput(Type.TIMER, time, null, phase.name(), null, 0, null);
+    }
+
+    /**
+     * Issue de la partie, enregistrée pour vérifier le rejeu.
+     */
+    public static GameInput outcome(long time, String winner) {
+        return new GameInput(Type.OUTCOME, time, null, winner, null, 0, null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public long getTime() {
+        return time;
+    }
+
+    public String getPlayerId() {
+        return playerId;
+    }
+
+    /**
+     * @return selon le type : identifiant de session, pseudo, type d'action, phase ou camp vainqueur
+     */
+    public String getValue() {
+        return value;
+    }
+
+    public String getTargetId() {
+        return targetId;
+    }
+
+    /**
+     * @return la graine pour {@link Type#SEED}
+     */
+    public long getNumber() {
+        return number;
+    }
+
+    /**
+     * @return les durées de phase ({@link Type#SEED}) ou les réglages de l'administrateur ({@link Type#START})
+     */
+    public Map<String, Object> getSettings() {
+        return settings;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder().append(time).append(' ').append(type);
+        if (playerId != null) {
+            out.append(' ').append(playerId);
+        }
+        if (value != null) {
+            out.append(' ').append(value);
+        }
+        if (targetId != null) {
+            out.append(" -> ").append(targetId);
+        }
+        if (type == Type.SEED) {
+            out.append(" seed=").append(number);
+        }
+        if (!settings.isEmpty()) {
+            out.append(' ').append(settings);
+        }
+        return out.toString();
+    }
+}
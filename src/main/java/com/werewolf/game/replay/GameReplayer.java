@@ -0,0 +1,120 @@
+package com.werewolf.game.replay;
+
+import com.werewolf.game.GameManager;
+import com.werewolf.game.GameSession;
+import com.werewolf.game.PhaseConfig;
+import com.werewolf.game.Player;
+import com.werewolf.game.PlayerMessenger;
+import com.werewolf.game.SessionMailbox;
+import com.werewolf.game.role.RoleRegistry;
+import com.werewolf.simulation.VirtualClock;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Rejoue hors ligne une partie enregistrée : un {@link GameManager} recréé avec la même graine reçoit
+ * les mêmes entrées dans le même ordre, sur une {@link VirtualClock} qui n'avance qu'aux échéances
+ * enregistrées. Aucun réseau, aucune attente : une partie se rejoue en quelques millisecondes.
+ */
+public class GameReplayer {
+    private final RoleRegistry roles;
+
+    public GameReplayer() {
+        this(RoleRegistry.getDefault());
+    }
+
+    public GameReplayer(RoleRegistry roles) {
+        this.roles = roles;
+    }
+
+    public ReplayResult replay(Path file) throws IOException {
+        return replay(InputLogReader.read(file));
+    }
+
+    public ReplayResult replay(List<GameInput> inputs) {
+        if (inputs.isEmpty() || inputs.get(0).getType() != GameInput.Type.SEED) {
+            throw new IllegalArgumentException("Input log must start with the game seed");
+        }
+        GameInput seed = inputs.get(0);
+        VirtualClock clock = new VirtualClock(seed.getTime());
+        GameSession session = new GameSession(seed.getValue());
+        SessionMailbox mailbox = new SessionMailbox(session.getSessionId(), Runnable::run);
+        GameManager manager = new GameManager(session, PlayerMessenger.DISCARD, mailbox, clock,
+                PhaseConfig.DEFAULT.withOverrides(seed.getSettings()), roles, seed.getNumber());
+
+        List<String> divergences = new ArrayList<>();
+        String recordedWinner = null;
+        boolean outcomeRecorded = false;
+        for (int i = 1; i < inputs.size(); i++) {
+            GameInput input = inputs.get(i);
+            switch (input.getType()) {
+                case TIMER -> {
+                    String phase = session.getCurrentPhase().name();
+                    if (!phase.equals(input.getValue())) {
+                        divergences.add("entry " + i + ": deadline recorded in " + input.getValue()
+                                + ", replayed in " + phase);
+                    } else if (!clock.advance()) {
+                        divergences.add("entry " + i + ": no pending deadline in " + phase);
+                    }
+                }
+                case OUTCOME -> {
+                    outcomeRecorded = true;
+                    recordedWinner = input.getValue();
+                }
+                default -> manager.replayInput(input);
+            }
+        }
+
+        manager.shutdown();
+        Map<String, String> dealt = new LinkedHashMap<>();
+        for (Player player : session.getPlayers()) {
+            if (player.getRole() != null) {
+                dealt.put(player.getId(), player.getRole().getName());
+            }
+        }
+        return new ReplayResult(session.getSessionId(), manager.getWinner(), recordedWinner, outcomeRecorded,
+                session.getCurrentPhase(), dealt, divergences);
+    }
+
+    /**
+     * Rejoue les journaux passés en argument (fichiers ou répertoires de {@code .wlog}) et signale
+     * ceux dont l'issue diffère de l'enregistrement.
+     */
+    public static void main(String[] args) throws IOException {
+        List<Path> files = new ArrayList<>();
+        for (String arg : args) {
+            Path path = Path.of(arg);
+            if (Files.isDirectory(path)) {
+                try (Stream<Path> listing = Files.list(path)) {
+                    listing.filter(p -> p.toString().endsWith(".wlog")).sorted().forEach(files::add);
+                }
+            } else {
+                files.add(path);
+            }
+        }
+
+        GameReplayer replayer = new GameReplayer(RoleRegistry.load());
+        int mismatches = 0;
+        for (Path file : files) {
+            try {
+                ReplayResult result = replayer.replay(file);
+                if (!result.matchesRecording()) {
+                    mismatches++;
+                    System.out.println("MISMATCH " + file + ": " + result);
+                    result.getDivergences().forEach(d -> System.out.println("  " + d));
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                mismatches++;
+                System.out.println("ERROR " + file + ": " + e.getMessage());
+            }
+        }
+        System.out.println("Replayed " + files.size() + " games, " + mismatches + " mismatches");
+    }
+}
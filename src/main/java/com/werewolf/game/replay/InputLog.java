@@ -0,0 +1,47 @@
+package com.werewolf.game.replay;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Destination des entrées d'une partie. Appelé depuis la boîte aux lettres de la session :
+ * une implémentation n'est jamais sollicitée en parallèle pour une même partie.
+ */
+public interface InputLog extends Closeable {
+    InputLog NONE = input -> {
+    };
+
+    void append(GameInput input);
+
+    /**
+     * @return un journal qui transmet chaque entrée à {@code first} puis à {@code second}, et ferme les deux
+     */
+    static InputLog both(InputLog first, InputLog second) {
+        if (first == NONE) {
+            return second;
+        }
+        if (second == NONE) {
+            return first;
+        }
+        return new InputLog() {
+            @Override
+            public void append(GameInput input) {
+                first.append(input);
+                second.append(input);
+            }
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    first.close();
+                } finally {
+                    second.close();
+                }
+            }
+        };
+    }
+
+    @Override
+    default void close() throws IOException {
+    }
+}
@@ -0,0 +1,27 @@
+package com.werewolf.game.replay;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Ouvre le journal des entrées de chaque nouvelle session.
+ */
+@FunctionalInterface
+public interface InputLogFactory {
+    InputLogFactory NONE = sessionId -> InputLog.NONE;
+
+    InputLog open(String sessionId) throws IOException;
+
+    /**
+     * Un fichier par session dans {@code directory}, nommé d'après la session et l'heure de création.
+     */
+    static InputLogFactory directory(Path directory) {
+        return sessionId -> {
+            Files.createDirectories(directory);
+            // Le nom d'une session est choisi par le client : il ne doit pas sortir du répertoire
+            String safeName = sessionId.replaceAll("[^A-Za-z0-9_-]", "_");
+            return InputLogWriter.open(directory.resolve(safeName + "-" + System.currentTimeMillis() + ".wlog"));
+        };
+    }
+}
@@ -0,0 +1,114 @@
+package com.werewolf.game.replay;
+
+import com.werewolf.network.shared.MessageFraming;
+import com.werewolf.network.shared.WireReader;
+import com.werewolf.network.shared.WireWriter;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Format binaire du journal des entrées : un en-tête ({@link #MAGIC}, {@link #VERSION}), puis une trame
+ * par entrée, au même découpage que les messages réseau (taille sur 4 octets, puis contenu).
+ * Une entrée tient en quelques octets : type, écart de temps avec l'entrée précédente en entier variable,
+ * chaînes UTF-8 préfixées par leur taille.
+ */
+public final class InputLogFormat {
+    public static final int MAGIC = 0x57574C47; // "WWLG"
+    public static final int VERSION = 1;
+
+    private static final GameInput.Type[] TYPES = GameInput.Type.values();
+    private static final int SETTING_LONG = 0;
+    private static final int SETTING_BOOLEAN = 1;
+
+    private InputLogFormat() {
+    }
+
+    /**
+     * @param previousTime horodatage de l'entrée précédente du même journal (0 pour la première)
+     * @return la trame complète, en-tête de taille inclus
+     */
+    public static byte[] encode(GameInput input, long previousTime) throws IOException {
+        WireWriter out = new WireWriter(32);
+        out.writeByte(input.getType().ordinal());
+        out.writeVarLong(zigZag(input.getTime() - previousTime));
+        out.writeString(input.getPlayerId());
+        out.writeString(input.getValue());
+        out.writeString(input.getTargetId());
+        out.writeVarLong(zigZag(input.getNumber()));
+        Map<String, Object> settings = input.getSettings();
+        out.writeVarInt(settings.size());
+        for (Map.Entry<String, Object> setting : settings.entrySet()) {
+            out.writeString(setting.getKey());
+            if (setting.getValue() instanceof Boolean) {
+                out.writeByte(SETTING_BOOLEAN);
+                out.writeBoolean((Boolean) setting.getValue());
+            } else {
+                out.writeByte(SETTING_LONG);
+                out.writeVarLong(zigZag(((Number) setting.getValue()).longValue()));
+            }
+        }
+        return out.toFrame();
+    }
+
+    public static GameInput decode(byte[] payload, long previousTime) throws IOException {
+        WireReader in = new WireReader(payload);
+        int typeIndex = in.readByte();
+        if (typeIndex >= TYPES.length) {
+            throw new IOException("Unknown input type: " + typeIndex);
+        }
+        long time = previousTime + unZigZag(in.readVarLong());
+        String playerId = in.readString();
+        String value = in.readString();
+        String targetId = in.readString();
+        long number = unZigZag(in.readVarLong());
+        int count = in.readCount();
+        Map<String, Object> settings = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            String key = in.readString();
+            int tag = in.readByte();
+            if (tag == SETTING_BOOLEAN) {
+                settings.put(key, in.readBoolean());
+            } else if (tag == SETTING_LONG) {
+                settings.put(key, unZigZag(in.readVarLong()));
+            } else {
+                throw new IOException("Unknown setting tag: " + tag);
+            }
+        }
+        return new GameInput(TYPES[typeIndex], time, playerId, value, targetId, number, settings);
+    }
+
+    public static void checkHeader(DataInputStream in) throws IOException {
+        int magic = in.readInt();
+        int version = in.readUnsignedShort();
+        if (magic != MAGIC) {
+            throw new IOException("Not a game input log");
+        }
+        if (version != VERSION) {
+            throw new IOException("Unsupported input log version: " + version);
+        }
+    }
+
+    /**
+     * @return le contenu de la trame suivante, ou {@code null} en fin de journal
+     */
+    public static byte[] readPayload(DataInputStream in) throws IOException {
+        try {
+            return MessageFraming.readPayload(in);
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    // Les écarts de temps peuvent être négatifs si l'horloge murale recule
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,43 @@
+package com.werewolf.game.replay;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Relit un journal écrit par {@link InputLogWriter}.
+ */
+public final class InputLogReader {
+    private InputLogReader() {
+    }
+
+    public static List<GameInput> read(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return read(in);
+        }
+    }
+
+    /**
+     * Une dernière trame tronquée (serveur arrêté en pleine écriture) est ignorée.
+     */
+    public static List<GameInput> read(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(stream));
+        InputLogFormat.checkHeader(in);
+        List<GameInput> inputs = new ArrayList<>();
+        long previousTime = 0;
+        while (true) {
+            byte[] payload = InputLogFormat.readPayload(in);
+            if (payload == null) {
+                return inputs;
+            }
+            GameInput input = InputLogFormat.decode(payload, previousTime);
+            previousTime = input.getTime();
+            inputs.add(input);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.werewolf.game.replay;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Journal des entrées d'une partie écrit dans un flux, au {@link InputLogFormat format binaire}.
+ * Le flux est vidé à la fin de la partie et à la fermeture ; une erreur d'écriture désactive le journal
+ * sans interrompre la partie.
+ */
+public class InputLogWriter implements InputLog {
+    private final DataOutputStream out;
+    private long previousTime;
+    private boolean failed;
+
+    public InputLogWriter(OutputStream out) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(out));
+        this.out.writeInt(InputLogFormat.MAGIC);
+        this.out.writeShort(InputLogFormat.VERSION);
+    }
+
+    public static InputLogWriter open(Path file) throws IOException {
+        return new InputLogWriter(Files.newOutputStream(file));
+    }
+
+    @Override
+    public void append(GameInput input) {
+        if (failed) {
+            return;
+        }
+        try {
+            out.write(InputLogFormat.encode(input, previousTime));
+            previousTime = input.getTime();
+            if (input.getType() == GameInput.Type.OUTCOME) {
+                out.flush();
+            }
+        } catch (IOException e) {
+            failed = true;
+            System.err.println("Input log disabled: " + e.getMessage());
+        }
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,90 @@
+package com.werewolf.game.replay;
+
+import com.werewolf.game.GameState;
+import com.werewolf.game.role.Faction;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Issue d'un rejeu, comparée à celle enregistrée dans le journal.
+ */
+public final class ReplayResult {
+    private final String sessionId;
+    private final Faction winner;
+    private final String recordedWinner;
+    private final boolean outcomeRecorded;
+    private final GameState finalPhase;
+    private final Map<String, String> roles;
+    private final List<String> divergences;
+
+    ReplayResult(String sessionId, Faction winner, String recordedWinner, boolean outcomeRecorded,
+            GameState finalPhase, Map<String, String> roles, List<String> divergences) {
+        this.sessionId = sessionId;
+        this.winner = winner;
+        this.recordedWinner = recordedWinner;
+        this.outcomeRecorded = outcomeRecorded;
+        this.finalPhase = finalPhase;
+        this.roles = Collections.unmodifiableMap(roles);
+        this.divergences = Collections.unmodifiableList(divergences);
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    /**
+     * @return le camp vainqueur au rejeu, ou {@code null} si la partie ne s'est pas terminée
+     */
+    public Faction getWinner() {
+        return winner;
+    }
+
+    /**
+     * @return le camp vainqueur enregistré, ou {@code null} si le journal s'arrête avant la fin
+     */
+    public String getRecordedWinner() {
+        return recordedWinner;
+    }
+
+    public GameState getFinalPhase() {
+        return finalPhase;
+    }
+
+    /**
+     * @return le rôle distribué à chaque joueur, par identifiant
+     */
+    public Map<String, String> getRoles() {
+        return roles;
+    }
+
+    /**
+     * @return les échéances rejouées dans une autre phase que celle enregistrée
+     */
+    public List<String> getDivergences() {
+        return divergences;
+    }
+
+    /**
+     * Vrai si chaque échéance est tombée dans la phase enregistrée et, lorsque la fin de partie
+     * a été enregistrée, si le rejeu aboutit au même vainqueur.
+     */
+    public boolean matchesRecording() {
+        if (!divergences.isEmpty()) {
+            return false;
+        }
+        if (!outcomeRecorded) {
+            return true;
+        }
+        String replayed = winner != null ? winner.name() : null;
+        return finalPhase == GameState.GAME_OVER
+                && (recordedWinner == null ? replayed == null : recordedWinner.equals(replayed));
+    }
+
+    @Override
+    public String toString() {
+        return "ReplayResult{session=" + sessionId + ", winner=" + winner + ", recorded=" + recordedWinner
+                + ", phase=" + finalPhase + ", divergences=" + divergences.size() + '}';
+    }
+}
@@ -0,0 +1,44 @@
+package com.werewolf.game.role;
+
+import com.werewolf.game.action.ActionType;
+
+import java.util.List;
+
+/**
+ * Rôles fournis avec le jeu. L'ordre fixe la distribution : un loup par tranche de quatre joueurs,
+ * une voyante à partir de quatre, un médecin à partir de cinq, des villageois pour le reste.
+ */
+public class BuiltinRoles implements RoleProvider {
+    public static final RoleDefinition WEREWOLF = RoleDefinition.builder("Werewolf")
+            .faction(Faction.WEREWOLVES)
+            .actions(ActionType.VOTE)
+            .nightAction(ActionType.KILL, 20, "Werewolves wake up and choose a target.")
+            .onePer(4)
+            .factory(WerewolfRole::new)
+            .build();
+
+    public static final RoleDefinition SEER = RoleDefinition.builder("Seer")
+            .actions(ActionType.VOTE)
+            .nightAction(ActionType.PEEK, 30, "Seer, choose a player to investigate.")
+            .minPlayers(4)
+            .factory(SeerRole::new)
+            .build();
+
+    public static final RoleDefinition MEDIC = RoleDefinition.builder("Medic")
+            .actions(ActionType.VOTE)
+            .nightAction(ActionType.HEAL, 10, "Medic, choose a player to protect.")
+            .minPlayers(5)
+            .factory(MedicRole::new)
+            .build();
+
+    public static final RoleDefinition VILLAGER = RoleDefinition.builder("Villager")
+            .actions(ActionType.VOTE)
+            .filler()
+            .factory(VillagerRole::new)
+            .build();
+
+    @Override
+    public List<RoleDefinition> getRoles() {
+        return List.of(WEREWOLF, SEER, MEDIC, VILLAGER);
+    }
+}
@@ -0,0 +1,56 @@
+package com.werewolf.game.role;
+
+import com.werewolf.game.action.ActionType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Rôle décrit uniquement par sa {@link RoleDefinition}, sans classe dédiée.
+ */
+public class ConfiguredRole implements PlayerRole {
+    private static final long serialVersionUID = 1L;
+
+    private final String name;
+    private final Faction faction;
+    private final List<String> allowedActions;
+    private final int actionMask;
+
+    public ConfiguredRole(String name, Faction faction, Set<ActionType> actions) {
+        this.name = name;
+        this.faction = faction;
+        List<String> names = new ArrayList<>(actions.size());
+        for (ActionType action : actions) {
+            names.add(action.name());
+        }
+        this.allowedActions = Collections.unmodifiableList(names);
+        this.actionMask = ActionType.maskOf(actions.toArray(new ActionType[0]));
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public boolean canPerform(String actionType) {
+        return allowedActions.contains(actionType);
+    }
+
+    @Override
+    public List<String> getAllowedActions() {
+        return allowedActions;
+    }
+
+    @Override
+    public int getActionMask() {
+        return actionMask;
+    }
+
+    @Override
+    public Faction getFaction() {
+        return faction;
+    }
+}
@@ -0,0 +1,137 @@
+package com.werewolf.game.role;
+
+import java.io.InvalidObjectException;
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Camp auquel appartient un rôle ; détermine les conditions de victoire.
+ * Les camps sont évalués dans l'ordre de déclaration : le village gagne si le dernier loup meurt
+ * dans la même résolution que la parité est atteinte.
+ * Le village et les loups sont des constantes ; un {@link RoleProvider} ou le fichier de rôles en déclare
+ * d'autres par {@link #define}. Chaque nom correspond à une seule instance.
+ * <p>
+ * Le registre est global et vit autant que la JVM : tous les catalogues de rôles le partagent et un camp
+ * n'en sort jamais. Redéclarer un camp à l'identique renvoie l'instance existante sans occuper de nouvelle
+ * place, si bien qu'un même fichier de rôles peut être relu ; seuls des noms nouveaux consomment l'une des
+ * {@link #MAX_FACTIONS} places. Un fournisseur garde donc sa {@link WinCondition} dans une constante.
+ */
+public final class Faction implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /** Nombre maximal de camps, qui dimensionne les compteurs par camp des sessions. */
+    public static final int MAX_FACTIONS = 16;
+
+    private static volatile Faction[] values = new Faction[0];
+
+    public static final Faction VILLAGE = define("VILLAGE", WinCondition.ELIMINATION, "Villagers win!");
+    public static final Faction WEREWOLVES = define("WEREWOLVES", WinCondition.PARITY, "Werewolves win!");
+
+    private final String name;
+    private final int ordinal;
+    // Non sérialisée : une instance relue est remplacée par celle du même nom
+    private final transient WinCondition winCondition;
+    private final String winMessage;
+
+    private Faction(String name, int ordinal, WinCondition winCondition, String winMessage) {
+        this.name = name;
+        this.ordinal = ordinal;
+        this.winCondition = winCondition;
+        this.winMessage = winMessage;
+    }
+
+    /**
+     * Déclare un camp, ou renvoie celui qui porte déjà ce nom avec la même condition et le même message.
+     *
+     * @param winMessage annonce de la victoire ; {@code null} pour « NOM win! »
+     * @throws IllegalArgumentException si le nom est pris avec une autre condition ou un autre message,
+     *                                  ou si {@link #MAX_FACTIONS} camps existent déjà
+     */
+    public static synchronized Faction define(String name, WinCondition winCondition, String winMessage) {
+        if (name == null || name.isBlank() || winCondition == null) {
+            throw new IllegalArgumentException("Faction name and win condition are required");
+        }
+        String normalized = name.strip().toUpperCase(Locale.ROOT);
+        String message = winMessage != null ? winMessage : normalized + " win!";
+        Faction existing = find(normalized);
+        if (existing != null) {
+            if (existing.winCondition != winCondition) {
+                throw new IllegalArgumentException("Faction " + normalized + " already has another win condition");
+            }
+            if (!existing.winMessage.equals(message)) {
+                throw new IllegalArgumentException("Faction " + normalized + " already has another win message");
+            }
+            return existing;
+        }
+        Faction[] current = values;
+        if (current.length >= MAX_FACTIONS) {
+            throw new IllegalArgumentException("Too many factions, cannot define " + normalized);
+        }
+        Faction faction = new Faction(normalized, current.length, winCondition, message);
+        Faction[] next = Arrays.copyOf(current, current.length + 1);
+        next[faction.ordinal] = faction;
+        values = next;
+        return faction;
+    }
+
+    private static Faction find(String name) {
+        for (Faction faction : values) {
+            if (faction.name.equalsIgnoreCase(name)) {
+                return faction;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return tous les camps déclarés, dans l'ordre de déclaration
+     */
+    public static Faction[] values() {
+        return values.clone();
+    }
+
+    /**
+     * @throws IllegalArgumentException si aucun camp ne porte ce nom
+     */
+    public static Faction valueOf(String name) {
+        Faction faction = name != null ? find(name.strip()) : null;
+        if (faction == null) {
+            throw new IllegalArgumentException("Unknown faction: " + name);
+        }
+        return faction;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * @return le rang de déclaration du camp, inférieur à {@link #MAX_FACTIONS}
+     */
+    public int ordinal() {
+        return ordinal;
+    }
+
+    public WinCondition getWinCondition() {
+        return winCondition;
+    }
+
+    public String getWinMessage() {
+        return winMessage;
+    }
+
+    private Object readResolve() throws ObjectStreamException {
+        Faction faction = find(name);
+        if (faction == null) {
+            throw new InvalidObjectException("Unknown faction: " + name);
+        }
+        return faction;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -1,10 +1,13 @@
 package com.werewolf.game.role;
 
+import com.werewolf.game.action.ActionType;
+
 import java.util.List;
 
 public class MedicRole implements PlayerRole {
     private static final long serialVersionUID = 1L;
     private static final List<String> ALLOWED_ACTIONS = List.of("HEAL", "VOTE");
+    private static final int ACTION_MASK = ActionType.maskOf(ActionType.HEAL, ActionType.VOTE);
 
     @Override
     public String getName() { return "Medic"; }
@@ -18,5 +21,10 @@ public class MedicRole implements PlayerRole {
     public List<String> getAllowedActions() {
         return ALLOWED_ACTIONS;
     }
+
+    @Override
+    public int getActionMask() {
+        return ACTION_MASK;
+    }
     
 }
@@ -1,5 +1,7 @@
 package com.werewolf.game.role;
 
+import com.werewolf.game.action.ActionType;
+
 import java.io.Serializable;
 import java.util.List;
 
@@ -15,4 +17,22 @@ public interface PlayerRole extends Serializable {
     boolean canPerform(String actionType);
 
     List<String> getAllowedActions();
+
+    /**
+     * @return les actions permises sous forme de masque de bits {@link ActionType#bit()}
+     */
+    default int getActionMask() {
+        return ActionType.maskOf(getAllowedActions());
+    }
+
+    default boolean canPerform(ActionType action) {
+        return action != null && (getActionMask() & action.bit()) != 0;
+    }
+
+    /**
+     * @return le camp de ce rôle ; le village par défaut
+     */
+    default Faction getFaction() {
+        return Faction.VILLAGE;
+    }
 }
@@ -0,0 +1,147 @@
+package com.werewolf.game.role;
+
+import com.werewolf.game.action.ActionType;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Rôles et camps déclarés dans un fichier de propriétés, sans écrire de classe :
+ * <pre>
+ * faction.VAMPIRES.win=PARITY
+ * faction.VAMPIRES.message=Vampires win!
+ * role.Vampire.faction=VAMPIRES
+ * role.Vampire.actions=VOTE
+ * role.Vampire.night=KILL
+ * role.Vampire.priority=25
+ * role.Vampire.prompt=Vampires, choose a target.
+ * role.Vampire.onePer=6
+ * </pre>
+ * Les vampires tuent la nuit comme les loups, mais pour leur camp : chaque camp a son étape de meurtre
+ * et désigne sa propre victime.
+ * Les conditions de victoire sont celles de {@link WinCondition#named} ; les camps rejoignent le registre
+ * global de {@link Faction}, où relire le même fichier ne les déclare pas deux fois. Les actions doivent
+ * être connues, soit du jeu de base, soit déclarées par un {@link RoleProvider} (une action de nuit nouvelle
+ * demande une étape de résolution, donc du code). Les clés {@code minPlayers}, {@code onePer} et {@code filler}
+ * reprennent les règles de distribution de {@link RoleDefinition.Builder}.
+ */
+public final class RoleConfig implements RoleProvider {
+    private final List<RoleDefinition> roles;
+
+    private RoleConfig(List<RoleDefinition> roles) {
+        this.roles = List.copyOf(roles);
+    }
+
+    /**
+     * @throws IOException              si le fichier est illisible
+     * @throws IllegalArgumentException si une déclaration est invalide
+     */
+    public static RoleConfig load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        return parse(properties);
+    }
+
+    public static RoleConfig parse(Properties properties) {
+        // Properties ne garde pas l'ordre du fichier : les noms sont triés pour une distribution stable
+        Set<String> factionNames = new TreeSet<>();
+        Set<String> roleNames = new TreeSet<>();
+        for (String key : properties.stringPropertyNames()) {
+            String[] parts = key.split("\\.");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Unexpected key in role file: " + key);
+            }
+            if ("faction".equals(parts[0])) {
+                factionNames.add(parts[1]);
+            } else if ("role".equals(parts[0])) {
+                roleNames.add(parts[1]);
+            } else {
+                throw new IllegalArgumentException("Unexpected key in role file: " + key);
+            }
+        }
+
+        // Les camps d'abord, pour que les rôles puissent y faire référence ; toutes les conditions sont
+        // vérifiées avant la première déclaration, le registre des camps étant global
+        Map<String, WinCondition> conditions = new LinkedHashMap<>();
+        for (String name : factionNames) {
+            conditions.put(name, WinCondition.named(required(properties, "faction." + name + ".win")));
+        }
+        conditions.forEach((name, condition) ->
+                Faction.define(name, condition, properties.getProperty("faction." + name + ".message")));
+
+        List<RoleDefinition> roles = new ArrayList<>();
+        for (String name : roleNames) {
+            roles.add(parseRole(properties, name));
+        }
+        return new RoleConfig(roles);
+    }
+
+    private static RoleDefinition parseRole(Properties properties, String name) {
+        String prefix = "role." + name + ".";
+        RoleDefinition.Builder builder = RoleDefinition.builder(name);
+        String faction = properties.getProperty(prefix + "faction");
+        if (faction != null) {
+            builder.faction(Faction.valueOf(faction));
+        }
+        String actions = properties.getProperty(prefix + "actions");
+        if (actions != null && !actions.isBlank()) {
+            Set<ActionType> parsed = new LinkedHashSet<>();
+            for (String action : actions.split(",")) {
+                parsed.add(ActionType.valueOf(action.strip()));
+            }
+            builder.actions(parsed.toArray(new ActionType[0]));
+        }
+        String night = properties.getProperty(prefix + "night");
+        if (night != null) {
+            builder.nightAction(ActionType.valueOf(night.strip()), intValue(properties, prefix + "priority", 0),
+                    properties.getProperty(prefix + "prompt", name + ", choose a player."));
+        }
+        builder.minPlayers(intValue(properties, prefix + "minPlayers", 0));
+        String onePer = properties.getProperty(prefix + "onePer");
+        if (onePer != null) {
+            builder.onePer(intValue(properties, prefix + "onePer", 0));
+        }
+        if (Boolean.parseBoolean(properties.getProperty(prefix + "filler", "false").strip())) {
+            builder.filler();
+        }
+        return builder.build();
+    }
+
+    private static String required(Properties properties, String key) {
+        String value = properties.getProperty(key);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing " + key + " in role file");
+        }
+        return value.strip();
+    }
+
+    private static int intValue(Properties properties, String key, int defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.strip());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number for " + key + ": " + value, e);
+        }
+    }
+
+    @Override
+    public List<RoleDefinition> getRoles() {
+        return roles;
+    }
+}
@@ -0,0 +1,226 @@
+package com.werewolf.game.role;
+
+import com.werewolf.game.GameState;
+import com.werewolf.game.action.ActionType;
+import com.werewolf.game.action.GameAction;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+/**
+ * Description déclarative d'un rôle : camp, actions permises, action de nuit et sa priorité,
+ * et règle de distribution selon le nombre de joueurs. Le {@link RoleRegistry} compile ces
+ * définitions en tables consultées par le moteur.
+ * Une action de nuit nouvelle ({@link ActionType#define}) apporte son étape de résolution par
+ * {@link Builder#nightAction(GameAction, int, String)} ; les actions du jeu de base ont la leur.
+ */
+public final class RoleDefinition {
+    private final String name;
+    private final Faction faction;
+    private final Set<ActionType> actions;
+    private final ActionType nightAction;
+    // Étape de résolution fournie avec le rôle, ou null pour celle du jeu de base
+    private final GameAction nightStage;
+    private final int nightPriority;
+    private final String nightPrompt;
+    private final int minPlayers;
+    private final int playersPerCopy;
+    private final boolean filler;
+    // Les rôles sont sans état : une seule instance est partagée par tous les joueurs qui le reçoivent
+    private final PlayerRole role;
+
+    private RoleDefinition(Builder builder) {
+        this.name = builder.name;
+        this.faction = builder.faction;
+        this.actions = Collections.unmodifiableSet(sortedActions(builder.actions));
+        this.nightAction = builder.nightAction;
+        this.nightStage = builder.nightStage;
+        this.nightPriority = builder.nightPriority;
+        this.nightPrompt = builder.nightPrompt;
+        this.minPlayers = builder.minPlayers;
+        this.playersPerCopy = builder.playersPerCopy;
+        this.filler = builder.filler;
+        this.role = builder.factory != null ? builder.factory.get() : new ConfiguredRole(name, faction, actions);
+        if (!name.equals(role.getName())) {
+            throw new IllegalArgumentException("Role factory for " + name + " creates " + role.getName());
+        }
+    }
+
+    private static Set<ActionType> sortedActions(Set<ActionType> actions) {
+        Set<ActionType> sorted = new TreeSet<>(Comparator.comparingInt(ActionType::ordinal));
+        sorted.addAll(actions);
+        return sorted;
+    }
+
+    public static Builder builder(String name) {
+        return new Builder(name);
+    }
+
+    /**
+     * @return le nombre d'exemplaires de ce rôle dans une partie de {@code players} joueurs
+     *         (toujours 0 pour le rôle de complément)
+     */
+    public int copiesFor(int players) {
+        if (filler || players < minPlayers) {
+            return 0;
+        }
+        return playersPerCopy > 0 ? Math.max(1, players / playersPerCopy) : 1;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Faction getFaction() {
+        return faction;
+    }
+
+    public Set<ActionType> getActions() {
+        return actions;
+    }
+
+    /**
+     * @return l'action jouée par ce rôle la nuit, ou {@code null} s'il dort
+     */
+    public ActionType getNightAction() {
+        return nightAction;
+    }
+
+    /**
+     * @return l'étape de résolution apportée par le rôle, ou {@code null} s'il joue une action du jeu de base
+     */
+    public GameAction getNightStage() {
+        return nightStage;
+    }
+
+    /**
+     * @return l'ordre de réveil et de résolution la nuit : les plus petites valeurs passent en premier
+     */
+    public int getNightPriority() {
+        return nightPriority;
+    }
+
+    public String getNightPrompt() {
+        return nightPrompt;
+    }
+
+    public boolean hasNightAction() {
+        return nightAction != null;
+    }
+
+    public boolean isFiller() {
+        return filler;
+    }
+
+    public PlayerRole getRole() {
+        return role;
+    }
+
+    @Override
+    public String toString() {
+        return name + "{" + faction + ", actions=" + actions
+                + (nightAction != null ? ", night=" + nightAction + "@" + nightPriority : "") + '}';
+    }
+
+    public static final class Builder {
+        private final String name;
+        private Faction faction = Faction.VILLAGE;
+        private final Set<ActionType> actions = sortedActions(Set.of());
+        private ActionType nightAction;
+        private GameAction nightStage;
+        private int nightPriority;
+        private String nightPrompt;
+        private int minPlayers;
+        private int playersPerCopy;
+        private boolean filler;
+        private Supplier<? extends PlayerRole> factory;
+
+        private Builder(String name) {
+            if (name == null || name.isBlank()) {
+                throw new IllegalArgumentException("Role name must not be blank");
+            }
+            this.name = name;
+        }
+
+        public Builder faction(Faction faction) {
+            if (faction == null) {
+                throw new IllegalArgumentException("Faction must not be null");
+            }
+            this.faction = faction;
+            return this;
+        }
+
+        public Builder actions(ActionType... actions) {
+            Collections.addAll(this.actions, actions);
+            return this;
+        }
+
+        /**
+         * Déclare l'action de nuit du rôle ; elle est ajoutée aux actions permises.
+         */
+        public Builder nightAction(ActionType action, int priority, String prompt) {
+            if (action == null || action.getPhase() != GameState.NIGHT) {
+                throw new IllegalArgumentException("Night action must be played at night: " + action);
+            }
+            this.nightAction = action;
+            this.nightPriority = priority;
+            this.nightPrompt = prompt;
+            this.actions.add(action);
+            return this;
+        }
+
+        /**
+         * Déclare une action de nuit avec sa propre étape de résolution, pour une action absente du jeu de base.
+         */
+        public Builder nightAction(GameAction stage, int priority, String prompt) {
+            if (stage == null) {
+                throw new IllegalArgumentException("Night stage must not be null");
+            }
+            nightAction(stage.getType(), priority, prompt);
+            this.nightStage = stage;
+            return this;
+        }
+
+        /**
+         * Le rôle n'est distribué qu'à partir de ce nombre de joueurs.
+         */
+        public Builder minPlayers(int minPlayers) {
+            this.minPlayers = minPlayers;
+            return this;
+        }
+
+        /**
+         * Un exemplaire par tranche de {@code players} joueurs (au moins un) au lieu d'un exemplaire unique.
+         */
+        public Builder onePer(int players) {
+            if (players <= 0) {
+                throw new IllegalArgumentException("onePer must be positive: " + players);
+            }
+            this.playersPerCopy = players;
+            return this;
+        }
+
+        /**
+         * Rôle de complément, distribué aux joueurs restants une fois les autres rôles attribués.
+         */
+        public Builder filler() {
+            this.filler = true;
+            return this;
+        }
+
+        /**
+         * Classe dédiée du rôle ; à défaut, un {@link ConfiguredRole} est construit depuis la définition.
+         */
+        public Builder factory(Supplier<? extends PlayerRole> factory) {
+            this.factory = factory;
+            return this;
+        }
+
+        public RoleDefinition build() {
+            return new RoleDefinition(this);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.werewolf.game.role;
+
+import java.util.List;
+
+/**
+ * Point d'extension pour déclarer de nouveaux rôles. Les implémentations sont découvertes par
+ * {@link java.util.ServiceLoader} au démarrage du serveur (clause {@code provides} d'un module ou
+ * fichier {@code META-INF/services/com.werewolf.game.role.RoleProvider}).
+ */
+public interface RoleProvider {
+    /**
+     * @return les rôles apportés par ce fournisseur ; un nom déjà connu remplace la définition existante
+     */
+    List<RoleDefinition> getRoles();
+}
@@ -0,0 +1,259 @@
+package com.werewolf.game.role;
+
+import com.werewolf.game.action.ActionFactory;
+import com.werewolf.game.action.ActionType;
+import com.werewolf.game.action.GameAction;
+import com.werewolf.game.action.NightStage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+
+/**
+ * Catalogue des rôles jouables, compilé une fois en tables de consultation : définition par nom,
+ * rôles de nuit triés par priorité, étapes de résolution de la nuit avec leurs rôles, camps en jeu.
+ * Une action de nuit jouée par plusieurs camps donne une étape par camp : chacun fait ses propres choix.
+ * Le moteur ne connaît aucun rôle par son nom ; ajouter un rôle revient à le déclarer via un
+ * {@link RoleProvider} (qui peut aussi apporter ses camps et ses actions de nuit) ou dans le fichier
+ * de rôles désigné par {@code WEREWOLF_ROLES_FILE} (voir {@link RoleConfig}).
+ * Immuable, donc partagé sans précaution entre les sessions.
+ */
+public final class RoleRegistry {
+    /** Propriété système ou variable d'environnement désignant un fichier de rôles supplémentaires. */
+    public static final String ROLES_FILE = "WEREWOLF_ROLES_FILE";
+    private static final RoleDefinition[] NO_ACTORS = new RoleDefinition[0];
+
+    private final List<RoleDefinition> definitions;
+    private final Map<String, RoleDefinition> byName;
+    private final RoleDefinition filler;
+    private final List<RoleDefinition> nightRoles;
+    private final List<ActionType> nightActions;
+    // Une étape par action et par camp qui la joue, dans l'ordre de priorité du premier rôle concerné
+    private final NightStage[] nightStages;
+    // actorsByStage[i] : rôles qui jouent l'étape nightStages[i]
+    private final RoleDefinition[][] actorsByStage;
+    // actorsByAction[action.ordinal()] : rôles qui jouent cette action la nuit, tous camps confondus
+    private final RoleDefinition[][] actorsByAction;
+    private final Set<Faction> factions;
+
+    public RoleRegistry(List<RoleDefinition> declared) {
+        // Un nom déjà déclaré remplace la définition précédente en conservant sa place
+        Map<String, RoleDefinition> merged = new LinkedHashMap<>();
+        for (RoleDefinition definition : declared) {
+            merged.put(definition.getName(), definition);
+        }
+
+        RoleDefinition fillerRole = null;
+        for (RoleDefinition definition : merged.values()) {
+            if (definition.isFiller()) {
+                if (fillerRole != null) {
+                    throw new IllegalArgumentException("Only one filler role is allowed: "
+                            + fillerRole.getName() + ", " + definition.getName());
+                }
+                fillerRole = definition;
+            }
+        }
+        if (fillerRole == null) {
+            throw new IllegalArgumentException("A filler role is required");
+        }
+
+        this.definitions = List.copyOf(merged.values());
+        this.byName = new HashMap<>(merged);
+        this.filler = fillerRole;
+
+        List<RoleDefinition> night = new ArrayList<>();
+        List<Faction> inPlay = new ArrayList<>();
+        for (RoleDefinition definition : definitions) {
+            if (!inPlay.contains(definition.getFaction())) {
+                inPlay.add(definition.getFaction());
+            }
+            if (definition.hasNightAction()) {
+                night.add(definition);
+            }
+        }
+        night.sort(Comparator.comparingInt(RoleDefinition::getNightPriority));
+        this.nightRoles = List.copyOf(night);
+        // Les victoires s'évaluent dans l'ordre de déclaration des camps
+        inPlay.sort(Comparator.comparingInt(Faction::ordinal));
+        this.factions = Collections.unmodifiableSet(new LinkedHashSet<>(inPlay));
+
+        // La première étape fournie pour une action l'emporte ; à défaut, celle du jeu de base
+        ActionFactory builtin = new ActionFactory();
+        Map<ActionType, GameAction> resolvers = new HashMap<>();
+        for (RoleDefinition definition : nightRoles) {
+            if (definition.getNightStage() != null) {
+                resolvers.putIfAbsent(definition.getNightAction(), definition.getNightStage());
+            }
+        }
+        List<ActionType> actions = new ArrayList<>();
+        List<NightStage> stages = new ArrayList<>();
+        List<List<RoleDefinition>> stageActors = new ArrayList<>();
+        List<List<RoleDefinition>> actors = new ArrayList<>();
+        for (int i = 0; i < ActionType.values().length; i++) {
+            actors.add(new ArrayList<>());
+        }
+        for (RoleDefinition definition : nightRoles) {
+            ActionType action = definition.getNightAction();
+            if (!actions.contains(action)) {
+                actions.add(action);
+            }
+            actors.get(action.ordinal()).add(definition);
+            int index = indexOf(stages, action, definition.getFaction());
+            if (index < 0) {
+                GameAction resolver = resolvers.computeIfAbsent(action, builtin::getAction);
+                if (resolver == null) {
+                    throw new IllegalArgumentException("No resolution stage for night action " + action);
+                }
+                stages.add(new NightStage(action, definition.getFaction(), resolver));
+                stageActors.add(new ArrayList<>());
+                index = stages.size() - 1;
+            }
+            stageActors.get(index).add(definition);
+        }
+        this.nightActions = List.copyOf(actions);
+        this.nightStages = stages.toArray(new NightStage[0]);
+        this.actorsByStage = new RoleDefinition[stageActors.size()][];
+        for (int i = 0; i < stageActors.size(); i++) {
+            actorsByStage[i] = stageActors.get(i).toArray(new RoleDefinition[0]);
+        }
+        this.actorsByAction = new RoleDefinition[actors.size()][];
+        for (int i = 0; i < actors.size(); i++) {
+            actorsByAction[i] = actors.get(i).toArray(new RoleDefinition[0]);
+        }
+    }
+
+    private static int indexOf(List<NightStage> stages, ActionType action, Faction faction) {
+        for (int i = 0; i < stages.size(); i++) {
+            if (stages.get(i).getAction() == action && stages.get(i).getFaction() == faction) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return le catalogue du serveur : rôles intégrés puis rôles des {@link RoleProvider} installés
+     */
+    public static RoleRegistry getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /**
+     * Construit un catalogue à partir des rôles intégrés, de ceux découverts par {@link ServiceLoader},
+     * puis de ceux du fichier {@code WEREWOLF_ROLES_FILE} s'il est défini (propriété système ou variable
+     * d'environnement). Un fichier illisible ou invalide empêche le démarrage plutôt que de jouer sans ses rôles.
+     */
+    public static RoleRegistry load() {
+        List<RoleDefinition> declared = new ArrayList<>(new BuiltinRoles().getRoles());
+        for (RoleProvider provider : ServiceLoader.load(RoleProvider.class)) {
+            declared.addAll(provider.getRoles());
+        }
+        String file = System.getProperty(ROLES_FILE);
+        if (file == null) {
+            file = System.getenv(ROLES_FILE);
+        }
+        if (file != null && !file.isBlank()) {
+            try {
+                declared.addAll(RoleConfig.load(Path.of(file)).getRoles());
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot read role file " + file, e);
+            }
+        }
+        return new RoleRegistry(declared);
+    }
+
+    /**
+     * Compose les rôles d'une partie de {@code players} joueurs, dans l'ordre du catalogue (à mélanger).
+     */
+    public List<PlayerRole> deal(int players) {
+        List<PlayerRole> roles = new ArrayList<>(players);
+        for (RoleDefinition definition : definitions) {
+            int copies = Math.min(definition.copiesFor(players), players - roles.size());
+            for (int i = 0; i < copies; i++) {
+                roles.add(definition.getRole());
+            }
+        }
+        while (roles.size() < players) {
+            roles.add(filler.getRole());
+        }
+        return roles;
+    }
+
+    /**
+     * @return la définition du rôle, ou {@code null} s'il n'appartient pas au catalogue
+     */
+    public RoleDefinition get(String name) {
+        return byName.get(name);
+    }
+
+    public RoleDefinition definitionOf(PlayerRole role) {
+        return role != null ? byName.get(role.getName()) : null;
+    }
+
+    public List<RoleDefinition> getDefinitions() {
+        return definitions;
+    }
+
+    /**
+     * @return les rôles qui se réveillent la nuit, par priorité croissante
+     */
+    public List<RoleDefinition> getNightRoles() {
+        return nightRoles;
+    }
+
+    /**
+     * @return les actions jouées la nuit, dans l'ordre de priorité du premier rôle qui les joue
+     */
+    public List<ActionType> getNightActions() {
+        return nightActions;
+    }
+
+    /**
+     * @return les rôles qui jouent cette action la nuit, tous camps confondus (tableau partagé, à ne pas modifier)
+     */
+    public RoleDefinition[] actorsFor(ActionType action) {
+        int index = action.ordinal();
+        // Action déclarée après la compilation du catalogue : aucun rôle ne la joue
+        return index < actorsByAction.length ? actorsByAction[index] : NO_ACTORS;
+    }
+
+    /**
+     * @return les étapes de résolution de la nuit, une par action et par camp, dans l'ordre de priorité (copie)
+     */
+    public NightStage[] getNightStages() {
+        return nightStages.clone();
+    }
+
+    /**
+     * @param stage l'indice d'une étape de {@link #getNightStages()}
+     * @return les rôles du camp de l'étape qui y jouent leur action (tableau partagé, à ne pas modifier)
+     */
+    public RoleDefinition[] actorsOf(int stage) {
+        return actorsByStage[stage];
+    }
+
+    /**
+     * @return les camps représentés dans le catalogue, dans l'ordre d'évaluation des victoires
+     */
+    public Set<Faction> getFactions() {
+        return factions;
+    }
+
+    @Override
+    public String toString() {
+        return "RoleRegistry" + definitions;
+    }
+
+    private static final class DefaultHolder {
+        static final RoleRegistry INSTANCE = load();
+    }
+}
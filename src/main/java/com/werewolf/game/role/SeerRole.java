@@ -1,10 +1,13 @@
 package com.werewolf.game.role;
 
+import com.werewolf.game.action.ActionType;
+
 import java.util.List;
 
 public class SeerRole implements PlayerRole {
     private static final long serialVersionUID = 1L;
     private static final List<String> ALLOWED_ACTIONS = List.of("PEEK", "VOTE");
+    private static final int ACTION_MASK = ActionType.maskOf(ActionType.PEEK, ActionType.VOTE);
 
     @Override
     public String getName() { return "Seer"; }
@@ -18,5 +21,10 @@ public class SeerRole implements PlayerRole {
     public List<String> getAllowedActions() {
         return ALLOWED_ACTIONS;
     }
+
+    @Override
+    public int getActionMask() {
+        return ACTION_MASK;
+    }
     
 }
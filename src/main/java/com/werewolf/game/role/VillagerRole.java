@@ -1,10 +1,13 @@
 package com.werewolf.game.role;
 
+import com.werewolf.game.action.ActionType;
+
 import java.util.List;
 
 public class VillagerRole implements PlayerRole {
     private static final long serialVersionUID = 1L;
     private static final List<String> ALLOWED_ACTIONS = List.of("VOTE");
+    private static final int ACTION_MASK = ActionType.maskOf(ActionType.VOTE);
 
     @Override
     public String getName() { return "Villager"; }
@@ -18,4 +21,9 @@ public class VillagerRole implements PlayerRole {
     public List<String> getAllowedActions() {
         return ALLOWED_ACTIONS;
     }
+
+    @Override
+    public int getActionMask() {
+        return ACTION_MASK;
+    }
 }
@@ -1,10 +1,13 @@
 package com.werewolf.game.role;
 
+import com.werewolf.game.action.ActionType;
+
 import java.util.List;
 
 public class WerewolfRole implements PlayerRole {
     private static final long serialVersionUID = 1L;
     private static final List<String> ALLOWED_ACTIONS = List.of("KILL", "VOTE");
+    private static final int ACTION_MASK = ActionType.maskOf(ActionType.KILL, ActionType.VOTE);
 
     @Override
     public String getName() { return "Werewolf"; }
@@ -18,4 +21,14 @@ public class WerewolfRole implements PlayerRole {
     public List<String> getAllowedActions() {
         return ALLOWED_ACTIONS;
     }
+
+    @Override
+    public int getActionMask() {
+        return ACTION_MASK;
+    }
+
+    @Override
+    public Faction getFaction() {
+        return Faction.WEREWOLVES;
+    }
 }
@@ -0,0 +1,32 @@
+package com.werewolf.game.role;
+
+/**
+ * Condition de victoire d'un camp, évaluée sur les seuls compteurs de joueurs en vie.
+ * Les deux conditions du jeu de base sont fournies ; un {@link RoleProvider} peut passer sa propre
+ * implémentation à {@link Faction#define}.
+ */
+@FunctionalInterface
+public interface WinCondition {
+    /** Le camp l'emporte lorsque plus aucun adversaire n'est en vie. */
+    WinCondition ELIMINATION = (aliveMembers, aliveOpponents) -> aliveOpponents == 0;
+
+    /** Le camp l'emporte dès qu'il est au moins aussi nombreux que ses adversaires. */
+    WinCondition PARITY = (aliveMembers, aliveOpponents) -> aliveMembers > 0 && aliveMembers >= aliveOpponents;
+
+    boolean isMet(int aliveMembers, int aliveOpponents);
+
+    /**
+     * Reconnaît une condition intégrée par son nom, pour les fichiers de configuration.
+     *
+     * @throws IllegalArgumentException si le nom est inconnu
+     */
+    static WinCondition named(String name) {
+        if ("ELIMINATION".equalsIgnoreCase(name)) {
+            return ELIMINATION;
+        }
+        if ("PARITY".equalsIgnoreCase(name)) {
+            return PARITY;
+        }
+        throw new IllegalArgumentException("Unknown win condition: " + name);
+    }
+}
@@ -0,0 +1,30 @@
+package com.werewolf.game.snapshot;
+
+import com.werewolf.game.replay.GameInput;
+
+import java.util.List;
+
+/**
+ * Session lue dans un fichier de reprise : son dernier instantané et les entrées reçues depuis.
+ */
+public final class RecoveredSession {
+    private final SessionSnapshot snapshot;
+    private final List<GameInput> tail;
+
+    public RecoveredSession(SessionSnapshot snapshot, List<GameInput> tail) {
+        this.snapshot = snapshot;
+        this.tail = List.copyOf(tail);
+    }
+
+    public String getSessionId() {
+        return snapshot.getSessionId();
+    }
+
+    public SessionSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public List<GameInput> getTail() {
+        return tail;
+    }
+}
@@ -0,0 +1,125 @@
+package com.werewolf.game.snapshot;
+
+import com.werewolf.game.replay.GameInput;
+import com.werewolf.game.replay.InputLog;
+import com.werewolf.game.replay.InputLogFormat;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Fichier de reprise d'une session : le dernier instantané, suivi des entrées reçues depuis.
+ * Chaque entrée est écrite et vidée aussitôt, si bien qu'un arrêt brutal du serveur ne perd au plus que
+ * l'entrée en cours d'écriture. Un nouvel instantané remplace le fichier d'un bloc (fichier temporaire,
+ * puis renommage atomique) et vide la suite d'entrées.
+ * Non synchronisé : utilisé depuis la boîte aux lettres de la session.
+ */
+public class RecoveryLog implements InputLog {
+    private final Path file;
+    private DataOutputStream out;
+    private long previousTime;
+    private int pendingInputs;
+    private boolean closed;
+    private boolean failed;
+
+    RecoveryLog(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Les entrées reçues avant le premier instantané sont ignorées : elles y sont déjà reflétées.
+     */
+    @Override
+    public void append(GameInput input) {
+        if (out == null || failed || input.getType() == GameInput.Type.SEED) {
+            return;
+        }
+        try {
+            out.write(InputLogFormat.encode(input, previousTime));
+            out.flush();
+            previousTime = input.getTime();
+            pendingInputs++;
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * Remplace le contenu du fichier par {@code snapshot} ; les entrées suivantes y seront ajoutées.
+     */
+    public void checkpoint(SessionSnapshot snapshot) {
+        if (closed) {
+            return;
+        }
+        try {
+            closeStream();
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (DataOutputStream tempOut = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                SnapshotFormat.writeHeader(tempOut);
+                tempOut.write(SnapshotFormat.encode(snapshot));
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            out = new DataOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(file, StandardOpenOption.APPEND)));
+            previousTime = snapshot.getTime();
+            pendingInputs = 0;
+            failed = false;
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * @return le nombre d'entrées écrites depuis le dernier instantané
+     */
+    public int getPendingInputs() {
+        return pendingInputs;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Supprime le fichier : la session est terminée ou détruite, il n'y a plus rien à reprendre.
+     */
+    public void discard() {
+        try {
+            close();
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            System.err.println("Failed to delete recovery file " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Ferme le fichier en le conservant, pour une reprise au prochain démarrage ; les entrées et
+     * instantanés suivants sont ignorés.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        closeStream();
+    }
+
+    private void closeStream() throws IOException {
+        if (out != null) {
+            DataOutputStream current = out;
+            out = null;
+            current.close();
+        }
+    }
+
+    // Une erreur d'écriture suspend le fichier jusqu'au prochain instantané, sans interrompre la partie
+    private void fail(IOException e) {
+        if (!failed) {
+            System.err.println("Recovery file " + file + " suspended: " + e.getMessage());
+        }
+        failed = true;
+    }
+}
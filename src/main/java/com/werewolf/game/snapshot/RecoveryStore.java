@@ -0,0 +1,106 @@
+package com.werewolf.game.snapshot;
+
+import com.werewolf.game.GameState;
+import com.werewolf.game.replay.GameInput;
+import com.werewolf.game.replay.InputLogFormat;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Répertoire des fichiers de reprise, un par session ouverte. Au démarrage, {@link #recover()} relit
+ * les sessions qu'un arrêt du serveur a interrompues.
+ */
+public class RecoveryStore {
+    public static final String EXTENSION = ".recovery";
+
+    private final Path directory;
+
+    public RecoveryStore(Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+    }
+
+    public RecoveryLog open(String sessionId) {
+        return new RecoveryLog(fileFor(sessionId));
+    }
+
+    // Nom lisible, complété d'une empreinte : deux identifiants qui s'assainissent pareil ne partagent pas de fichier
+    Path fileFor(String sessionId) {
+        String safeName = sessionId.replaceAll("[^A-Za-z0-9_-]", "_");
+        return directory.resolve(safeName + "-" + Integer.toHexString(sessionId.hashCode()) + EXTENSION);
+    }
+
+    /**
+     * Relit les sessions à reprendre. Les parties terminées sont effacées ; un fichier illisible est
+     * signalé et laissé en place pour examen.
+     */
+    public List<RecoveredSession> recover() throws IOException {
+        List<RecoveredSession> sessions = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(EXTENSION + ".tmp")) {
+                    // Instantané interrompu avant son renommage : le fichier précédent fait foi
+                    Files.deleteIfExists(file);
+                    continue;
+                }
+                if (!name.endsWith(EXTENSION)) {
+                    continue;
+                }
+                RecoveredSession session;
+                try {
+                    session = read(file);
+                } catch (IOException e) {
+                    System.err.println("Skipping unreadable recovery file " + file + ": " + e.getMessage());
+                    continue;
+                }
+                if (isOver(session)) {
+                    Files.deleteIfExists(file);
+                } else {
+                    sessions.add(session);
+                }
+            }
+        }
+        return sessions;
+    }
+
+    private static boolean isOver(RecoveredSession session) {
+        if (session.getSnapshot().getPhase() == GameState.GAME_OVER) {
+            return true;
+        }
+        for (GameInput input : session.getTail()) {
+            if (input.getType() == GameInput.Type.OUTCOME) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Lit un fichier de reprise ; une dernière entrée tronquée par l'arrêt est ignorée.
+     */
+    public static RecoveredSession read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            SnapshotFormat.checkHeader(in);
+            byte[] payload = InputLogFormat.readPayload(in);
+            if (payload == null) {
+                throw new IOException("Missing snapshot");
+            }
+            SessionSnapshot snapshot = SnapshotFormat.decode(payload);
+            List<GameInput> tail = new ArrayList<>();
+            long previousTime = snapshot.getTime();
+            while ((payload = InputLogFormat.readPayload(in)) != null) {
+                GameInput input = InputLogFormat.decode(payload, previousTime);
+                tail.add(input);
+                previousTime = input.getTime();
+            }
+            return new RecoveredSession(snapshot, tail);
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.werewolf.game.snapshot;
+
+import com.werewolf.game.GameState;
+import com.werewolf.game.PhaseConfig;
+import com.werewolf.game.action.ActionType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * État complet d'une session à un instant donné : joueurs, rôles, votes, choix de la nuit en cours,
+ * phase et temps restant avant son échéance, état du générateur, jetons de reprise des joueurs, joueurs
+ * partis en cours de partie. Produit par {@link com.werewolf.game.GameManager#snapshot()} et rechargé par
+ * {@link com.werewolf.game.GameManager#restore}.
+ */
+public final class SessionSnapshot {
+    private final String sessionId;
+    private final long time;
+    private final long seed;
+    private final long randomState;
+    private final PhaseConfig phaseConfig;
+    private final GameState phase;
+    private final long remainingMs;
+    private final String winner;
+    private final List<PlayerState> players;
+    private final List<PlayerState> departed;
+    private final Map<String, String> votes;
+    private final Map<ActionType, Map<String, String>> nightChoices;
+    private final List<String> readyPlayers;
+    private final Map<String, int[]> summaryCounters;
+    private final Map<String, String> resumeTokens;
+
+    private SessionSnapshot(Builder builder) {
+        this.sessionId = builder.sessionId;
+        this.time = builder.time;
+        this.seed = builder.seed;
+        this.randomState = builder.randomState;
+        this.phaseConfig = builder.phaseConfig;
+        this.phase = builder.phase;
+        this.remainingMs = builder.remainingMs;
+        this.winner = builder.winner;
+        this.players = Collections.unmodifiableList(builder.players);
+        this.departed = Collections.unmodifiableList(builder.departed);
+        this.votes = Collections.unmodifiableMap(builder.votes);
+        this.nightChoices = Collections.unmodifiableMap(builder.nightChoices);
+        this.readyPlayers = Collections.unmodifiableList(builder.readyPlayers);
+        this.summaryCounters = Collections.unmodifiableMap(builder.summaryCounters);
+        this.resumeTokens = Collections.unmodifiableMap(builder.resumeTokens);
+    }
+
+    public static Builder builder(String sessionId, long time) {
+        return new Builder(sessionId, time);
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    /**
+     * @return l'heure de la prise de vue, selon le planificateur de la session
+     */
+    public long getTime() {
+        return time;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getRandomState() {
+        return randomState;
+    }
+
+    public PhaseConfig getPhaseConfig() {
+        return phaseConfig;
+    }
+
+    public GameState getPhase() {
+        return phase;
+    }
+
+    /**
+     * @return le temps qu'il restait avant l'échéance de la phase, ou 0 pour une phase sans échéance
+     */
+    public long getRemainingMs() {
+        return remainingMs;
+    }
+
+    /**
+     * @return le nom du camp vainqueur, ou {@code null} tant que la partie n'est pas terminée
+     */
+    public String getWinner() {
+        return winner;
+    }
+
+    /**
+     * @return les joueurs dans l'ordre d'arrivée ; le premier est l'administrateur
+     */
+    public List<PlayerState> getPlayers() {
+        return players;
+    }
+
+    /**
+     * @return les joueurs partis en cours de partie, toujours comptés au bilan de fin de partie
+     */
+    public List<PlayerState> getDeparted() {
+        return departed;
+    }
+
+    /**
+     * @return les votes dans l'ordre où ils ont été exprimés : les rejouer dans cet ordre reproduit le départage
+     */
+    public Map<String, String> getVotes() {
+        return votes;
+    }
+
+    /**
+     * @return les choix de la nuit par action, chacun dans l'ordre où il a été exprimé
+     */
+    public Map<ActionType, Map<String, String>> getNightChoices() {
+        return nightChoices;
+    }
+
+    public List<String> getReadyPlayers() {
+        return readyPlayers;
+    }
+
+    /**
+     * @return par joueur, les compteurs du bilan de fin de partie (votes, votes justes, visions, visions justes)
+     */
+    public Map<String, int[]> getSummaryCounters() {
+        return summaryCounters;
+    }
+
+    /**
+     * @return les jetons de reprise, jeton vers identifiant du joueur : après un redémarrage, seul le détenteur
+     *         d'un jeton reprend la place correspondante
+     */
+    public Map<String, String> getResumeTokens() {
+        return resumeTokens;
+    }
+
+    /**
+     * Un joueur de la session ; {@code role} est {@code null} tant que les rôles ne sont pas distribués.
+     */
+    public static final class PlayerState {
+        private final String id;
+        private final String username;
+        private final String role;
+        private final boolean alive;
+
+        public PlayerState(String id, String username, String role, boolean alive) {
+            this.id = id;
+            this.username = username;
+            this.role = role;
+            this.alive = alive;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public String getRole() {
+            return role;
+        }
+
+        public boolean isAlive() {
+            return alive;
+        }
+    }
+
+    public static final class Builder {
+        private final String sessionId;
+        private final long time;
+        private long seed;
+        private long randomState;
+        private PhaseConfig phaseConfig = PhaseConfig.DEFAULT;
+        private GameState phase = GameState.LOBBY;
+        private long remainingMs;
+        private String winner;
+        private final List<PlayerState> players = new ArrayList<>();
+        private final List<PlayerState> departed = new ArrayList<>();
+        private final Map<String, String> votes = new LinkedHashMap<>();
+        private final Map<ActionType, Map<String, String>> nightChoices = new LinkedHashMap<>();
+        private final List<String> readyPlayers = new ArrayList<>();
+        private final Map<String, int[]> summaryCounters = new LinkedHashMap<>();
+        private final Map<String, String> resumeTokens = new LinkedHashMap<>();
+
+        private Builder(String sessionId, long time) {
+            this.sessionId = sessionId;
+            this.time = time;
+        }
+
+        public Builder random(long seed, long randomState) {
+            this.seed = seed;
+            this.randomState = randomState;
+            return this;
+        }
+
+        public Builder phaseConfig(PhaseConfig phaseConfig) {
+            this.phaseConfig = phaseConfig;
+            return this;
+        }
+
+        public Builder phase(GameState phase, long remainingMs) {
+            this.phase = phase;
+            this.remainingMs = remainingMs;
+            return this;
+        }
+
+        public Builder winner(String winner) {
+            this.winner = winner;
+            return this;
+        }
+
+        public Builder player(String id, String username, String role, boolean alive) {
+            players.add(new PlayerState(id, username, role, alive));
+            return this;
+        }
+
+        public Builder departed(String id, String username, String role) {
+            departed.add(new PlayerState(id, username, role, false));
+            return this;
+        }
+
+        public Builder vote(String voterId, String targetId) {
+            votes.put(voterId, targetId);
+            return this;
+        }
+
+        public Builder nightChoice(ActionType action, String actorId, String targetId) {
+            nightChoices.computeIfAbsent(action, a -> new LinkedHashMap<>()).put(actorId, targetId);
+            return this;
+        }
+
+        public Builder ready(String playerId) {
+            readyPlayers.add(playerId);
+            return this;
+        }
+
+        public Builder summaryCounters(String playerId, int[] counters) {
+            summaryCounters.put(playerId, counters.clone());
+            return this;
+        }
+
+        public Builder resumeToken(String token, String playerId) {
+            resumeTokens.put(token, playerId);
+            return this;
+        }
+
+        public SessionSnapshot build() {
+            return new SessionSnapshot(this);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.werewolf.game.snapshot;
+
+import com.werewolf.game.GameState;
+import com.werewolf.game.PhaseConfig;
+import com.werewolf.game.action.ActionType;
+import com.werewolf.network.shared.WireReader;
+import com.werewolf.network.shared.WireWriter;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Format binaire d'un fichier de reprise : un en-tête ({@link #MAGIC}, {@link #VERSION}), la trame de
+ * l'instantané, puis les entrées reçues depuis, au format du
+ * {@link com.werewolf.game.replay.InputLogFormat journal des entrées}. L'écart de temps de la première
+ * entrée se compte depuis l'heure de l'instantané. Les énumérations sont écrites par leur nom :
+ * un fichier reste lisible si l'ordre des valeurs change entre deux versions du serveur.
+ */
+public final class SnapshotFormat {
+    public static final int MAGIC = 0x57575243; // "WWRC"
+    // Version 2 : jetons de reprise en fin d'instantané ; version 3 : joueurs partis en cours de partie
+    public static final int VERSION = 3;
+
+    private SnapshotFormat() {
+    }
+
+    public static void writeHeader(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+    }
+
+    public static void checkHeader(DataInputStream in) throws IOException {
+        int magic = in.readInt();
+        int version = in.readUnsignedShort();
+        if (magic != MAGIC) {
+            throw new IOException("Not a session recovery file");
+        }
+        if (version != VERSION) {
+            throw new IOException("Unsupported recovery file version: " + version);
+        }
+    }
+
+    /**
+     * @return la trame complète, en-tête de taille inclus
+     */
+    public static byte[] encode(SessionSnapshot snapshot) throws IOException {
+        WireWriter out = new WireWriter(256);
+        out.writeString(snapshot.getSessionId());
+        out.writeLong(snapshot.getTime());
+        out.writeLong(snapshot.getSeed());
+        out.writeLong(snapshot.getRandomState());
+        PhaseConfig config = snapshot.getPhaseConfig();
+        out.writeVarLong(config.getNightMs());
+        out.writeVarLong(config.getDiscussionMs());
+        out.writeVarLong(config.getVotingMs());
+        out.writeBoolean(config.isAdvanceWhenReady());
+        out.writeString(snapshot.getPhase().name());
+        out.writeVarLong(snapshot.getRemainingMs());
+        out.writeString(snapshot.getWinner());
+
+        out.writeVarInt(snapshot.getPlayers().size());
+        for (SessionSnapshot.PlayerState player : snapshot.getPlayers()) {
+            out.writeString(player.getId());
+            out.writeString(player.getUsername());
+            out.writeString(player.getRole());
+            out.writeBoolean(player.isAlive());
+        }
+        writePairs(out, snapshot.getVotes());
+        out.writeVarInt(snapshot.getNightChoices().size());
+        for (Map.Entry<ActionType, Map<String, String>> choices : snapshot.getNightChoices().entrySet()) {
+            out.writeString(choices.getKey().name());
+            writePairs(out, choices.getValue());
+        }
+        out.writeVarInt(snapshot.getReadyPlayers().size());
+        for (String playerId : snapshot.getReadyPlayers()) {
+            out.writeString(playerId);
+        }
+        out.writeVarInt(snapshot.getSummaryCounters().size());
+        for (Map.Entry<String, int[]> counters : snapshot.getSummaryCounters().entrySet()) {
+            out.writeString(counters.getKey());
+            out.writeVarInt(counters.getValue().length);
+            for (int count : counters.getValue()) {
+                out.writeVarInt(count);
+            }
+        }
+        writePairs(out, snapshot.getResumeTokens());
+        out.writeVarInt(snapshot.getDeparted().size());
+        for (SessionSnapshot.PlayerState player : snapshot.getDeparted()) {
+            out.writeString(player.getId());
+            out.writeString(player.getUsername());
+            out.writeString(player.getRole());
+        }
+        return out.toFrame();
+    }
+
+    public static SessionSnapshot decode(byte[] payload) throws IOException {
+        WireReader in = new WireReader(payload);
+        String sessionId = in.readString();
+        long time = in.readLong();
+        SessionSnapshot.Builder snapshot = SessionSnapshot.builder(sessionId, time);
+        long seed = in.readLong();
+        snapshot.random(seed, in.readLong());
+        snapshot.phaseConfig(new PhaseConfig(in.readVarLong(), in.readVarLong(), in.readVarLong(), in.readBoolean()));
+        GameState phase = parse(GameState.class, in.readString());
+        snapshot.phase(phase, in.readVarLong());
+        snapshot.winner(in.readString());
+
+        int players = in.readCount();
+        for (int i = 0; i < players; i++) {
+            snapshot.player(in.readString(), in.readString(), in.readString(), in.readBoolean());
+        }
+        int votes = in.readCount();
+        for (int i = 0; i < votes; i++) {
+            snapshot.vote(in.readString(), in.readString());
+        }
+        int actions = in.readCount();
+        for (int i = 0; i < actions; i++) {
+            String actionName = in.readString();
+            ActionType action = ActionType.parse(actionName);
+            if (action == null) {
+                throw new IOException("Unknown action in snapshot: " + actionName);
+            }
+            int choices = in.readCount();
+            for (int j = 0; j < choices; j++) {
+                snapshot.nightChoice(action, in.readString(), in.readString());
+            }
+        }
+        int ready = in.readCount();
+        for (int i = 0; i < ready; i++) {
+            snapshot.ready(in.readString());
+        }
+        int summaries = in.readCount();
+        for (int i = 0; i < summaries; i++) {
+            String playerId = in.readString();
+            int[] counters = new int[in.readCount()];
+            for (int j = 0; j < counters.length; j++) {
+                counters[j] = in.readVarInt();
+            }
+            snapshot.summaryCounters(playerId, counters);
+        }
+        int tokens = in.readCount();
+        for (int i = 0; i < tokens; i++) {
+            snapshot.resumeToken(in.readString(), in.readString());
+        }
+        int departed = in.readCount();
+        for (int i = 0; i < departed; i++) {
+            snapshot.departed(in.readString(), in.readString(), in.readString());
+        }
+        return snapshot.build();
+    }
+
+    private static void writePairs(WireWriter out, Map<String, String> pairs) {
+        out.writeVarInt(pairs.size());
+        for (Map.Entry<String, String> pair : pairs.entrySet()) {
+            out.writeString(pair.getKey());
+            out.writeString(pair.getValue());
+        }
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String name) throws IOException {
+        try {
+            return Enum.valueOf(type, name);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IOException("Unknown " + type.getSimpleName() + ": " + name);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.werewolf.game.stats;
+
+import com.werewolf.game.Player;
+import com.werewolf.game.role.Faction;
+import com.werewolf.game.role.PlayerRole;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bilan d'une partie terminée, joueur par joueur : rôle, camp, victoire, survie, votes et visions. Les
+ * joueurs partis avant la fin y figurent aussi.
+ * Construit par le {@link com.werewolf.game.GameManager} au {@code GAME_OVER}, puis transmis tel quel
+ * aux {@link GameSummaryListener}.
+ */
+public final class GameSummary {
+    private final String sessionId;
+    private final long endTime;
+    private final Faction winner;
+    private final List<PlayerOutcome> players;
+
+    public GameSummary(String sessionId, long endTime, Faction winner, List<PlayerOutcome> players) {
+        this.sessionId = sessionId;
+        this.endTime = endTime;
+        this.winner = winner;
+        this.players = Collections.unmodifiableList(players);
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public long getEndTime() {
+        return endTime;
+    }
+
+    public Faction getWinner() {
+        return winner;
+    }
+
+    public List<PlayerOutcome> getPlayers() {
+        return players;
+    }
+
+    /**
+     * Ce qu'un joueur a fait pendant la partie. Les votes comptés sont ceux du décompte final de chaque
+     * vote du village ; un vote ou une vision est juste lorsqu'il vise un joueur de l'autre camp.
+     */
+    public static final class PlayerOutcome {
+        private final String username;
+        private final String role;
+        private final Faction faction;
+        private final boolean won;
+        private final boolean survived;
+        private final int votes;
+        private final int correctVotes;
+        private final int peeks;
+        private final int correctPeeks;
+
+        public PlayerOutcome(String username, String role, Faction faction, boolean won, boolean survived, int votes,
+                int correctVotes, int peeks, int correctPeeks) {
+            this.username = username;
+            this.role = role;
+            this.faction = faction;
+            this.won = won;
+            this.survived = survived;
+            this.votes = votes;
+            this.correctVotes = correctVotes;
+            this.peeks = peeks;
+            this.correctPeeks = correctPeeks;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public String getRole() {
+            return role;
+        }
+
+        public Faction getFaction() {
+            return faction;
+        }
+
+        public boolean isWon() {
+            return won;
+        }
+
+        public boolean isSurvived() {
+            return survived;
+        }
+
+        public int getVotes() {
+            return votes;
+        }
+
+        public int getCorrectVotes() {
+            return correctVotes;
+        }
+
+        public int getPeeks() {
+            return peeks;
+        }
+
+        public int getCorrectPeeks() {
+            return correctPeeks;
+        }
+    }
+
+    /**
+     * Compteurs tenus pendant la partie, depuis la boîte aux lettres de la session.
+     */
+    public static final class Builder {
+        // Joueurs ayant reçu un rôle, dans l'ordre d'arrivée : un départ en cours de partie ne les efface pas
+        private final Map<String, Player> seated = new LinkedHashMap<>();
+        private final Set<String> departed = new HashSet<>();
+        // Par joueur : votes, votes justes, visions, visions justes
+        private final Map<String, int[]> counters = new HashMap<>();
+
+        /**
+         * Inscrit un joueur au bilan, dès la distribution des rôles.
+         */
+        public void seat(Player player) {
+            seated.put(player.getId(), player);
+        }
+
+        /**
+         * Note le départ d'un joueur inscrit : il figurera au bilan comme une défaite.
+         */
+        public void leave(String playerId) {
+            if (seated.containsKey(playerId)) {
+                departed.add(playerId);
+            }
+        }
+
+        /**
+         * @return les joueurs partis en cours de partie, dans l'ordre d'arrivée
+         */
+        public List<Player> getDeparted() {
+            List<Player> players = new ArrayList<>();
+            for (Player player : seated.values()) {
+                if (departed.contains(player.getId())) {
+                    players.add(player);
+                }
+            }
+            return players;
+        }
+
+        private int[] countersOf(String playerId) {
+            return counters.computeIfAbsent(playerId, id -> new int[4]);
+        }
+
+        public void vote(Player voter, Player target) {
+            int[] counts = countersOf(voter.getId());
+            counts[0]++;
+            if (opposed(voter, target)) {
+                counts[1]++;
+            }
+        }
+
+        public void peek(Player seer, Player target) {
+            int[] counts = countersOf(seer.getId());
+            counts[2]++;
+            if (opposed(seer, target)) {
+                counts[3]++;
+            }
+        }
+
+        /**
+         * @return une copie des compteurs par joueur : votes, votes justes, visions, visions justes
+         */
+        public Map<String, int[]> getCounters() {
+            Map<String, int[]> copy = new LinkedHashMap<>();
+            counters.forEach((playerId, counts) -> copy.put(playerId, counts.clone()));
+            return copy;
+        }
+
+        /**
+         * Remplace les compteurs d'un joueur, à la reprise d'une partie.
+         */
+        public void restore(String playerId, int[] counts) {
+            counters.put(playerId, Arrays.copyOf(counts, 4));
+        }
+
+        private static boolean opposed(Player a, Player b) {
+            return a.getRole() != null && b.getRole() != null && a.getRole().getFaction() != b.getRole().getFaction();
+        }
+
+        /**
+         * Un joueur parti compte une défaite, quel que soit le vainqueur.
+         */
+        public GameSummary build(String sessionId, long endTime, Faction winner) {
+            List<PlayerOutcome> outcomes = new ArrayList<>(seated.size());
+            for (Player player : seated.values()) {
+                PlayerRole role = player.getRole();
+                if (role == null) {
+                    continue;
+                }
+                boolean left = departed.contains(player.getId());
+                int[] counts = counters.getOrDefault(player.getId(), new int[4]);
+                outcomes.add(new PlayerOutcome(player.getUsername(), role.getName(), role.getFaction(),
+                        !left && role.getFaction() == winner, !left && player.isAlive(), counts[0], counts[1],
+                        counts[2], counts[3]));
+            }
+            return new GameSummary(sessionId, endTime, winner, outcomes);
+        }
+    }
+}
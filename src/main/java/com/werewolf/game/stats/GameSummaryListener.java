@@ -0,0 +1,13 @@
+package com.werewolf.game.stats;
+
+/**
+ * Reçoit le bilan de chaque partie terminée. Appelé depuis la boîte aux lettres de la session :
+ * une implémentation ne doit jamais y bloquer.
+ */
+@FunctionalInterface
+public interface GameSummaryListener {
+    GameSummaryListener NONE = summary -> {
+    };
+
+    void onGameOver(GameSummary summary);
+}
@@ -0,0 +1,48 @@
+package com.werewolf.game.stats;
+
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Classements tenus par le {@link StatsService}. Un classement par taux n'admet que les joueurs
+ * dont l'échantillon (parties, votes ou visions) atteint le minimum du service.
+ */
+public enum Leaderboard {
+    WINS(PlayerStats::getWins, null),
+    GAMES_PLAYED(PlayerStats::getGames, null),
+    WIN_RATE(PlayerStats::getWinRate, PlayerStats::getGames),
+    SURVIVAL_RATE(PlayerStats::getSurvivalRate, PlayerStats::getGames),
+    VOTE_ACCURACY(PlayerStats::getVoteAccuracy, PlayerStats::getVotes),
+    SEER_ACCURACY(PlayerStats::getSeerAccuracy, PlayerStats::getPeeks);
+
+    private final ToDoubleFunction<PlayerStats> score;
+    private final ToIntFunction<PlayerStats> sample;
+
+    Leaderboard(ToDoubleFunction<PlayerStats> score, ToIntFunction<PlayerStats> sample) {
+        this.score = score;
+        this.sample = sample;
+    }
+
+    public double score(PlayerStats stats) {
+        return score.applyAsDouble(stats);
+    }
+
+    boolean qualifies(PlayerStats stats, int minSample) {
+        return sample == null ? stats.getGames() > 0 : sample.applyAsInt(stats) >= minSample;
+    }
+
+    /**
+     * @return le classement nommé {@code name} (casse ignorée), ou {@code null} s'il n'existe pas
+     */
+    public static Leaderboard parse(String name) {
+        if (name == null) {
+            return null;
+        }
+        for (Leaderboard board : values()) {
+            if (board.name().equalsIgnoreCase(name.trim())) {
+                return board;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,118 @@
+package com.werewolf.game.stats;
+
+import com.werewolf.game.role.Faction;
+
+import java.util.Arrays;
+
+/**
+ * Statistiques cumulées d'un joueur, identifié par son pseudo. Immuable : chaque partie produit une
+ * nouvelle instance, si bien qu'un lecteur voit toujours un ensemble de compteurs cohérent.
+ */
+public final class PlayerStats {
+    private final String username;
+    private final int games;
+    private final int wins;
+    private final int[] winsByFaction;
+    private final int survived;
+    private final int votes;
+    private final int correctVotes;
+    private final int peeks;
+    private final int correctPeeks;
+
+    PlayerStats(String username, int games, int wins, int[] winsByFaction, int survived, int votes, int correctVotes,
+            int peeks, int correctPeeks) {
+        this.username = username;
+        this.games = games;
+        this.wins = wins;
+        this.winsByFaction = winsByFaction;
+        this.survived = survived;
+        this.votes = votes;
+        this.correctVotes = correctVotes;
+        this.peeks = peeks;
+        this.correctPeeks = correctPeeks;
+    }
+
+    static PlayerStats empty(String username) {
+        return new PlayerStats(username, 0, 0, new int[Faction.MAX_FACTIONS], 0, 0, 0, 0, 0);
+    }
+
+    /**
+     * @return les statistiques après une partie de plus
+     */
+    PlayerStats plus(GameSummary.PlayerOutcome outcome) {
+        int[] factionWins = winsByFaction;
+        if (outcome.isWon()) {
+            factionWins = Arrays.copyOf(winsByFaction, winsByFaction.length);
+            factionWins[outcome.getFaction().ordinal()]++;
+        }
+        return new PlayerStats(username, games + 1, wins + (outcome.isWon() ? 1 : 0), factionWins,
+                survived + (outcome.isSurvived() ? 1 : 0), votes + outcome.getVotes(),
+                correctVotes + outcome.getCorrectVotes(), peeks + outcome.getPeeks(),
+                correctPeeks + outcome.getCorrectPeeks());
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public int getGames() {
+        return games;
+    }
+
+    public int getWins() {
+        return wins;
+    }
+
+    public int getWins(Faction faction) {
+        return winsByFaction[faction.ordinal()];
+    }
+
+    public int getSurvived() {
+        return survived;
+    }
+
+    public int getVotes() {
+        return votes;
+    }
+
+    public int getCorrectVotes() {
+        return correctVotes;
+    }
+
+    public int getPeeks() {
+        return peeks;
+    }
+
+    public int getCorrectPeeks() {
+        return correctPeeks;
+    }
+
+    public double getWinRate() {
+        return ratio(wins, games);
+    }
+
+    public double getSurvivalRate() {
+        return ratio(survived, games);
+    }
+
+    public double getVoteAccuracy() {
+        return ratio(correctVotes, votes);
+    }
+
+    /**
+     * @return la part des visions de Voyante tombées sur un joueur de l'autre camp
+     */
+    public double getSeerAccuracy() {
+        return ratio(correctPeeks, peeks);
+    }
+
+    private static double ratio(int count, int total) {
+        return total == 0 ? 0 : (double) count / total;
+    }
+
+    @Override
+    public String toString() {
+        return "PlayerStats{" + username + ", games=" + games + ", wins=" + wins + ", survived=" + survived
+                + ", votes=" + correctVotes + "/" + votes + ", peeks=" + correctPeeks + "/" + peeks + '}';
+    }
+}
@@ -0,0 +1,112 @@
+package com.werewolf.game.stats;
+
+import com.werewolf.game.role.Faction;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * Fichier de reprise du {@link StatsService} : en-tête ({@link #MAGIC}, {@link #VERSION}), nombre de
+ * parties, puis les compteurs de chaque joueur. Les victoires par camp sont écrites avec le nom du camp,
+ * pour survivre à l'ajout d'un camp. Le fichier est écrit à côté puis renommé : une reprise interrompue
+ * laisse la précédente intacte.
+ */
+final class StatsCheckpoint {
+    static final int MAGIC = 0x57575354; // "WWST"
+    static final int VERSION = 1;
+
+    private StatsCheckpoint() {
+    }
+
+    static void write(Path file, long games, Collection<PlayerStats> players) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeShort(VERSION);
+                out.writeLong(games);
+                out.writeInt(players.size());
+                for (PlayerStats stats : players) {
+                    writePlayer(out, stats);
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void writePlayer(DataOutputStream out, PlayerStats stats) throws IOException {
+        out.writeUTF(stats.getUsername());
+        out.writeInt(stats.getGames());
+        out.writeInt(stats.getWins());
+        out.writeInt(stats.getSurvived());
+        out.writeInt(stats.getVotes());
+        out.writeInt(stats.getCorrectVotes());
+        out.writeInt(stats.getPeeks());
+        out.writeInt(stats.getCorrectPeeks());
+        Faction[] factions = Faction.values();
+        out.writeByte(factions.length);
+        for (Faction faction : factions) {
+            out.writeUTF(faction.name());
+            out.writeInt(stats.getWins(faction));
+        }
+    }
+
+    /**
+     * Relit une reprise ; chaque joueur est transmis à {@code players}.
+     *
+     * @return le nombre de parties enregistrées
+     */
+    static long read(Path file, Consumer<PlayerStats> players) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a statistics checkpoint: " + file);
+            }
+            int version = in.readUnsignedShort();
+            if (version != VERSION) {
+                throw new IOException("Unsupported statistics checkpoint version: " + version);
+            }
+            long games = in.readLong();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                players.accept(readPlayer(in));
+            }
+            return games;
+        }
+    }
+
+    private static PlayerStats readPlayer(DataInputStream in) throws IOException {
+        String username = in.readUTF();
+        int games = in.readInt();
+        int wins = in.readInt();
+        int survived = in.readInt();
+        int votes = in.readInt();
+        int correctVotes = in.readInt();
+        int peeks = in.readInt();
+        int correctPeeks = in.readInt();
+        int[] winsByFaction = new int[Faction.MAX_FACTIONS];
+        int factions = in.readUnsignedByte();
+        for (int i = 0; i < factions; i++) {
+            String name = in.readUTF();
+            int factionWins = in.readInt();
+            for (Faction faction : Faction.values()) {
+                if (faction.name().equals(name)) {
+                    winsByFaction[faction.ordinal()] = factionWins;
+                }
+            }
+        }
+        return new PlayerStats(username, games, wins, winsByFaction, survived, votes, correctVotes, peeks,
+                correctPeeks);
+    }
+}
@@ -0,0 +1,206 @@
+package com.werewolf.game.stats;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Statistiques des joueurs et classements, tenus en mémoire et mis à jour à chaque fin de partie.
+ * Les bilans sont appliqués un par un par un thread dédié : la session qui termine une partie ne fait
+ * que déposer son bilan. Chaque {@link Leaderboard} est un ensemble trié concurrent (liste à enjambements),
+ * si bien qu'une requête lit directement les premiers joueurs sans verrou ni tri.
+ * Avec un fichier de reprise, les statistiques y sont écrites périodiquement et rechargées au démarrage.
+ */
+public class StatsService implements GameSummaryListener, Closeable {
+    public static final int DEFAULT_MIN_SAMPLE = 10;
+    public static final long DEFAULT_CHECKPOINT_INTERVAL_MS = 60_000;
+
+    private final Map<String, PlayerStats> players = new ConcurrentHashMap<>();
+    private final Map<Leaderboard, ConcurrentSkipListSet<PlayerStats>> boards = new EnumMap<>(Leaderboard.class);
+    private final AtomicLong games = new AtomicLong();
+    private final ScheduledExecutorService worker;
+    private final Path checkpointFile;
+    private final int minSample;
+    // Modifié et lu par le seul thread du service
+    private boolean dirty;
+
+    /**
+     * Service en mémoire seulement, sans reprise.
+     */
+    public StatsService() {
+        this(null, DEFAULT_MIN_SAMPLE, DEFAULT_CHECKPOINT_INTERVAL_MS);
+    }
+
+    /**
+     * @param checkpointFile fichier de reprise, rechargé s'il existe ; {@code null} pour rester en mémoire
+     * @param minSample taille d'échantillon minimale pour figurer dans un classement par taux
+     */
+    public StatsService(Path checkpointFile, int minSample, long checkpointIntervalMs) {
+        this.checkpointFile = checkpointFile;
+        this.minSample = minSample;
+        for (Leaderboard board : Leaderboard.values()) {
+            Comparator<PlayerStats> order = Comparator.comparingDouble(board::score).reversed()
+                    .thenComparing(PlayerStats::getUsername);
+            boards.put(board, new ConcurrentSkipListSet<>(order));
+        }
+        if (checkpointFile != null && Files.exists(checkpointFile)) {
+            load(checkpointFile);
+        }
+
+        this.worker = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "werewolf-stats");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (checkpointFile != null) {
+            worker.scheduleWithFixedDelay(this::checkpointIfDirty, checkpointIntervalMs, checkpointIntervalMs,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void load(Path file) {
+        try {
+            games.set(StatsCheckpoint.read(file, stats -> {
+                players.put(stats.getUsername(), stats);
+                index(stats);
+            }));
+            System.out.println("Loaded statistics of " + players.size() + " players (" + games.get() + " games)");
+        } catch (IOException e) {
+            System.err.println("Ignoring statistics checkpoint " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Dépose le bilan d'une partie ; il sera appliqué par le thread du service.
+     */
+    @Override
+    public void onGameOver(GameSummary summary) {
+        try {
+            worker.execute(() -> apply(summary));
+        } catch (RejectedExecutionException e) {
+            System.err.println("Statistics service closed, game " + summary.getSessionId() + " not recorded");
+        }
+    }
+
+    private void apply(GameSummary summary) {
+        for (GameSummary.PlayerOutcome outcome : summary.getPlayers()) {
+            PlayerStats previous = players.get(outcome.getUsername());
+            PlayerStats next = (previous != null ? previous : PlayerStats.empty(outcome.getUsername())).plus(outcome);
+            players.put(next.getUsername(), next);
+            // Retrait puis ajout : l'ancienne et la nouvelle entrée sont égales pour un classement inchangé
+            if (previous != null) {
+                for (ConcurrentSkipListSet<PlayerStats> board : boards.values()) {
+                    board.remove(previous);
+                }
+            }
+            index(next);
+        }
+        games.incrementAndGet();
+        dirty = true;
+    }
+
+    private void index(PlayerStats stats) {
+        for (Map.Entry<Leaderboard, ConcurrentSkipListSet<PlayerStats>> board : boards.entrySet()) {
+            if (board.getKey().qualifies(stats, minSample)) {
+                board.getValue().add(stats);
+            }
+        }
+    }
+
+    /**
+     * @return les statistiques du joueur, ou {@code null} s'il n'a terminé aucune partie
+     */
+    public PlayerStats getStats(String username) {
+        return players.get(username);
+    }
+
+    /**
+     * @return les {@code limit} premiers du classement, du meilleur au moins bon
+     */
+    public List<PlayerStats> top(Leaderboard board, int limit) {
+        List<PlayerStats> top = new ArrayList<>(Math.min(limit, 100));
+        Iterator<PlayerStats> entries = boards.get(board).iterator();
+        while (top.size() < limit && entries.hasNext()) {
+            top.add(entries.next());
+        }
+        return top;
+    }
+
+    public int getPlayerCount() {
+        return players.size();
+    }
+
+    public long getGameCount() {
+        return games.get();
+    }
+
+    public int getMinSample() {
+        return minSample;
+    }
+
+    /**
+     * Attend que les bilans déjà déposés soient appliqués.
+     */
+    public void flush() {
+        runOnWorker(() -> {
+        });
+    }
+
+    /**
+     * Écrit la reprise sans attendre la prochaine échéance.
+     */
+    public void checkpoint() {
+        runOnWorker(this::checkpointIfDirty);
+    }
+
+    private void checkpointIfDirty() {
+        if (!dirty || checkpointFile == null) {
+            return;
+        }
+        try {
+            StatsCheckpoint.write(checkpointFile, games.get(), players.values());
+            dirty = false;
+        } catch (IOException e) {
+            System.err.println("Failed to checkpoint statistics: " + e.getMessage());
+        }
+    }
+
+    private void runOnWorker(Runnable task) {
+        try {
+            worker.submit(task).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | RejectedExecutionException e) {
+            System.err.println("Statistics task failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Applique les bilans en attente, écrit une dernière reprise et arrête le thread du service.
+     */
+    @Override
+    public void close() {
+        checkpoint();
+        worker.shutdown();
+        try {
+            worker.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.werewolf.game.store;
+
+import com.werewolf.network.shared.WireReader;
+import com.werewolf.network.shared.WireWriter;
+
+import java.io.IOException;
+
+/**
+ * Format des segments de l'{@link EventStore} : un en-tête ({@link #MAGIC}, {@link #VERSION}) sur
+ * {@link #HEADER_SIZE} octets, puis une trame par événement, taille sur 4 octets puis contenu.
+ * Le fichier est créé à sa taille finale et rempli de zéros : une taille nulle marque la fin des données.
+ */
+final class EventFormat {
+    static final int MAGIC = 0x57574556; // "WWEV"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 8;
+    static final int LENGTH_SIZE = 4;
+
+    private static final GameEvent.Type[] TYPES = GameEvent.Type.values();
+
+    private EventFormat() {
+    }
+
+    /**
+     * @return la trame complète, en-tête de taille inclus
+     */
+    static byte[] encode(GameEvent event) throws IOException {
+        WireWriter out = new WireWriter(48);
+        out.writeByte(event.getType().ordinal());
+        out.writeVarLong(event.getTime());
+        out.writeString(event.getSessionId());
+        out.writeString(event.getActorId());
+        out.writeString(event.getTargetId());
+        out.writeString(event.getText());
+        return out.toFrame();
+    }
+
+    static GameEvent decode(byte[] payload) throws IOException {
+        WireReader in = new WireReader(payload);
+        int typeIndex = in.readByte();
+        if (typeIndex >= TYPES.length) {
+            throw new IOException("Unknown event type: " + typeIndex);
+        }
+        return new GameEvent(TYPES[typeIndex], in.readVarLong(), in.readString(), in.readString(),
+                in.readString(), in.readString());
+    }
+}
@@ -0,0 +1,142 @@
+package com.werewolf.game.store;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Parcourt l'historique d'un {@link EventStore}, segment par segment et dans l'ordre d'écriture.
+ * Chaque segment est projeté en mémoire en lecture seule et décodé trame après trame : rien n'est chargé
+ * d'avance, et le segment en cours d'écriture peut être lu jusqu'à sa dernière trame complète.
+ * Non synchronisé : un lecteur par thread.
+ */
+public final class EventReader implements Iterator<GameEvent> {
+    private final Iterator<Path> segments;
+    private MappedByteBuffer current;
+    private GameEvent next;
+
+    private EventReader(List<Path> segments) {
+        this.segments = segments.iterator();
+    }
+
+    public static EventReader open(Path directory) throws IOException {
+        return new EventReader(listSegments(directory));
+    }
+
+    /**
+     * @return les événements de la session {@code sessionId}, dans l'ordre où ils se sont produits
+     */
+    public static Stream<GameEvent> sessionHistory(Path directory, String sessionId) throws IOException {
+        return open(directory).stream().filter(event -> sessionId.equals(event.getSessionId()));
+    }
+
+    static List<Path> listSegments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().matches("\\d{16}\\" + EventStore.SEGMENT_SUFFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    public Stream<GameEvent> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL),
+                false);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = advance();
+        }
+        return next != null;
+    }
+
+    @Override
+    public GameEvent next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        GameEvent event = next;
+        next = null;
+        return event;
+    }
+
+    private GameEvent advance() {
+        while (true) {
+            if (current != null) {
+                GameEvent event = readFrame(current);
+                if (event != null) {
+                    return event;
+                }
+                current = null;
+            }
+            if (!segments.hasNext()) {
+                return null;
+            }
+            current = map(segments.next());
+        }
+    }
+
+    /**
+     * @return l'événement suivant du segment, ou {@code null} à la fin de ses données
+     * (taille nulle, ou trame tronquée par un arrêt brutal)
+     */
+    private static GameEvent readFrame(MappedByteBuffer buffer) {
+        if (buffer.remaining() < EventFormat.LENGTH_SIZE) {
+            return null;
+        }
+        int length = buffer.getInt(buffer.position());
+        if (length <= 0 || length > buffer.remaining() - EventFormat.LENGTH_SIZE) {
+            return null;
+        }
+        byte[] payload = new byte[length];
+        buffer.get(buffer.position() + EventFormat.LENGTH_SIZE, payload);
+        try {
+            GameEvent event = EventFormat.decode(payload);
+            buffer.position(buffer.position() + EventFormat.LENGTH_SIZE + length);
+            return event;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return le segment projeté, positionné après l'en-tête, ou {@code null} s'il est encore vide
+     */
+    private static MappedByteBuffer map(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // La projection reste valide après la fermeture du canal
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            // Segment que le magasin vient de créer et n'a pas encore initialisé
+            if (buffer.remaining() < EventFormat.HEADER_SIZE || buffer.getInt(0) == 0) {
+                return null;
+            }
+            if (buffer.getInt() != EventFormat.MAGIC) {
+                throw new IOException("Not an event segment: " + file);
+            }
+            int version = buffer.getShort() & 0xFFFF;
+            if (version != EventFormat.VERSION) {
+                throw new IOException("Unsupported event segment version " + version + ": " + file);
+            }
+            buffer.position(EventFormat.HEADER_SIZE);
+            return buffer;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
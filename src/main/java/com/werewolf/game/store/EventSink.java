@@ -0,0 +1,13 @@
+package com.werewolf.game.store;
+
+/**
+ * Destination des événements d'une partie. {@link #record} est appelé depuis la boîte aux lettres
+ * de la session : une implémentation ne doit jamais y bloquer.
+ */
+@FunctionalInterface
+public interface EventSink {
+    EventSink NONE = event -> {
+    };
+
+    void record(GameEvent event);
+}
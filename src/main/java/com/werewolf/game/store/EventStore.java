@@ -0,0 +1,206 @@
+package com.werewolf.game.store;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Magasin d'événements en ajout seul, partagé par toutes les sessions du serveur.
+ * Les sessions déposent leurs événements dans une file bornée sans jamais attendre ; un thread dédié
+ * les encode et les copie dans le segment courant, un fichier projeté en mémoire de taille fixe.
+ * Les écritures sont forcées sur le disque par lots (au plus tard toutes les {@code forceIntervalMs},
+ * ou dès que {@code forceBytes} octets attendent) et un segment plein cède la place au suivant.
+ * File pleine : l'événement est écarté et compté plutôt que de ralentir la partie.
+ */
+public class EventStore implements EventSink, Closeable {
+    public static final int DEFAULT_SEGMENT_BYTES = 64 * 1024 * 1024;
+    public static final long DEFAULT_FORCE_INTERVAL_MS = 200;
+    public static final int DEFAULT_QUEUE_CAPACITY = 65_536;
+    static final String SEGMENT_SUFFIX = ".events";
+    private static final int BATCH_SIZE = 1_024;
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final long forceIntervalMs;
+    private final int forceBytes;
+    private final BlockingQueue<GameEvent> queue;
+    private final Thread writer;
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean running = true;
+
+    // État du thread d'écriture
+    private long segmentIndex;
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private int unforcedBytes;
+    private long lastForce;
+
+    public EventStore(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_BYTES, DEFAULT_FORCE_INTERVAL_MS, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    public EventStore(Path directory, int segmentBytes, long forceIntervalMs, int queueCapacity) throws IOException {
+        if (segmentBytes <= EventFormat.HEADER_SIZE + EventFormat.LENGTH_SIZE) {
+            throw new IllegalArgumentException("Segment too small: " + segmentBytes);
+        }
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.forceIntervalMs = forceIntervalMs;
+        this.forceBytes = Math.max(segmentBytes / 16, 1);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        Files.createDirectories(directory);
+        // Un segment laissé par un arrêt brutal n'est jamais repris : on écrit toujours dans un nouveau
+        List<Path> existing = EventReader.listSegments(directory);
+        segmentIndex = existing.isEmpty() ? 0 : segmentIndexOf(existing.get(existing.size() - 1)) + 1;
+        openSegment();
+
+        this.writer = new Thread(this::run, "werewolf-event-store");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Dépose un événement sans attendre ; il sera écrit par le thread du magasin.
+     */
+    @Override
+    public void record(GameEvent event) {
+        if (!running || !queue.offer(event)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    private void run() {
+        List<GameEvent> batch = new ArrayList<>(BATCH_SIZE);
+        lastForce = System.currentTimeMillis();
+        try {
+            while (running || !queue.isEmpty()) {
+                GameEvent first = queue.poll(forceIntervalMs, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, BATCH_SIZE - 1);
+                    for (GameEvent event : batch) {
+                        write(event);
+                    }
+                    batch.clear();
+                }
+                if (unforcedBytes > 0 && (first == null || unforcedBytes >= forceBytes
+                        || System.currentTimeMillis() - lastForce >= forceIntervalMs)) {
+                    force();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException e) {
+            running = false;
+            System.err.println("Event store stopped: " + e.getMessage());
+        } finally {
+            force();
+            closeChannel();
+        }
+    }
+
+    private void write(GameEvent event) throws IOException {
+        byte[] frame = EventFormat.encode(event);
+        if (frame.length > segmentBytes - EventFormat.HEADER_SIZE) {
+            dropped.incrementAndGet();
+            return;
+        }
+        if (frame.length > segment.remaining()) {
+            rollSegment();
+        }
+        // Contenu d'abord, taille ensuite : un lecteur ne voit jamais une trame à moitié copiée
+        int position = segment.position();
+        segment.put(position + EventFormat.LENGTH_SIZE, frame, EventFormat.LENGTH_SIZE,
+                frame.length - EventFormat.LENGTH_SIZE);
+        segment.putInt(position, frame.length - EventFormat.LENGTH_SIZE);
+        segment.position(position + frame.length);
+        unforcedBytes += frame.length;
+        written.incrementAndGet();
+    }
+
+    private void openSegment() throws IOException {
+        Path file = directory.resolve(String.format("%016d%s", segmentIndex, SEGMENT_SUFFIX));
+        channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        // Projection de la taille finale : le fichier reste creux tant qu'il n'est pas écrit
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        segment.putInt(EventFormat.MAGIC);
+        segment.putShort((short) EventFormat.VERSION);
+        segment.position(EventFormat.HEADER_SIZE);
+        unforcedBytes += EventFormat.HEADER_SIZE;
+    }
+
+    private void rollSegment() throws IOException {
+        force();
+        closeChannel();
+        segmentIndex++;
+        openSegment();
+    }
+
+    private void force() {
+        if (segment != null && unforcedBytes > 0) {
+            segment.force();
+            unforcedBytes = 0;
+            lastForce = System.currentTimeMillis();
+        }
+    }
+
+    private void closeChannel() {
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to close event segment: " + e.getMessage());
+        }
+    }
+
+    static long segmentIndexOf(Path segmentFile) {
+        String name = segmentFile.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * Écrit les événements en attente, force le segment sur le disque et arrête le thread d'écriture.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    /**
+     * @return les événements écartés faute de place dans la file (ou après la fermeture)
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public int getQueuedCount() {
+        return queue.size();
+    }
+}
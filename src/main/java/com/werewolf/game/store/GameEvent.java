@@ -0,0 +1,101 @@
+package com.werewolf.game.store;
+
+import java.util.Objects;
+
+/**
+ * Fait marquant d'une partie, conservé dans l'{@link EventStore} : lancement, rôle distribué,
+ * changement de phase, action de nuit, vote, mort, message de discussion, fin de partie.
+ * Immuable : créé sur le thread de la session, encodé sur celui du magasin.
+ */
+public final class GameEvent {
+
+    /**
+     * Le rang de chaque type fait partie du format des segments : ajouter les nouveaux types à la fin.
+     */
+    public enum Type {
+        GAME_STARTED,
+        ROLE,
+        PHASE,
+        NIGHT_ACTION,
+        VOTE,
+        DEATH,
+        CHAT,
+        GAME_OVER
+    }
+
+    private final Type type;
+    private final long time;
+    private final String sessionId;
+    private final String actorId;
+    private final String targetId;
+    private final String text;
+
+    public GameEvent(Type type, long time, String sessionId, String actorId, String targetId, String text) {
+        this.type = type;
+        this.time = time;
+        this.sessionId = sessionId;
+        this.actorId = actorId;
+        this.targetId = targetId;
+        this.text = text;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public long getTime() {
+        return time;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    /**
+     * @return le joueur à l'origine de l'événement (votant, acteur de nuit, auteur du message), ou {@code null}
+     */
+    public String getActorId() {
+        return actorId;
+    }
+
+    /**
+     * @return le joueur visé (cible, victime), ou {@code null}
+     */
+    public String getTargetId() {
+        return targetId;
+    }
+
+    /**
+     * @return selon le type : graine, rôle, phase, action, cause de la mort, message ou camp vainqueur
+     */
+    public String getText() {
+        return text;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof GameEvent)) {
+            return false;
+        }
+        GameEvent event = (GameEvent) other;
+        return type == event.type && time == event.time
+                && Objects.equals(sessionId, event.sessionId)
+                && Objects.equals(actorId, event.actorId)
+                && Objects.equals(targetId, event.targetId)
+                && Objects.equals(text, event.text);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, time, sessionId, actorId, targetId, text);
+    }
+
+    @Override
+    public String toString() {
+        return "GameEvent{" + type + " @" + time + ", session=" + sessionId + ", actor=" + actorId
+                + ", target=" + targetId + ", text=" + text + '}';
+    }
+}
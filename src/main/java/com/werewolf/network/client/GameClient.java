@@ -1,8 +1,10 @@
 package com.werewolf.network.client;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import java.io.OutputStream;
 import java.net.Socket;
 
 import javax.net.ssl.SSLContext;
@@ -10,6 +12,9 @@ import javax.net.ssl.SSLSocket;
 import javax.net.ssl.SSLSocketFactory;
 
 import com.werewolf.network.shared.Message;
+import com.werewolf.network.shared.MessageCodec;
+import com.werewolf.network.shared.MessageCodecs;
+import com.werewolf.network.shared.MessageFraming;
 import com.werewolf.network.shared.MessageType;
 import com.werewolf.security.CertificateManager;
 import com.werewolf.security.SSLContextFactory;
@@ -20,9 +25,10 @@ public class GameClient {
     private String serverAddress;
     private int serverPort;
     private Socket socket;
-    private ObjectOutputStream out;
-    private ObjectInputStream in;
+    private OutputStream out;
+    private DataInputStream in;
     private String playerName;
+    private volatile MessageCodec codec = MessageCodecs.BINARY;
 
     private static final String STORE_PASSWORD = loadStorePassword();
 
@@ -60,12 +66,13 @@ public class GameClient {
             socket = (SSLSocket) ssf.createSocket(serverAddress, serverPort);
             ((SSLSocket) socket).startHandshake(); // Lance explicitement la négociation TLS
             System.out.println("Securely connected (mTLS) to server " + serverAddress + ":" + serverPort);
-            out = new ObjectOutputStream(socket.getOutputStream());
-            in = new ObjectInputStream(socket.getInputStream());
+            out = new BufferedOutputStream(socket.getOutputStream());
+            in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
 
             Thread listenerThread = new Thread(this::listenForMessages);
             listenerThread.start();
 
+            sendMessage(new Message(MessageType.CONNECT, playerName, MessageCodecs.CLIENT_OFFER));
             Message pingMessage = new Message(MessageType.PING, playerName, "Hello secure world!");
             sendMessage(pingMessage);
 
@@ -78,8 +85,7 @@ public class GameClient {
     public void sendMessage(Message message) {
         try {
             if (out != null) {
-                out.writeObject(message);
-                out.flush();
+                MessageFraming.write(out, message, codec);
                 System.out.println("-> Send : " + message.getType());
             }
         } catch (IOException e) {
@@ -90,10 +96,19 @@ public class GameClient {
     private void listenForMessages() {
         try {
             while (true) {
-                Message receivedMessage = (Message) in.readObject();
+                Message receivedMessage = MessageFraming.read(in);
+                if (receivedMessage.getType() == MessageType.CONNECT) {
+                    MessageCodec chosen = MessageCodecs.forName(String.valueOf(receivedMessage.getContent()));
+                    if (chosen != null) {
+                        codec = chosen;
+                    }
+                }
+                if (receivedMessage.getType() == MessageType.PING) {
+                    sendMessage(new Message(MessageType.PONG, playerName, receivedMessage.getContent()));
+                }
                 System.out.println("<- Received from server : " + receivedMessage);
             }
-        } catch (IOException | ClassNotFoundException e) {
+        } catch (IOException e) {
             System.out.println("Connection with the server lost");
         } finally {
             disconnect();
@@ -0,0 +1,139 @@
+package com.werewolf.network.server;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compteurs d'acceptation d'un transport : connexions acceptées ou refusées, négociations TLS réussies,
+ * échouées ou expirées, part des sessions TLS reprises, durée moyenne d'une négociation et rythme
+ * d'acceptation sur la dernière seconde.
+ */
+public class AcceptMetrics {
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejectedFull = new LongAdder();
+    private final LongAdder rejectedBusy = new LongAdder();
+    private final LongAdder handshakes = new LongAdder();
+    private final LongAdder handshakeNanos = new LongAdder();
+    // Négociations abrégées par la reprise d'une session (ticket TLS 1.3)
+    private final LongAdder resumed = new LongAdder();
+    private final LongAdder handshakeFailures = new LongAdder();
+    private final LongAdder handshakeTimeouts = new LongAdder();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    // Fenêtre d'une seconde, tenue par le seul thread d'acceptation
+    private long windowStart = System.nanoTime();
+    private int windowCount;
+    private volatile int lastWindowCount;
+
+    /** Appelé par le thread d'acceptation pour chaque connexion admise ; la négociation commence. */
+    void onAccepted() {
+        accepted.increment();
+        inFlight.incrementAndGet();
+        long now = System.nanoTime();
+        long elapsed = now - windowStart;
+        if (elapsed >= WINDOW_NANOS) {
+            // Une fenêtre entière sans acceptation remet le rythme à zéro
+            lastWindowCount = elapsed >= 2 * WINDOW_NANOS ? 0 : windowCount;
+            windowStart = now;
+            windowCount = 0;
+        }
+        windowCount++;
+    }
+
+    /** Connexion refusée avant toute cryptographie : le serveur est plein. */
+    void onRejectedFull() {
+        rejectedFull.increment();
+    }
+
+    /** Connexion refusée parce que la file des négociations est pleine. */
+    void onRejectedBusy() {
+        inFlight.decrementAndGet();
+        rejectedBusy.increment();
+    }
+
+    void onHandshakeCompleted(long durationNanos, boolean sessionResumed) {
+        inFlight.decrementAndGet();
+        handshakes.increment();
+        if (sessionResumed) {
+            resumed.increment();
+        }
+        handshakeNanos.add(durationNanos);
+    }
+
+    void onHandshakeFailed() {
+        inFlight.decrementAndGet();
+        handshakeFailures.increment();
+    }
+
+    void onHandshakeTimedOut() {
+        inFlight.decrementAndGet();
+        handshakeTimeouts.increment();
+    }
+
+    public long getAccepted() {
+        return accepted.sum();
+    }
+
+    public long getRejectedFull() {
+        return rejectedFull.sum();
+    }
+
+    public long getRejectedBusy() {
+        return rejectedBusy.sum();
+    }
+
+    public long getHandshakes() {
+        return handshakes.sum();
+    }
+
+    public long getResumedHandshakes() {
+        return resumed.sum();
+    }
+
+    /** Part des négociations réussies qui ont repris une session, entre 0 et 1. */
+    public double getResumptionRatio() {
+        long count = handshakes.sum();
+        return count == 0 ? 0 : (double) resumed.sum() / count;
+    }
+
+    public long getHandshakeFailures() {
+        return handshakeFailures.sum();
+    }
+
+    public long getHandshakeTimeouts() {
+        return handshakeTimeouts.sum();
+    }
+
+    /** Négociations commencées et pas encore terminées. */
+    public int getHandshakesInFlight() {
+        return inFlight.get();
+    }
+
+    /** Durée moyenne d'une négociation réussie, en millisecondes. */
+    public double getAverageHandshakeMs() {
+        long count = handshakes.sum();
+        return count == 0 ? 0 : handshakeNanos.sum() / (count * 1_000_000.0);
+    }
+
+    /** Connexions acceptées pendant la dernière seconde complète. */
+    public int getAcceptsPerSecond() {
+        return lastWindowCount;
+    }
+
+    @Override
+    public String toString() {
+        return "AcceptMetrics{accepted=" + getAccepted()
+                + ", acceptsPerSecond=" + getAcceptsPerSecond()
+                + ", rejectedFull=" + getRejectedFull()
+                + ", rejectedBusy=" + getRejectedBusy()
+                + ", inFlight=" + getHandshakesInFlight()
+                + ", handshakes=" + getHandshakes()
+                + ", resumed=" + getResumedHandshakes()
+                + ", averageHandshakeMs=" + String.format("%.1f", getAverageHandshakeMs())
+                + ", failures=" + getHandshakeFailures()
+                + ", timeouts=" + getHandshakeTimeouts() + '}';
+    }
+}
@@ -0,0 +1,14 @@
+package com.werewolf.network.server;
+
+/**
+ * Conduite d'une file d'envoi pleine, c'est-à-dire d'un client qui ne lit pas assez vite.
+ * Quelle que soit la politique, le client est déconnecté si aucune place ne peut être libérée.
+ */
+public enum BackpressurePolicy {
+    /** Écarte la plus ancienne diffusion d'état en attente. */
+    DROP_STALE,
+    /** Remplace dès l'envoi un instantané en attente par le plus récent, et ne garde que la dernière diffusion d'état de chaque type une fois la file pleine. */
+    COALESCE,
+    /** Aucun message n'est écarté : le client est déconnecté dès que la file est pleine. */
+    DISCONNECT
+}
@@ -0,0 +1,278 @@
+package com.werewolf.network.server;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLServerSocket;
+import javax.net.ssl.SSLServerSocketFactory;
+import javax.net.ssl.SSLSocket;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.werewolf.game.PhaseScheduler;
+import com.werewolf.game.SessionExecutors;
+import com.werewolf.game.Timeout;
+import com.werewolf.security.SSLContextFactory;
+
+/**
+ * Transport bloquant : un {@link ClientHandler} par connexion.
+ * En mode {@link TransportMode#BLOCKING} les handlers tournent sur un pool de threads plateforme, un thread
+ * par connexion pour toute sa durée : ce mode est réservé aux petits déploiements et n'admet pas plus de
+ * {@link #MAX_BLOCKING_CONNECTIONS} connexions, quel que soit {@code WEREWOLF_MAX_CONNECTIONS} ;
+ * en mode {@link TransportMode#VIRTUAL} chacun reçoit son propre thread virtuel, ce qui permet au code
+ * bloquant de tenir des milliers de connexions.
+ * Le thread d'acceptation ne fait aucune cryptographie : la capacité est vérifiée dès l'acceptation, puis la
+ * négociation mTLS part sur un pool borné, avec une échéance comptée depuis l'acceptation.
+ */
+public class BlockingServerTransport {
+    private static final int ACCEPT_BACKLOG = 1024;
+    /** Connexions admises au plus en mode {@link TransportMode#BLOCKING}, autant de threads plateforme. */
+    static final int MAX_BLOCKING_CONNECTIONS = 256;
+
+    private final SSLContext sslContext;
+    private final ServerConfig config;
+    private final SessionRegistry sessionRegistry;
+    private final AtomicInteger activeConnections = new AtomicInteger();
+    // Limite vérifiée à l'acceptation, plus basse que maxConnections en mode BLOCKING
+    private final int connectionLimit;
+    private final ExecutorService executor;
+    // Tâches d'écriture : n'occupent un thread que le temps de vider une file d'envoi
+    private final ExecutorService writers;
+    private final OutboundMetrics outboundMetrics = new OutboundMetrics();
+    private final HeartbeatMonitor heartbeats;
+    // Négociations TLS : pool de taille fixe, file bornée par le nombre de connexions admises
+    private final ExecutorService handshakes;
+    private final PhaseScheduler timer;
+    private final AcceptMetrics acceptMetrics = new AcceptMetrics();
+    private SSLServerSocket serverSocket;
+
+    public BlockingServerTransport(SSLContext sslContext, ServerConfig config, SessionRegistry sessionRegistry) {
+        this(sslContext, config, sessionRegistry, SessionExecutors.timer());
+    }
+
+    /**
+     * @param timer roue qui rythme les battements de cœur, en général celle qui sert déjà les phases
+     */
+    public BlockingServerTransport(SSLContext sslContext, ServerConfig config, SessionRegistry sessionRegistry,
+            PhaseScheduler timer) {
+        this.sslContext = sslContext;
+        this.config = config;
+        this.sessionRegistry = sessionRegistry;
+        this.connectionLimit = connectionLimit(config.getTransport(), config.getMaxConnections());
+        this.executor = newConnectionExecutor(config.getTransport(), connectionLimit);
+        this.writers = config.getTransport() == TransportMode.VIRTUAL
+                ? newConnectionExecutor(TransportMode.VIRTUAL, config.getMaxConnections())
+                : Executors.newCachedThreadPool();
+        this.heartbeats = new HeartbeatMonitor(timer, writers, config.getHeartbeatIntervalMs(),
+                config.getIdleTimeoutMs());
+        this.handshakes = newHandshakeExecutor(config.getHandshakeThreads(), config.getMaxConnections());
+        this.timer = timer;
+    }
+
+    static int connectionLimit(TransportMode mode, int maxConnections) {
+        return mode == TransportMode.BLOCKING ? Math.min(maxConnections, MAX_BLOCKING_CONNECTIONS) : maxConnections;
+    }
+
+    /**
+     * Crée le pool des négociations TLS. Une connexion qui ne trouve pas de place dans la file est refusée
+     * plutôt que d'attendre une négociation qui arriverait après son échéance.
+     */
+    static ExecutorService newHandshakeExecutor(int threads, int queueCapacity) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(Math.max(1, threads), Math.max(1, threads),
+                30, TimeUnit.SECONDS, new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), runnable -> {
+                    Thread thread = new Thread(runnable, "werewolf-handshake-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Crée l'exécuteur des connexions. Les threads virtuels sont obtenus par réflexion afin que le serveur
+     * compile et tourne toujours en Java 17 : sans eux, le mode {@code VIRTUAL} se replie sur un pool extensible.
+     * En mode {@code BLOCKING}, le pool ne dépasse pas {@code maxConnections} threads et rend ceux qui restent
+     * inoccupés.
+     */
+    static ExecutorService newConnectionExecutor(TransportMode mode, int maxConnections) {
+        if (mode == TransportMode.VIRTUAL) {
+            ExecutorService virtual = newVirtualThreadExecutor();
+            if (virtual != null) {
+                return virtual;
+            }
+            System.err.println("Virtual threads require Java 21+ (running " + Runtime.version()
+                    + "). Falling back to a cached thread pool.");
+            return Executors.newCachedThreadPool();
+        }
+        int threads = Math.max(1, maxConnections);
+        // File non bornée mais jamais longue : l'acceptation limite déjà les connexions au nombre de threads
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>());
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Ouvre le port d'écoute.
+     *
+     * @return le port effectivement lié (utile lorsque le port configuré vaut 0)
+     */
+    public int bind() throws IOException {
+        SSLServerSocketFactory ssf = sslContext.getServerSocketFactory();
+        serverSocket = (SSLServerSocket) ssf.createServerSocket(config.getPort(), ACCEPT_BACKLOG);
+        serverSocket.setNeedClientAuth(true);
+        heartbeats.start();
+        System.out.println("Werewolf Secure Server (mTLS, " + config.getTransport() + ") started on port "
+                + serverSocket.getLocalPort());
+        if (connectionLimit < config.getMaxConnections()) {
+            System.out.println("BLOCKING transport accepts at most " + connectionLimit
+                    + " connections; use NIO or VIRTUAL for more.");
+        }
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Boucle d'acceptation ; ne rend la main qu'à la fermeture du port.
+     * La négociation TLS se fait sur le pool des négociations pour ne pas bloquer les acceptations suivantes.
+     */
+    public void serve() throws IOException {
+        if (serverSocket == null) {
+            bind();
+        }
+        while (!serverSocket.isClosed()) {
+            SSLSocket clientSocket;
+            try {
+                clientSocket = (SSLSocket) serverSocket.accept();
+            } catch (SocketException e) {
+                if (serverSocket.isClosed()) {
+                    break;
+                }
+                throw e;
+            }
+
+            if (activeConnections.get() >= connectionLimit) {
+                acceptMetrics.onRejectedFull();
+                System.out.println("Server full. Rejecting connection from: " + clientSocket.getInetAddress());
+                clientSocket.close();
+                continue;
+            }
+
+            String tempPlayerId = sessionRegistry.nextPlayerId();
+            ClientHandler handler = new ClientHandler(clientSocket, tempPlayerId, sessionRegistry,
+                    new ConnectionCodec(config.isSerializationAllowed()),
+                    new OutboundQueue(config.getOutboundQueueCapacity(), config.getBackpressurePolicy(), outboundMetrics),
+                    writers, heartbeats);
+
+            activeConnections.incrementAndGet();
+            acceptMetrics.onAccepted();
+            long acceptedAt = System.nanoTime();
+            long acceptedAtMillis = System.currentTimeMillis();
+            // Ferme la socket si la négociation n'a pas abouti à temps, y compris un pair qui envoie ses octets au compte-gouttes
+            Timeout deadline = timer.schedule(() -> writers.execute(handler::close), config.getHandshakeTimeoutMs());
+            try {
+                handshakes.execute(() -> handshake(clientSocket, handler, tempPlayerId, acceptedAt,
+                        acceptedAtMillis, deadline));
+            } catch (RejectedExecutionException e) {
+                deadline.cancel();
+                acceptMetrics.onRejectedBusy();
+                System.out.println("Handshake queue full. Rejecting connection from: " + clientSocket.getInetAddress());
+                handler.close();
+                activeConnections.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Négocie la session mTLS sur le pool des négociations puis confie la connexion à son thread.
+     */
+    private void handshake(SSLSocket clientSocket, ClientHandler handler, String tempPlayerId, long acceptedAt,
+            long acceptedAtMillis, Timeout deadline) {
+        try {
+            if (deadline.isExpired()) {
+                throw new IOException("expired while queued");
+            }
+            clientSocket.setSoTimeout(config.getHandshakeTimeoutMs());
+            clientSocket.startHandshake();
+            // Au-delà de la négociation, les connexions muettes relèvent des battements de cœur
+            clientSocket.setSoTimeout(0);
+            if (!deadline.cancel()) {
+                throw new IOException("handshake timed out");
+            }
+        } catch (IOException e) {
+            boolean expired = !deadline.cancel();
+            if (expired || e instanceof SocketTimeoutException) {
+                acceptMetrics.onHandshakeTimedOut();
+            } else {
+                acceptMetrics.onHandshakeFailed();
+            }
+            System.err.println("Handshake failed for " + tempPlayerId + ": " + e.getMessage());
+            handler.close();
+            activeConnections.decrementAndGet();
+            return;
+        }
+        acceptMetrics.onHandshakeCompleted(System.nanoTime() - acceptedAt,
+                SSLContextFactory.isResumed(clientSocket.getSession(), acceptedAtMillis));
+        try {
+            executor.execute(() -> {
+                try {
+                    System.out.println("Connection from : " + clientSocket.getInetAddress());
+                    handler.run();
+                } finally {
+                    activeConnections.decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            handler.close();
+            activeConnections.decrementAndGet();
+        }
+    }
+
+    public void shutdown() {
+        try {
+            if (serverSocket != null) {
+                serverSocket.close();
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to close server socket: " + e.getMessage());
+        }
+        heartbeats.stop();
+        handshakes.shutdownNow();
+        executor.shutdownNow();
+        writers.shutdownNow();
+    }
+
+    public int getActiveConnectionCount() {
+        return activeConnections.get();
+    }
+
+    public OutboundMetrics getOutboundMetrics() {
+        return outboundMetrics;
+    }
+
+    public AcceptMetrics getAcceptMetrics() {
+        return acceptMetrics;
+    }
+
+    public HeartbeatMonitor getHeartbeatMonitor() {
+        return heartbeats;
+    }
+}
@@ -0,0 +1,35 @@
+package com.werewolf.network.server;
+
+import com.werewolf.network.shared.EncodedMessage;
+import com.werewolf.network.shared.Message;
+
+import java.io.IOException;
+
+/**
+ * Connexion d'un client, indépendante du transport (thread bloquant ou boucle NIO).
+ */
+public interface ClientConnection {
+    String getPlayerId();
+
+    /**
+     * Envoie un message au client. Peut être appelé depuis n'importe quel thread.
+     */
+    default void sendMessage(Message message) throws IOException {
+        send(new EncodedMessage(message));
+    }
+
+    /**
+     * Envoie un message éventuellement déjà encodé pour d'autres connexions ; la trame est partagée, jamais recopiée.
+     */
+    void send(EncodedMessage message) throws IOException;
+
+    /**
+     * Ferme la connexion ; le protocole est notifié de la déconnexion.
+     */
+    void close();
+
+    /**
+     * Codec de la connexion, ajusté par la négociation {@code CONNECT}.
+     */
+    ConnectionCodec getCodec();
+}
@@ -1,286 +1,162 @@
 package com.werewolf.network.server;
 
-import com.werewolf.event.GameStateObserver;
-import com.werewolf.event.GameStateUpdate;
-import com.werewolf.game.GameManager;
-import com.werewolf.game.GameSession;
-import com.werewolf.game.Player;
-import com.werewolf.network.shared.GameCommand;
-import com.werewolf.network.shared.JoinGameRequest;
+import com.werewolf.network.shared.EncodedMessage;
 import com.werewolf.network.shared.Message;
-import com.werewolf.network.shared.MessageType;
-import com.werewolf.network.shared.PlayerListUpdate;
-import com.werewolf.validation.CommandExecutionResult;
+import com.werewolf.network.shared.MessageFraming;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import java.io.OutputStream;
 import java.net.Socket;
-
-public class ClientHandler implements Runnable, GameStateObserver {
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Transport bloquant : un thread par connexion, qui lit les trames et les confie au {@link ClientProtocol}.
+ * Les envois sont déposés dans une {@link OutboundQueue} bornée, vidée par une tâche d'écriture propre
+ * à la connexion : un client qui ne lit plus ne bloque jamais le thread qui diffuse.
+ */
+public class ClientHandler implements Runnable, ClientConnection {
 
     private Socket socket;
-    private ObjectOutputStream out;
-    private ObjectInputStream in;
-
-    private final Object outLock = new Object();
-
-    private GameSession gameSession;
-    private String playerId;
-    private final GameManager gameManager;
-    private volatile boolean joinedGame = false;
-
-    public ClientHandler(Socket socket, String playerId, GameSession session, GameManager gameManager) {
+    private volatile OutputStream out;
+    private DataInputStream in;
+
+    // Verrou explicite plutôt que synchronized : un thread virtuel bloqué dans l'écriture n'épingle pas son porteur
+    private final ReentrantLock outLock = new ReentrantLock();
+
+    private final String playerId;
+    private final ConnectionCodec codec;
+    private final OutboundQueue outbound;
+    private final Executor writer;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean closed;
+    private final ClientProtocol protocol;
+    private final HeartbeatMonitor heartbeats;
+
+    public ClientHandler(Socket socket, String playerId, SessionRegistry sessionRegistry, ConnectionCodec codec,
+            OutboundQueue outbound, Executor writer, HeartbeatMonitor heartbeats) {
         this.socket = socket;
         this.playerId = playerId;
-        this.gameSession = session;
-        this.gameManager = gameManager;
-
-        session.subscribe(this);
+        this.codec = codec;
+        this.outbound = outbound;
+        this.writer = writer;
+        this.protocol = new ClientProtocol(this, sessionRegistry);
+        this.heartbeats = heartbeats;
     }
 
     @Override
     public void run() {
+        HeartbeatMonitor.Heartbeat heartbeat = heartbeats.register(this);
         try {
-            out = new ObjectOutputStream(socket.getOutputStream());
-            out.flush();
-            in = new ObjectInputStream(socket.getInputStream());
+            out = new BufferedOutputStream(socket.getOutputStream());
+            in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            if (!outbound.isEmpty()) {
+                scheduleDrain();
+            }
 
             System.out.println("Nouveau client authentifié : " + playerId);
 
-            // enregistre la connexion à broadcast
-            PlayerConnectionManager.registerConnection(playerId, this);
-
             while (true) {
-                Message receivedMessage = (Message) in.readObject();
-                handleMessage(receivedMessage);
+                Message receivedMessage = codec.decode(MessageFraming.readPayload(in));
+                heartbeat.onMessage(receivedMessage);
+                protocol.handleMessage(receivedMessage);
             }
-        } catch (IOException | ClassNotFoundException e) {
+        } catch (IOException e) {
             System.out.println("Déconnexion du client " + playerId);
         } finally {
-            // Notifie qu'une connexion a été perdu 
-            PlayerConnectionManager.unregisterConnection(playerId);
-
-            if (joinedGame && gameSession != null && playerId != null) {
-                gameSession.removePlayer(playerId);
-
-                // Diffuse la liste de joueurs mise à jour
-                try {
-                    String adminName = getAdminName();
-                    java.util.List<String> playerNames = gameSession.getPlayerNames();
-                    PlayerListUpdate update = new PlayerListUpdate(playerNames, adminName);
-                    Message notification = new Message(
-                            MessageType.PLAYER_LIST_UPDATE,
-                            "Server",
-                            update);
-                    PlayerConnectionManager.broadcastToAll(notification);
-                } catch (Exception e) {
-                    System.err.println("Failed to broadcast disconnect update: " + e.getMessage());
-                }
-            }
-            if (gameSession != null) {
-                gameSession.unsubscribe(this);
-            }
+            heartbeat.close();
+            protocol.onDisconnected();
             closeConnections();
         }
     }
 
-    private void handleMessage(Message message) throws IOException {
-        switch (message.getType()) {
-            case PING:
-                handlePing();
-                break;
-            case JOIN_GAME:
-                handleJoinGame(message);
-                break;
-            case START_GAME:
-                handleStartGame();
-                break;
-            case KILL:
-            case VOTE:
-            case HEAL:
-            case PEEK:
-                handleGameCommand(message);
-                break;
-            case CHAT:
-                handleChat(message);
-                break;
-            default:
-                System.out.println("Type de message non géré : " + message.getType());
-                break;
-        }
-    }
-
-    private void handlePing() throws IOException {
-        Message pongMessage = new Message(MessageType.PONG, "Server", "Return pong");
-        synchronized (outLock) {
-            out.writeObject(pongMessage);
-            out.flush();
-        }
-    }
-
-    private void handleJoinGame(Message message) throws IOException {
-        Object content = message.getContent();
-        String username = extractUsername(content);
-
-        if (gameSession.isUsernameTaken(username, playerId)) {
-            Message errorResponse = new Message(
-                    MessageType.ERROR,
-                    "Server",
-                    "Username already taken");
-            synchronized (outLock) {
-                out.writeObject(errorResponse);
-                out.flush();
-            }
-            return;
-        }
-
-        System.out.println("Player " + playerId + " joining with username: " + username);
-
-        Player newPlayer = new Player(playerId, username);
-        gameSession.addPlayer(newPlayer);
-        joinedGame = true;
-
-        // Assigne le role d'admin au premier joueur
-        gameSession.assignAdminIfNeeded();
-
-        java.util.List<String> playerNames = gameSession.getPlayerNames();
-        String adminName = getAdminName();
-
-        PlayerListUpdate update = new PlayerListUpdate(playerNames, adminName);
-        Message notification = new Message(
-                MessageType.PLAYER_LIST_UPDATE,
-                "Server",
-                update);
-        PlayerConnectionManager.broadcastToAll(notification);
-    }
-
-    private String extractUsername(Object content) {
-        if (content instanceof JoinGameRequest) {
-            return ((JoinGameRequest) content).getUsername();
-        }
-        return (content != null) ? content.toString() : playerId;
+    @Override
+    public String getPlayerId() {
+        return playerId;
     }
 
-    private String getAdminName() {
-        String adminId = gameSession.getAdminId();
-        if (adminId == null) {
-            return null;
-        }
-        Player admin = gameSession.getPlayer(adminId);
-        return admin != null ? admin.getUsername() : null;
+    @Override
+    public ConnectionCodec getCodec() {
+        return codec;
     }
 
-    private void handleGameCommand(Message message) throws IOException {
-        Object content = message.getContent();
-        if (!(content instanceof GameCommand)) {
-            Message errorResponse = new Message(
-                    MessageType.ERROR,
-                    "Server",
-                    "Contenu de commande invalide.");
-            synchronized (outLock) {
-                out.writeObject(errorResponse);
-                out.flush();
-            }
-            return;
+    /**
+     * Methode pour broadcast un message
+     */
+    @Override
+    public void send(EncodedMessage message) throws IOException {
+        if (closed) {
+            throw new IOException("Connection closed");
         }
-
-        GameCommand cmd = (GameCommand) content;
-
-        CommandExecutionResult result = gameManager.handleCommand(playerId, cmd);
-
-        if (!result.isSuccess()) {
-            Message errorResponse = new Message(
-                    MessageType.ERROR,
-                    "Server",
-                    result.getErrorMessage());
-            synchronized (outLock) {
-                out.writeObject(errorResponse);
-                out.flush();
-            }
+        if (!outbound.offer(message, codec.encode(message))) {
+            System.out.println("Slow consumer " + playerId + " evicted (" + outbound.size() + " messages pending)");
+            close();
             return;
         }
-
-        Message ack = new Message(MessageType.GAME_COMMAND_RESPONSE, "Server", "Commande acceptée");
-        synchronized (outLock) {
-            out.writeObject(ack);
-            out.flush();
-        }
-    }
-
-    private void handleChat(Message message) throws IOException {
-        if (gameSession == null) return;
-
-        Object content = message.getContent();
-        if (!(content instanceof GameCommand)) return;
-
-        GameCommand cmd = (GameCommand) content;
-        // Le texte du message est stocké dans le champ targetPlayerId par le client
-        String chatText = cmd.getTargetPlayerId();
-
-        Player sender = gameSession.getPlayer(playerId);
-        if (sender == null || !sender.isAlive()) return;
-
-        if (gameSession.getCurrentPhase() == com.werewolf.game.GameState.NIGHT) {
-            return; // Pas de discussion la nuit pour les joueurs normaux
-        }
-
-        gameSession.notifySessionUpdate("[" + sender.getUsername() + "] : " + chatText);
+        scheduleDrain();
     }
 
-    private void handleStartGame() throws IOException {
-        CommandExecutionResult result = gameManager.startGame(playerId);
-        if (!result.isSuccess()) {
-            Message errorResponse = new Message(
-                    MessageType.ERROR,
-                    "Server",
-                    result.getErrorMessage());
-            synchronized (outLock) {
-                out.writeObject(errorResponse);
-                out.flush();
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            try {
+                writer.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+                close();
             }
-            return;
-        }
-
-        Message ack = new Message(MessageType.GAME_STARTED, "Server", "La partie a commencé");
-        synchronized (outLock) {
-            out.writeObject(ack);
-            out.flush();
         }
     }
 
-    @Override
-    public void onGameStateUpdate(GameStateUpdate update) {
+    /**
+     * Écrit toutes les trames en attente puis vide le tampon une seule fois.
+     */
+    private void drain() {
         try {
-            Message notification = new Message(
-                    MessageType.GAME_STATE_UPDATE,
-                    "Server",
-                    update);
-
-            synchronized (outLock) {
-                if (out != null) {
-                    out.writeObject(notification);
-                    out.flush();
+            while (true) {
+                outLock.lock();
+                try {
+                    OutputStream stream = out;
+                    if (stream == null) {
+                        // Les flux ne sont pas encore ouverts : run() relancera l'écriture
+                        draining.set(false);
+                        return;
+                    }
+                    byte[] frame;
+                    while ((frame = outbound.poll()) != null) {
+                        stream.write(frame);
+                    }
+                    stream.flush();
+                } finally {
+                    outLock.unlock();
+                }
+                draining.set(false);
+                // Un envoi a pu arriver entre le dernier poll et la remise à zéro du drapeau
+                if (outbound.isEmpty() || !draining.compareAndSet(false, true)) {
+                    return;
                 }
             }
         } catch (IOException e) {
-            System.err.println("Échec de l'envoi de la mise à jour au client : " + e.getMessage());
+            System.err.println("Failed to write to client " + playerId + ": " + e.getMessage());
+            close();
+        } finally {
+            if (closed) {
+                outbound.clear();
+            }
         }
     }
 
-    /**
-     * Methode pour broadcast un message
-     */
-    public void sendMessage(Message message) throws IOException {
-        synchronized (outLock) {
-            if (out != null) {
-                out.writeObject(message);
-                out.flush();
-            }
-        }
+    @Override
+    public void close() {
+        closeConnections();
     }
 
     private void closeConnections() {
+        closed = true;
         try {
             if (in != null)
                 in.close();
@@ -292,4 +168,4 @@ public class ClientHandler implements Runnable, GameStateObserver {
             e.printStackTrace();
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,487 @@
+package com.werewolf.network.server;
+
+import com.werewolf.game.GameManager;
+import com.werewolf.game.GameSession;
+import com.werewolf.game.GameState;
+import com.werewolf.game.Player;
+import com.werewolf.game.stats.Leaderboard;
+import com.werewolf.game.stats.PlayerStats;
+import com.werewolf.network.shared.GameCommand;
+import com.werewolf.network.shared.JoinGameRequest;
+import com.werewolf.network.shared.Message;
+import com.werewolf.network.shared.MessageCodec;
+import com.werewolf.network.shared.MessageType;
+import com.werewolf.network.shared.PlayerListUpdate;
+import com.werewolf.validation.CommandExecutionResult;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Logique de protocole d'un client, partagée par tous les transports.
+ * Le transport lui transmet les messages décodés et la prévient de la déconnexion ;
+ * les réponses repartent par la {@link ClientConnection}.
+ * Une fois le joueur routé vers une session, tout ce qui touche à la partie est déposé dans la
+ * {@link com.werewolf.game.SessionMailbox} de cette session plutôt qu'exécuté sur le thread du transport.
+ */
+public class ClientProtocol {
+    private static final int LEADERBOARD_SIZE = 10;
+
+    private final ClientConnection connection;
+    private final SessionRegistry sessionRegistry;
+    // Identifiant unique attribué par le registre à l'acceptation, remplacé par celui du joueur dont elle reprend la place
+    private volatile String playerId;
+    // Session liée au moment du JOIN_GAME
+    private volatile ManagedSession managedSession;
+    private volatile GameSession gameSession;
+    private volatile GameManager gameManager;
+    private volatile boolean joinedGame = false;
+
+    // Traitement exécuté dans la boîte aux lettres de la session
+    private interface SessionTask {
+        void run() throws IOException;
+    }
+
+    public ClientProtocol(ClientConnection connection, SessionRegistry sessionRegistry) {
+        this.connection = connection;
+        this.playerId = connection.getPlayerId();
+        this.sessionRegistry = sessionRegistry;
+    }
+
+    /**
+     * Libère la place du joueur dans sa session. Appelé une seule fois par le transport à la déconnexion.
+     * Pendant le délai de grâce du registre, le joueur reste dans la partie et sa place peut être reprise.
+     */
+    public void onDisconnected() {
+        ManagedSession managed = managedSession;
+        if (managed == null) {
+            return;
+        }
+        String leavingId = playerId;
+        // Notifie qu'une connexion a été perdu
+        managed.getConnections().unregisterConnection(leavingId, connection);
+
+        inSession(managed, () -> {
+            if (managedSession != managed) {
+                return; // JOIN_GAME refusé : la place a déjà été rendue
+            }
+            if (!joinedGame || leavingId == null) {
+                sessionRegistry.leave(managed);
+                return;
+            }
+            if (managed.getConnections().isConnected(leavingId)) {
+                return; // Une nouvelle connexion a repris la place, et la garde
+            }
+            long graceMs = sessionRegistry.getReconnectGraceMs();
+            if (graceMs > 0 && gameSession.getPlayer(leavingId) != null) {
+                managed.detach(leavingId, graceMs, () -> leaveGame(managed, leavingId));
+                return;
+            }
+            leaveGame(managed, leavingId);
+        });
+    }
+
+    // Retire le joueur de la partie et rend sa place ; exécuté dans la boîte aux lettres de la session
+    private void leaveGame(ManagedSession managed, String leavingId) {
+        managed.getGameManager().removePlayer(leavingId);
+        sessionRegistry.revokeResumeTokens(managed, leavingId);
+
+        // Diffuse la liste de joueurs mise à jour
+        try {
+            String adminName = getAdminName();
+            java.util.List<String> playerNames = gameSession.getPlayerNames();
+            PlayerListUpdate update = new PlayerListUpdate(playerNames, adminName);
+            Message notification = new Message(
+                    MessageType.PLAYER_LIST_UPDATE,
+                    "Server",
+                    update);
+            managed.getConnections().broadcastToAll(notification);
+        } catch (Exception e) {
+            System.err.println("Failed to broadcast disconnect update: " + e.getMessage());
+        }
+        sessionRegistry.leave(managed);
+    }
+
+    private void inSession(ManagedSession managed, SessionTask task) {
+        managed.getMailbox().execute(() -> {
+            try {
+                task.run();
+            } catch (IOException e) {
+                System.err.println("Failed to reply to client " + playerId + ": " + e.getMessage());
+            }
+        });
+    }
+
+    public void handleMessage(Message message) throws IOException {
+        switch (message.getType()) {
+            case CONNECT:
+                handleConnect(message);
+                break;
+            case PING:
+                handlePing();
+                break;
+            case PONG:
+                break; // Réponse à un battement de cœur, déjà prise en compte par le HeartbeatMonitor du transport
+            case JOIN_GAME:
+                handleJoinGame(message);
+                break;
+            case START_GAME:
+                handleStartGame(message);
+                break;
+            case READY:
+                handleReady();
+                break;
+            case KILL:
+            case VOTE:
+            case HEAL:
+            case PEEK:
+            case ACTION:
+                handleGameCommand(message);
+                break;
+            case CHAT:
+                handleChat(message);
+                break;
+            case RESYNC:
+                handleResync();
+                break;
+            case LEADERBOARD:
+                handleLeaderboard(message);
+                break;
+            case RESUME:
+                handleResume(message);
+                break;
+            default:
+                System.out.println("Type de message non géré : " + message.getType());
+                break;
+        }
+    }
+
+    /**
+     * Négociation du format des trames : le client liste les codecs qu'il accepte.
+     */
+    private void handleConnect(Message message) throws IOException {
+        Object offer = message.getContent();
+        MessageCodec codec = connection.getCodec().negotiate(offer != null ? offer.toString() : null);
+        if (codec == null) {
+            sendError("No supported codec in " + offer);
+            return;
+        }
+        connection.sendMessage(new Message(MessageType.CONNECT, "Server", codec.getName()));
+    }
+
+    private void handlePing() throws IOException {
+        Message pongMessage = new Message(MessageType.PONG, "Server", "Return pong");
+        connection.sendMessage(pongMessage);
+    }
+
+    private void handleJoinGame(Message message) throws IOException {
+        if (managedSession != null) {
+            sendError("Already joined a game");
+            return;
+        }
+
+        Object content = message.getContent();
+        String username = extractUsername(content);
+        String requestedSessionId = (content instanceof JoinGameRequest)
+                ? ((JoinGameRequest) content).getSessionId()
+                : null;
+
+        ManagedSession managed = sessionRegistry.join(requestedSessionId);
+        if (managed == null) {
+            sendError("No game available, the server or the requested session is full or already started");
+            return;
+        }
+
+        // Les messages suivants du client sont routés vers la session dès maintenant, et traités après celui-ci
+        this.managedSession = managed;
+        this.gameSession = managed.getSession();
+        this.gameManager = managed.getGameManager();
+        inSession(managed, () -> completeJoin(managed, username));
+    }
+
+    private void completeJoin(ManagedSession managed, String username) throws IOException {
+        String refusal = null;
+        if (gameSession.getPlayer(playerId) != null) {
+            // Ne devrait pas arriver avec les identifiants du registre : on ne remplace jamais la place d'un autre
+            refusal = "Player ID already in use";
+        } else if (gameSession.isUsernameTaken(username, playerId)) {
+            refusal = "Username already taken";
+        }
+        if (refusal != null) {
+            this.managedSession = null;
+            this.gameSession = null;
+            this.gameManager = null;
+            sessionRegistry.leave(managed);
+            sendError(refusal);
+            return;
+        }
+
+        System.out.println("Player " + playerId + " joining " + managed.getSessionId() + " with username: " + username);
+
+        // enregistre la connexion à broadcast ; les mises à jour de la session lui parviennent par ce biais
+        managed.getConnections().registerConnection(playerId, connection);
+
+        // Le premier joueur devient l'administrateur de la session
+        gameManager.addPlayer(playerId, username);
+        joinedGame = true;
+        sendResumeToken(managed);
+
+        java.util.List<String> playerNames = gameSession.getPlayerNames();
+        String adminName = getAdminName();
+
+        PlayerListUpdate update = new PlayerListUpdate(playerNames, adminName);
+        Message notification = new Message(
+                MessageType.PLAYER_LIST_UPDATE,
+                "Server",
+                update);
+        managed.getConnections().broadcastToAll(notification);
+    }
+
+    // Envoyé avant la liste des joueurs, que le client attend comme réponse à son arrivée.
+    // Le jeton désigne l'identifiant attribué par le registre à l'acceptation, jamais une donnée de la socket
+    private void sendResumeToken(ManagedSession managed) throws IOException {
+        Map<String, Object> content = new HashMap<>();
+        content.put("token", sessionRegistry.issueResumeToken(managed, playerId));
+        content.put("sessionId", managed.getSessionId());
+        connection.sendMessage(new Message(MessageType.SESSION_TOKEN, "Server", content));
+    }
+
+    /**
+     * Reprise après une coupure ou un redémarrage du serveur : le client présente son jeton et le dernier
+     * numéro du flux d'état qu'il a appliqué. C'est le seul moyen de reprendre la place d'un joueur.
+     */
+    private void handleResume(Message message) throws IOException {
+        if (managedSession != null) {
+            sendError("Already joined a game");
+            return;
+        }
+        Map<?, ?> request = message.getContent() instanceof Map<?, ?> map ? map : Map.of();
+        String token = request.get("token") instanceof String value ? value : null;
+        long lastSequence = request.get("lastSequence") instanceof Number number ? number.longValue() : -1;
+
+        ManagedSession managed = sessionRegistry.findResumable(token);
+        if (managed == null) {
+            sendError("Cannot resume: the session has expired");
+            return;
+        }
+        this.managedSession = managed;
+        this.gameSession = managed.getSession();
+        this.gameManager = managed.getGameManager();
+        inSession(managed, () -> completeResume(managed, token, lastSequence));
+    }
+
+    private void completeResume(ManagedSession managed, String token, long lastSequence) throws IOException {
+        String resumedId = managed.resume(token);
+        if (resumedId == null) {
+            // Le délai de grâce vient de s'écouler : la place n'existe plus
+            this.managedSession = null;
+            this.gameSession = null;
+            this.gameManager = null;
+            sendError("Cannot resume: the session has expired");
+            return;
+        }
+        // Première reprise d'une place après un redémarrage : le siège lui est gardé depuis la reprise,
+        // mais les numéros du flux d'état d'avant l'arrêt ne veulent plus rien dire
+        if (managed.claimAwaitedSeat(resumedId)) {
+            lastSequence = -1;
+        }
+        this.playerId = resumedId;
+        joinedGame = true;
+
+        if (gameSession.getCurrentPhase() != GameState.LOBBY) {
+            connection.sendMessage(new Message(MessageType.GAME_STARTED, "Server", "Game started"));
+        }
+        int replayed = managed.getConnections().resumeConnection(playerId, connection, lastSequence);
+        System.out.println("Player " + playerId + " resumed in " + managed.getSessionId()
+                + (replayed >= 0 ? " (" + replayed + " missed updates)" : " (full snapshot)"));
+        gameManager.resendPrivateState(playerId);
+        Message notification = new Message(
+                MessageType.PLAYER_LIST_UPDATE,
+                "Server",
+                new PlayerListUpdate(gameSession.getPlayerNames(), getAdminName()));
+        managed.getConnections().broadcastToAll(notification);
+    }
+
+    private String extractUsername(Object content) {
+        if (content instanceof JoinGameRequest) {
+            return ((JoinGameRequest) content).getUsername();
+        }
+        return (content != null) ? content.toString() : playerId;
+    }
+
+    private String getAdminName() {
+        String adminId = gameSession.getAdminId();
+        if (adminId == null) {
+            return null;
+        }
+        Player admin = gameSession.getPlayer(adminId);
+        return admin != null ? admin.getUsername() : null;
+    }
+
+    private void handleGameCommand(Message message) throws IOException {
+        if (gameManager == null) {
+            sendError("Join a game first");
+            return;
+        }
+        Object content = message.getContent();
+        if (!(content instanceof GameCommand)) {
+            Message errorResponse = new Message(
+                    MessageType.ERROR,
+                    "Server",
+                    "Contenu de commande invalide.");
+            connection.sendMessage(errorResponse);
+            return;
+        }
+
+        GameCommand cmd = (GameCommand) content;
+        inSession(managedSession, () -> executeGameCommand(cmd));
+    }
+
+    private void executeGameCommand(GameCommand cmd) throws IOException {
+        if (!joinedGame) {
+            sendError("Join a game first"); // JOIN_GAME refusé entre-temps
+            return;
+        }
+        CommandExecutionResult result = gameManager.handleCommand(playerId, cmd);
+
+        if (!result.isSuccess()) {
+            Message errorResponse = new Message(
+                    MessageType.ERROR,
+                    "Server",
+                    result.getErrorMessage());
+            connection.sendMessage(errorResponse);
+            return;
+        }
+
+        Message ack = new Message(MessageType.GAME_COMMAND_RESPONSE, "Server", "Commande acceptée");
+        connection.sendMessage(ack);
+    }
+
+    private void handleChat(Message message) {
+        ManagedSession managed = managedSession;
+        if (managed == null) return;
+
+        Object content = message.getContent();
+        if (!(content instanceof GameCommand)) return;
+
+        GameCommand cmd = (GameCommand) content;
+        // Le texte du message est stocké dans le champ targetPlayerId par le client
+        inSession(managed, () -> publishChat(cmd.getTargetPlayerId()));
+    }
+
+    private void publishChat(String chatText) {
+        if (gameSession == null) return;
+
+        Player sender = gameSession.getPlayer(playerId);
+        if (sender == null || !sender.isAlive()) return;
+
+        if (gameSession.getCurrentPhase() == com.werewolf.game.GameState.NIGHT) {
+            return; // Pas de discussion la nuit pour les joueurs normaux
+        }
+
+        gameManager.recordChat(playerId, chatText);
+        gameSession.notifySessionUpdate("[" + sender.getUsername() + "] : " + chatText);
+    }
+
+    private void handleResync() {
+        ManagedSession managed = managedSession;
+        if (managed != null) {
+            managed.getConnections().resync(playerId);
+        }
+    }
+
+    /**
+     * Classement demandé par son nom ; lu directement dans l'index trié, sans passer par la session.
+     */
+    private void handleLeaderboard(Message message) throws IOException {
+        Object requested = message.getContent();
+        Leaderboard board = requested == null ? Leaderboard.WINS : Leaderboard.parse(requested.toString());
+        if (board == null) {
+            sendError("Unknown leaderboard: " + requested);
+            return;
+        }
+
+        List<Map<String, Object>> entries = new ArrayList<>();
+        for (PlayerStats stats : sessionRegistry.getStatsService().top(board, LEADERBOARD_SIZE)) {
+            Map<String, Object> entry = statsEntry(stats);
+            entry.put("rank", entries.size() + 1);
+            entries.add(entry);
+        }
+        Map<String, Object> content = new HashMap<>();
+        content.put("board", board.name());
+        content.put("entries", entries);
+        GameSession session = gameSession;
+        Player self = session != null ? session.getPlayer(playerId) : null;
+        PlayerStats own = self != null ? sessionRegistry.getStatsService().getStats(self.getUsername()) : null;
+        if (own != null) {
+            content.put("you", statsEntry(own));
+        }
+        connection.sendMessage(new Message(MessageType.LEADERBOARD, "Server", content));
+    }
+
+    // Compteurs bruts : le client calcule lui-même les taux
+    private static Map<String, Object> statsEntry(PlayerStats stats) {
+        Map<String, Object> entry = new HashMap<>();
+        entry.put("username", stats.getUsername());
+        entry.put("games", stats.getGames());
+        entry.put("wins", stats.getWins());
+        entry.put("survived", stats.getSurvived());
+        entry.put("votes", stats.getVotes());
+        entry.put("correctVotes", stats.getCorrectVotes());
+        entry.put("peeks", stats.getPeeks());
+        entry.put("correctPeeks", stats.getCorrectPeeks());
+        return entry;
+    }
+
+    private void handleStartGame(Message message) throws IOException {
+        if (gameManager == null) {
+            sendError("Join a game first");
+            return;
+        }
+        // L'administrateur peut joindre ses propres durées de phase au lancement
+        Map<?, ?> overrides = message.getContent() instanceof Map ? (Map<?, ?>) message.getContent() : null;
+        inSession(managedSession, () -> executeStartGame(overrides));
+    }
+
+    private void executeStartGame(Map<?, ?> overrides) throws IOException {
+        if (!joinedGame) {
+            sendError("Join a game first"); // JOIN_GAME refusé entre-temps
+            return;
+        }
+        CommandExecutionResult result = gameManager.startGame(playerId, overrides);
+        if (!result.isSuccess()) {
+            Message errorResponse = new Message(
+                    MessageType.ERROR,
+                    "Server",
+                    result.getErrorMessage());
+            connection.sendMessage(errorResponse);
+            return;
+        }
+
+        Message ack = new Message(MessageType.GAME_STARTED, "Server", "La partie a commencé");
+        connection.sendMessage(ack);
+    }
+
+    private void handleReady() throws IOException {
+        if (gameManager == null) {
+            sendError("Join a game first");
+            return;
+        }
+        inSession(managedSession, () -> {
+            if (!joinedGame) {
+                return;
+            }
+            CommandExecutionResult result = gameManager.handleReady(playerId);
+            if (!result.isSuccess()) {
+                sendError(result.getErrorMessage());
+            }
+        });
+    }
+
+    private void sendError(String error) throws IOException {
+        connection.sendMessage(new Message(MessageType.ERROR, "Server", error));
+    }
+}
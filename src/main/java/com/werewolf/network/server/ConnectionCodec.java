@@ -0,0 +1,63 @@
+package com.werewolf.network.server;
+
+import com.werewolf.network.shared.EncodedMessage;
+import com.werewolf.network.shared.Message;
+import com.werewolf.network.shared.MessageCodec;
+import com.werewolf.network.shared.MessageCodecs;
+
+import java.io.IOException;
+
+/**
+ * Codec d'une connexion côté serveur. Le format des réponses est celui négocié par le {@code CONNECT} du client ;
+ * un client qui ne négocie pas reçoit ses réponses dans le format de sa première trame.
+ * Les trames en sérialisation Java sont refusées sauf si le repli est autorisé dans la configuration.
+ */
+public class ConnectionCodec {
+    private final boolean allowSerialization;
+    private volatile MessageCodec outbound;
+
+    public ConnectionCodec(boolean allowSerialization) {
+        this.allowSerialization = allowSerialization;
+    }
+
+    /**
+     * Décode une trame reçue. Une trame malformée, quelle que soit l'erreur du décodeur, lève une
+     * {@link IOException} : le transport ferme alors cette seule connexion.
+     */
+    public Message decode(byte[] payload) throws IOException {
+        MessageCodec codec = MessageCodecs.detect(payload);
+        if (codec == MessageCodecs.JAVA && !allowSerialization) {
+            throw new IOException("Java serialization is disabled on this server");
+        }
+        if (outbound == null) {
+            outbound = codec;
+        }
+        try {
+            return codec.decode(payload);
+        } catch (RuntimeException e) {
+            throw new IOException("Malformed frame: " + e, e);
+        }
+    }
+
+    public byte[] encode(EncodedMessage message) throws IOException {
+        return message.frame(getOutbound());
+    }
+
+    /**
+     * Retient le codec des réponses parmi ceux proposés par le client.
+     *
+     * @return le codec retenu, ou {@code null} si aucun ne convient
+     */
+    public MessageCodec negotiate(String offer) {
+        MessageCodec chosen = MessageCodecs.choose(offer, allowSerialization);
+        if (chosen != null) {
+            outbound = chosen;
+        }
+        return chosen;
+    }
+
+    public MessageCodec getOutbound() {
+        MessageCodec codec = outbound;
+        return codec != null ? codec : MessageCodecs.BINARY;
+    }
+}
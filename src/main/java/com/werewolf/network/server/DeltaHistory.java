@@ -0,0 +1,46 @@
+package com.werewolf.network.server;
+
+import com.werewolf.network.shared.EncodedMessage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Derniers deltas diffusés par une session, rangés par numéro dans un tableau circulaire :
+ * le delta {@code n} remplace le delta {@code n - capacité}. Un joueur qui reprend sa place reçoit
+ * les deltas qu'il a manqués, déjà encodés, plutôt qu'un instantané complet.
+ * Non synchronisé : l'appelant sérialise les appels.
+ */
+final class DeltaHistory {
+    private final EncodedMessage[] deltas;
+    // Numéro du dernier delta retenu ; les numéros commencent à 1
+    private long latest;
+
+    DeltaHistory(int capacity) {
+        this.deltas = new EncodedMessage[Math.max(1, capacity)];
+    }
+
+    void add(long sequence, EncodedMessage delta) {
+        deltas[(int) (sequence % deltas.length)] = delta;
+        latest = sequence;
+    }
+
+    /**
+     * @return les deltas postérieurs à {@code lastSequence}, dans l'ordre, ou {@code null} s'ils ne sont
+     *         plus tous retenus (ou si ce numéro n'a jamais été diffusé)
+     */
+    List<EncodedMessage> since(long lastSequence) {
+        if (lastSequence < 0 || lastSequence > latest || latest - lastSequence > deltas.length) {
+            return null;
+        }
+        List<EncodedMessage> missed = new ArrayList<>((int) (latest - lastSequence));
+        for (long sequence = lastSequence + 1; sequence <= latest; sequence++) {
+            missed.add(deltas[(int) (sequence % deltas.length)]);
+        }
+        return missed;
+    }
+
+    long getLatest() {
+        return latest;
+    }
+}
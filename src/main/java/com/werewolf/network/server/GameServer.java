@@ -1,22 +1,27 @@
 package com.werewolf.network.server;
 
-import javax.net.ssl.SSLContext;
-import javax.net.ssl.SSLServerSocket;
-import javax.net.ssl.SSLServerSocketFactory;
-import javax.net.ssl.SSLSocket;
+import java.io.IOException;
+import java.nio.file.Path;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import javax.net.ssl.SSLContext;
 
-import com.werewolf.game.GameManager;
-import com.werewolf.game.GameSession;
+import com.werewolf.game.HashedWheelTimer;
+import com.werewolf.game.SessionExecutors;
+import com.werewolf.game.replay.InputLogFactory;
+import com.werewolf.game.role.RoleRegistry;
+import com.werewolf.game.snapshot.RecoveryStore;
+import com.werewolf.game.stats.StatsService;
+import com.werewolf.game.store.EventStore;
 import com.werewolf.security.CertificateManager;
 import com.werewolf.security.SSLContextFactory;
 
 public class GameServer {
-    private static final int PORT = 8443; // Standard port for HTTPS
-    private static final int MAX_PLAYERS = 10;
     private static final String DEFAULT_STORE_PASSWORD = "werewolf";
+    // Avec un pas de 100 ms, un tour de roue couvre 51 s : une phase ne fait qu'un ou deux tours
+    private static final int TIMER_WHEEL_SIZE = 512;
+    // Délai laissé aux joueurs d'une session reprise pour revenir avant qu'elle soit abandonnée
+    private static final long RECOVERY_GRACE_MS = 5 * 60_000;
+    private static final long RECOVERY_SUSPEND_TIMEOUT_MS = 5_000;
     private static final String STORE_PASSWORD = loadStorePassword();
 
     private static String loadStorePassword() {
@@ -36,13 +41,70 @@ public class GameServer {
         return password;
     }
 
-    private ExecutorService threadPool;
+    private final ServerConfig config;
+    private final SessionRegistry sessionRegistry;
+    // Roue unique du serveur : échéances de phase et battements de cœur des connexions
+    private final HashedWheelTimer timer;
 
     public GameServer() {
-        this.threadPool = Executors.newFixedThreadPool(MAX_PLAYERS);
+        this(ServerConfig.load());
+    }
+
+    public GameServer(ServerConfig config) {
+        this.config = config;
+        this.timer = new HashedWheelTimer(config.getTimerTickMs(), TIMER_WHEEL_SIZE);
+        this.sessionRegistry = new SessionRegistry(config.getMaxPlayersPerSession(), config.getMaxSessions(),
+                SessionExecutors.workers(), timer, config.getPhaseConfig());
+        sessionRegistry.setReconnectGraceMs(config.getReconnectGraceMs());
+        if (config.getReplayDir() != null) {
+            sessionRegistry.setInputLogFactory(InputLogFactory.directory(Path.of(config.getReplayDir())));
+        }
+        if (config.getEventDir() != null) {
+            openEventStore(Path.of(config.getEventDir()));
+        }
+        if (config.getStatsFile() != null) {
+            StatsService stats = new StatsService(Path.of(config.getStatsFile()), StatsService.DEFAULT_MIN_SAMPLE,
+                    StatsService.DEFAULT_CHECKPOINT_INTERVAL_MS);
+            sessionRegistry.setStatsService(stats);
+            Runtime.getRuntime().addShutdownHook(new Thread(stats::close, "werewolf-stats-close"));
+        }
+        if (config.getRecoveryDir() != null) {
+            enableRecovery(Path.of(config.getRecoveryDir()));
+        }
+    }
+
+    private void enableRecovery(Path directory) {
+        try {
+            int restored = sessionRegistry.enableRecovery(new RecoveryStore(directory), config.getSnapshotIntervalMs(),
+                    RECOVERY_GRACE_MS);
+            System.out.println("Session recovery enabled (" + directory + "): " + restored + " session(s) restored");
+            // Les fichiers sont figés avant que l'arrêt ne coupe les connexions, sans quoi les joueurs seraient retirés des parties
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    sessionRegistry.suspendRecovery(RECOVERY_SUSPEND_TIMEOUT_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, "werewolf-recovery-suspend"));
+        } catch (IOException e) {
+            System.err.println("Session recovery disabled (" + directory + "): " + e.getMessage());
+        }
+    }
+
+    private void openEventStore(Path directory) {
+        try {
+            EventStore store = new EventStore(directory);
+            sessionRegistry.setEventSink(store);
+            // Les derniers événements en file sont écrits et forcés sur le disque à l'arrêt du serveur
+            Runtime.getRuntime().addShutdownHook(new Thread(store::close, "werewolf-event-store-close"));
+        } catch (IOException e) {
+            System.err.println("Event store disabled (" + directory + "): " + e.getMessage());
+        }
     }
 
     public void start() {
+        // Compile le catalogue des rôles (et charge les extensions) avant la première partie
+        System.out.println("Roles: " + RoleRegistry.getDefault().getDefinitions());
         System.out.println("Checking and initializing certificate infrastructure...");
         CertificateManager.initializeCertificates(STORE_PASSWORD);
         try {
@@ -50,33 +112,12 @@ public class GameServer {
             SSLContext sslContext = SSLContextFactory.createServerSSLContext(
                     CertificateManager.SERVER_KEYSTORE, STORE_PASSWORD,
                     CertificateManager.SERVER_TRUSTSTORE, STORE_PASSWORD);
-            SSLServerSocketFactory ssf = sslContext.getServerSocketFactory();
-            try (SSLServerSocket serverSocket = (SSLServerSocket) ssf.createServerSocket(PORT)) {
-
-                serverSocket.setNeedClientAuth(true);
-
-                System.out.println("Werewolf Secure Server (mTLS) started on port " + PORT);
-                System.out.println("Waiting for secure players (Max " + MAX_PLAYERS + ")...");
-
-                final GameSession gameSession = new GameSession("main-session");
-                final GameManager gameManager = new GameManager(gameSession);
-                while (true) {
-                    SSLSocket clientSocket = (SSLSocket) serverSocket.accept();
-                    clientSocket.startHandshake();
-                    System.out.println("Connection from : " + clientSocket.getInetAddress());
+            System.out.println("Waiting for secure players (" + config + ")...");
 
-                    if (gameSession.getPlayers().size() >= MAX_PLAYERS) {
-                        System.out.println("Session full. Rejecting connection from: " + clientSocket.getInetAddress());
-                        clientSocket.close();
-                        continue;
-                    }
-
-                    String tempPlayerId = "Player-" + clientSocket.getPort();
-
-                    ClientHandler handler = new ClientHandler(clientSocket, tempPlayerId, gameSession, gameManager);
-
-                    threadPool.execute(handler);
-                }
+            if (config.getTransport() == TransportMode.NIO) {
+                new NioServerTransport(sslContext, config, sessionRegistry, timer).serve();
+            } else {
+                new BlockingServerTransport(sslContext, config, sessionRegistry, timer).serve();
             }
         } catch (Exception e) {
             System.err.println("Critical error when starting the secure server: " + e.getMessage());
@@ -84,6 +125,10 @@ public class GameServer {
         }
     }
 
+    public SessionRegistry getSessionRegistry() {
+        return sessionRegistry;
+    }
+
     public static void main(String[] args) {
         new GameServer().start();
     }
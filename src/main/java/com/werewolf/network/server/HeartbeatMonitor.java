@@ -0,0 +1,229 @@
+package com.werewolf.network.server;
+
+import com.werewolf.game.PhaseScheduler;
+import com.werewolf.game.Timeout;
+import com.werewolf.network.shared.Message;
+import com.werewolf.network.shared.MessageType;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Battements de cœur applicatifs d'un transport. Une seule tâche, replanifiée sur la roue à chaque intervalle,
+ * parcourt toutes les connexions : celle dont aucune trame n'est arrivée depuis {@code intervalMs} reçoit un
+ * {@code PING}, celle restée muette plus de {@code idleTimeoutMs} est fermée. Une socket à demi ouverte rend
+ * ainsi son thread, son entrée dans le {@link PlayerConnectionManager} et sa place de connexion.
+ * Le client renvoie le contenu du {@code PING} dans son {@code PONG}, d'où le temps d'aller-retour de chaque connexion.
+ * Un intervalle nul ou négatif désactive la surveillance.
+ */
+public class HeartbeatMonitor {
+    // Poids d'un nouvel échantillon dans le temps d'aller-retour lissé, comme pour TCP (1/8)
+    private static final int RTT_SMOOTHING_SHIFT = 3;
+
+    private final PhaseScheduler timer;
+    // Exécute les fermetures : celle d'une socket bloquante peut attendre le pair et ne doit pas retenir la roue
+    private final Executor closer;
+    private final long intervalMs;
+    private final long idleTimeoutMs;
+    private final Set<Heartbeat> heartbeats = ConcurrentHashMap.newKeySet();
+    private final LongAdder pingsSent = new LongAdder();
+    private final LongAdder reclaimed = new LongAdder();
+    private volatile Timeout sweepTask;
+    private volatile boolean running;
+
+    /**
+     * @param intervalMs    silence au-delà duquel une connexion est sondée ; 0 pour désactiver
+     * @param idleTimeoutMs silence au-delà duquel une connexion est fermée, au moins égal à l'intervalle
+     */
+    public HeartbeatMonitor(PhaseScheduler timer, Executor closer, long intervalMs, long idleTimeoutMs) {
+        this.timer = timer;
+        this.closer = closer;
+        this.intervalMs = intervalMs;
+        this.idleTimeoutMs = Math.max(intervalMs, idleTimeoutMs);
+    }
+
+    public boolean isEnabled() {
+        return intervalMs > 0;
+    }
+
+    public void start() {
+        if (!isEnabled() || running) {
+            return;
+        }
+        running = true;
+        sweepTask = timer.schedule(this::sweep, intervalMs);
+    }
+
+    public void stop() {
+        running = false;
+        Timeout task = sweepTask;
+        if (task != null) {
+            task.cancel();
+        }
+        heartbeats.clear();
+    }
+
+    /**
+     * Place une connexion établie sous surveillance. Le transport signale ensuite chaque trame reçue
+     * par {@link Heartbeat#onMessage} et appelle {@link Heartbeat#close} à la déconnexion.
+     */
+    public Heartbeat register(ClientConnection connection) {
+        Heartbeat heartbeat = new Heartbeat(connection, timer.currentTimeMillis());
+        if (isEnabled()) {
+            heartbeats.add(heartbeat);
+        }
+        return heartbeat;
+    }
+
+    /**
+     * Un passage sur toutes les connexions ; exécuté sur le thread de la roue.
+     */
+    void sweep() {
+        if (!running) {
+            return;
+        }
+        long now = timer.currentTimeMillis();
+        for (Heartbeat heartbeat : heartbeats) {
+            long silence = now - heartbeat.lastSeen;
+            if (silence >= idleTimeoutMs) {
+                reclaim(heartbeat, silence);
+            } else if (silence >= intervalMs) {
+                ping(heartbeat, now);
+            }
+        }
+        if (running) {
+            sweepTask = timer.schedule(this::sweep, intervalMs);
+        }
+    }
+
+    private void ping(Heartbeat heartbeat, long now) {
+        heartbeat.pingSentAt = now;
+        try {
+            heartbeat.connection.sendMessage(new Message(MessageType.PING, "Server", now));
+            pingsSent.increment();
+        } catch (IOException e) {
+            reclaim(heartbeat, now - heartbeat.lastSeen);
+        }
+    }
+
+    private void reclaim(Heartbeat heartbeat, long silenceMs) {
+        if (!heartbeats.remove(heartbeat)) {
+            return;
+        }
+        reclaimed.increment();
+        System.out.println("Connexion muette depuis " + silenceMs + " ms fermée : "
+                + heartbeat.connection.getPlayerId());
+        try {
+            closer.execute(heartbeat.connection::close);
+        } catch (RejectedExecutionException e) {
+            heartbeat.connection.close();
+        }
+    }
+
+    public long getIntervalMs() {
+        return intervalMs;
+    }
+
+    public long getIdleTimeoutMs() {
+        return idleTimeoutMs;
+    }
+
+    /** Connexions actuellement surveillées. */
+    public int getConnectionCount() {
+        return heartbeats.size();
+    }
+
+    public long getPingsSent() {
+        return pingsSent.sum();
+    }
+
+    /** Connexions fermées faute de réponse. */
+    public long getReclaimedConnections() {
+        return reclaimed.sum();
+    }
+
+    /**
+     * @return la moyenne des temps d'aller-retour lissés des connexions mesurées, ou -1 si aucune ne l'est encore
+     */
+    public long getAverageRttMs() {
+        long total = 0;
+        int measured = 0;
+        for (Heartbeat heartbeat : heartbeats) {
+            long rtt = heartbeat.getRttMs();
+            if (rtt >= 0) {
+                total += rtt;
+                measured++;
+            }
+        }
+        return measured == 0 ? -1 : total / measured;
+    }
+
+    @Override
+    public String toString() {
+        return "HeartbeatMonitor{connections=" + getConnectionCount()
+                + ", pingsSent=" + getPingsSent()
+                + ", reclaimed=" + getReclaimedConnections()
+                + ", averageRttMs=" + getAverageRttMs() + '}';
+    }
+
+    /**
+     * État de surveillance d'une connexion. Mis à jour par le thread de lecture du transport et lu par la roue.
+     */
+    public final class Heartbeat {
+        private final ClientConnection connection;
+        private volatile long lastSeen;
+        // Horodatage du dernier PING sans réponse, 0 s'il n'y en a pas
+        private volatile long pingSentAt;
+        private volatile long rttMs = -1;
+        private volatile long lastRttMs = -1;
+
+        private Heartbeat(ClientConnection connection, long now) {
+            this.connection = connection;
+            this.lastSeen = now;
+        }
+
+        /**
+         * Toute trame reçue prouve que le pair est vivant ; un {@code PONG} qui renvoie le dernier {@code PING}
+         * donne en plus un échantillon de temps d'aller-retour.
+         */
+        public void onMessage(Message message) {
+            long now = timer.currentTimeMillis();
+            lastSeen = now;
+            if (message.getType() != MessageType.PONG) {
+                return;
+            }
+            long sentAt = pingSentAt;
+            if (sentAt != 0 && message.getContent() instanceof Long echoed && echoed == sentAt) {
+                pingSentAt = 0;
+                long sample = Math.max(0, now - sentAt);
+                long smoothed = rttMs;
+                lastRttMs = sample;
+                rttMs = smoothed < 0 ? sample : smoothed + ((sample - smoothed) >> RTT_SMOOTHING_SHIFT);
+            }
+        }
+
+        /**
+         * Retire la connexion de la surveillance ; appelé par le transport à la déconnexion.
+         */
+        public void close() {
+            heartbeats.remove(this);
+        }
+
+        /** Temps d'aller-retour lissé, ou -1 avant le premier {@code PONG}. */
+        public long getRttMs() {
+            return rttMs;
+        }
+
+        public long getLastRttMs() {
+            return lastRttMs;
+        }
+
+        public long getLastSeen() {
+            return lastSeen;
+        }
+    }
+}
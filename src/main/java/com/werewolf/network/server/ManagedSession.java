@@ -0,0 +1,368 @@
+package com.werewolf.network.server;
+
+import com.werewolf.game.GameManager;
+import com.werewolf.game.GameSession;
+import com.werewolf.game.GameState;
+import com.werewolf.game.PhaseConfig;
+import com.werewolf.game.PhaseScheduler;
+import com.werewolf.game.SessionExecutors;
+import com.werewolf.game.SessionMailbox;
+import com.werewolf.game.Timeout;
+import com.werewolf.game.replay.InputLog;
+import com.werewolf.game.replay.InputLogFactory;
+import com.werewolf.game.role.RoleRegistry;
+import com.werewolf.game.snapshot.RecoveredSession;
+import com.werewolf.game.snapshot.RecoveryLog;
+import com.werewolf.game.snapshot.RecoveryStore;
+import com.werewolf.game.snapshot.SessionSnapshot;
+import com.werewolf.game.stats.GameSummaryListener;
+import com.werewolf.game.store.EventSink;
+
+import java.io.IOException;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Regroupe une {@link GameSession}, son {@link GameManager} et les connexions de ses joueurs.
+ * Les places sont réservées de façon atomique : une session dont le compteur retombe à zéro
+ * est fermée définitivement et ne peut plus accepter de joueur.
+ * Tout ce qui modifie la partie passe par la {@link SessionMailbox} de la session.
+ * Avec un {@link RecoveryStore}, l'état de la session est tenu dans un fichier de reprise, jetons de reprise
+ * compris ; une session reprise attend que ses joueurs reviennent, chacun avec le jeton qu'il détenait.
+ * Le pseudo ne suffit pas : tous les clients partagent le même certificat, il n'authentifie personne.
+ * Un joueur dont la connexion tombe garde sa place pendant un délai de grâce : une nouvelle connexion
+ * la reprend en présentant le jeton de reprise remis à l'arrivée du joueur.
+ */
+public class ManagedSession {
+    private static final int CLOSED = -1;
+    private static final SecureRandom TOKENS = new SecureRandom();
+
+    private final GameSession session;
+    private final GameManager gameManager;
+    private final PlayerConnectionManager connections;
+    private final SessionMailbox mailbox;
+    private final PhaseScheduler timer;
+    private final InputLog inputLog;
+    private final RecoveryLog recoveryLog;
+    private final int maxPlayers;
+    private final AtomicInteger seats = new AtomicInteger();
+    // Identifiants des joueurs d'une session reprise qui n'ont pas encore retrouvé leur place
+    private final Set<String> awaitedPlayers = ConcurrentHashMap.newKeySet();
+    // Jetons émis ou retirés depuis le dernier instantané ; manipulé depuis la boîte aux lettres
+    private boolean resumeTokensChanged;
+    // Fichier de reprise figé par l'arrêt du serveur : conservé même quand les joueurs se déconnectent
+    private boolean recoverySuspended;
+    // Jeton de reprise vers identifiant du joueur
+    private final Map<String, String> resumeTokens = new ConcurrentHashMap<>();
+    // Joueurs sans connexion, avec l'échéance de leur retrait ; manipulé depuis la boîte aux lettres
+    private final Map<String, Timeout> detachedPlayers = new HashMap<>();
+
+    public ManagedSession(String sessionId, int maxPlayers) {
+        this(sessionId, maxPlayers, SessionExecutors.workers(), SessionExecutors.timer(), PhaseConfig.DEFAULT);
+    }
+
+    public ManagedSession(String sessionId, int maxPlayers, Executor workers, PhaseScheduler timer,
+            PhaseConfig phaseConfig) {
+        this(sessionId, maxPlayers, workers, timer, phaseConfig, InputLogFactory.NONE, EventSink.NONE,
+                GameSummaryListener.NONE);
+    }
+
+    public ManagedSession(String sessionId, int maxPlayers, Executor workers, PhaseScheduler timer,
+            PhaseConfig phaseConfig, InputLogFactory inputLogs, EventSink events, GameSummaryListener summaries) {
+        this(sessionId, maxPlayers, workers, timer, phaseConfig, inputLogs, events, summaries, null, null);
+    }
+
+    /**
+     * @param recovery répertoire des fichiers de reprise, ou {@code null} pour ne pas en tenir
+     * @param restored session à reprendre, ou {@code null} pour une nouvelle session
+     */
+    public ManagedSession(String sessionId, int maxPlayers, Executor workers, PhaseScheduler timer,
+            PhaseConfig phaseConfig, InputLogFactory inputLogs, EventSink events, GameSummaryListener summaries,
+            RecoveryStore recovery, RecoveredSession restored) {
+        this.session = new GameSession(sessionId);
+        this.connections = new PlayerConnectionManager(sessionId);
+        this.mailbox = new SessionMailbox(sessionId, workers);
+        this.timer = timer;
+        if (restored != null) {
+            SessionSnapshot snapshot = restored.getSnapshot();
+            this.gameManager = new GameManager(session, connections, mailbox, timer, snapshot.getPhaseConfig(),
+                    RoleRegistry.getDefault(), snapshot.getSeed());
+            snapshot.getPlayers().forEach(player -> awaitedPlayers.add(player.getId()));
+            resumeTokens.putAll(snapshot.getResumeTokens());
+            // Chaque joueur attendu occupe sa place : la session ne se ferme pas tant qu'il peut revenir
+            seats.set(awaitedPlayers.size());
+        } else {
+            this.gameManager = new GameManager(session, connections, mailbox, timer, phaseConfig);
+        }
+        this.session.subscribe(connections);
+        this.recoveryLog = recovery != null ? recovery.open(sessionId) : null;
+        // Un journal de rejeu ouvert en cours de partie n'aurait pas son début : une session reprise n'en tient pas
+        InputLog replayLog = restored != null ? InputLog.NONE : openInputLog(inputLogs, sessionId);
+        this.inputLog = recoveryLog != null ? InputLog.both(replayLog, recoveryLog) : replayLog;
+        this.gameManager.setInputLog(inputLog);
+        this.gameManager.setEventSink(events);
+        this.gameManager.setGameSummaryListener(summaries);
+        this.maxPlayers = maxPlayers;
+        if (restored != null || recoveryLog != null) {
+            // Avant toute entrée : la reprise relance une échéance de phase, qui doit passer par la boîte aux lettres
+            mailbox.execute(() -> {
+                if (restored != null) {
+                    gameManager.restore(restored.getSnapshot(), restored.getTail());
+                }
+                if (recoveryLog != null) {
+                    recoveryLog.checkpoint(gameManager.snapshot(resumeTokens));
+                }
+            });
+        }
+    }
+
+    /**
+     * Réserve une place pour un joueur.
+     *
+     * @return {@code true} si la place est obtenue ; {@code false} si la session est pleine ou fermée
+     */
+    public boolean tryReserveSeat() {
+        while (true) {
+            int current = seats.get();
+            if (current == CLOSED || current >= maxPlayers) {
+                return false;
+            }
+            if (seats.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Libère une place.
+     *
+     * @return {@code true} si c'était la dernière place et que la session vient d'être fermée
+     */
+    boolean releaseSeat() {
+        while (true) {
+            int current = seats.get();
+            if (current <= 0) {
+                return false;
+            }
+            int next = current - 1;
+            if (seats.compareAndSet(current, next)) {
+                return next == 0 && seats.compareAndSet(0, CLOSED);
+            }
+        }
+    }
+
+    boolean isOpenLobby() {
+        int current = seats.get();
+        return current != CLOSED && current < maxPlayers && session.getCurrentPhase() == GameState.LOBBY;
+    }
+
+    public boolean isClosed() {
+        return seats.get() == CLOSED;
+    }
+
+    public int getSeatCount() {
+        return Math.max(0, seats.get());
+    }
+
+    /**
+     * Renonce aux places des joueurs de la session reprise qui ne sont pas revenus à temps. Les places restent
+     * occupées : c'est à l'appelant de les libérer, une par joueur retourné.
+     *
+     * @return les identifiants des joueurs abandonnés
+     */
+    List<String> abandonAwaitedSeats() {
+        List<String> abandoned = new ArrayList<>();
+        for (String playerId : awaitedPlayers) {
+            // Retrait individuel : un joueur qui reprend sa place au même instant n'est pas compté deux fois
+            if (awaitedPlayers.remove(playerId)) {
+                abandoned.add(playerId);
+            }
+        }
+        return abandoned;
+    }
+
+    /**
+     * @return {@code true} si des joueurs de la session reprise peuvent encore revenir
+     */
+    boolean hasAwaitedPlayers() {
+        return !awaitedPlayers.isEmpty();
+    }
+
+    /**
+     * @return {@code true} si ce joueur de la session reprise n'a pas encore retrouvé sa place
+     */
+    public boolean isAwaiting(String playerId) {
+        return awaitedPlayers.contains(playerId);
+    }
+
+    /**
+     * Attribue à l'appelant la place d'un joueur de la session reprise ; une place ne se reprend qu'une fois,
+     * et seulement par {@link #resume} avec le jeton du joueur. Le siège, réservé depuis la reprise,
+     * passe tel quel à la nouvelle connexion.
+     *
+     * @return {@code true} si la place de ce joueur était attendue
+     */
+    boolean claimAwaitedSeat(String playerId) {
+        return awaitedPlayers.remove(playerId);
+    }
+
+    /**
+     * Émet un jeton de reprise pour un joueur de la session.
+     */
+    String issueResumeToken(String playerId) {
+        byte[] bytes = new byte[18];
+        TOKENS.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        resumeTokens.put(token, playerId);
+        resumeTokensChanged = true;
+        return token;
+    }
+
+    /**
+     * Retire les jetons d'un joueur qui a quitté la session.
+     *
+     * @return les jetons retirés
+     */
+    List<String> revokeResumeTokens(String playerId) {
+        List<String> revoked = new ArrayList<>();
+        resumeTokens.entrySet().removeIf(entry -> {
+            if (entry.getValue().equals(playerId)) {
+                revoked.add(entry.getKey());
+                return true;
+            }
+            return false;
+        });
+        resumeTokensChanged |= !revoked.isEmpty();
+        return revoked;
+    }
+
+    Set<String> getResumeTokens() {
+        return resumeTokens.keySet();
+    }
+
+    /**
+     * Garde la place d'un joueur dont la connexion est tombée ; {@code expiry} s'exécute dans la boîte aux lettres
+     * s'il n'est pas revenu au bout de {@code graceMs}. À appeler depuis la boîte aux lettres.
+     */
+    void detach(String playerId, long graceMs, Runnable expiry) {
+        Timeout[] scheduled = new Timeout[1];
+        scheduled[0] = timer.schedule(() -> mailbox.execute(() -> {
+            if (detachedPlayers.remove(playerId, scheduled[0])) {
+                expiry.run();
+            }
+        }), graceMs);
+        Timeout previous = detachedPlayers.put(playerId, scheduled[0]);
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    /**
+     * Rend sa place au joueur qui présente {@code token} et annule son retrait.
+     * À appeler depuis la boîte aux lettres.
+     *
+     * @return l'identifiant du joueur, ou {@code null} si le jeton est inconnu ou le joueur déjà retiré
+     */
+    String resume(String token) {
+        String playerId = resumeTokens.get(token);
+        if (playerId == null || session.getPlayer(playerId) == null) {
+            return null;
+        }
+        Timeout removal = detachedPlayers.remove(playerId);
+        if (removal != null) {
+            removal.cancel();
+        }
+        return playerId;
+    }
+
+    boolean isDetached(String playerId) {
+        return detachedPlayers.containsKey(playerId);
+    }
+
+    /**
+     * Remplace le fichier de reprise par un instantané de la partie, s'il a reçu des entrées depuis le précédent.
+     * Une partie terminée n'a plus rien à reprendre : son fichier est effacé.
+     * À appeler depuis la boîte aux lettres.
+     */
+    void checkpoint() {
+        if (recoveryLog == null || recoverySuspended) {
+            return;
+        }
+        if (session.getCurrentPhase() == GameState.GAME_OVER) {
+            recoveryLog.discard();
+        } else if (recoveryLog.getPendingInputs() > 0 || resumeTokensChanged) {
+            recoveryLog.checkpoint(gameManager.snapshot(resumeTokens));
+            resumeTokensChanged = false;
+        }
+    }
+
+    /**
+     * Fige le fichier de reprise avant l'arrêt du serveur : un dernier instantané, puis plus aucune écriture,
+     * pour que les déconnexions qui suivent ne retirent pas les joueurs de la partie reprise.
+     * À appeler depuis la boîte aux lettres.
+     */
+    void suspendRecovery() {
+        if (recoveryLog == null || recoverySuspended) {
+            return;
+        }
+        checkpoint();
+        recoverySuspended = true;
+        try {
+            recoveryLog.close();
+        } catch (IOException e) {
+            System.err.println("Failed to close recovery file for " + getSessionId() + ": " + e.getMessage());
+        }
+    }
+
+    private static InputLog openInputLog(InputLogFactory inputLogs, String sessionId) {
+        try {
+            return inputLogs.open(sessionId);
+        } catch (IOException e) {
+            System.err.println("Cannot open input log for " + sessionId + ": " + e.getMessage());
+            return InputLog.NONE;
+        }
+    }
+
+    void shutdown() {
+        gameManager.shutdown();
+        detachedPlayers.values().forEach(Timeout::cancel);
+        if (recoveryLog != null && !recoverySuspended) {
+            recoveryLog.discard();
+        }
+        mailbox.close();
+        try {
+            inputLog.close();
+        } catch (IOException e) {
+            System.err.println("Failed to close input log for " + getSessionId() + ": " + e.getMessage());
+        }
+    }
+
+    public String getSessionId() {
+        return session.getSessionId();
+    }
+
+    public GameSession getSession() {
+        return session;
+    }
+
+    public GameManager getGameManager() {
+        return gameManager;
+    }
+
+    public SessionMailbox getMailbox() {
+        return mailbox;
+    }
+
+    public PlayerConnectionManager getConnections() {
+        return connections;
+    }
+}
@@ -0,0 +1,423 @@
+package com.werewolf.network.server;
+
+import com.werewolf.game.PhaseScheduler;
+import com.werewolf.game.Timeout;
+import com.werewolf.network.shared.EncodedMessage;
+import com.werewolf.network.shared.FrameDecoder;
+import com.werewolf.network.shared.Message;
+import com.werewolf.security.SSLContextFactory;
+
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLEngineResult;
+import javax.net.ssl.SSLEngineResult.HandshakeStatus;
+import javax.net.ssl.SSLException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Connexion mTLS non bloquante pilotée par une {@link NioEventLoop}.
+ * Le chiffrement passe par un {@link SSLEngine} ; les trames reçues sont transmises au {@link ClientProtocol}
+ * sur le thread de la boucle, les envois depuis d'autres threads passent par une {@link OutboundQueue} bornée
+ * que la boucle vide au rythme du client.
+ * Les calculs de la négociation TLS (vérification des certificats, échange de clés) que le moteur délègue
+ * sont exécutés sur le pool des négociations : la boucle continue de servir ses autres connexions.
+ */
+public class NioConnection implements ClientConnection {
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+    private final SocketChannel channel;
+    private final SSLEngine engine;
+    private final NioEventLoop loop;
+    private final String playerId;
+    private final ClientProtocol protocol;
+    private final Runnable onClose;
+    private final ConnectionCodec codec;
+    private final FrameDecoder decoder = new FrameDecoder();
+    private final OutboundQueue outbound;
+    private final HeartbeatMonitor heartbeats;
+    private final Executor handshakeTasks;
+    private final AcceptMetrics acceptMetrics;
+    private final long acceptedAt = System.nanoTime();
+    private final long acceptedAtMillis = System.currentTimeMillis();
+    private volatile Timeout handshakeDeadline;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    // État propre à la boucle ; ces tampons n'existent que tant qu'il reste des octets en attente
+    private SelectionKey key;
+    private ByteBuffer pendingNetIn;
+    private ByteBuffer pendingNetOut;
+    // Trames retirées de la file et en cours de chiffrement
+    private final ArrayDeque<ByteBuffer> inFlight = new ArrayDeque<>();
+    private boolean handshakeComplete;
+    // Tâches déléguées par le moteur en cours sur le pool des négociations ; lecture et écriture suspendues
+    private boolean delegating;
+    private boolean handshakeTimedOut;
+    // Surveillance ouverte à la fin de la négociation TLS
+    private HeartbeatMonitor.Heartbeat heartbeat;
+
+    public NioConnection(SocketChannel channel, SSLEngine engine, NioEventLoop loop, String playerId,
+            SessionRegistry sessionRegistry, ConnectionCodec codec, OutboundQueue outbound, HeartbeatMonitor heartbeats,
+            Executor handshakeTasks, AcceptMetrics acceptMetrics, Runnable onClose) {
+        this.channel = channel;
+        this.engine = engine;
+        this.loop = loop;
+        this.playerId = playerId;
+        this.codec = codec;
+        this.outbound = outbound;
+        this.heartbeats = heartbeats;
+        this.handshakeTasks = handshakeTasks;
+        this.acceptMetrics = acceptMetrics;
+        this.onClose = onClose;
+        this.protocol = new ClientProtocol(this, sessionRegistry);
+    }
+
+    @Override
+    public String getPlayerId() {
+        return playerId;
+    }
+
+    @Override
+    public ConnectionCodec getCodec() {
+        return codec;
+    }
+
+    @Override
+    public void send(EncodedMessage message) throws IOException {
+        if (closed.get()) {
+            throw new IOException("Connection closed");
+        }
+        if (!outbound.offer(message, codec.encode(message))) {
+            System.out.println("Slow consumer " + playerId + " evicted (" + outbound.size() + " messages pending)");
+            close();
+            return;
+        }
+        scheduleFlush();
+    }
+
+    private void scheduleFlush() {
+        if (flushScheduled.compareAndSet(false, true)) {
+            loop.execute(() -> {
+                flushScheduled.set(false);
+                try {
+                    flush();
+                } catch (IOException e) {
+                    System.err.println("Failed to write to client " + playerId + ": " + e.getMessage());
+                    close();
+                }
+            });
+        }
+    }
+
+    /**
+     * Ferme la connexion si la négociation n'a pas abouti dans le délai, compté depuis l'acceptation.
+     */
+    void startHandshakeDeadline(PhaseScheduler timer, long timeoutMs) {
+        handshakeDeadline = timer.schedule(() -> loop.execute(() -> {
+            if (!handshakeComplete && !closed.get()) {
+                handshakeTimedOut = true;
+                System.err.println("Handshake timed out for " + playerId);
+                close();
+            }
+        }), timeoutMs);
+    }
+
+    void onRegistered(SelectionKey key) throws IOException {
+        this.key = key;
+        engine.beginHandshake();
+        flush();
+    }
+
+    void onReadable() throws IOException {
+        processInput(true);
+    }
+
+    /**
+     * Déchiffre les octets en attente, suivis de ceux lus sur le canal si {@code readChannel}.
+     */
+    private void processInput(boolean readChannel) throws IOException {
+        int packetSize = engine.getSession().getPacketBufferSize();
+        ByteBuffer in = loop.ensureNetIn(2 * packetSize);
+        in.clear();
+        if (pendingNetIn != null) {
+            in.put(pendingNetIn);
+            pendingNetIn = null;
+        }
+        int read = readChannel ? channel.read(in) : 0;
+        in.flip();
+        unwrap(in);
+        if (read < 0) {
+            close();
+            return;
+        }
+        if (in.hasRemaining() && !closed.get()) {
+            pendingNetIn = ByteBuffer.allocate(in.remaining());
+            pendingNetIn.put(in).flip();
+        }
+    }
+
+    void onWritable() throws IOException {
+        flush();
+    }
+
+    private void unwrap(ByteBuffer in) throws IOException {
+        while (in.hasRemaining() && !closed.get() && !delegating) {
+            ByteBuffer app = loop.ensureAppIn(engine.getSession().getApplicationBufferSize());
+            app.clear();
+            SSLEngineResult result = engine.unwrap(in, app);
+            app.flip();
+            if (app.hasRemaining()) {
+                decoder.feed(app, this::onFrame);
+            }
+            switch (result.getStatus()) {
+                case BUFFER_UNDERFLOW:
+                    return;
+                case BUFFER_OVERFLOW:
+                    loop.ensureAppIn(2 * app.capacity());
+                    continue;
+                case CLOSED:
+                    close();
+                    return;
+                default:
+                    break;
+            }
+            handleHandshakeStatus(result.getHandshakeStatus());
+            if (result.bytesConsumed() == 0 && result.bytesProduced() == 0) {
+                return;
+            }
+        }
+    }
+
+    private void handleHandshakeStatus(HandshakeStatus status) throws IOException {
+        if (status == HandshakeStatus.NEED_TASK) {
+            delegateTasks();
+            return;
+        }
+        if (status == HandshakeStatus.FINISHED) {
+            onHandshakeFinished();
+            flush();
+        } else if (status == HandshakeStatus.NEED_WRAP) {
+            flush();
+        }
+    }
+
+    /**
+     * Confie les tâches déléguées au pool des négociations ; la connexion reprend sur la boucle une fois terminées.
+     */
+    private void delegateTasks() {
+        if (delegating) {
+            return;
+        }
+        delegating = true;
+        if (key.isValid()) {
+            key.interestOps(0);
+        }
+        try {
+            handshakeTasks.execute(() -> {
+                try {
+                    Runnable task;
+                    while ((task = engine.getDelegatedTask()) != null) {
+                        task.run();
+                    }
+                } finally {
+                    loop.execute(this::onDelegatedTasksDone);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            delegating = false;
+            close();
+        }
+    }
+
+    private void onDelegatedTasksDone() {
+        delegating = false;
+        if (closed.get()) {
+            return;
+        }
+        try {
+            flush();
+            if (pendingNetIn != null && !delegating) {
+                processInput(false);
+            }
+        } catch (IOException e) {
+            System.err.println("Handshake failed for " + playerId + ": " + e.getMessage());
+            close();
+        }
+    }
+
+    private void onHandshakeFinished() {
+        if (!handshakeComplete) {
+            handshakeComplete = true;
+            cancelHandshakeDeadline();
+            acceptMetrics.onHandshakeCompleted(System.nanoTime() - acceptedAt,
+                    SSLContextFactory.isResumed(engine.getSession(), acceptedAtMillis));
+            heartbeat = heartbeats.register(this);
+            System.out.println("Nouveau client authentifié : " + playerId);
+        }
+    }
+
+    private void onFrame(byte[] payload) throws IOException {
+        Message message = codec.decode(payload);
+        if (heartbeat != null) {
+            heartbeat.onMessage(message);
+        }
+        protocol.handleMessage(message);
+    }
+
+    /**
+     * Chiffre et écrit tout ce qui peut l'être : messages de négociation TLS puis trames en file,
+     * regroupées dans un même enregistrement TLS lorsque c'est possible.
+     */
+    private void flush() throws IOException {
+        if (closed.get() || key == null || delegating) {
+            return;
+        }
+        if (pendingNetOut != null) {
+            channel.write(pendingNetOut);
+            if (pendingNetOut.hasRemaining()) {
+                setWriteInterest(true);
+                return;
+            }
+            pendingNetOut = null;
+        }
+        while (true) {
+            HandshakeStatus status = engine.getHandshakeStatus();
+            if (status == HandshakeStatus.NEED_TASK) {
+                delegateTasks();
+                return;
+            }
+            ByteBuffer[] sources = loop.gather;
+            int count = 0;
+            if (status == HandshakeStatus.NOT_HANDSHAKING && handshakeComplete) {
+                byte[] frame;
+                while (inFlight.size() < sources.length && (frame = outbound.poll()) != null) {
+                    // Vue propre à la connexion sur la trame partagée : seule la position diffère d'une connexion à l'autre
+                    inFlight.add(ByteBuffer.wrap(frame).asReadOnlyBuffer());
+                }
+                Iterator<ByteBuffer> frames = inFlight.iterator();
+                while (count < sources.length && frames.hasNext()) {
+                    sources[count++] = frames.next();
+                }
+                if (count == 0) {
+                    break;
+                }
+            } else if (status != HandshakeStatus.NEED_WRAP) {
+                break;
+            }
+
+            ByteBuffer net = loop.ensureNetOut(engine.getSession().getPacketBufferSize());
+            net.clear();
+            SSLEngineResult result = count == 0
+                    ? engine.wrap(EMPTY, net)
+                    : engine.wrap(sources, 0, count, net);
+            Arrays.fill(sources, 0, count, null);
+            ByteBuffer head;
+            while ((head = inFlight.peek()) != null && !head.hasRemaining()) {
+                inFlight.poll();
+            }
+
+            if (result.getStatus() == SSLEngineResult.Status.BUFFER_OVERFLOW) {
+                loop.ensureNetOut(2 * net.capacity());
+                continue;
+            }
+            net.flip();
+            while (net.hasRemaining()) {
+                if (channel.write(net) == 0) {
+                    pendingNetOut = ByteBuffer.allocate(net.remaining());
+                    pendingNetOut.put(net).flip();
+                    setWriteInterest(true);
+                    return;
+                }
+            }
+            if (result.getStatus() == SSLEngineResult.Status.CLOSED) {
+                close();
+                return;
+            }
+            if (result.getHandshakeStatus() == HandshakeStatus.FINISHED) {
+                onHandshakeFinished();
+            }
+            if (result.bytesConsumed() == 0 && result.bytesProduced() == 0) {
+                break;
+            }
+        }
+        setWriteInterest(false);
+    }
+
+    private void setWriteInterest(boolean enabled) {
+        if (!key.isValid()) {
+            return;
+        }
+        int ops = enabled ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ;
+        if (key.interestOps() != ops) {
+            key.interestOps(ops);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!loop.inEventLoop()) {
+            loop.execute(this::close);
+            return;
+        }
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        sendCloseNotify();
+        if (key != null) {
+            key.cancel();
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("Failed to close channel: " + e.getMessage());
+        }
+        outbound.clear();
+        inFlight.clear();
+        pendingNetIn = null;
+        pendingNetOut = null;
+        if (handshakeComplete) {
+            heartbeat.close();
+            System.out.println("Déconnexion du client " + playerId);
+        } else {
+            cancelHandshakeDeadline();
+            if (handshakeTimedOut) {
+                acceptMetrics.onHandshakeTimedOut();
+            } else {
+                acceptMetrics.onHandshakeFailed();
+            }
+        }
+        protocol.onDisconnected();
+        onClose.run();
+    }
+
+    private void cancelHandshakeDeadline() {
+        Timeout deadline = handshakeDeadline;
+        if (deadline != null) {
+            deadline.cancel();
+        }
+    }
+
+    private void sendCloseNotify() {
+        try {
+            engine.closeOutbound();
+            ByteBuffer net = loop.ensureNetOut(engine.getSession().getPacketBufferSize());
+            net.clear();
+            engine.wrap(EMPTY, net);
+            net.flip();
+            channel.write(net);
+        } catch (SSLException e) {
+            // La session est déjà invalide : rien à notifier
+        } catch (IOException e) {
+            // Au mieux : le pair est peut-être déjà parti
+        }
+    }
+}
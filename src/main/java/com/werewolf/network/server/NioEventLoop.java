@@ -0,0 +1,164 @@
+package com.werewolf.network.server;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Boucle d'événements NIO : un thread, un {@link Selector}, et les connexions qui lui sont attribuées.
+ * Les tampons réseau et applicatifs de travail sont partagés par toutes les connexions de la boucle ;
+ * une connexion ne conserve en propre que les octets qui n'ont pas pu être traités immédiatement.
+ */
+public class NioEventLoop implements Runnable {
+    private final Selector selector;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    // Tampons de travail partagés, utilisés uniquement depuis le thread de la boucle
+    ByteBuffer netIn;
+    ByteBuffer netOut;
+    ByteBuffer appIn;
+    final ByteBuffer[] gather = new ByteBuffer[16];
+
+    public NioEventLoop(String name, int packetBufferSize, int applicationBufferSize) throws IOException {
+        this.selector = Selector.open();
+        this.netIn = ByteBuffer.allocateDirect(packetBufferSize);
+        this.netOut = ByteBuffer.allocateDirect(packetBufferSize);
+        this.appIn = ByteBuffer.allocate(applicationBufferSize);
+        this.thread = new Thread(this, name);
+        this.thread.setDaemon(true);
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    public void shutdown() {
+        running = false;
+        selector.wakeup();
+    }
+
+    boolean inEventLoop() {
+        return Thread.currentThread() == thread;
+    }
+
+    /**
+     * Exécute une tâche sur le thread de la boucle.
+     */
+    public void execute(Runnable task) {
+        tasks.add(task);
+        if (!inEventLoop()) {
+            selector.wakeup();
+        }
+    }
+
+    void register(SocketChannel channel, NioConnection connection) {
+        execute(() -> {
+            try {
+                SelectionKey key = channel.register(selector, SelectionKey.OP_READ, connection);
+                connection.onRegistered(key);
+            } catch (IOException e) {
+                System.err.println("Failed to register connection: " + e.getMessage());
+                connection.close();
+            }
+        });
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            try {
+                // Une tâche postée depuis la boucle elle-même ne réveille pas le sélecteur : on ne bloque pas dans ce cas
+                if (tasks.isEmpty()) {
+                    selector.select();
+                } else {
+                    selector.selectNow();
+                }
+                runTasks();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    processKey(key);
+                }
+            } catch (IOException e) {
+                System.err.println("Event loop error: " + e.getMessage());
+            }
+        }
+        closeAll();
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                System.err.println("Event loop task failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private void processKey(SelectionKey key) {
+        NioConnection connection = (NioConnection) key.attachment();
+        try {
+            if (key.isReadable()) {
+                connection.onReadable();
+            }
+            if (key.isValid() && key.isWritable()) {
+                connection.onWritable();
+            }
+        } catch (CancelledKeyException e) {
+            connection.close();
+        } catch (IOException e) {
+            System.out.println("Déconnexion du client " + connection.getPlayerId() + " : " + e.getMessage());
+            connection.close();
+        } catch (RuntimeException e) {
+            // Une erreur inattendue sur une connexion ne doit pas arrêter la boucle ni les autres connexions
+            System.err.println("Connexion " + connection.getPlayerId() + " fermée après une erreur : " + e);
+            connection.close();
+        }
+    }
+
+    private void closeAll() {
+        for (SelectionKey key : selector.keys()) {
+            Object attachment = key.attachment();
+            if (attachment instanceof NioConnection) {
+                ((NioConnection) attachment).close();
+            }
+        }
+        try {
+            selector.close();
+        } catch (IOException e) {
+            System.err.println("Failed to close selector: " + e.getMessage());
+        }
+    }
+
+    ByteBuffer ensureNetIn(int size) {
+        if (netIn.capacity() < size) {
+            netIn = ByteBuffer.allocateDirect(size);
+        }
+        return netIn;
+    }
+
+    ByteBuffer ensureNetOut(int size) {
+        if (netOut.capacity() < size) {
+            netOut = ByteBuffer.allocateDirect(size);
+        }
+        return netOut;
+    }
+
+    ByteBuffer ensureAppIn(int size) {
+        if (appIn.capacity() < size) {
+            appIn = ByteBuffer.allocate(size);
+        }
+        return appIn;
+    }
+}
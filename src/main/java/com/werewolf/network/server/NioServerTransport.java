@@ -0,0 +1,171 @@
+package com.werewolf.network.server;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.werewolf.game.PhaseScheduler;
+import com.werewolf.game.SessionExecutors;
+
+/**
+ * Transport non bloquant : un nombre fixe de {@link NioEventLoop} sert toutes les connexions mTLS.
+ * L'acceptation reste sur le thread appelant de {@link #serve()} ; chaque canal accepté est confié
+ * à une boucle en tourniquet. La capacité est vérifiée avant toute cryptographie ; les calculs de la
+ * négociation mTLS passent sur un pool borné, et une négociation qui dépasse son délai ferme la connexion.
+ */
+public class NioServerTransport {
+    private static final int ACCEPT_BACKLOG = 1024;
+
+    private final SSLContext sslContext;
+    private final ServerConfig config;
+    private final SessionRegistry sessionRegistry;
+    private final AtomicInteger activeConnections = new AtomicInteger();
+    private final OutboundMetrics outboundMetrics = new OutboundMetrics();
+    private final NioEventLoop[] loops;
+    private final HeartbeatMonitor heartbeats;
+    private final ExecutorService handshakes;
+    private final PhaseScheduler timer;
+    private final AcceptMetrics acceptMetrics = new AcceptMetrics();
+    private ServerSocketChannel serverChannel;
+    private int nextLoop;
+
+    public NioServerTransport(SSLContext sslContext, ServerConfig config, SessionRegistry sessionRegistry)
+            throws IOException {
+        this(sslContext, config, sessionRegistry, SessionExecutors.timer());
+    }
+
+    /**
+     * @param timer roue qui rythme les battements de cœur, en général celle qui sert déjà les phases
+     */
+    public NioServerTransport(SSLContext sslContext, ServerConfig config, SessionRegistry sessionRegistry,
+            PhaseScheduler timer) throws IOException {
+        this.sslContext = sslContext;
+        this.config = config;
+        this.sessionRegistry = sessionRegistry;
+
+        SSLEngine probe = sslContext.createSSLEngine();
+        int packetSize = probe.getSession().getPacketBufferSize();
+        int applicationSize = probe.getSession().getApplicationBufferSize();
+        this.loops = new NioEventLoop[Math.max(1, config.getIoThreads())];
+        for (int i = 0; i < loops.length; i++) {
+            loops[i] = new NioEventLoop("werewolf-io-" + i, 2 * packetSize, applicationSize);
+        }
+        // La fermeture d'une connexion NIO est déjà confiée à sa boucle : la roue n'attend jamais le réseau
+        this.heartbeats = new HeartbeatMonitor(timer, Runnable::run, config.getHeartbeatIntervalMs(),
+                config.getIdleTimeoutMs());
+        this.handshakes = BlockingServerTransport.newHandshakeExecutor(config.getHandshakeThreads(),
+                config.getMaxConnections());
+        this.timer = timer;
+    }
+
+    /**
+     * Ouvre le port d'écoute et démarre les boucles d'événements.
+     *
+     * @return le port effectivement lié (utile lorsque le port configuré vaut 0)
+     */
+    public int bind() throws IOException {
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(config.getPort()), ACCEPT_BACKLOG);
+        for (NioEventLoop loop : loops) {
+            loop.start();
+        }
+        heartbeats.start();
+        System.out.println("Werewolf Secure Server (mTLS, NIO x" + loops.length + ") started on port "
+                + serverChannel.socket().getLocalPort());
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * Boucle d'acceptation ; ne rend la main qu'à la fermeture du port.
+     */
+    public void serve() throws IOException {
+        if (serverChannel == null) {
+            bind();
+        }
+        while (serverChannel.isOpen()) {
+            SocketChannel channel;
+            try {
+                channel = serverChannel.accept();
+            } catch (IOException e) {
+                if (!serverChannel.isOpen()) {
+                    break;
+                }
+                throw e;
+            }
+            try {
+                accept(channel);
+            } catch (IOException e) {
+                System.err.println("Failed to accept connection: " + e.getMessage());
+            }
+        }
+    }
+
+    private void accept(SocketChannel channel) throws IOException {
+        if (activeConnections.get() >= config.getMaxConnections()) {
+            acceptMetrics.onRejectedFull();
+            System.out.println("Server full. Rejecting connection from: " + channel.getRemoteAddress());
+            channel.close();
+            return;
+        }
+        activeConnections.incrementAndGet();
+        try {
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+
+            SSLEngine engine = sslContext.createSSLEngine();
+            engine.setUseClientMode(false);
+            engine.setNeedClientAuth(true);
+
+            String tempPlayerId = sessionRegistry.nextPlayerId();
+            NioEventLoop loop = loops[nextLoop++ % loops.length];
+            NioConnection connection = new NioConnection(channel, engine, loop, tempPlayerId, sessionRegistry,
+                    new ConnectionCodec(config.isSerializationAllowed()),
+                    new OutboundQueue(config.getOutboundQueueCapacity(), config.getBackpressurePolicy(), outboundMetrics),
+                    heartbeats, handshakes, acceptMetrics, activeConnections::decrementAndGet);
+            acceptMetrics.onAccepted();
+            connection.startHandshakeDeadline(timer, config.getHandshakeTimeoutMs());
+            loop.register(channel, connection);
+        } catch (IOException | RuntimeException e) {
+            activeConnections.decrementAndGet();
+            channel.close();
+            throw e;
+        }
+    }
+
+    public void shutdown() {
+        try {
+            if (serverChannel != null) {
+                serverChannel.close();
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to close server channel: " + e.getMessage());
+        }
+        heartbeats.stop();
+        handshakes.shutdownNow();
+        for (NioEventLoop loop : loops) {
+            loop.shutdown();
+        }
+    }
+
+    public int getActiveConnectionCount() {
+        return activeConnections.get();
+    }
+
+    public OutboundMetrics getOutboundMetrics() {
+        return outboundMetrics;
+    }
+
+    public AcceptMetrics getAcceptMetrics() {
+        return acceptMetrics;
+    }
+
+    public HeartbeatMonitor getHeartbeatMonitor() {
+        return heartbeats;
+    }
+}
@@ -0,0 +1,66 @@
+package com.werewolf.network.server;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compteurs des files d'envoi d'un transport : profondeur cumulée, pic observé sur une connexion,
+ * messages écartés ou fusionnés, et clients déconnectés pour lenteur.
+ */
+public class OutboundMetrics {
+    private final LongAdder queued = new LongAdder();
+    private final AtomicInteger peakDepth = new AtomicInteger();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+
+    void onDepthChanged(int delta, int depth) {
+        queued.add(delta);
+        if (depth > peakDepth.get()) {
+            peakDepth.accumulateAndGet(depth, Math::max);
+        }
+    }
+
+    void onDropped() {
+        dropped.increment();
+    }
+
+    void onCoalesced() {
+        coalesced.increment();
+    }
+
+    void onEvicted() {
+        evicted.increment();
+    }
+
+    /** Messages en attente, toutes connexions confondues. */
+    public long getQueuedMessages() {
+        return queued.sum();
+    }
+
+    /** Plus grande profondeur atteinte par une file. */
+    public int getPeakDepth() {
+        return peakDepth.get();
+    }
+
+    public long getDroppedMessages() {
+        return dropped.sum();
+    }
+
+    public long getCoalescedMessages() {
+        return coalesced.sum();
+    }
+
+    public long getEvictedClients() {
+        return evicted.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "OutboundMetrics{queued=" + getQueuedMessages()
+                + ", peakDepth=" + getPeakDepth()
+                + ", dropped=" + getDroppedMessages()
+                + ", coalesced=" + getCoalescedMessages()
+                + ", evicted=" + getEvictedClients() + '}';
+    }
+}
@@ -0,0 +1,187 @@
+package com.werewolf.network.server;
+
+import com.werewolf.network.shared.EncodedMessage;
+import com.werewolf.network.shared.MessageType;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * File d'envoi bornée d'une connexion. Les producteurs (session, protocole) y déposent des trames sans jamais
+ * bloquer ; un unique consommateur, l'écrivain de la connexion, les retire pour les écrire sur le réseau.
+ * Lorsque la file est pleine, la {@link BackpressurePolicy} décide de ce qui est écarté ; si rien ne peut l'être,
+ * {@link #offer} renvoie {@code false} et la connexion doit être fermée.
+ */
+public class OutboundQueue {
+
+    private static final class Entry {
+        final byte[] frame;
+        final MessageType type;
+        final boolean droppable;
+
+        Entry(byte[] frame, MessageType type, boolean droppable) {
+            this.frame = frame;
+            this.type = type;
+            this.droppable = droppable;
+        }
+    }
+
+    private final ArrayDeque<Entry> entries = new ArrayDeque<>();
+    // Verrou explicite : les producteurs peuvent être des threads virtuels
+    private final ReentrantLock lock = new ReentrantLock();
+    private final int capacity;
+    private final BackpressurePolicy policy;
+    private final OutboundMetrics metrics;
+    private int highWaterMark;
+
+    public OutboundQueue(int capacity, BackpressurePolicy policy, OutboundMetrics metrics) {
+        this.capacity = Math.max(1, capacity);
+        this.policy = policy;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Instantanés complets : un plus récent rend le précédent inutile.
+     */
+    static boolean isSnapshot(MessageType type) {
+        return type == MessageType.PLAYER_LIST_UPDATE;
+    }
+
+    /**
+     * Dépose une trame.
+     *
+     * @return {@code false} si la file est pleine et que rien ne peut être écarté : le client est trop lent
+     */
+    public boolean offer(EncodedMessage message, byte[] frame) {
+        Entry entry = new Entry(frame, message.getMessage().getType(), message.isDroppable());
+        lock.lock();
+        try {
+            int before = entries.size();
+            if (policy == BackpressurePolicy.COALESCE && entry.droppable && isSnapshot(entry.type)) {
+                removeDroppable(entry.type);
+            }
+            if (entries.size() >= capacity && !makeRoom()) {
+                metrics.onDepthChanged(entries.size() - before, entries.size());
+                metrics.onEvicted();
+                return false;
+            }
+            entries.addLast(entry);
+            if (entries.size() > highWaterMark) {
+                highWaterMark = entries.size();
+            }
+            metrics.onDepthChanged(entries.size() - before, entries.size());
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean makeRoom() {
+        switch (policy) {
+            case DROP_STALE:
+                return dropOldestDroppable();
+            case COALESCE:
+                keepLatestDroppablePerType();
+                return entries.size() < capacity || dropOldestDroppable();
+            default:
+                return false;
+        }
+    }
+
+    private boolean dropOldestDroppable() {
+        Iterator<Entry> iterator = entries.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().droppable) {
+                iterator.remove();
+                metrics.onDropped();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void removeDroppable(MessageType type) {
+        Iterator<Entry> iterator = entries.iterator();
+        while (iterator.hasNext()) {
+            Entry queued = iterator.next();
+            if (queued.droppable && queued.type == type) {
+                iterator.remove();
+                metrics.onCoalesced();
+            }
+        }
+    }
+
+    private void keepLatestDroppablePerType() {
+        // Parcours depuis la fin : la première diffusion rencontrée de chaque type est la plus récente
+        boolean[] seen = new boolean[MessageType.values().length];
+        Iterator<Entry> iterator = entries.descendingIterator();
+        while (iterator.hasNext()) {
+            Entry queued = iterator.next();
+            if (!queued.droppable) {
+                continue;
+            }
+            if (seen[queued.type.ordinal()]) {
+                iterator.remove();
+                metrics.onCoalesced();
+            } else {
+                seen[queued.type.ordinal()] = true;
+            }
+        }
+    }
+
+    /**
+     * Retire la plus ancienne trame, ou {@code null} si la file est vide.
+     */
+    public byte[] poll() {
+        lock.lock();
+        try {
+            Entry entry = entries.pollFirst();
+            if (entry == null) {
+                return null;
+            }
+            metrics.onDepthChanged(-1, entries.size());
+            return entry.frame;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isEmpty() {
+        lock.lock();
+        try {
+            return entries.isEmpty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Profondeur maximale atteinte par cette file. */
+    public int getHighWaterMark() {
+        lock.lock();
+        try {
+            return highWaterMark;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            metrics.onDepthChanged(-entries.size(), 0);
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -1,35 +1,114 @@
 package com.werewolf.network.server;
 
+import com.werewolf.event.GameStateObserver;
+import com.werewolf.event.GameStateUpdate;
+import com.werewolf.game.PlayerMessenger;
+import com.werewolf.network.shared.EncodedMessage;
 import com.werewolf.network.shared.Message;
+import com.werewolf.network.shared.MessageType;
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
- * Gère la connexion et l'envoie de message des clients
+ * Gère la connexion et l'envoie de message des clients d'une même session de jeu.
+ * Chaque {@link ManagedSession} possède sa propre instance, abonnée aux mises à jour de la session.
+ * Un message diffusé n'est encodé qu'une fois par codec, quel que soit le nombre de joueurs.
+ * Les mises à jour de la session partent sous forme de deltas numérotés ; une connexion qui arrive,
+ * ou qui demande une resynchronisation, reçoit un instantané complet à la place. Les derniers deltas sont
+ * conservés : la connexion d'un joueur qui reprend sa place ne reçoit que ceux qu'elle a manqués.
  */
-public class PlayerConnectionManager {
-    private static final Map<String, ClientHandler> activeConnections = new ConcurrentHashMap<>();
+public class PlayerConnectionManager implements GameStateObserver, PlayerMessenger {
+    // Deltas conservés pour les reprises : plusieurs minutes de partie pour une table ordinaire
+    private static final int DELTA_HISTORY_SIZE = 256;
+
+    private final Map<String, ClientConnection> activeConnections = new ConcurrentHashMap<>();
+    private final String sessionId;
+    // Ordonne numérotation et dépôt dans les files : les clients reçoivent les deltas dans l'ordre des numéros
+    private final ReentrantLock stateLock = new ReentrantLock();
+    private final StateDeltaTracker stateTracker = new StateDeltaTracker();
+    private final Set<String> awaitingSnapshot = ConcurrentHashMap.newKeySet();
+    private final DeltaHistory history = new DeltaHistory(DELTA_HISTORY_SIZE);
+
+    public PlayerConnectionManager(String sessionId) {
+        this.sessionId = sessionId;
+    }
 
     // Enregistre une nouvelle connexion de joueur
-    public static void registerConnection(String playerId, ClientHandler handler) {
+    public void registerConnection(String playerId, ClientConnection handler) {
+        awaitingSnapshot.add(playerId);
         activeConnections.put(playerId, handler);
-        System.out.println("Registered connection for player: " + playerId + 
+        System.out.println("Registered connection for player: " + playerId + " in " + sessionId +
                           " (Total connections: " + activeConnections.size() + ")");
     }
 
     // Supprime une connexion de joueur
-    public static void unregisterConnection(String playerId) {
+    public void unregisterConnection(String playerId) {
         activeConnections.remove(playerId);
-        System.out.println("Unregistered connection for player: " + playerId + 
+        awaitingSnapshot.remove(playerId);
+        System.out.println("Unregistered connection for player: " + playerId + " in " + sessionId +
                           " (Total connections: " + activeConnections.size() + ")");
     }
 
+    // Supprime la connexion d'un joueur, sauf si une nouvelle connexion a déjà repris sa place
+    public void unregisterConnection(String playerId, ClientConnection handler) {
+        if (activeConnections.remove(playerId, handler)) {
+            awaitingSnapshot.remove(playerId);
+            System.out.println("Unregistered connection for player: " + playerId + " in " + sessionId +
+                              " (Total connections: " + activeConnections.size() + ")");
+        }
+    }
+
+    /**
+     * Rattache la nouvelle connexion d'un joueur qui reprend sa place et lui envoie les deltas diffusés
+     * après {@code lastSequence} ; un instantané complet s'ils ne sont plus tous conservés.
+     * Une connexion précédente encore ouverte pour ce joueur est fermée.
+     *
+     * @return le nombre de deltas renvoyés, ou -1 si un instantané a été envoyé à la place
+     */
+    public int resumeConnection(String playerId, ClientConnection handler, long lastSequence) {
+        ClientConnection previous = null;
+        int replayed;
+        stateLock.lock();
+        try {
+            previous = activeConnections.put(playerId, handler);
+            awaitingSnapshot.remove(playerId);
+            List<EncodedMessage> missed = history.since(lastSequence);
+            if (missed == null) {
+                sendToPlayer(playerId, new Message(MessageType.GAME_STATE_UPDATE, "Server", stateTracker.snapshot(null)));
+                replayed = -1;
+            } else {
+                for (EncodedMessage delta : missed) {
+                    handler.send(delta);
+                }
+                replayed = missed.size();
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to catch up client " + playerId + ": " + e.getMessage());
+            replayed = -1;
+        } finally {
+            stateLock.unlock();
+        }
+        if (previous != null && previous != handler) {
+            previous.close();
+        }
+        return replayed;
+    }
+
+    public boolean isConnected(String playerId) {
+        return activeConnections.containsKey(playerId);
+    }
+
     // Broadcast un message à tous les clients connectés
-    public static void broadcastToAll(Message message) {
+    @Override
+    public void broadcastToAll(Message message) {
+        EncodedMessage encoded = new EncodedMessage(message, isStateBroadcast(message));
         activeConnections.values().forEach(handler -> {
             try {
-                handler.sendMessage(message);
+                handler.send(encoded);
             } catch (IOException e) {
                 System.err.println("Failed to broadcast to client: " + e.getMessage());
             }
@@ -37,8 +116,9 @@ public class PlayerConnectionManager {
     }
 
     // Envoie un message a un joueur specifique
-    public static void sendToPlayer(String playerId, Message message) {
-        ClientHandler handler = activeConnections.get(playerId);
+    @Override
+    public void sendToPlayer(String playerId, Message message) {
+        ClientConnection handler = activeConnections.get(playerId);
         if (handler == null) {
             return;
         }
@@ -50,20 +130,69 @@ public class PlayerConnectionManager {
     }
 
     // Broadcast un message à tous les clients sauf un
-    public static void broadcastExcept(String excludePlayerId, Message message) {
+    public void broadcastExcept(String excludePlayerId, Message message) {
+        EncodedMessage encoded = new EncodedMessage(message, isStateBroadcast(message));
         activeConnections.entrySet().stream()
             .filter(entry -> !entry.getKey().equals(excludePlayerId))
             .forEach(entry -> {
                 try {
-                    entry.getValue().sendMessage(message);
+                    entry.getValue().send(encoded);
                 } catch (IOException e) {
                     System.err.println("Failed to broadcast to client " + entry.getKey() + ": " + e.getMessage());
                 }
             });
     }
 
+    // Un état diffusé à toute la table est remplacé par le suivant : un client en retard peut en manquer un
+    private static boolean isStateBroadcast(Message message) {
+        return message.getType() == MessageType.GAME_STATE_UPDATE
+                || message.getType() == MessageType.PLAYER_LIST_UPDATE
+                || message.getType() == MessageType.VOTE_TALLY;
+    }
+
+    // Diffuse une mise à jour de la session à tous ses joueurs : un delta partagé, ou un instantané pour ceux qui en attendent un.
+    // Un changement de phase et tout ce qui suit la fin de partie ne sont jamais abandonnés (voir StateDeltaTracker)
+    @Override
+    public void onGameStateUpdate(GameStateUpdate update) {
+        stateLock.lock();
+        try {
+            Message deltaMessage = new Message(MessageType.GAME_STATE_UPDATE, "Server", stateTracker.next(update));
+            EncodedMessage delta = new EncodedMessage(deltaMessage, !stateTracker.isLastDeltaEssential());
+            history.add(stateTracker.getSequence(), delta);
+            EncodedMessage snapshot = null;
+            for (Map.Entry<String, ClientConnection> entry : activeConnections.entrySet()) {
+                EncodedMessage encoded = delta;
+                if (awaitingSnapshot.remove(entry.getKey())) {
+                    if (snapshot == null) {
+                        snapshot = new EncodedMessage(
+                                new Message(MessageType.GAME_STATE_UPDATE, "Server", stateTracker.snapshot(update)));
+                    }
+                    encoded = snapshot;
+                }
+                try {
+                    entry.getValue().send(encoded);
+                } catch (IOException e) {
+                    System.err.println("Failed to broadcast to client " + entry.getKey() + ": " + e.getMessage());
+                }
+            }
+        } finally {
+            stateLock.unlock();
+        }
+    }
+
+    // Renvoie l'état complet à un joueur qui a constaté un trou dans les numéros de séquence
+    public void resync(String playerId) {
+        stateLock.lock();
+        try {
+            awaitingSnapshot.remove(playerId);
+            sendToPlayer(playerId, new Message(MessageType.GAME_STATE_UPDATE, "Server", stateTracker.snapshot(null)));
+        } finally {
+            stateLock.unlock();
+        }
+    }
+
     // Récupère le nombre de connexions actives
-    public static int getActiveConnectionCount() {
+    public int getActiveConnectionCount() {
         return activeConnections.size();
     }
 }
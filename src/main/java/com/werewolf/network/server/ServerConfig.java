@@ -0,0 +1,265 @@
+package com.werewolf.network.server;
+
+import com.werewolf.game.PhaseConfig;
+
+/**
+ * Paramètres du serveur de jeu, lus depuis les propriétés système puis les variables d'environnement.
+ */
+public class ServerConfig {
+    private static final int DEFAULT_PORT = 8443;
+    private static final int DEFAULT_MAX_PLAYERS_PER_SESSION = 10;
+    private static final int DEFAULT_MAX_SESSIONS = 5000;
+    private static final int DEFAULT_MAX_CONNECTIONS = 1000;
+    private static final TransportMode DEFAULT_TRANSPORT = TransportMode.NIO;
+    private static final int DEFAULT_OUTBOUND_QUEUE_CAPACITY = 256;
+    private static final BackpressurePolicy DEFAULT_BACKPRESSURE = BackpressurePolicy.DROP_STALE;
+    private static final int DEFAULT_TIMER_TICK_MS = 100;
+    private static final int DEFAULT_SNAPSHOT_INTERVAL_MS = 5_000;
+    private static final int DEFAULT_RECONNECT_GRACE_MS = 30_000;
+    private static final int DEFAULT_HEARTBEAT_INTERVAL_MS = 10_000;
+    private static final int DEFAULT_IDLE_TIMEOUT_MS = 30_000;
+    private static final int DEFAULT_HANDSHAKE_TIMEOUT_MS = 10_000;
+
+    private final int port;
+    private final int maxPlayersPerSession;
+    private final int maxSessions;
+    private final int maxConnections;
+    private final TransportMode transport;
+    private final int ioThreads;
+    // Repli sur la sérialisation Java, dans des trames, pour les clients qui ne négocient pas le binaire ; désactivé par défaut
+    private final boolean serializationAllowed;
+    private final int outboundQueueCapacity;
+    private final BackpressurePolicy backpressurePolicy;
+    // Pas de la roue qui sert les échéances de phase de toutes les sessions
+    private final int timerTickMs;
+    private final PhaseConfig phaseConfig;
+    // Répertoire des journaux d'entrées des parties ; null pour ne rien enregistrer
+    private final String replayDir;
+    // Répertoire des segments de l'historique des parties ; null pour ne rien conserver
+    private final String eventDir;
+    // Fichier de reprise des statistiques des joueurs ; null pour les garder en mémoire seulement
+    private final String statsFile;
+    // Répertoire des fichiers de reprise des sessions ; null pour ne pas reprendre les parties après un arrêt
+    private final String recoveryDir;
+    private final int snapshotIntervalMs;
+    // Délai pendant lequel un joueur déconnecté garde sa place dans la partie
+    private final int reconnectGraceMs;
+    // Silence d'un client au-delà duquel il est sondé par un PING ; 0 pour désactiver les battements de cœur
+    private final int heartbeatIntervalMs;
+    // Silence d'un client au-delà duquel sa connexion est fermée
+    private final int idleTimeoutMs;
+    // Durée maximale d'une négociation TLS, au-delà de laquelle la connexion est fermée
+    private final int handshakeTimeoutMs;
+    // Threads dédiés à la cryptographie des négociations, hors du thread d'acceptation et des boucles NIO
+    private final int handshakeThreads;
+
+    public ServerConfig(int port, int maxPlayersPerSession, int maxSessions, int maxConnections,
+            TransportMode transport, int ioThreads) {
+        this(port, maxPlayersPerSession, maxSessions, maxConnections, transport, ioThreads, false,
+                DEFAULT_OUTBOUND_QUEUE_CAPACITY, DEFAULT_BACKPRESSURE, DEFAULT_TIMER_TICK_MS,
+                PhaseConfig.DEFAULT, null, null, null, null, DEFAULT_SNAPSHOT_INTERVAL_MS,
+                DEFAULT_RECONNECT_GRACE_MS, DEFAULT_HEARTBEAT_INTERVAL_MS, DEFAULT_IDLE_TIMEOUT_MS,
+                DEFAULT_HANDSHAKE_TIMEOUT_MS, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ServerConfig(int port, int maxPlayersPerSession, int maxSessions, int maxConnections,
+            TransportMode transport, int ioThreads, boolean serializationAllowed,
+            int outboundQueueCapacity, BackpressurePolicy backpressurePolicy, int timerTickMs,
+            PhaseConfig phaseConfig, String replayDir, String eventDir, String statsFile, String recoveryDir,
+            int snapshotIntervalMs, int reconnectGraceMs, int heartbeatIntervalMs, int idleTimeoutMs,
+            int handshakeTimeoutMs, int handshakeThreads) {
+        this.port = port;
+        this.maxPlayersPerSession = maxPlayersPerSession;
+        this.maxSessions = maxSessions;
+        this.maxConnections = maxConnections;
+        this.transport = transport;
+        this.ioThreads = ioThreads;
+        this.serializationAllowed = serializationAllowed;
+        this.outboundQueueCapacity = outboundQueueCapacity;
+        this.backpressurePolicy = backpressurePolicy;
+        this.timerTickMs = timerTickMs;
+        this.phaseConfig = phaseConfig;
+        this.replayDir = replayDir;
+        this.eventDir = eventDir;
+        this.statsFile = statsFile;
+        this.recoveryDir = recoveryDir;
+        this.snapshotIntervalMs = snapshotIntervalMs;
+        this.reconnectGraceMs = reconnectGraceMs;
+        this.heartbeatIntervalMs = heartbeatIntervalMs;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.handshakeTimeoutMs = handshakeTimeoutMs;
+        this.handshakeThreads = handshakeThreads;
+    }
+
+    public static ServerConfig load() {
+        return new ServerConfig(
+                readInt("WEREWOLF_PORT", DEFAULT_PORT),
+                readInt("WEREWOLF_MAX_PLAYERS_PER_SESSION", DEFAULT_MAX_PLAYERS_PER_SESSION),
+                readInt("WEREWOLF_MAX_SESSIONS", DEFAULT_MAX_SESSIONS),
+                readInt("WEREWOLF_MAX_CONNECTIONS", DEFAULT_MAX_CONNECTIONS),
+                readEnum("WEREWOLF_TRANSPORT", TransportMode.class, DEFAULT_TRANSPORT),
+                readInt("WEREWOLF_IO_THREADS", Runtime.getRuntime().availableProcessors()),
+                Boolean.parseBoolean(read("WEREWOLF_ALLOW_JAVA_SERIALIZATION")),
+                readInt("WEREWOLF_OUTBOUND_QUEUE_CAPACITY", DEFAULT_OUTBOUND_QUEUE_CAPACITY),
+                readEnum("WEREWOLF_BACKPRESSURE", BackpressurePolicy.class, DEFAULT_BACKPRESSURE),
+                readInt("WEREWOLF_TIMER_TICK_MS", DEFAULT_TIMER_TICK_MS),
+                new PhaseConfig(
+                        readInt("WEREWOLF_NIGHT_MS", (int) PhaseConfig.DEFAULT.getNightMs()),
+                        readInt("WEREWOLF_DISCUSSION_MS", (int) PhaseConfig.DEFAULT.getDiscussionMs()),
+                        readInt("WEREWOLF_VOTING_MS", (int) PhaseConfig.DEFAULT.getVotingMs()),
+                        !"false".equalsIgnoreCase(read("WEREWOLF_ADVANCE_WHEN_READY"))),
+                read("WEREWOLF_REPLAY_DIR"),
+                read("WEREWOLF_EVENT_DIR"),
+                read("WEREWOLF_STATS_FILE"),
+                read("WEREWOLF_RECOVERY_DIR"),
+                readInt("WEREWOLF_SNAPSHOT_INTERVAL_MS", DEFAULT_SNAPSHOT_INTERVAL_MS),
+                readInt("WEREWOLF_RECONNECT_GRACE_MS", DEFAULT_RECONNECT_GRACE_MS),
+                readInt("WEREWOLF_HEARTBEAT_INTERVAL_MS", DEFAULT_HEARTBEAT_INTERVAL_MS),
+                readInt("WEREWOLF_IDLE_TIMEOUT_MS", DEFAULT_IDLE_TIMEOUT_MS),
+                readInt("WEREWOLF_HANDSHAKE_TIMEOUT_MS", DEFAULT_HANDSHAKE_TIMEOUT_MS),
+                readInt("WEREWOLF_HANDSHAKE_THREADS", Runtime.getRuntime().availableProcessors()));
+    }
+
+    static <E extends Enum<E>> E readEnum(String key, Class<E> type, E defaultValue) {
+        String value = read(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Enum.valueOf(type, value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown value for " + key + ": " + value + " (using " + defaultValue + ")");
+            return defaultValue;
+        }
+    }
+
+    static String read(String key) {
+        String value = System.getProperty(key);
+        if (value == null || value.isEmpty()) {
+            value = System.getenv(key);
+        }
+        return (value == null || value.isEmpty()) ? null : value.trim();
+    }
+
+    static int readInt(String key, int defaultValue) {
+        String value = read(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid value for " + key + ": " + value + " (using " + defaultValue + ")");
+            return defaultValue;
+        }
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public int getMaxPlayersPerSession() {
+        return maxPlayersPerSession;
+    }
+
+    public int getMaxSessions() {
+        return maxSessions;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public TransportMode getTransport() {
+        return transport;
+    }
+
+    public int getIoThreads() {
+        return ioThreads;
+    }
+
+    public boolean isSerializationAllowed() {
+        return serializationAllowed;
+    }
+
+    public int getOutboundQueueCapacity() {
+        return outboundQueueCapacity;
+    }
+
+    public BackpressurePolicy getBackpressurePolicy() {
+        return backpressurePolicy;
+    }
+
+    public int getTimerTickMs() {
+        return timerTickMs;
+    }
+
+    public PhaseConfig getPhaseConfig() {
+        return phaseConfig;
+    }
+
+    public String getReplayDir() {
+        return replayDir;
+    }
+
+    public String getEventDir() {
+        return eventDir;
+    }
+
+    public String getStatsFile() {
+        return statsFile;
+    }
+
+    public String getRecoveryDir() {
+        return recoveryDir;
+    }
+
+    public int getSnapshotIntervalMs() {
+        return snapshotIntervalMs;
+    }
+
+    public int getReconnectGraceMs() {
+        return reconnectGraceMs;
+    }
+
+    public int getHeartbeatIntervalMs() {
+        return heartbeatIntervalMs;
+    }
+
+    public int getIdleTimeoutMs() {
+        return idleTimeoutMs;
+    }
+
+    public int getHandshakeTimeoutMs() {
+        return handshakeTimeoutMs;
+    }
+
+    public int getHandshakeThreads() {
+        return handshakeThreads;
+    }
+
+    @Override
+    public String toString() {
+        return "ServerConfig{port=" + port
+                + ", maxPlayersPerSession=" + maxPlayersPerSession
+                + ", maxSessions=" + maxSessions
+                + ", maxConnections=" + maxConnections
+                + ", transport=" + transport
+                + ", ioThreads=" + ioThreads
+                + ", serializationAllowed=" + serializationAllowed
+                + ", outboundQueueCapacity=" + outboundQueueCapacity
+                + ", backpressurePolicy=" + backpressurePolicy
+                + ", timerTickMs=" + timerTickMs
+                + ", phaseConfig=" + phaseConfig
+                + ", replayDir=" + replayDir
+                + ", eventDir=" + eventDir
+                + ", statsFile=" + statsFile
+                + ", recoveryDir=" + recoveryDir
+                + ", snapshotIntervalMs=" + snapshotIntervalMs
+                + ", reconnectGraceMs=" + reconnectGraceMs
+                + ", heartbeatIntervalMs=" + heartbeatIntervalMs
+                + ", idleTimeoutMs=" + idleTimeoutMs
+                + ", handshakeTimeoutMs=" + handshakeTimeoutMs
+                + ", handshakeThreads=" + handshakeThreads + '}';
+    }
+}
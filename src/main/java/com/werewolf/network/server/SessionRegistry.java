@@ -0,0 +1,378 @@
+package com.werewolf.network.server;
+
+import com.werewolf.game.GameState;
+import com.werewolf.game.PhaseConfig;
+import com.werewolf.game.PhaseScheduler;
+import com.werewolf.game.SessionExecutors;
+import com.werewolf.game.replay.InputLogFactory;
+import com.werewolf.game.snapshot.RecoveredSession;
+import com.werewolf.game.snapshot.RecoveryStore;
+import com.werewolf.game.stats.StatsService;
+import com.werewolf.game.store.EventSink;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registre des sessions hébergées par le serveur.
+ * Crée les sessions à la demande, y route les joueurs au moment du {@code JOIN_GAME}
+ * et les détruit lorsque le dernier joueur les quitte.
+ * Avec la reprise activée ({@link #enableRecovery}), les sessions interrompues par un arrêt du serveur
+ * sont recréées au démarrage avec les jetons de reprise de leurs joueurs : chacun y retrouve sa place par
+ * {@code RESUME}, jamais par un simple {@code JOIN_GAME} sous le même pseudo.
+ * Chaque joueur reçoit un jeton de reprise ({@link #issueResumeToken}) : après une coupure, sa nouvelle
+ * connexion retrouve la session par ce jeton, tant que le délai de grâce n'est pas écoulé.
+ */
+public class SessionRegistry {
+    private static final String SESSION_PREFIX = "session-";
+    private static final String PLAYER_PREFIX = "Player-";
+
+    private final Map<String, ManagedSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong sessionCounter = new AtomicLong();
+    private final AtomicLong playerCounter = new AtomicLong();
+    private final Object lobbyLock = new Object();
+    private final int maxPlayersPerSession;
+    private final int maxSessions;
+    // Partagés par toutes les sessions du registre
+    private final Executor workers;
+    private final PhaseScheduler timer;
+    // Durées de phase par défaut des nouvelles sessions
+    private final PhaseConfig phaseConfig;
+    // Journal des entrées de chaque nouvelle session, pour le rejeu
+    private volatile InputLogFactory inputLogs = InputLogFactory.NONE;
+    // Historique des parties, commun à toutes les sessions
+    private volatile EventSink events = EventSink.NONE;
+    // Statistiques des joueurs, alimentées par chaque fin de partie
+    // Créé au premier besoin : un registre qui ne joue aucune partie ne démarre pas de thread
+    private StatsService stats;
+    // Fichiers de reprise des sessions, ou null si la reprise est désactivée
+    private volatile RecoveryStore recovery;
+    // Jeton de reprise vers la session du joueur
+    private final Map<String, ManagedSession> resumeTokens = new ConcurrentHashMap<>();
+    // Délai pendant lequel un joueur déconnecté garde sa place ; 0 pour le retirer aussitôt
+    private volatile long reconnectGraceMs;
+
+    // Salon ouvert vers lequel sont dirigés les joueurs qui ne demandent pas de session précise
+    private ManagedSession openLobby;
+
+    public SessionRegistry(int maxPlayersPerSession, int maxSessions) {
+        this(maxPlayersPerSession, maxSessions, SessionExecutors.workers(), SessionExecutors.timer(), PhaseConfig.DEFAULT);
+    }
+
+    public SessionRegistry(int maxPlayersPerSession, int maxSessions, Executor workers, PhaseScheduler timer,
+            PhaseConfig phaseConfig) {
+        this.maxPlayersPerSession = maxPlayersPerSession;
+        this.maxSessions = maxSessions;
+        this.workers = workers;
+        this.timer = timer;
+        this.phaseConfig = phaseConfig;
+    }
+
+    /**
+     * Attribue l'identifiant d'une connexion acceptée. Unique dans tout le serveur, quels que soient
+     * l'hôte et le port du client : deux clients derrière le même NAT n'occupent jamais la même place.
+     */
+    public String nextPlayerId() {
+        return PLAYER_PREFIX + playerCounter.incrementAndGet();
+    }
+
+    /**
+     * Réserve une place dans une session. La place d'un joueur d'une session reprise ne s'obtient jamais ainsi,
+     * même sous le même pseudo : elle ne se reprend qu'avec son jeton ({@link #findResumable}).
+     *
+     * @param requestedSessionId la session demandée par le client, ou {@code null} pour rejoindre
+     *                           automatiquement un salon ouvert
+     * @return la session dans laquelle une place a été réservée, ou {@code null} si aucune place n'est disponible
+     *         ou si la partie de la session demandée a déjà commencé
+     */
+    public ManagedSession join(String requestedSessionId) {
+        if (requestedSessionId != null && !requestedSessionId.isBlank()) {
+            return joinNamed(requestedSessionId.trim());
+        }
+        synchronized (lobbyLock) {
+            if (openLobby != null && openLobby.isOpenLobby() && openLobby.tryReserveSeat()) {
+                return openLobby;
+            }
+            ManagedSession lobby = createSession(SESSION_PREFIX + sessionCounter.incrementAndGet());
+            if (lobby == null || !lobby.tryReserveSeat()) {
+                return null;
+            }
+            openLobby = lobby;
+            return lobby;
+        }
+    }
+
+    private ManagedSession joinNamed(String sessionId) {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            ManagedSession managed = sessions.get(sessionId);
+            if (managed == null) {
+                managed = createSession(sessionId);
+                if (managed == null) {
+                    return null;
+                }
+            }
+            if (managed.hasAwaitedPlayers()) {
+                // Session reprise : ses places sont gardées aux joueurs qui reviendront avec leur jeton
+                return null;
+            }
+            if (managed.getSession().getCurrentPhase() != GameState.LOBBY) {
+                // Partie commencée : un nouveau venu n'y aurait pas de rôle, comme pour le salon automatique
+                return null;
+            }
+            if (managed.tryReserveSeat()) {
+                return managed;
+            }
+            // La session vient peut-être d'être fermée par son dernier joueur : on retente une fois
+            if (!managed.isClosed()) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    // Vérification de la limite et insertion sous le même verrou : deux créations simultanées ne la dépassent pas
+    private ManagedSession createSession(String sessionId) {
+        synchronized (lobbyLock) {
+            ManagedSession managed = sessions.get(sessionId);
+            if (managed != null && managed.isClosed()) {
+                // Une session fermée peut encore être présente le temps de son retrait du registre
+                sessions.remove(sessionId, managed);
+                managed = null;
+            }
+            if (managed != null) {
+                return managed;
+            }
+            if (sessions.size() >= maxSessions) {
+                System.out.println("Session limit reached (" + maxSessions + "). Cannot create " + sessionId);
+                return null;
+            }
+            managed = newSession(sessionId);
+            sessions.put(sessionId, managed);
+            return managed;
+        }
+    }
+
+    private ManagedSession newSession(String sessionId) {
+        return newSession(sessionId, null);
+    }
+
+    private ManagedSession newSession(String sessionId, RecoveredSession restored) {
+        return new ManagedSession(sessionId, maxPlayersPerSession, workers, timer, phaseConfig, inputLogs, events, getStatsService(),
+                recovery, restored);
+    }
+
+    /**
+     * Active les fichiers de reprise et recrée les sessions interrompues. À appeler au démarrage,
+     * avant d'accepter des joueurs.
+     *
+     * @param checkpointIntervalMs période des instantanés de chaque session
+     * @param abandonAfterMs délai au-delà duquel une session reprise que personne n'a rejointe est abandonnée
+     * @return le nombre de sessions reprises
+     */
+    public int enableRecovery(RecoveryStore store, long checkpointIntervalMs, long abandonAfterMs) throws IOException {
+        List<RecoveredSession> recovered = store.recover();
+        this.recovery = store;
+        for (RecoveredSession restored : recovered) {
+            String sessionId = restored.getSessionId();
+            ManagedSession managed = newSession(sessionId, restored);
+            sessions.put(sessionId, managed);
+            for (String token : restored.getSnapshot().getResumeTokens().keySet()) {
+                resumeTokens.put(token, managed);
+            }
+            skipSessionNumber(sessionId);
+            restored.getSnapshot().getPlayers().forEach(player -> skipPlayerNumber(player.getId()));
+            restored.getSnapshot().getDeparted().forEach(player -> skipPlayerNumber(player.getId()));
+            timer.schedule(() -> managed.getMailbox().execute(() -> abandonAwaitedSeats(managed)), abandonAfterMs);
+        }
+        scheduleCheckpoints(checkpointIntervalMs);
+        return recovered.size();
+    }
+
+    // Les sessions automatiques créées ensuite ne doivent pas reprendre le nom d'une session reprise
+    private void skipSessionNumber(String sessionId) {
+        if (!sessionId.startsWith(SESSION_PREFIX)) {
+            return;
+        }
+        try {
+            long number = Long.parseLong(sessionId.substring(SESSION_PREFIX.length()));
+            sessionCounter.accumulateAndGet(number, Math::max);
+        } catch (NumberFormatException e) {
+            // Nom choisi par un client : pas de conflit possible avec la numérotation
+        }
+    }
+
+    // Les nouvelles connexions ne doivent pas recevoir l'identifiant d'un joueur d'une session reprise
+    private void skipPlayerNumber(String playerId) {
+        if (!playerId.startsWith(PLAYER_PREFIX)) {
+            return;
+        }
+        try {
+            long number = Long.parseLong(playerId.substring(PLAYER_PREFIX.length()));
+            playerCounter.accumulateAndGet(number, Math::max);
+        } catch (NumberFormatException e) {
+            // Identifiant d'un autre format : pas de conflit possible avec la numérotation
+        }
+    }
+
+    /**
+     * Retire de la partie les joueurs d'une session reprise qui ne sont pas revenus dans le délai, et libère
+     * leurs places ; la session se ferme si personne n'est revenu. Exécuté dans la boîte aux lettres de la session.
+     */
+    private void abandonAwaitedSeats(ManagedSession managed) {
+        List<String> abandoned = managed.abandonAwaitedSeats();
+        for (String playerId : abandoned) {
+            revokeResumeTokens(managed, playerId);
+            if (!managed.isClosed()) {
+                managed.getGameManager().removePlayer(playerId);
+            }
+            leave(managed);
+        }
+        if (!abandoned.isEmpty()) {
+            System.out.println("Restored session " + managed.getSessionId() + ": " + abandoned.size()
+                    + " player(s) did not come back" + (managed.isClosed() ? ", session abandoned" : ""));
+        }
+    }
+
+    private void scheduleCheckpoints(long intervalMs) {
+        timer.schedule(() -> {
+            if (recovery == null) {
+                return;
+            }
+            for (ManagedSession managed : sessions.values()) {
+                managed.getMailbox().execute(managed::checkpoint);
+            }
+            scheduleCheckpoints(intervalMs);
+        }, intervalMs);
+    }
+
+    /**
+     * Fige les fichiers de reprise de toutes les sessions avant l'arrêt du serveur, pour qu'elles soient
+     * reprises au prochain démarrage. Attend au plus {@code timeoutMs} que chaque session ait écrit son instantané.
+     *
+     * @return {@code true} si toutes les sessions ont été figées à temps
+     */
+    public boolean suspendRecovery(long timeoutMs) throws InterruptedException {
+        if (recovery == null) {
+            return true;
+        }
+        recovery = null;
+        List<ManagedSession> open = new ArrayList<>(sessions.values());
+        CountDownLatch suspended = new CountDownLatch(open.size());
+        for (ManagedSession managed : open) {
+            if (managed.getMailbox().isClosed()) {
+                suspended.countDown();
+                continue;
+            }
+            managed.getMailbox().execute(() -> {
+                try {
+                    managed.suspendRecovery();
+                } finally {
+                    suspended.countDown();
+                }
+            });
+        }
+        return suspended.await(timeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Libère la place d'un joueur et détruit la session si elle est désormais vide.
+     */
+    public void leave(ManagedSession managed) {
+        if (managed.releaseSeat()) {
+            sessions.remove(managed.getSessionId(), managed);
+            synchronized (lobbyLock) {
+                if (openLobby == managed) {
+                    openLobby = null;
+                }
+            }
+            managed.getResumeTokens().forEach(resumeTokens::remove);
+            managed.shutdown();
+            System.out.println("Session " + managed.getSessionId() + " closed (Active sessions: " + sessions.size() + ")");
+        }
+    }
+
+    /**
+     * Émet le jeton qui permettra à une nouvelle connexion de reprendre la place de {@code playerId}.
+     * L'identifiant doit venir de {@link #nextPlayerId} : unique dans le serveur, aucun autre joueur ne peut
+     * occuper entre-temps la place désignée par le jeton.
+     */
+    public String issueResumeToken(ManagedSession managed, String playerId) {
+        String token = managed.issueResumeToken(playerId);
+        resumeTokens.put(token, managed);
+        return token;
+    }
+
+    /**
+     * @return la session à laquelle appartient le jeton, ou {@code null} s'il est inconnu ou si elle est fermée
+     */
+    public ManagedSession findResumable(String token) {
+        ManagedSession managed = token != null ? resumeTokens.get(token) : null;
+        if (managed == null || managed.isClosed()) {
+            return null;
+        }
+        return managed;
+    }
+
+    /**
+     * Invalide les jetons d'un joueur qui a quitté sa session.
+     */
+    public void revokeResumeTokens(ManagedSession managed, String playerId) {
+        managed.revokeResumeTokens(playerId).forEach(resumeTokens::remove);
+    }
+
+    public long getReconnectGraceMs() {
+        return reconnectGraceMs;
+    }
+
+    public void setReconnectGraceMs(long reconnectGraceMs) {
+        this.reconnectGraceMs = reconnectGraceMs;
+    }
+
+    public void setInputLogFactory(InputLogFactory inputLogs) {
+        this.inputLogs = inputLogs;
+    }
+
+    public void setEventSink(EventSink events) {
+        this.events = events;
+    }
+
+    /**
+     * Remplace le service de statistiques ; l'ancien est fermé (dernier checkpoint, arrêt de son thread).
+     * À appeler avant d'ouvrir des sessions : celles déjà créées gardent l'ancien service.
+     */
+    public synchronized void setStatsService(StatsService stats) {
+        StatsService previous = this.stats;
+        this.stats = stats;
+        if (previous != null && previous != stats) {
+            previous.close();
+        }
+    }
+
+    public synchronized StatsService getStatsService() {
+        if (stats == null) {
+            stats = new StatsService();
+        }
+        return stats;
+    }
+
+    public ManagedSession getSession(String sessionId) {
+        return sessions.get(sessionId);
+    }
+
+    public Collection<ManagedSession> getSessions() {
+        return Collections.unmodifiableCollection(sessions.values());
+    }
+
+    public int getSessionCount() {
+        return sessions.size();
+    }
+}
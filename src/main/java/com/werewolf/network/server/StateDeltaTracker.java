@@ -0,0 +1,110 @@
+package com.werewolf.network.server;
+
+import com.werewolf.event.GameStateUpdate;
+import com.werewolf.game.GameState;
+import com.werewolf.game.Player;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Numérote les diffusions d'une session et les réduit à ce qui a changé depuis la précédente.
+ * Retient l'état tel que les clients le connaissent (joueurs en vie, phase et métadonnées du dernier changement
+ * de phase : échéance, vainqueur, rôles révélés) pour produire des instantanés.
+ * Non synchronisé : l'appelant sérialise les appels.
+ */
+class StateDeltaTracker {
+    // Copie des joueurs diffusés : les objets du jeu continuent d'évoluer après la diffusion
+    private final Map<String, Player> alive = new LinkedHashMap<>();
+    private GameState phase;
+    // Métadonnées du dernier changement de phase, rejouées dans chaque instantané
+    private Map<String, Object> phaseMetadata = new HashMap<>();
+    private boolean essential;
+    private long sequence;
+
+    /**
+     * Avance le flux d'un numéro et renvoie le delta correspondant à {@code update}.
+     */
+    GameStateUpdate next(GameStateUpdate update) {
+        List<String> removed = Collections.emptyList();
+        List<Player> added = Collections.emptyList();
+        List<Player> current = update.getAlivePlayers();
+        if (current != null && !sameIds(current)) {
+            Map<String, Player> next = new LinkedHashMap<>();
+            for (Player player : current) {
+                next.put(player.getId(), player);
+            }
+            removed = new ArrayList<>();
+            for (String id : alive.keySet()) {
+                if (!next.containsKey(id)) {
+                    removed.add(id);
+                }
+            }
+            added = new ArrayList<>();
+            for (Player player : current) {
+                if (!alive.containsKey(player.getId())) {
+                    added.add(copyOf(player));
+                }
+            }
+            alive.keySet().removeAll(removed);
+            added.forEach(player -> alive.put(player.getId(), player));
+        }
+        // Chaque mise à jour porte la phase courante : seul un changement remplace les métadonnées retenues
+        boolean phaseChanged = update.getNewPhase() != null && update.getNewPhase() != phase;
+        if (phaseChanged) {
+            phase = update.getNewPhase();
+            phaseMetadata = update.getMetadata() != null ? new HashMap<>(update.getMetadata()) : new HashMap<>();
+        }
+        essential = phaseChanged || phase == GameState.GAME_OVER;
+        sequence++;
+        return GameStateUpdate.delta(sequence, update.getMessage(), update.getNewPhase(), removed, added,
+                update.getMetadata());
+    }
+
+    /**
+     * Instantané de l'état courant, au numéro courant, portant les métadonnées du dernier changement de phase
+     * complétées par le message et les métadonnées de {@code update} (s'il n'est pas {@code null}).
+     */
+    GameStateUpdate snapshot(GameStateUpdate update) {
+        String message = update != null ? update.getMessage() : null;
+        Map<String, Object> metadata = new HashMap<>(phaseMetadata);
+        if (update != null && update.getMetadata() != null) {
+            metadata.putAll(update.getMetadata());
+        }
+        return GameStateUpdate.snapshot(sequence, message, phase, new ArrayList<>(alive.values()), metadata);
+    }
+
+    /**
+     * Indique si le dernier delta produit par {@link #next} change de phase ou suit la fin de partie :
+     * un tel delta ne doit pas être abandonné, car aucun autre ne viendra forcément révéler le trou.
+     */
+    boolean isLastDeltaEssential() {
+        return essential;
+    }
+
+    long getSequence() {
+        return sequence;
+    }
+
+    private boolean sameIds(List<Player> current) {
+        if (current.size() != alive.size()) {
+            return false;
+        }
+        for (Player player : current) {
+            if (!alive.containsKey(player.getId())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Player copyOf(Player player) {
+        Player copy = new Player(player.getId(), player.getUsername());
+        copy.setAlive(player.isAlive());
+        return copy;
+    }
+}
@@ -0,0 +1,13 @@
+package com.werewolf.network.server;
+
+/**
+ * Mode de gestion des connexions du serveur.
+ */
+public enum TransportMode {
+    /** Un thread du pool par connexion, lectures bloquantes. */
+    BLOCKING,
+    /** Lectures bloquantes comme {@link #BLOCKING}, mais chaque connexion tourne sur un thread virtuel (Java 21+). */
+    VIRTUAL,
+    /** Quelques boucles d'événements NIO partagées par toutes les connexions. */
+    NIO
+}
@@ -0,0 +1,311 @@
+package com.werewolf.network.shared;
+
+import com.werewolf.event.GameStateUpdate;
+import com.werewolf.game.GameState;
+import com.werewolf.game.Player;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Format binaire versionné : octet de version, type du message, expéditeur, puis contenu étiqueté.
+ * Chaque contenu connu du protocole a son encodeur et son décodeur écrits à la main ; les joueurs
+ * ne transportent que leur identifiant, leur nom et leur état, jamais leur rôle.
+ * Aucune classe n'est instanciée d'après le contenu reçu.
+ */
+public final class BinaryMessageCodec implements MessageCodec {
+    /** Premier octet de chaque trame ; ne peut pas être confondu avec l'en-tête 0xACED de la sérialisation Java. */
+    public static final int VERSION = 2;
+    public static final String NAME = "binary/" + VERSION;
+
+    // Étiquettes de contenu
+    private static final int TAG_NULL = 0;
+    private static final int TAG_STRING = 1;
+    private static final int TAG_BOOLEAN = 2;
+    private static final int TAG_INT = 3;
+    private static final int TAG_LONG = 4;
+    private static final int TAG_MAP = 5;
+    private static final int TAG_LIST = 6;
+    private static final int TAG_JOIN_REQUEST = 10;
+    private static final int TAG_PLAYER_LIST = 11;
+    private static final int TAG_GAME_COMMAND = 12;
+    private static final int TAG_GAME_STATE_UPDATE = 13;
+    private static final int TAG_PLAYER = 14;
+
+    private static final int MAX_DEPTH = 8;
+    // Les nouveaux types doivent être ajoutés en fin d'énumération : l'ordinal fait partie du format
+    private static final MessageType[] TYPES = MessageType.values();
+    private static final GameState[] PHASES = GameState.values();
+
+    BinaryMessageCodec() {
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public byte[] encode(Message message) throws IOException {
+        WireWriter out = new WireWriter(128);
+        out.writeByte(VERSION);
+        out.writeVarInt(message.getType().ordinal());
+        out.writeString(message.getSender());
+        writeValue(out, message.getContent(), 0);
+        return out.toFrame();
+    }
+
+    @Override
+    public Message decode(byte[] payload) throws IOException {
+        WireReader in = new WireReader(payload);
+        int version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported protocol version: " + version);
+        }
+        int typeIndex = in.readVarInt();
+        if (typeIndex < 0 || typeIndex >= TYPES.length) {
+            throw new IOException("Unknown message type: " + typeIndex);
+        }
+        String sender = in.readString();
+        Object content = readValue(in, 0);
+        if (in.hasRemaining()) {
+            throw new IOException("Trailing bytes in frame");
+        }
+        return new Message(TYPES[typeIndex], sender, content);
+    }
+
+    // ============== ENCODAGE ==============
+
+    private static void writeValue(WireWriter out, Object value, int depth) throws IOException {
+        if (depth > MAX_DEPTH) {
+            throw new IOException("Content nested too deeply");
+        }
+        if (value == null) {
+            out.writeByte(TAG_NULL);
+        } else if (value instanceof String) {
+            out.writeByte(TAG_STRING);
+            out.writeString((String) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(TAG_BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(TAG_INT);
+            int n = (Integer) value;
+            out.writeVarInt((n << 1) ^ (n >> 31));
+        } else if (value instanceof Long) {
+            out.writeByte(TAG_LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof GameStateUpdate) {
+            out.writeByte(TAG_GAME_STATE_UPDATE);
+            writeGameStateUpdate(out, (GameStateUpdate) value, depth);
+        } else if (value instanceof GameCommand) {
+            out.writeByte(TAG_GAME_COMMAND);
+            writeGameCommand(out, (GameCommand) value, depth);
+        } else if (value instanceof PlayerListUpdate) {
+            out.writeByte(TAG_PLAYER_LIST);
+            writePlayerList(out, (PlayerListUpdate) value);
+        } else if (value instanceof JoinGameRequest) {
+            out.writeByte(TAG_JOIN_REQUEST);
+            JoinGameRequest request = (JoinGameRequest) value;
+            out.writeString(request.getUsername());
+            out.writeString(request.getSessionId());
+        } else if (value instanceof Player) {
+            out.writeByte(TAG_PLAYER);
+            writePlayer(out, (Player) value);
+        } else if (value instanceof Map) {
+            out.writeByte(TAG_MAP);
+            writeMap(out, (Map<?, ?>) value, depth);
+        } else if (value instanceof List) {
+            out.writeByte(TAG_LIST);
+            List<?> list = (List<?>) value;
+            out.writeVarInt(list.size());
+            for (Object element : list) {
+                writeValue(out, element, depth + 1);
+            }
+        } else {
+            throw new IOException("No binary encoding for " + value.getClass().getName());
+        }
+    }
+
+    private static void writeMap(WireWriter out, Map<?, ?> map, int depth) throws IOException {
+        out.writeVarInt(map.size());
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (!(entry.getKey() instanceof String)) {
+                throw new IOException("Map keys must be strings");
+            }
+            out.writeString((String) entry.getKey());
+            writeValue(out, entry.getValue(), depth + 1);
+        }
+    }
+
+    private static void writeGameStateUpdate(WireWriter out, GameStateUpdate update, int depth) throws IOException {
+        out.writeVarLong(update.getSequence());
+        out.writeBoolean(update.isSnapshot());
+        out.writeString(update.getMessage());
+        GameState phase = update.getNewPhase();
+        out.writeVarInt(phase == null ? 0 : phase.ordinal() + 1);
+        List<String> removed = update.getRemovedPlayerIds();
+        out.writeVarInt(removed.size());
+        for (String id : removed) {
+            out.writeString(id);
+        }
+        List<Player> added = update.getAddedPlayers();
+        out.writeVarInt(added.size());
+        for (Player player : added) {
+            writePlayer(out, player);
+        }
+        List<Player> players = update.getAlivePlayers();
+        if (players == null) {
+            out.writeVarInt(0);
+        } else {
+            out.writeVarInt(players.size() + 1);
+            for (Player player : players) {
+                writePlayer(out, player);
+            }
+        }
+        writeMap(out, update.getMetadata(), depth + 1);
+    }
+
+    private static void writeGameCommand(WireWriter out, GameCommand command, int depth) throws IOException {
+        out.writeString(command.getActionType());
+        out.writeString(command.getTargetPlayerId());
+        writeMap(out, command.getMetadata(), depth + 1);
+    }
+
+    private static void writePlayerList(WireWriter out, PlayerListUpdate update) {
+        List<String> names = update.getPlayerNames();
+        out.writeVarInt(names.size());
+        for (String name : names) {
+            out.writeString(name);
+        }
+        out.writeString(update.getAdminName());
+    }
+
+    private static void writePlayer(WireWriter out, Player player) {
+        out.writeString(player.getId());
+        out.writeString(player.getUsername());
+        out.writeBoolean(player.isAlive());
+    }
+
+    // ============== DÉCODAGE ==============
+
+    private static Object readValue(WireReader in, int depth) throws IOException {
+        if (depth > MAX_DEPTH) {
+            throw new IOException("Content nested too deeply");
+        }
+        int tag = in.readByte();
+        switch (tag) {
+            case TAG_NULL:
+                return null;
+            case TAG_STRING:
+                return in.readString();
+            case TAG_BOOLEAN:
+                return in.readBoolean();
+            case TAG_INT:
+                int zigzag = in.readVarInt();
+                return (zigzag >>> 1) ^ -(zigzag & 1);
+            case TAG_LONG:
+                return in.readLong();
+            case TAG_MAP:
+                return readMap(in, depth);
+            case TAG_LIST:
+                int size = in.readCount();
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(in, depth + 1));
+                }
+                return list;
+            case TAG_JOIN_REQUEST:
+                return new JoinGameRequest(in.readString(), in.readString());
+            case TAG_PLAYER_LIST:
+                return readPlayerList(in);
+            case TAG_GAME_COMMAND:
+                return readGameCommand(in, depth);
+            case TAG_GAME_STATE_UPDATE:
+                return readGameStateUpdate(in, depth);
+            case TAG_PLAYER:
+                return readPlayer(in);
+            default:
+                throw new IOException("Unknown content tag: " + tag);
+        }
+    }
+
+    private static Map<String, Object> readMap(WireReader in, int depth) throws IOException {
+        int size = in.readCount();
+        Map<String, Object> map = new LinkedHashMap<>(Math.max(4, size * 2));
+        for (int i = 0; i < size; i++) {
+            String key = in.readString();
+            map.put(key, readValue(in, depth + 1));
+        }
+        return map;
+    }
+
+    private static GameStateUpdate readGameStateUpdate(WireReader in, int depth) throws IOException {
+        long sequence = in.readVarLong();
+        boolean snapshot = in.readBoolean();
+        String message = in.readString();
+        int phaseIndex = in.readVarInt();
+        if (phaseIndex < 0 || phaseIndex > PHASES.length) {
+            throw new IOException("Unknown game phase: " + phaseIndex);
+        }
+        GameState phase = phaseIndex == 0 ? null : PHASES[phaseIndex - 1];
+        int removedCount = in.readCount();
+        List<String> removed = new ArrayList<>(removedCount);
+        for (int i = 0; i < removedCount; i++) {
+            removed.add(in.readString());
+        }
+        int addedCount = in.readCount();
+        List<Player> added = new ArrayList<>(addedCount);
+        for (int i = 0; i < addedCount; i++) {
+            added.add(readPlayer(in));
+        }
+        int playerCount = in.readVarInt();
+        List<Player> players = null;
+        if (playerCount > 0) {
+            playerCount--;
+            if (playerCount > in.remaining()) {
+                throw new IOException("Invalid element count: " + playerCount);
+            }
+            players = new ArrayList<>(playerCount);
+            for (int i = 0; i < playerCount; i++) {
+                players.add(readPlayer(in));
+            }
+        }
+        Map<String, Object> metadata = readMap(in, depth + 1);
+        if (snapshot) {
+            return GameStateUpdate.snapshot(sequence, message, phase, players, metadata);
+        }
+        if (sequence > 0) {
+            return GameStateUpdate.delta(sequence, message, phase, removed, added, metadata);
+        }
+        return new GameStateUpdate(message, phase, players, metadata);
+    }
+
+    private static GameCommand readGameCommand(WireReader in, int depth) throws IOException {
+        GameCommand command = new GameCommand(in.readString(), in.readString());
+        Map<String, Object> metadata = readMap(in, depth + 1);
+        if (!metadata.isEmpty()) {
+            command.setMetadata(new HashMap<>(metadata));
+        }
+        return command;
+    }
+
+    private static PlayerListUpdate readPlayerList(WireReader in) throws IOException {
+        int size = in.readCount();
+        List<String> names = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            names.add(in.readString());
+        }
+        return new PlayerListUpdate(names, in.readString());
+    }
+
+    private static Player readPlayer(WireReader in) throws IOException {
+        Player player = new Player(in.readString(), in.readString());
+        player.setAlive(in.readBoolean());
+        return player;
+    }
+}
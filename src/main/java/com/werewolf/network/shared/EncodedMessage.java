@@ -0,0 +1,56 @@
+package com.werewolf.network.shared;
+
+import java.io.IOException;
+
+/**
+ * Message destiné à plusieurs connexions : chaque codec ne l'encode qu'une fois, et toutes les connexions
+ * qui partagent ce codec écrivent la même trame. Les trames renvoyées ne doivent pas être modifiées.
+ */
+public final class EncodedMessage {
+    private final Message message;
+    // Diffusion d'état qu'une mise à jour plus récente rend obsolète : peut être écartée pour un client en retard
+    private final boolean droppable;
+    private volatile byte[] binaryFrame;
+    private volatile byte[] serializedFrame;
+
+    public EncodedMessage(Message message) {
+        this(message, false);
+    }
+
+    public EncodedMessage(Message message, boolean droppable) {
+        this.message = message;
+        this.droppable = droppable;
+    }
+
+    public Message getMessage() {
+        return message;
+    }
+
+    public boolean isDroppable() {
+        return droppable;
+    }
+
+    /**
+     * Trame complète (en-tête de taille inclus) de ce message pour le codec donné.
+     * Deux threads peuvent encoder en même temps la première fois : le résultat est identique.
+     */
+    public byte[] frame(MessageCodec codec) throws IOException {
+        if (codec == MessageCodecs.BINARY) {
+            byte[] frame = binaryFrame;
+            if (frame == null) {
+                frame = codec.encode(message);
+                binaryFrame = frame;
+            }
+            return frame;
+        }
+        if (codec == MessageCodecs.JAVA) {
+            byte[] frame = serializedFrame;
+            if (frame == null) {
+                frame = codec.encode(message);
+                serializedFrame = frame;
+            }
+            return frame;
+        }
+        return codec.encode(message);
+    }
+}
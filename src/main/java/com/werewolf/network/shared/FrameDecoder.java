@@ -0,0 +1,55 @@
+package com.werewolf.network.shared;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Reconstitue les trames {@link MessageFraming} à partir d'octets reçus par morceaux.
+ * Ne conserve qu'un tampon de la taille de la trame en cours, et rien entre deux trames.
+ */
+public class FrameDecoder {
+
+    public interface FrameHandler {
+        void onFrame(byte[] payload) throws IOException;
+    }
+
+    private final byte[] header = new byte[MessageFraming.HEADER_SIZE];
+    private int headerPosition;
+    private byte[] payload;
+    private int payloadPosition;
+
+    /**
+     * Consomme tous les octets disponibles de {@code source} et appelle {@code handler}
+     * pour chaque trame complète.
+     */
+    public void feed(ByteBuffer source, FrameHandler handler) throws IOException {
+        while (source.hasRemaining()) {
+            if (payload == null) {
+                int count = Math.min(header.length - headerPosition, source.remaining());
+                source.get(header, headerPosition, count);
+                headerPosition += count;
+                if (headerPosition < header.length) {
+                    return;
+                }
+                int length = ((header[0] & 0xFF) << 24) | ((header[1] & 0xFF) << 16)
+                        | ((header[2] & 0xFF) << 8) | (header[3] & 0xFF);
+                MessageFraming.checkLength(length);
+                payload = new byte[length];
+                payloadPosition = 0;
+                headerPosition = 0;
+            }
+            int count = Math.min(payload.length - payloadPosition, source.remaining());
+            source.get(payload, payloadPosition, count);
+            payloadPosition += count;
+            if (payloadPosition == payload.length) {
+                byte[] complete = payload;
+                payload = null;
+                handler.onFrame(complete);
+            }
+        }
+    }
+
+    public boolean hasPartialFrame() {
+        return payload != null || headerPosition > 0;
+    }
+}
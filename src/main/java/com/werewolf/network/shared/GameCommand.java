@@ -1,5 +1,7 @@
 package com.werewolf.network.shared;
 
+import com.werewolf.game.action.ActionType;
+
 import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
@@ -9,15 +11,22 @@ public class GameCommand implements Serializable {
     private static final long serialVersionUID = 1L;
     
     private String actionType;
+    // Forme reconnue de actionType, résolue une seule fois par commande
+    private transient ActionType action;
     private String targetPlayerId;
     private Map<String, Object> metadata;
     
     public GameCommand(String actionType, String targetPlayerId) {
         this.actionType = actionType;
+        this.action = ActionType.parse(actionType);
         this.targetPlayerId = targetPlayerId;
         this.metadata = new HashMap<>();
     }
 
+    public GameCommand(ActionType action, String targetPlayerId) {
+        this(action.name(), targetPlayerId);
+    }
+
     public void addMetadata(String key, Object value) {
         this.metadata.put(key, value);
     }
@@ -28,6 +37,18 @@ public class GameCommand implements Serializable {
 
     public void setActionType(String actionType) {
         this.actionType = actionType;
+        this.action = ActionType.parse(actionType);
+    }
+
+    /**
+     * @return l'action reconnue, ou {@code null} si le type d'action est inconnu
+     */
+    public ActionType getAction() {
+        if (action == null && actionType != null) {
+            // Commande reçue par sérialisation Java : le champ transitoire n'a pas été restauré
+            action = ActionType.parse(actionType);
+        }
+        return action;
     }
 
     public String getTargetPlayerId() {
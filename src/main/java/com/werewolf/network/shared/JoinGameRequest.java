@@ -6,12 +6,23 @@ public class JoinGameRequest implements Serializable {
     private static final long serialVersionUID = 1L;
 
     private final String username;
+    // Session demandée ; null pour rejoindre automatiquement un salon ouvert
+    private final String sessionId;
 
     public JoinGameRequest(String username) {
+        this(username, null);
+    }
+
+    public JoinGameRequest(String username, String sessionId) {
         this.username = username;
+        this.sessionId = sessionId;
     }
 
     public String getUsername() {
         return username;
     }
+
+    public String getSessionId() {
+        return sessionId;
+    }
 }
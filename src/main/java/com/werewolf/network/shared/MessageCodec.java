@@ -0,0 +1,25 @@
+package com.werewolf.network.shared;
+
+import java.io.IOException;
+
+/**
+ * Représentation d'un {@link Message} dans une trame {@link MessageFraming}.
+ * Les implémentations sont sans état et partagées entre connexions.
+ */
+public interface MessageCodec {
+
+    /**
+     * Nom annoncé lors de la négociation ({@code CONNECT}).
+     */
+    String getName();
+
+    /**
+     * Encode un message en trame complète (en-tête de taille inclus).
+     */
+    byte[] encode(Message message) throws IOException;
+
+    /**
+     * Décode le contenu d'une trame (sans l'en-tête de taille).
+     */
+    Message decode(byte[] payload) throws IOException;
+}
@@ -0,0 +1,60 @@
+package com.werewolf.network.shared;
+
+import java.io.IOException;
+
+/**
+ * Codecs disponibles et négociation du format au moment de la connexion.
+ * Le client envoie un {@code CONNECT} (toujours en binaire) dont le contenu liste les codecs qu'il accepte,
+ * par ordre de préférence et séparés par des virgules ; le serveur répond par un {@code CONNECT} portant le codec retenu.
+ */
+public final class MessageCodecs {
+    public static final MessageCodec BINARY = new BinaryMessageCodec();
+    public static final MessageCodec JAVA = new SerializationMessageCodec();
+
+    /** Offre envoyée par les clients de ce dépôt. */
+    public static final String CLIENT_OFFER = BinaryMessageCodec.NAME + "," + SerializationMessageCodec.NAME;
+
+    private MessageCodecs() {
+    }
+
+    public static MessageCodec forName(String name) {
+        if (BinaryMessageCodec.NAME.equals(name)) {
+            return BINARY;
+        }
+        if (SerializationMessageCodec.NAME.equals(name)) {
+            return JAVA;
+        }
+        return null;
+    }
+
+    /**
+     * Reconnaît le codec d'une trame à son premier octet.
+     */
+    public static MessageCodec detect(byte[] payload) throws IOException {
+        if (payload.length > 0 && payload[0] == BinaryMessageCodec.VERSION) {
+            return BINARY;
+        }
+        if (payload.length > 1 && payload[0] == (byte) 0xAC && payload[1] == (byte) 0xED) {
+            return JAVA;
+        }
+        throw new IOException("Unrecognized frame format");
+    }
+
+    /**
+     * Retient le premier codec de l'offre que l'on sait traiter.
+     *
+     * @return le codec choisi, ou {@code null} si aucun ne convient
+     */
+    public static MessageCodec choose(String offer, boolean allowSerialization) {
+        if (offer == null) {
+            return null;
+        }
+        for (String name : offer.split(",")) {
+            MessageCodec codec = forName(name.trim());
+            if (codec == BINARY || (codec == JAVA && allowSerialization)) {
+                return codec;
+            }
+        }
+        return null;
+    }
+}
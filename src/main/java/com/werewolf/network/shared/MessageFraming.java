@@ -0,0 +1,63 @@
+package com.werewolf.network.shared;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Format de trame commun aux transports bloquant et non bloquant :
+ * un entier big-endian donnant la taille du contenu, suivi d'un {@link Message} encodé par un {@link MessageCodec}.
+ * Chaque trame pouvant être décodée indépendamment, un lecteur non bloquant peut la reconstituer
+ * morceau par morceau. Sans codec précisé, l'encodage est binaire et le décodage reconnaît le format de la trame.
+ */
+public final class MessageFraming {
+    public static final int HEADER_SIZE = 4;
+    public static final int MAX_FRAME_SIZE = 1 << 20;
+
+    private MessageFraming() {
+    }
+
+    /**
+     * Encode un message en trame complète (en-tête de taille inclus).
+     */
+    public static byte[] encode(Message message) throws IOException {
+        return MessageCodecs.BINARY.encode(message);
+    }
+
+    /**
+     * Décode le contenu d'une trame (sans l'en-tête de taille), quel que soit son codec.
+     */
+    public static Message decode(byte[] payload) throws IOException {
+        return MessageCodecs.detect(payload).decode(payload);
+    }
+
+    public static void write(OutputStream out, Message message) throws IOException {
+        write(out, message, MessageCodecs.BINARY);
+    }
+
+    public static void write(OutputStream out, Message message, MessageCodec codec) throws IOException {
+        out.write(codec.encode(message));
+        out.flush();
+    }
+
+    public static Message read(DataInputStream in) throws IOException {
+        return decode(readPayload(in));
+    }
+
+    /**
+     * Lit le contenu brut de la prochaine trame.
+     */
+    public static byte[] readPayload(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        checkLength(length);
+        byte[] payload = new byte[length];
+        in.readFully(payload);
+        return payload;
+    }
+
+    static void checkLength(int length) throws IOException {
+        if (length < 0 || length > MAX_FRAME_SIZE) {
+            throw new IOException("Invalid frame length: " + length);
+        }
+    }
+}
@@ -25,5 +25,14 @@ public enum MessageType {
     ADMIN_ASSIGNED,
     ADMIN_REVOKED,
     START_GAME,
-    GAME_STARTED
+    GAME_STARTED,
+
+    // Synchronisation de l'état (les nouveaux types s'ajoutent en fin : l'ordinal fait partie du format binaire)
+    RESYNC,         // Client asks for a full snapshot after a gap in the update sequence
+    READY,          // Player is done discussing and wants to move on to the vote
+    VOTE_TALLY,     // Server announces the updated vote counts after each vote
+    LEADERBOARD,    // Client asks for a leaderboard by name; the server answers with its top entries
+    SESSION_TOKEN,  // Server hands a joined player the token that lets a new connection resume its seat
+    RESUME,         // Client resumes its seat after a dropped connection, with its token and last applied sequence
+    ACTION          // Player action declared by a role provider; the GameCommand names the action
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.werewolf.network.shared;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+/**
+ * Ancien format : le {@link Message} sérialisé par Java. Conservé en repli pour les clients qui ne négocient pas
+ * le format binaire ; la désérialisation est restreinte aux classes du jeu et du JDK par un filtre.
+ * Ce repli ne vaut que dans les trames préfixées par leur longueur ({@link MessageFraming}) : un client antérieur
+ * au découpage en trames, qui écrit un flux {@code ObjectOutputStream} brut, ne peut pas se connecter.
+ */
+public final class SerializationMessageCodec implements MessageCodec {
+    public static final String NAME = "java";
+
+    private static final ObjectInputFilter FILTER = ObjectInputFilter.Config.createFilter(
+            "maxdepth=20;maxrefs=10000;com.werewolf.**;java.lang.*;java.util.*;!*");
+
+    SerializationMessageCodec() {
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public byte[] encode(Message message) throws IOException {
+        WireWriter writer = new WireWriter(512);
+        try (ObjectOutputStream oos = new ObjectOutputStream(writer)) {
+            oos.writeObject(message);
+        }
+        return writer.toFrame();
+    }
+
+    @Override
+    public Message decode(byte[] payload) throws IOException {
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(payload))) {
+            ois.setObjectInputFilter(FILTER);
+            Object decoded = ois.readObject();
+            if (!(decoded instanceof Message)) {
+                throw new IOException("Unexpected frame content: "
+                        + (decoded == null ? "null" : decoded.getClass().getName()));
+            }
+            return (Message) decoded;
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Unknown class in frame", e);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.werewolf.network.shared;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Lecture des primitives écrites par {@link WireWriter}. Toute lecture au-delà du contenu,
+ * ou toute taille incohérente, lève une {@link IOException} : le contenu vient du réseau.
+ */
+public final class WireReader {
+    private final byte[] buffer;
+    private int position;
+
+    public WireReader(byte[] buffer) {
+        this.buffer = buffer;
+    }
+
+    private void require(int count) throws IOException {
+        if (count < 0 || count > buffer.length - position) {
+            throw new IOException("Truncated frame");
+        }
+    }
+
+    public int readByte() throws IOException {
+        require(1);
+        return buffer[position++] & 0xFF;
+    }
+
+    public boolean readBoolean() throws IOException {
+        return readByte() != 0;
+    }
+
+    public int readVarInt() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    public long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varlong");
+    }
+
+    public long readLong() throws IOException {
+        require(8);
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (buffer[position++] & 0xFF);
+        }
+        return value;
+    }
+
+    public String readString() throws IOException {
+        int length = readVarInt();
+        if (length == 0) {
+            return null;
+        }
+        length--;
+        require(length);
+        String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    /**
+     * Lit un nombre d'éléments, borné par les octets restants pour qu'une taille forgée ne provoque pas d'allocation démesurée.
+     */
+    public int readCount() throws IOException {
+        int count = readVarInt();
+        if (count < 0 || count > remaining()) {
+            throw new IOException("Invalid element count: " + count);
+        }
+        return count;
+    }
+
+    /**
+     * Nombre maximal d'éléments encore lisibles (au moins un octet chacun).
+     */
+    public int remaining() {
+        return buffer.length - position;
+    }
+
+    public boolean hasRemaining() {
+        return position < buffer.length;
+    }
+}
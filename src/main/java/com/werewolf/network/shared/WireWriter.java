@@ -0,0 +1,108 @@
+package com.werewolf.network.shared;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Tampon d'écriture extensible pour les trames : réserve l'en-tête de taille,
+ * puis accueille les primitives du format binaire (entiers variables, chaînes UTF-8).
+ * Non synchronisé ; une instance par encodage.
+ */
+public final class WireWriter extends OutputStream {
+    private byte[] buffer;
+    private int position;
+
+    public WireWriter(int initialCapacity) {
+        this.buffer = new byte[Math.max(initialCapacity, MessageFraming.HEADER_SIZE)];
+        this.position = MessageFraming.HEADER_SIZE;
+    }
+
+    private void ensure(int extra) {
+        if (position + extra > buffer.length) {
+            byte[] grown = new byte[Math.max(buffer.length * 2, position + extra)];
+            System.arraycopy(buffer, 0, grown, 0, position);
+            buffer = grown;
+        }
+    }
+
+    @Override
+    public void write(int b) {
+        ensure(1);
+        buffer[position++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) {
+        ensure(length);
+        System.arraycopy(bytes, offset, buffer, position, length);
+        position += length;
+    }
+
+    public void writeByte(int value) {
+        write(value);
+    }
+
+    public void writeBoolean(boolean value) {
+        write(value ? 1 : 0);
+    }
+
+    /**
+     * Entier non signé sur 1 à 5 octets (7 bits par octet, bit de poids fort = suite).
+     */
+    public void writeVarInt(int value) {
+        ensure(5);
+        while ((value & ~0x7F) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    public void writeVarLong(long value) {
+        ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    public void writeLong(long value) {
+        ensure(8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[position++] = (byte) (value >>> shift);
+        }
+    }
+
+    /**
+     * Chaîne UTF-8 précédée de sa taille + 1 ; la taille 0 code {@code null}.
+     */
+    public void writeString(String value) {
+        if (value == null) {
+            writeVarInt(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length + 1);
+        write(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Termine la trame : renseigne l'en-tête de taille et renvoie les octets à écrire tels quels.
+     */
+    public byte[] toFrame() throws IOException {
+        int length = position - MessageFraming.HEADER_SIZE;
+        MessageFraming.checkLength(length);
+        buffer[0] = (byte) (length >>> 24);
+        buffer[1] = (byte) (length >>> 16);
+        buffer[2] = (byte) (length >>> 8);
+        buffer[3] = (byte) length;
+        if (position == buffer.length) {
+            return buffer;
+        }
+        byte[] frame = new byte[position];
+        System.arraycopy(buffer, 0, frame, 0, position);
+        return frame;
+    }
+}
@@ -0,0 +1,209 @@
+package com.werewolf.security;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.KeyStore;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.Signature;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.security.auth.x500.X500Principal;
+
+/**
+ * Autorité de certification en mémoire : génère ses clés et signe les certificats directement avec les API
+ * cryptographiques du JDK, sans lancer {@code keytool}. Les clés sont des courbes elliptiques P-256, signées en
+ * ECDSA/SHA-256 : une paire se génère en quelques millisecondes, là où chaque appel à {@code keytool} démarrait
+ * une JVM.
+ * {@link #issueClientCertificate} sait délivrer un certificat nominatif à un joueur, mais aucun chemin du jeu ne
+ * s'en sert encore : les clients se présentent tous avec le certificat client commun de
+ * {@link CertificateManager}, si bien que le certificat n'identifie pas le joueur.
+ */
+public final class CertificateAuthority {
+    public static final Duration DEFAULT_CLIENT_VALIDITY = Duration.ofHours(24);
+
+    private static final String KEY_ALGORITHM = "EC";
+    private static final String CURVE = "secp256r1";
+    private static final String ECDSA_WITH_SHA256 = "1.2.840.10045.4.3.2";
+    private static final String RSA_WITH_SHA256 = "1.2.840.113549.1.1.11";
+    private static final String SUBJECT_KEY_IDENTIFIER = "2.5.29.14";
+    private static final String KEY_USAGE = "2.5.29.15";
+    private static final String BASIC_CONSTRAINTS = "2.5.29.19";
+    private static final String AUTHORITY_KEY_IDENTIFIER = "2.5.29.35";
+    // Tolérance pour les horloges des pairs légèrement en retard
+    private static final Duration BACKDATE = Duration.ofMinutes(5);
+    private static final String PLAYER_DNAME_SUFFIX = ", OU=Players, O=Werewolf, C=FR";
+
+    private final KeyPair keyPair;
+    private final X509Certificate certificate;
+    private final SecureRandom random = new SecureRandom();
+    private final LongAdder issued = new LongAdder();
+
+    private CertificateAuthority(KeyPair keyPair, X509Certificate certificate) {
+        this.keyPair = keyPair;
+        this.certificate = certificate;
+    }
+
+    /**
+     * Crée une nouvelle autorité avec un certificat racine auto-signé.
+     */
+    public static CertificateAuthority create(String dname, Duration validity) throws Exception {
+        KeyPair keyPair = generateKeyPair();
+        X500Principal subject = new X500Principal(dname);
+        X509Certificate root = sign(keyPair.getPrivate(), subject, keyPair.getPublic(), subject, keyPair.getPublic(),
+                new SecureRandom(), Instant.now(), validity, true);
+        return new CertificateAuthority(keyPair, root);
+    }
+
+    /**
+     * Reprend une autorité enregistrée par {@link #toKeyStore} (ou par l'ancien {@code keytool}).
+     */
+    public static CertificateAuthority load(KeyStore keyStore, String alias, String password) throws Exception {
+        PrivateKey privateKey = (PrivateKey) keyStore.getKey(alias, password.toCharArray());
+        X509Certificate root = (X509Certificate) keyStore.getCertificate(alias);
+        if (privateKey == null || root == null) {
+            throw new IllegalArgumentException("No certificate authority under alias " + alias);
+        }
+        return new CertificateAuthority(new KeyPair(root.getPublicKey(), privateKey), root);
+    }
+
+    public X509Certificate getCertificate() {
+        return certificate;
+    }
+
+    /** Nombre de certificats signés par cette instance. */
+    public long getIssuedCount() {
+        return issued.sum();
+    }
+
+    /**
+     * Génère une paire de clés et la certifie pour {@code validity}.
+     */
+    public IssuedCertificate issue(String dname, Duration validity) throws Exception {
+        KeyPair subjectKeys = generateKeyPair();
+        X509Certificate signed = sign(keyPair.getPrivate(), certificate.getSubjectX500Principal(),
+                certificate.getPublicKey(), new X500Principal(dname), subjectKeys.getPublic(), random,
+                Instant.now(), validity, false);
+        issued.increment();
+        return new IssuedCertificate(subjectKeys.getPrivate(), signed, certificate);
+    }
+
+    /**
+     * Certificat de courte durée au nom d'un joueur ({@link #DEFAULT_CLIENT_VALIDITY}), dont l'identifiant
+     * devient le CN. Chaque appel signe un nouveau certificat.
+     */
+    public IssuedCertificate issueClientCertificate(String playerId) throws Exception {
+        return issue("CN=" + escape(playerId) + PLAYER_DNAME_SUFFIX, DEFAULT_CLIENT_VALIDITY);
+    }
+
+    /**
+     * KeyStore PKCS12 contenant la clé de l'autorité sous {@code alias}.
+     */
+    public KeyStore toKeyStore(String alias, String password) throws Exception {
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        keyStore.load(null, null);
+        keyStore.setKeyEntry(alias, keyPair.getPrivate(), password.toCharArray(),
+                new X509Certificate[] { certificate });
+        return keyStore;
+    }
+
+    /**
+     * Magasin de confiance PKCS12 ne contenant que le certificat de l'autorité, sous l'alias {@code ca}.
+     */
+    public KeyStore toTrustStore() throws Exception {
+        KeyStore trustStore = KeyStore.getInstance("PKCS12");
+        trustStore.load(null, null);
+        trustStore.setCertificateEntry("ca", certificate);
+        return trustStore;
+    }
+
+    private static KeyPair generateKeyPair() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance(KEY_ALGORITHM);
+        generator.initialize(new ECGenParameterSpec(CURVE));
+        return generator.generateKeyPair();
+    }
+
+    /**
+     * Construit et signe le TBSCertificate d'un certificat X.509 v3, puis le relit avec la fabrique du JDK.
+     */
+    private static X509Certificate sign(PrivateKey issuerKey, X500Principal issuer, PublicKey issuerPublicKey,
+            X500Principal subject, PublicKey subjectKey, SecureRandom random, Instant now, Duration validity,
+            boolean authority) throws Exception {
+        Instant notBefore = now.minus(BACKDATE).truncatedTo(ChronoUnit.SECONDS);
+        Instant notAfter = now.plus(validity).truncatedTo(ChronoUnit.SECONDS);
+        // Une autorité RSA produite autrefois par keytool signe encore en RSA
+        boolean rsa = "RSA".equals(issuerKey.getAlgorithm());
+        byte[] algorithm = rsa
+                ? Der.sequence(Der.oid(RSA_WITH_SHA256), Der.nul())
+                : Der.sequence(Der.oid(ECDSA_WITH_SHA256));
+
+        byte[] extensions = Der.sequence(
+                extension(BASIC_CONSTRAINTS, true, authority ? Der.sequence(Der.bool(true)) : Der.sequence()),
+                // keyCertSign et cRLSign pour l'autorité, digitalSignature pour les feuilles
+                extension(KEY_USAGE, true, authority
+                        ? Der.bitString(new byte[] { 0x06 }, 1)
+                        : Der.bitString(new byte[] { (byte) 0x80 }, 7)),
+                extension(SUBJECT_KEY_IDENTIFIER, false, Der.octetString(keyIdentifier(subjectKey))),
+                extension(AUTHORITY_KEY_IDENTIFIER, false,
+                        Der.sequence(Der.implicit(0, keyIdentifier(issuerPublicKey)))));
+
+        byte[] tbs = Der.sequence(
+                Der.explicit(0, Der.integer(2)), // v3
+                Der.integer(new BigInteger(64, random).setBit(63)),
+                algorithm,
+                issuer.getEncoded(),
+                Der.sequence(Der.time(notBefore), Der.time(notAfter)),
+                subject.getEncoded(),
+                subjectKey.getEncoded(),
+                Der.explicit(3, extensions));
+
+        Signature signature = Signature.getInstance(rsa ? "SHA256withRSA" : "SHA256withECDSA");
+        signature.initSign(issuerKey, random);
+        signature.update(tbs);
+        byte[] encoded = Der.sequence(tbs, algorithm, Der.bitString(signature.sign(), 0));
+
+        CertificateFactory factory = CertificateFactory.getInstance("X.509");
+        return (X509Certificate) factory.generateCertificate(new ByteArrayInputStream(encoded));
+    }
+
+    private static byte[] extension(String oid, boolean critical, byte[] value) {
+        return critical
+                ? Der.sequence(Der.oid(oid), Der.bool(true), Der.octetString(value))
+                : Der.sequence(Der.oid(oid), Der.octetString(value));
+    }
+
+    /**
+     * Identifiant de clé : les 20 octets du SHA-1 de la clé publique encodée.
+     */
+    private static byte[] keyIdentifier(PublicKey key) throws Exception {
+        return Arrays.copyOf(MessageDigest.getInstance("SHA-1").digest(key.getEncoded()), 20);
+    }
+
+    /**
+     * Échappe une valeur d'attribut selon la RFC 2253 pour qu'un identifiant de joueur ne puisse pas
+     * ajouter de composants au nom distinctif.
+     */
+    static String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 8);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            boolean edgeSpace = c == ' ' && (i == 0 || i == value.length() - 1);
+            if (",+\"\\<>;=".indexOf(c) >= 0 || edgeSpace || (c == '#' && i == 0)) {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
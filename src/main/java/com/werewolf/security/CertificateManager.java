@@ -3,9 +3,16 @@ package com.werewolf.security;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.InputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.security.KeyStore;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.Date;
 
 public class CertificateManager {
 
@@ -23,6 +30,12 @@ public class CertificateManager {
     public static final String CLIENT_KEYSTORE = CERTS_DIR + "client.p12";
     public static final String CLIENT_TRUSTSTORE = CERTS_DIR + "client-truststore.p12";
 
+    private static final String CA_DNAME = "CN=WerewolfCA, OU=GameDev, O=Werewolf, C=FR";
+    private static final String SERVER_DNAME = "CN=WerewolfServer, OU=GameDev, O=Werewolf, C=FR";
+    private static final String CLIENT_DNAME = "CN=WerewolfClient, OU=GameDev, O=Werewolf, C=FR";
+    private static final Duration CA_VALIDITY = Duration.ofDays(3650);
+    private static final Duration LEAF_VALIDITY = Duration.ofDays(365);
+
         /**
          * Charge un {@link KeyStore} depuis un fichier PKCS12.
          *
@@ -69,7 +82,7 @@ public class CertificateManager {
                                 return;
                         }
 
-                        System.out.println("Existing certificate artifacts could not be loaded with the current password. Regenerating...");
+                        System.out.println("Existing certificate artifacts could not be loaded with the current password or have expired. Regenerating...");
                         deleteExpectedFiles(expectedFiles);
                 }
 
@@ -83,29 +96,26 @@ public class CertificateManager {
                 System.out.println("Initializing mTLS Certificate Infrastructure...");
 
                 try {
-                        // Génère la CA (Autorité de certification)
-                        runKeytool("-genkeypair", "-alias", "ca", "-keyalg", "RSA", "-keysize", "2048",
-                                        "-storetype", "PKCS12", "-keystore", CA_KEYSTORE, "-storepass", password,
-                                        "-validity", "3650", "-ext", "bc:c", "-dname", "CN=WerewolfCA, OU=GameDev, O=Werewolf, C=FR");
-
-                        // Exporte le certificat public de la CA
-                        runKeytool("-exportcert", "-alias", "ca", "-keystore", CA_KEYSTORE,
-                                        "-storepass", password, "-file", CA_CERT);
+                        long start = System.nanoTime();
+                        // Génère la CA (Autorité de certification) en mémoire
+                        CertificateAuthority ca = CertificateAuthority.create(CA_DNAME, CA_VALIDITY);
+                        storeKeyStore(ca.toKeyStore("ca", password), CA_KEYSTORE, password);
 
-                        // Génère et signe le certificat serveur
-                        generateAndSignCert("server", "CN=WerewolfServer, OU=GameDev, O=Werewolf, C=FR", SERVER_KEYSTORE, password);
+                        // Exporte le certificat public de la CA (DER, comme keytool -exportcert)
+                        writeAtomically(CA_CERT, ca.getCertificate().getEncoded());
 
-                        // Génère et signe le certificat client
-                        generateAndSignCert("client", "CN=WerewolfClient, OU=GameDev, O=Werewolf, C=FR", CLIENT_KEYSTORE, password);
+                        // Génère et signe les certificats serveur et client
+                        storeKeyStore(ca.issue(SERVER_DNAME, LEAF_VALIDITY).toKeyStore("server", password),
+                                        SERVER_KEYSTORE, password);
+                        storeKeyStore(ca.issue(CLIENT_DNAME, LEAF_VALIDITY).toKeyStore("client", password),
+                                        CLIENT_KEYSTORE, password);
 
-                        // Crée les truststores (importe le certificat CA afin que les deux côtés se fassent confiance)
-                        runKeytool("-importcert", "-alias", "ca", "-keystore", SERVER_TRUSTSTORE,
-                                        "-storepass", password, "-file", CA_CERT, "-noprompt");
+                        // Crée les truststores (certificat CA seul, afin que les deux côtés se fassent confiance)
+                        storeKeyStore(ca.toTrustStore(), SERVER_TRUSTSTORE, password);
+                        storeKeyStore(ca.toTrustStore(), CLIENT_TRUSTSTORE, password);
 
-                        runKeytool("-importcert", "-alias", "ca", "-keystore", CLIENT_TRUSTSTORE,
-                                        "-storepass", password, "-file", CA_CERT, "-noprompt");
-
-                        System.out.println("mTLS Infrastructure generated successfully in " + CERTS_DIR + " folder.");
+                        System.out.println("mTLS Infrastructure generated successfully in " + CERTS_DIR + " folder ("
+                                        + (System.nanoTime() - start) / 1_000_000 + " ms).");
 
                 } catch (Exception e) {
                         e.printStackTrace();
@@ -116,10 +126,14 @@ public class CertificateManager {
         private static boolean areExistingCertificatesUsable(String password) {
                 try {
                         loadKeyStore(CA_KEYSTORE, password);
-                        loadKeyStore(SERVER_KEYSTORE, password);
-                        loadKeyStore(CLIENT_KEYSTORE, password);
+                        KeyStore serverStore = loadKeyStore(SERVER_KEYSTORE, password);
+                        KeyStore clientStore = loadKeyStore(CLIENT_KEYSTORE, password);
                         loadKeyStore(SERVER_TRUSTSTORE, password);
                         loadKeyStore(CLIENT_TRUSTSTORE, password);
+                        // Un certificat expiré est régénéré comme un magasin illisible
+                        Date now = new Date();
+                        ((X509Certificate) serverStore.getCertificate("server")).checkValidity(now);
+                        ((X509Certificate) clientStore.getCertificate("client")).checkValidity(now);
                         return true;
                 } catch (Exception e) {
                         return false;
@@ -136,72 +150,23 @@ public class CertificateManager {
         }
 
     /**
-     * Méthode utilitaire pour générer une paire de clés, créer une CSR, la faire signer par la CA,
-     * puis l'importer dans le keystore.
+     * Enregistre un KeyStore PKCS12 via un fichier temporaire renommé : un rechargement à chaud
+     * ne voit jamais de magasin à moitié écrit.
      */
-    private static void generateAndSignCert(String alias, String dname, String keystorePath, String password)
-            throws Exception {
-        String csrFile = CERTS_DIR + alias + ".csr";
-        String crtFile = CERTS_DIR + alias + ".crt";
-
-        // Génère une paire de clés
-        runKeytool("-genkeypair", "-alias", alias, "-keyalg", "RSA", "-keysize", "2048",
-                "-storetype", "PKCS12", "-keystore", keystorePath, "-storepass", password,
-                "-validity", "365", "-dname", dname);
-
-        // Génère une demande de signature de certificat (CSR)
-        runKeytool("-certreq", "-alias", alias, "-keystore", keystorePath,
-                "-storepass", password, "-file", csrFile);
-
-        // La CA signe la CSR
-        runKeytool("-gencert", "-alias", "ca", "-keystore", CA_KEYSTORE, "-storepass", password,
-                "-infile", csrFile, "-outfile", crtFile, "-validity", "365");
-
-        // Importe le certificat CA dans le keystore cible (nécessaire pour établir la chaîne)
-        runKeytool("-importcert", "-alias", "ca", "-keystore", keystorePath,
-                "-storepass", password, "-file", CA_CERT, "-noprompt");
-
-        // Importe le certificat nouvellement signé dans le keystore
-        runKeytool("-importcert", "-alias", alias, "-keystore", keystorePath,
-                "-storepass", password, "-file", crtFile);
-
-        // Nettoie les fichiers temporaires CSR et CRT
-        new File(csrFile).delete();
-        new File(crtFile).delete();
+    private static void storeKeyStore(KeyStore keyStore, String path, String password) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        keyStore.store(out, password.toCharArray());
+        writeAtomically(path, out.toByteArray());
     }
 
-        /**
-         * Utilitaire pour exécuter des commandes keytool via ProcessBuilder.
-         * Résout le chemin de keytool depuis le `java.home` courant pour éviter les problèmes de PATH.
-         * Capture stdout/stderr pour inclure la sortie dans les erreurs éventuelles.
-         */
-        private static void runKeytool(String... args) throws Exception {
-        String keytoolPath = System.getProperty("java.home") + File.separator + "bin"
-                + File.separator + "keytool"
-                + (System.getProperty("os.name", "").toLowerCase().contains("win") ? ".exe" : "");
-
-        String[] command = new String[args.length + 1];
-        command[0] = keytoolPath;
-        System.arraycopy(args, 0, command, 1, args.length);
-
-        ProcessBuilder pb = new ProcessBuilder(command);
-        pb.redirectErrorStream(true); // Fusionne stderr dans stdout pour éviter tout blocage
-
-        Process process = pb.start();
-
-        // Lit toute la sortie avant d'attendre pour éviter un blocage dû à un tampon plein
-        String output;
-        try (InputStream is = process.getInputStream();
-             ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-            is.transferTo(baos);
-            output = baos.toString();
-        }
-
-        int exitCode = process.waitFor();
-
-        if (exitCode != 0) {
-            throw new RuntimeException("Keytool command failed with exit code " + exitCode
-                    + ": " + Arrays.toString(command) + "\nOutput: " + output);
+    private static void writeAtomically(String path, byte[] content) throws IOException {
+        Path target = Path.of(path);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.write(temp, content);
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
         }
     }
 }
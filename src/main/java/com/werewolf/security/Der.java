@@ -0,0 +1,136 @@
+package com.werewolf.security;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Encodeur DER minimal, limité aux structures d'un certificat X.509 v3 (RFC 5280).
+ * Le JDK sait lire et signer des certificats mais n'expose aucune API publique pour en construire :
+ * les quelques types ASN.1 nécessaires sont donc encodés ici.
+ */
+final class Der {
+    private static final int BOOLEAN = 0x01;
+    private static final int INTEGER = 0x02;
+    private static final int BIT_STRING = 0x03;
+    private static final int OCTET_STRING = 0x04;
+    private static final int NULL = 0x05;
+    private static final int OID = 0x06;
+    private static final int UTC_TIME = 0x17;
+    private static final int GENERALIZED_TIME = 0x18;
+    private static final int SEQUENCE = 0x30;
+
+    private static final DateTimeFormatter UTC_TIME_FORMAT = DateTimeFormatter.ofPattern("yyMMddHHmmss'Z'");
+    private static final DateTimeFormatter GENERALIZED_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmss'Z'");
+
+    private Der() {
+    }
+
+    static byte[] sequence(byte[]... elements) {
+        return tlv(SEQUENCE, concat(elements));
+    }
+
+    static byte[] integer(BigInteger value) {
+        return tlv(INTEGER, value.toByteArray());
+    }
+
+    static byte[] integer(long value) {
+        return integer(BigInteger.valueOf(value));
+    }
+
+    static byte[] bool(boolean value) {
+        return tlv(BOOLEAN, new byte[] { (byte) (value ? 0xFF : 0x00) });
+    }
+
+    static byte[] nul() {
+        return tlv(NULL, new byte[0]);
+    }
+
+    static byte[] octetString(byte[] value) {
+        return tlv(OCTET_STRING, value);
+    }
+
+    /**
+     * Chaîne de bits dont les {@code unusedBits} derniers bits du dernier octet ne comptent pas.
+     */
+    static byte[] bitString(byte[] value, int unusedBits) {
+        byte[] content = new byte[value.length + 1];
+        content[0] = (byte) unusedBits;
+        System.arraycopy(value, 0, content, 1, value.length);
+        return tlv(BIT_STRING, content);
+    }
+
+    /**
+     * Identifiant d'objet sous forme pointée, par exemple {@code "2.5.29.19"}.
+     */
+    static byte[] oid(String dotted) {
+        String[] parts = dotted.split("\\.");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(Integer.parseInt(parts[0]) * 40 + Integer.parseInt(parts[1]));
+        for (int i = 2; i < parts.length; i++) {
+            long arc = Long.parseLong(parts[i]);
+            // Base 128, bit de poids fort à 1 sur tous les octets sauf le dernier
+            int shift = (63 - Long.numberOfLeadingZeros(arc | 1)) / 7 * 7;
+            for (; shift > 0; shift -= 7) {
+                out.write((int) ((arc >>> shift) & 0x7F) | 0x80);
+            }
+            out.write((int) (arc & 0x7F));
+        }
+        return tlv(OID, out.toByteArray());
+    }
+
+    /**
+     * Date au format imposé par la RFC 5280 : UTCTime jusqu'en 2049, GeneralizedTime ensuite.
+     */
+    static byte[] time(Instant instant) {
+        ZonedDateTime utc = instant.atZone(ZoneOffset.UTC);
+        if (utc.getYear() < 2050) {
+            return tlv(UTC_TIME, UTC_TIME_FORMAT.format(utc).getBytes(StandardCharsets.US_ASCII));
+        }
+        return tlv(GENERALIZED_TIME, GENERALIZED_TIME_FORMAT.format(utc).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Marquage explicite {@code [tag]} d'un élément déjà encodé.
+     */
+    static byte[] explicit(int tag, byte[] element) {
+        return tlv(0xA0 | tag, element);
+    }
+
+    /**
+     * Marquage implicite {@code [tag]} d'un contenu primitif.
+     */
+    static byte[] implicit(int tag, byte[] content) {
+        return tlv(0x80 | tag, content);
+    }
+
+    private static byte[] tlv(int tag, byte[] content) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(content.length + 6);
+        out.write(tag);
+        int length = content.length;
+        if (length < 0x80) {
+            out.write(length);
+        } else {
+            // Forme longue : nombre d'octets de la longueur, puis la longueur en gros-boutiste
+            int bytes = (32 - Integer.numberOfLeadingZeros(length) + 7) / 8;
+            out.write(0x80 | bytes);
+            for (int i = bytes - 1; i >= 0; i--) {
+                out.write(length >>> (i * 8));
+            }
+        }
+        out.writeBytes(content);
+        return out.toByteArray();
+    }
+
+    static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.writeBytes(part);
+        }
+        return out.toByteArray();
+    }
+}
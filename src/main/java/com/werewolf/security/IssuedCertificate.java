@@ -0,0 +1,50 @@
+package com.werewolf.security;
+
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.cert.X509Certificate;
+import java.time.Instant;
+
+/**
+ * Certificat délivré par une {@link CertificateAuthority}, avec sa clé privée et la chaîne jusqu'à l'autorité.
+ */
+public final class IssuedCertificate {
+    private final PrivateKey privateKey;
+    private final X509Certificate[] chain;
+
+    IssuedCertificate(PrivateKey privateKey, X509Certificate certificate, X509Certificate issuer) {
+        this.privateKey = privateKey;
+        this.chain = new X509Certificate[] { certificate, issuer };
+    }
+
+    public X509Certificate getCertificate() {
+        return chain[0];
+    }
+
+    public PrivateKey getPrivateKey() {
+        return privateKey;
+    }
+
+    /**
+     * @return le certificat suivi de celui de l'autorité qui l'a signé
+     */
+    public X509Certificate[] getChain() {
+        return chain.clone();
+    }
+
+    public Instant getNotAfter() {
+        return chain[0].getNotAfter().toInstant();
+    }
+
+    /**
+     * Construit un KeyStore PKCS12 en mémoire contenant la clé sous {@code alias} et le certificat de l'autorité
+     * sous l'alias {@code ca}, comme les magasins écrits par {@link CertificateManager}.
+     */
+    public KeyStore toKeyStore(String alias, String password) throws Exception {
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        keyStore.load(null, null);
+        keyStore.setKeyEntry(alias, privateKey, password.toCharArray(), chain);
+        keyStore.setCertificateEntry("ca", chain[1]);
+        return keyStore;
+    }
+}
@@ -0,0 +1,251 @@
+package com.werewolf.security;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.security.Principal;
+import java.security.PrivateKey;
+import java.security.cert.CertificateException;
+import java.security.cert.X509Certificate;
+
+import javax.net.ssl.KeyManager;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.TrustManagerFactory;
+import javax.net.ssl.X509ExtendedKeyManager;
+import javax.net.ssl.X509ExtendedTrustManager;
+
+/**
+ * Identité et magasin de confiance d'un {@link javax.net.ssl.SSLContext}, rechargés à chaud.
+ * Le contexte garde les mêmes gestionnaires toute sa vie ; ceux-ci délèguent aux magasins chargés en dernier,
+ * relus dès que la date ou la taille d'un fichier change. Remplacer les certificats ne vide donc ni le cache
+ * de sessions ni les clés des tickets : les clients déjà connus reprennent leur session.
+ * Un fichier absent ou illisible (en cours de réécriture, par exemple) laisse les magasins précédents en place.
+ */
+final class ReloadingKeyMaterial {
+    private final Path keyStorePath;
+    private final String keyStorePassword;
+    private final Path trustStorePath;
+    private final String trustStorePassword;
+    // Délai minimal entre deux vérifications des fichiers depuis les négociations
+    private final long checkIntervalMs;
+
+    private volatile Loaded current;
+    private volatile long nextCheck;
+    private volatile int reloads;
+
+    ReloadingKeyMaterial(Path keyStorePath, String keyStorePassword, Path trustStorePath, String trustStorePassword,
+            long checkIntervalMs) throws Exception {
+        this.keyStorePath = keyStorePath;
+        this.keyStorePassword = keyStorePassword;
+        this.trustStorePath = trustStorePath;
+        this.trustStorePassword = trustStorePassword;
+        this.checkIntervalMs = checkIntervalMs;
+        this.current = load(Stamp.of(keyStorePath), Stamp.of(trustStorePath));
+        this.nextCheck = System.currentTimeMillis() + checkIntervalMs;
+    }
+
+    KeyManager[] getKeyManagers() {
+        return new KeyManager[] { new DelegatingKeyManager() };
+    }
+
+    TrustManager[] getTrustManagers() {
+        return new TrustManager[] { new DelegatingTrustManager() };
+    }
+
+    /**
+     * @return le nombre de rechargements effectués depuis le chargement initial
+     */
+    int getReloadCount() {
+        return reloads;
+    }
+
+    /**
+     * Relit les magasins s'ils ont changé sur le disque, sans attendre la prochaine vérification.
+     */
+    synchronized void refresh() {
+        nextCheck = System.currentTimeMillis() + checkIntervalMs;
+        Loaded loaded = current;
+        Stamp keyStamp = Stamp.of(keyStorePath);
+        Stamp trustStamp = Stamp.of(trustStorePath);
+        // Un fichier momentanément absent (en cours de remplacement) ne déclenche pas de rechargement
+        if (keyStamp == Stamp.MISSING || trustStamp == Stamp.MISSING
+                || (loaded.keyStamp.equals(keyStamp) && loaded.trustStamp.equals(trustStamp))) {
+            return;
+        }
+        try {
+            current = load(keyStamp, trustStamp);
+            reloads++;
+            System.out.println("TLS key material reloaded from " + keyStorePath + " and " + trustStorePath);
+        } catch (Exception e) {
+            System.err.println("TLS key material reload failed, keeping the previous stores: " + e.getMessage());
+        }
+    }
+
+    private Loaded current() {
+        if (System.currentTimeMillis() >= nextCheck) {
+            refresh();
+        }
+        return current;
+    }
+
+    /**
+     * Les relevés sont pris avant la lecture : une réécriture pendant le chargement sera vue à la vérification suivante.
+     */
+    private Loaded load(Stamp keyStamp, Stamp trustStamp) throws Exception {
+        KeyStore keyStore = CertificateManager.loadKeyStore(keyStorePath.toString(), keyStorePassword);
+        KeyManagerFactory kmf = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        kmf.init(keyStore, keyStorePassword.toCharArray());
+
+        KeyStore trustStore = CertificateManager.loadKeyStore(trustStorePath.toString(), trustStorePassword);
+        TrustManagerFactory tmf = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        tmf.init(trustStore);
+
+        return new Loaded(find(kmf.getKeyManagers(), X509ExtendedKeyManager.class),
+                find(tmf.getTrustManagers(), X509ExtendedTrustManager.class), keyStamp, trustStamp);
+    }
+
+    private static <T> T find(Object[] managers, Class<T> type) {
+        for (Object manager : managers) {
+            if (type.isInstance(manager)) {
+                return type.cast(manager);
+            }
+        }
+        throw new IllegalStateException("No " + type.getSimpleName() + " available");
+    }
+
+    private static final class Loaded {
+        final X509ExtendedKeyManager keyManager;
+        final X509ExtendedTrustManager trustManager;
+        final Stamp keyStamp;
+        final Stamp trustStamp;
+
+        Loaded(X509ExtendedKeyManager keyManager, X509ExtendedTrustManager trustManager, Stamp keyStamp,
+                Stamp trustStamp) {
+            this.keyManager = keyManager;
+            this.trustManager = trustManager;
+            this.keyStamp = keyStamp;
+            this.trustStamp = trustStamp;
+        }
+    }
+
+    /**
+     * Date de modification et taille d'un fichier ; {@link #MISSING} si le fichier n'existe pas.
+     */
+    private static final class Stamp {
+        static final Stamp MISSING = new Stamp(-1, -1);
+
+        final long modified;
+        final long size;
+
+        Stamp(long modified, long size) {
+            this.modified = modified;
+            this.size = size;
+        }
+
+        static Stamp of(Path path) {
+            try {
+                return new Stamp(Files.getLastModifiedTime(path).toMillis(), Files.size(path));
+            } catch (IOException e) {
+                return MISSING;
+            }
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Stamp && ((Stamp) other).modified == modified && ((Stamp) other).size == size;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(modified) * 31 + Long.hashCode(size);
+        }
+    }
+
+    private final class DelegatingKeyManager extends X509ExtendedKeyManager {
+        @Override
+        public String[] getClientAliases(String keyType, Principal[] issuers) {
+            return current().keyManager.getClientAliases(keyType, issuers);
+        }
+
+        @Override
+        public String chooseClientAlias(String[] keyType, Principal[] issuers, Socket socket) {
+            return current().keyManager.chooseClientAlias(keyType, issuers, socket);
+        }
+
+        @Override
+        public String chooseEngineClientAlias(String[] keyType, Principal[] issuers, SSLEngine engine) {
+            return current().keyManager.chooseEngineClientAlias(keyType, issuers, engine);
+        }
+
+        @Override
+        public String[] getServerAliases(String keyType, Principal[] issuers) {
+            return current().keyManager.getServerAliases(keyType, issuers);
+        }
+
+        @Override
+        public String chooseServerAlias(String keyType, Principal[] issuers, Socket socket) {
+            return current().keyManager.chooseServerAlias(keyType, issuers, socket);
+        }
+
+        @Override
+        public String chooseEngineServerAlias(String keyType, Principal[] issuers, SSLEngine engine) {
+            return current().keyManager.chooseEngineServerAlias(keyType, issuers, engine);
+        }
+
+        // Pas de vérification ici : la chaîne et la clé doivent venir des magasins qui ont choisi l'alias
+        @Override
+        public X509Certificate[] getCertificateChain(String alias) {
+            return current.keyManager.getCertificateChain(alias);
+        }
+
+        @Override
+        public PrivateKey getPrivateKey(String alias) {
+            return current.keyManager.getPrivateKey(alias);
+        }
+    }
+
+    private final class DelegatingTrustManager extends X509ExtendedTrustManager {
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType) throws CertificateException {
+            current().trustManager.checkClientTrusted(chain, authType);
+        }
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType, Socket socket)
+                throws CertificateException {
+            current().trustManager.checkClientTrusted(chain, authType, socket);
+        }
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType, SSLEngine engine)
+                throws CertificateException {
+            current().trustManager.checkClientTrusted(chain, authType, engine);
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType) throws CertificateException {
+            current().trustManager.checkServerTrusted(chain, authType);
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType, Socket socket)
+                throws CertificateException {
+            current().trustManager.checkServerTrusted(chain, authType, socket);
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType, SSLEngine engine)
+                throws CertificateException {
+            current().trustManager.checkServerTrusted(chain, authType, engine);
+        }
+
+        @Override
+        public X509Certificate[] getAcceptedIssuers() {
+            return current().trustManager.getAcceptedIssuers();
+        }
+    }
+}
@@ -1,66 +1,123 @@
 package com.werewolf.security;
 
-import java.security.KeyStore;
+import java.nio.file.Path;
 import java.security.SecureRandom;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-import javax.net.ssl.KeyManagerFactory;
 import javax.net.ssl.SSLContext;
-import javax.net.ssl.TrustManagerFactory;
+import javax.net.ssl.SSLSession;
 
 /**
  * Fabrique utilisée pour générer des {@link SSLContext} en utilisant {@link CertificateManager}.
  * Cette fabrique fournit des sockets sécurisés (mTLS).
+ * Les contextes sont partagés par tout le processus : un même jeu de magasins donne toujours le même contexte,
+ * donc le même cache de sessions. Un client qui se reconnecte présente son ticket TLS 1.3 et reprend sa session
+ * en un aller-retour, sans nouvel échange de certificats. Les magasins sont relus à chaud lorsqu'ils changent
+ * sur le disque (voir {@link ReloadingKeyMaterial}).
  */
 public class SSLContextFactory {
     private static final String TLS_VERSION = "TLSv1.3"; // Standard moderne
+    // Vérification des fichiers des magasins au plus une fois par seconde depuis les négociations
+    private static final long RELOAD_CHECK_INTERVAL_MS = 1_000;
+    // Durée de validité d'une session, donc d'un ticket : couvre une soirée de jeu et ses coupures
+    private static final int SESSION_TIMEOUT_SECONDS = 4 * 3600;
+    private static final int SERVER_SESSION_CACHE_SIZE = 20_000;
+    // Le client ne parle qu'à un ou deux serveurs
+    private static final int CLIENT_SESSION_CACHE_SIZE = 16;
+
+    private static final Map<String, Cached> CONTEXTS = new ConcurrentHashMap<>();
+
+    static {
+        // Tickets de session sans état, côté serveur comme côté client (valeur par défaut des JDK récents, forcée ici)
+        enableIfUnset("jdk.tls.server.enableSessionTicketExtension");
+        enableIfUnset("jdk.tls.client.enableSessionTicketExtension");
+    }
+
+    private static void enableIfUnset(String property) {
+        if (System.getProperty(property) == null) {
+            System.setProperty(property, "true");
+        }
+    }
+
+    private static final class Cached {
+        final SSLContext context;
+        final ReloadingKeyMaterial material;
+
+        Cached(SSLContext context, ReloadingKeyMaterial material) {
+            this.context = context;
+            this.material = material;
+        }
+    }
 
     /**
-     * Crée un {@link SSLContext} côté serveur configuré pour le mTLS.
+     * Renvoie le {@link SSLContext} côté serveur configuré pour le mTLS.
      * Nécessite un KeyStore (identité du serveur) et un TrustStore (pour valider
      * l'identité des clients).
      */
     public static SSLContext createServerSSLContext(String keyStorePath, String keyStorePassword,
             String trustStorePath, String trustStorePassword) throws Exception {
-
-        // Initialise le KeyManager (identité du serveur)
-        KeyStore keyStore = CertificateManager.loadKeyStore(keyStorePath, keyStorePassword);
-        KeyManagerFactory kmf = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
-        kmf.init(keyStore, keyStorePassword.toCharArray());
-
-        // Initialise le TrustManager (validation des clients)
-        KeyStore trustStore = CertificateManager.loadKeyStore(trustStorePath, trustStorePassword);
-        TrustManagerFactory tmf = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
-        tmf.init(trustStore);
-
-        // Crée et initialise le SSLContext
-        SSLContext sslContext = SSLContext.getInstance(TLS_VERSION);
-        sslContext.init(kmf.getKeyManagers(), tmf.getTrustManagers(), new SecureRandom());
-
-        return sslContext;
+        return getOrCreate(true, keyStorePath, keyStorePassword, trustStorePath, trustStorePassword);
     }
 
     /**
-     * Crée un {@link SSLContext} côté client configuré pour le mTLS.
+     * Renvoie le {@link SSLContext} côté client configuré pour le mTLS.
      * Nécessite un KeyStore (identité du client) et un TrustStore (pour valider
      * l'identité du serveur).
      */
     public static SSLContext createClientSSLContext(String keyStorePath, String keyStorePassword,
             String trustStorePath, String trustStorePassword) throws Exception {
+        return getOrCreate(false, keyStorePath, keyStorePassword, trustStorePath, trustStorePassword);
+    }
 
-        // Initialise le KeyManager (identité du client)
-        KeyStore keyStore = CertificateManager.loadKeyStore(keyStorePath, keyStorePassword);
-        KeyManagerFactory kmf = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
-        kmf.init(keyStore, keyStorePassword.toCharArray());
+    private static SSLContext getOrCreate(boolean server, String keyStorePath, String keyStorePassword,
+            String trustStorePath, String trustStorePassword) throws Exception {
+        String key = (server ? "server" : "client") + '\0' + keyStorePath + '\0' + keyStorePassword + '\0'
+                + trustStorePath + '\0' + trustStorePassword;
+        Cached cached = CONTEXTS.get(key);
+        if (cached == null) {
+            synchronized (CONTEXTS) {
+                cached = CONTEXTS.get(key);
+                if (cached == null) {
+                    cached = create(server, keyStorePath, keyStorePassword, trustStorePath, trustStorePassword);
+                    CONTEXTS.put(key, cached);
+                    return cached.context;
+                }
+            }
+        }
+        // Les demandes de contexte sont rares (démarrage, connexion) : les fichiers sont vérifiés à chaque fois
+        cached.material.refresh();
+        return cached.context;
+    }
 
-        // Initialise le TrustManager (validation du serveur)
-        KeyStore trustStore = CertificateManager.loadKeyStore(trustStorePath, trustStorePassword);
-        TrustManagerFactory tmf = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
-        tmf.init(trustStore);
+    private static Cached create(boolean server, String keyStorePath, String keyStorePassword,
+            String trustStorePath, String trustStorePassword) throws Exception {
+        // Identité et validation du pair, relues à chaud
+        ReloadingKeyMaterial material = new ReloadingKeyMaterial(Path.of(keyStorePath), keyStorePassword,
+                Path.of(trustStorePath), trustStorePassword, RELOAD_CHECK_INTERVAL_MS);
 
         // Crée et initialise le SSLContext
         SSLContext sslContext = SSLContext.getInstance(TLS_VERSION);
-        sslContext.init(kmf.getKeyManagers(), tmf.getTrustManagers(), new SecureRandom());
+        sslContext.init(material.getKeyManagers(), material.getTrustManagers(), new SecureRandom());
+
+        if (server) {
+            sslContext.getServerSessionContext().setSessionTimeout(SESSION_TIMEOUT_SECONDS);
+            sslContext.getServerSessionContext().setSessionCacheSize(SERVER_SESSION_CACHE_SIZE);
+        } else {
+            sslContext.getClientSessionContext().setSessionTimeout(SESSION_TIMEOUT_SECONDS);
+            sslContext.getClientSessionContext().setSessionCacheSize(CLIENT_SESSION_CACHE_SIZE);
+        }
+        return new Cached(sslContext, material);
+    }
 
-        return sslContext;
+    /**
+     * Indique si une négociation a repris une session existante plutôt que d'en établir une nouvelle.
+     * Une session reprise par ticket conserve la date de création de la session d'origine, antérieure
+     * au début de la négociation.
+     *
+     * @param handshakeStartMillis instant où la négociation a commencé (ou la connexion a été acceptée)
+     */
+    public static boolean isResumed(SSLSession session, long handshakeStartMillis) {
+        return session != null && session.isValid() && session.getCreationTime() < handshakeStartMillis;
     }
 }
@@ -0,0 +1,22 @@
+package com.werewolf.simulation;
+
+import com.werewolf.game.GameSession;
+import com.werewolf.game.Player;
+import com.werewolf.game.action.ActionType;
+
+import java.util.Random;
+
+/**
+ * Comportement d'un joueur simulé.
+ */
+public interface BotStrategy {
+    /**
+     * @return l'identifiant de la cible de l'action de nuit, ou {@code null} pour ne rien faire
+     */
+    String chooseNightTarget(Player self, ActionType action, GameSession session, Random random);
+
+    /**
+     * @return l'identifiant du joueur contre qui voter, ou {@code null} pour s'abstenir
+     */
+    String chooseVote(Player self, GameSession session, Random random);
+}
@@ -0,0 +1,48 @@
+package com.werewolf.simulation;
+
+import com.werewolf.game.role.Faction;
+
+/**
+ * Issue d'une partie simulée.
+ */
+public final class GameResult {
+    private final int players;
+    private final Faction winner;
+    private final int nights;
+    private final long durationMs;
+
+    public GameResult(int players, Faction winner, int nights, long durationMs) {
+        this.players = players;
+        this.winner = winner;
+        this.nights = nights;
+        this.durationMs = durationMs;
+    }
+
+    public int getPlayers() {
+        return players;
+    }
+
+    /**
+     * @return le camp vainqueur, ou {@code null} si la partie a été interrompue
+     */
+    public Faction getWinner() {
+        return winner;
+    }
+
+    public int getNights() {
+        return nights;
+    }
+
+    /**
+     * @return la durée de la partie en temps de jeu (horloge virtuelle)
+     */
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    @Override
+    public String toString() {
+        return "GameResult{players=" + players + ", winner=" + winner + ", nights=" + nights
+                + ", duration=" + durationMs + "ms}";
+    }
+}
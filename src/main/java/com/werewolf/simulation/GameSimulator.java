@@ -0,0 +1,132 @@
+package com.werewolf.simulation;
+
+import com.werewolf.game.GameManager;
+import com.werewolf.game.GameSession;
+import com.werewolf.game.GameState;
+import com.werewolf.game.PhaseConfig;
+import com.werewolf.game.Player;
+import com.werewolf.game.PlayerMessenger;
+import com.werewolf.game.SessionMailbox;
+import com.werewolf.game.action.ActionType;
+import com.werewolf.game.replay.InputLog;
+import com.werewolf.game.role.RoleDefinition;
+import com.werewolf.game.role.RoleRegistry;
+import com.werewolf.network.shared.GameCommand;
+
+import java.util.Random;
+
+/**
+ * Joue une partie complète sans réseau : le vrai {@link GameManager}, une boîte aux lettres exécutée
+ * sur le thread appelant, une {@link VirtualClock} à la place de la roue temporelle, et des bots
+ * à la place des clients. Sans état propre : une même instance sert à tous les threads.
+ */
+public class GameSimulator {
+    // Garde-fou contre une partie qui ne se terminerait pas (stratégie qui s'abstient toujours, par exemple)
+    static final int MAX_PHASES = 1_000;
+
+    private final RoleRegistry roles;
+    private final PhaseConfig phaseConfig;
+    private final BotStrategy bot;
+
+    public GameSimulator() {
+        this(RoleRegistry.getDefault(), PhaseConfig.DEFAULT, RandomBot.INSTANCE);
+    }
+
+    public GameSimulator(RoleRegistry roles, PhaseConfig phaseConfig, BotStrategy bot) {
+        this.roles = roles;
+        this.phaseConfig = phaseConfig;
+        this.bot = bot;
+    }
+
+    public GameResult play(int playerCount, long seed) {
+        return play(playerCount, seed, InputLog.NONE);
+    }
+
+    /**
+     * Joue une partie en enregistrant ses entrées dans {@code inputLog}, pour la rejouer ensuite.
+     */
+    public GameResult play(int playerCount, long seed, InputLog inputLog) {
+        // Flux distinct de celui de la partie : les bots ne rejouent pas la distribution des rôles
+        Random random = new Random(~seed);
+        VirtualClock clock = new VirtualClock();
+        GameSession session = new GameSession("sim-" + seed);
+        SessionMailbox mailbox = new SessionMailbox(session.getSessionId(), Runnable::run);
+        GameManager manager = new GameManager(session, PlayerMessenger.DISCARD, mailbox, clock, phaseConfig, roles,
+                seed);
+        manager.setInputLog(inputLog);
+
+        for (int i = 0; i < playerCount; i++) {
+            manager.addPlayer("bot-" + i, "Bot" + i);
+        }
+        if (!manager.startGame(session.getAdminId()).isSuccess()) {
+            return new GameResult(playerCount, null, 0, 0);
+        }
+
+        int nights = 0;
+        for (int phases = 0; phases < MAX_PHASES; phases++) {
+            GameState phase = session.getCurrentPhase();
+            if (phase == GameState.GAME_OVER) {
+                break;
+            }
+            switch (phase) {
+                case NIGHT -> {
+                    nights++;
+                    playNight(session, manager, random);
+                }
+                case DAY_DISCUSSION -> playDiscussion(session, manager);
+                case DAY_VOTING -> playVote(session, manager, random);
+                default -> {
+                }
+            }
+            // Tout le monde n'a pas joué : l'échéance de la phase la clôt
+            if (session.getCurrentPhase() == phase && !clock.advance()) {
+                break;
+            }
+        }
+
+        manager.shutdown();
+        return new GameResult(playerCount, manager.getWinner(), nights, clock.currentTimeMillis());
+    }
+
+    private void playNight(GameSession session, GameManager manager, Random random) {
+        for (Player player : session.getAlivePlayers()) {
+            RoleDefinition definition = roles.definitionOf(player.getRole());
+            if (definition == null || !definition.hasNightAction()) {
+                continue;
+            }
+            ActionType action = definition.getNightAction();
+            String target = bot.chooseNightTarget(player, action, session, random);
+            if (target != null) {
+                manager.handleCommand(player.getId(), new GameCommand(action, target));
+            }
+            if (session.getCurrentPhase() != GameState.NIGHT) {
+                return;
+            }
+        }
+    }
+
+    private void playDiscussion(GameSession session, GameManager manager) {
+        for (Player player : session.getAlivePlayers()) {
+            manager.handleReady(player.getId());
+            if (session.getCurrentPhase() != GameState.DAY_DISCUSSION) {
+                return;
+            }
+        }
+    }
+
+    private void playVote(GameSession session, GameManager manager, Random random) {
+        for (Player player : session.getAlivePlayers()) {
+            String target = bot.chooseVote(player, session, random);
+            if (target != null) {
+                manager.handleCommand(player.getId(), new GameCommand(ActionType.VOTE, target));
+            }
+            if (session.getCurrentPhase() != GameState.DAY_VOTING) {
+                return;
+            }
+        }
+    }
+
+    public RoleRegistry getRoles() {
+        return roles;
+    }
+}
@@ -0,0 +1,48 @@
+package com.werewolf.simulation;
+
+import com.werewolf.game.GameSession;
+import com.werewolf.game.Player;
+import com.werewolf.game.action.ActionType;
+import com.werewolf.game.role.Faction;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Joueur au hasard, avec la seule connaissance que le jeu donne : les loups se connaissent entre eux
+ * et ne se ciblent pas ; le médecin peut se protéger lui-même ; les autres ne se ciblent jamais.
+ */
+public class RandomBot implements BotStrategy {
+    public static final RandomBot INSTANCE = new RandomBot();
+
+    @Override
+    public String chooseNightTarget(Player self, ActionType action, GameSession session, Random random) {
+        return pick(self, session, random, action == ActionType.HEAL);
+    }
+
+    @Override
+    public String chooseVote(Player self, GameSession session, Random random) {
+        return pick(self, session, random, false);
+    }
+
+    private static String pick(Player self, GameSession session, Random random, boolean allowSelf) {
+        List<Player> alive = session.getAlivePlayers();
+        boolean wolf = isWolf(self);
+        // Tirage par rejet : pas de liste intermédiaire
+        for (int attempt = 0; attempt < 4 * alive.size(); attempt++) {
+            Player candidate = alive.get(random.nextInt(alive.size()));
+            if (candidate == self && !allowSelf) {
+                continue;
+            }
+            if (wolf && candidate != self && isWolf(candidate)) {
+                continue;
+            }
+            return candidate.getId();
+        }
+        return null;
+    }
+
+    private static boolean isWolf(Player player) {
+        return player.getRole() != null && player.getRole().getFaction() == Faction.WEREWOLVES;
+    }
+}
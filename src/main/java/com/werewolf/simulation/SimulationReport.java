@@ -0,0 +1,131 @@
+package com.werewolf.simulation;
+
+import com.werewolf.game.role.Faction;
+import com.werewolf.game.role.PlayerRole;
+import com.werewolf.game.role.RoleDefinition;
+import com.werewolf.game.role.RoleRegistry;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Taux de victoire par composition de rôles. La composition ne dépend que du nombre de joueurs,
+ * si bien que les résultats sont regroupés par taille de table. Chaque lot de parties remplit son
+ * propre rapport ; les rapports sont ensuite fusionnés.
+ */
+public class SimulationReport {
+    private final Map<Integer, Row> rows = new TreeMap<>();
+
+    public void record(GameResult result) {
+        Row row = rows.computeIfAbsent(result.getPlayers(), players -> new Row());
+        row.games++;
+        row.nights += result.getNights();
+        row.durationMs += result.getDurationMs();
+        if (result.getWinner() != null) {
+            row.wins[result.getWinner().ordinal()]++;
+        } else {
+            row.unfinished++;
+        }
+    }
+
+    public SimulationReport merge(SimulationReport other) {
+        other.rows.forEach((players, row) -> rows.computeIfAbsent(players, p -> new Row()).add(row));
+        return this;
+    }
+
+    public long getGames() {
+        long games = 0;
+        for (Row row : rows.values()) {
+            games += row.games;
+        }
+        return games;
+    }
+
+    public long getGames(int players) {
+        Row row = rows.get(players);
+        return row != null ? row.games : 0;
+    }
+
+    public long getWins(int players, Faction faction) {
+        Row row = rows.get(players);
+        return row != null ? row.wins[faction.ordinal()] : 0;
+    }
+
+    public long getUnfinished() {
+        long unfinished = 0;
+        for (Row row : rows.values()) {
+            unfinished += row.unfinished;
+        }
+        return unfinished;
+    }
+
+    /**
+     * @return le taux de victoire du camp pour cette taille de table, entre 0 et 1
+     */
+    public double winRate(int players, Faction faction) {
+        long games = getGames(players);
+        return games == 0 ? 0 : (double) getWins(players, faction) / games;
+    }
+
+    /**
+     * @return par exemple {@code "2 Werewolf, Seer, Medic, 4 Villager"}
+     */
+    public static String composition(RoleRegistry roles, int players) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (RoleDefinition definition : roles.getDefinitions()) {
+            counts.put(definition.getName(), 0);
+        }
+        for (PlayerRole role : roles.deal(players)) {
+            counts.merge(role.getName(), 1, Integer::sum);
+        }
+        StringBuilder label = new StringBuilder();
+        counts.forEach((name, count) -> {
+            if (count == 0) {
+                return;
+            }
+            if (label.length() > 0) {
+                label.append(", ");
+            }
+            label.append(count == 1 ? name : count + " " + name);
+        });
+        return label.toString();
+    }
+
+    /**
+     * Mise en forme tabulaire, une ligne par taille de table.
+     */
+    public String format(RoleRegistry roles) {
+        StringBuilder out = new StringBuilder(String.format("%-7s %-42s %10s", "players", "composition", "games"));
+        for (Faction faction : roles.getFactions()) {
+            out.append(String.format(" %11s", faction));
+        }
+        out.append(String.format(" %10s %7s%n", "unfinished", "nights"));
+        rows.forEach((players, row) -> {
+            out.append(String.format("%-7d %-42s %10d", players, composition(roles, players), row.games));
+            for (Faction faction : roles.getFactions()) {
+                out.append(String.format(" %10.1f%%", 100.0 * row.wins[faction.ordinal()] / row.games));
+            }
+            out.append(String.format(" %10d %7.2f%n", row.unfinished, (double) row.nights / row.games));
+        });
+        return out.toString();
+    }
+
+    private static final class Row {
+        long games;
+        long unfinished;
+        long nights;
+        long durationMs;
+        final long[] wins = new long[Faction.MAX_FACTIONS];
+
+        void add(Row other) {
+            games += other.games;
+            unfinished += other.unfinished;
+            nights += other.nights;
+            durationMs += other.durationMs;
+            for (int i = 0; i < wins.length; i++) {
+                wins[i] += other.wins[i];
+            }
+        }
+    }
+}
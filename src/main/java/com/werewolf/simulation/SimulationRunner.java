@@ -0,0 +1,98 @@
+package com.werewolf.simulation;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lance des parties simulées en masse sur tous les cœurs. Les parties sont découpées récursivement en lots
+ * ({@link ForkJoinPool}) ; chaque lot joue ses parties sur un seul thread et produit son propre rapport,
+ * fusionné en remontant. La partie {@code i} est rejouable : sa graine et sa taille de table ne dépendent
+ * que de {@code i}.
+ */
+public class SimulationRunner {
+    // En dessous, un lot est joué d'un bloc : quelques millisecondes de travail par tâche
+    private static final int LEAF_GAMES = 256;
+
+    private final GameSimulator simulator;
+    private final int minPlayers;
+    private final int maxPlayers;
+    private final long seed;
+
+    public SimulationRunner(GameSimulator simulator, int minPlayers, int maxPlayers, long seed) {
+        if (minPlayers < 3 || maxPlayers < minPlayers) {
+            throw new IllegalArgumentException("Invalid player range: " + minPlayers + ".." + maxPlayers);
+        }
+        this.simulator = simulator;
+        this.minPlayers = minPlayers;
+        this.maxPlayers = maxPlayers;
+        this.seed = seed;
+    }
+
+    public SimulationReport run(long games) {
+        return run(games, ForkJoinPool.commonPool());
+    }
+
+    public SimulationReport run(long games, ForkJoinPool pool) {
+        return pool.invoke(new Batch(0, games));
+    }
+
+    /**
+     * Joue la partie numéro {@code index} de cette campagne.
+     */
+    public GameResult playGame(long index) {
+        int players = minPlayers + (int) (index % (maxPlayers - minPlayers + 1));
+        return simulator.play(players, seed + index * 0x9E3779B97F4A7C15L);
+    }
+
+    private final class Batch extends RecursiveTask<SimulationReport> {
+        private static final long serialVersionUID = 1L;
+
+        private final long from;
+        private final long to;
+
+        Batch(long from, long to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SimulationReport compute() {
+            if (to - from <= LEAF_GAMES) {
+                SimulationReport report = new SimulationReport();
+                for (long i = from; i < to; i++) {
+                    report.record(playGame(i));
+                }
+                return report;
+            }
+            long middle = (from + to) >>> 1;
+            Batch left = new Batch(from, middle);
+            left.fork();
+            SimulationReport right = new Batch(middle, to).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    /**
+     * Usage : {@code SimulationRunner [parties] [joueurs min] [joueurs max] [graine]}
+     */
+    public static void main(String[] args) {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 100_000;
+        int minPlayers = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        int maxPlayers = args.length > 2 ? Integer.parseInt(args[2]) : 12;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+
+        GameSimulator simulator = new GameSimulator();
+        SimulationRunner runner = new SimulationRunner(simulator, minPlayers, maxPlayers, seed);
+        System.out.println("Simulating " + games + " games (" + minPlayers + "-" + maxPlayers + " players, seed "
+                + seed + ") on " + ForkJoinPool.commonPool().getParallelism() + " workers...");
+
+        long start = System.nanoTime();
+        SimulationReport report = runner.run(games);
+        long elapsedMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        System.out.print(report.format(simulator.getRoles()));
+        System.out.println(String.format("%d games in %d ms (%.0f games/hour)", report.getGames(), elapsedMs,
+                report.getGames() * 3_600_000.0 / elapsedMs));
+    }
+}
@@ -0,0 +1,103 @@
+package com.werewolf.simulation;
+
+import com.werewolf.game.PhaseScheduler;
+import com.werewolf.game.Timeout;
+
+import java.util.PriorityQueue;
+
+/**
+ * Horloge virtuelle : le temps n'avance que lorsque la simulation le demande, en sautant directement
+ * à la prochaine échéance. Une phase de 45 s ne coûte donc que l'exécution de sa tâche.
+ * Non synchronisée : une horloge par partie simulée, utilisée depuis un seul thread.
+ */
+public class VirtualClock implements PhaseScheduler {
+    private final PriorityQueue<Entry> queue = new PriorityQueue<>();
+    private long now;
+    private long sequence;
+
+    public VirtualClock() {
+        this(0);
+    }
+
+    public VirtualClock(long startMillis) {
+        this.now = startMillis;
+    }
+
+    @Override
+    public Timeout schedule(Runnable task, long delayMs) {
+        Entry entry = new Entry(task, now + Math.max(0, delayMs), sequence++);
+        queue.add(entry);
+        return entry;
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return now;
+    }
+
+    /**
+     * Avance jusqu'à la prochaine échéance non annulée et l'exécute.
+     *
+     * @return {@code false} s'il n'y avait plus aucune échéance
+     */
+    public boolean advance() {
+        Entry entry;
+        while ((entry = queue.poll()) != null) {
+            if (entry.cancelled) {
+                continue;
+            }
+            now = Math.max(now, entry.deadline);
+            entry.expired = true;
+            entry.task.run();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return le nombre d'échéances en attente, y compris celles annulées mais pas encore écartées
+     */
+    public int pendingCount() {
+        return queue.size();
+    }
+
+    private static final class Entry implements Timeout, Comparable<Entry> {
+        private final Runnable task;
+        private final long deadline;
+        private final long sequence;
+        private boolean cancelled;
+        private boolean expired;
+
+        Entry(Runnable task, long deadline, long sequence) {
+            this.task = task;
+            this.deadline = deadline;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (cancelled || expired) {
+                return false;
+            }
+            cancelled = true;
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return expired;
+        }
+
+        // Échéances égales : ordre de planification
+        @Override
+        public int compareTo(Entry other) {
+            int byDeadline = Long.compare(deadline, other.deadline);
+            return byDeadline != 0 ? byDeadline : Long.compare(sequence, other.sequence);
+        }
+    }
+}
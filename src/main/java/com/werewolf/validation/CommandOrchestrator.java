@@ -36,7 +36,7 @@ public class CommandOrchestrator {
         try {
             Player actor = gameSession.getPlayer(playerId);
             Player target = gameSession.getPlayer(cmd.getTargetPlayerId());
-            GameAction action = actionFactory.getAction(cmd.getActionType());
+            GameAction action = actionFactory.getAction(cmd);
             action.execute(actor, target, gameSession);
             
             return CommandExecutionResult.success();
@@ -1,25 +1,25 @@
 package com.werewolf.validation;
 
-import com.werewolf.game.GameState;
 import com.werewolf.game.GameSession;
 import com.werewolf.game.Player;
+import com.werewolf.game.action.ActionType;
 import com.werewolf.network.shared.GameCommand;
 
 public class GameStateValidator extends AbstractValidator {
     @Override
     public ValidationResult validate(GameCommand cmd, Player actor, GameSession session) {
-        String actionType = cmd.getActionType();
+        ActionType action = cmd.getAction();
+        // Action inconnue : laissée aux validateurs et à l'exécution, comme auparavant
+        if (action == null || action.isAllowedIn(session.getCurrentPhase())) {
+            return callNext(cmd, actor, session);
+        }
 
-        if ("KILL".equals(actionType) && session.getCurrentPhase() != GameState.NIGHT) {
+        if (action == ActionType.KILL) {
             return ValidationResult.INVALID("L'action d'éliminer n'est autorisée que la nuit");
         }
-        if ("VOTE".equals(actionType) && session.getCurrentPhase() != GameState.DAY_VOTING) {
+        if (action == ActionType.VOTE) {
             return ValidationResult.INVALID("Le vote n'est autorisé que pendant la phase de vote de jour");
         }
-        if (("HEAL".equals(actionType) || "PEEK".equals(actionType)) && session.getCurrentPhase() != GameState.NIGHT) {
-            return ValidationResult.INVALID("L'action " + actionType + " n'est autorisée que la nuit");
-        }
-
-        return callNext(cmd, actor, session);
+        return ValidationResult.INVALID("L'action " + action + " n'est autorisée que la nuit");
     }
 }
\ No newline at end of file
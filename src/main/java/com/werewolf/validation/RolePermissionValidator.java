@@ -10,7 +10,7 @@ public class RolePermissionValidator extends AbstractValidator {
         if (actor.getRole() == null) {
             return ValidationResult.INVALID("Le joueur n'a aucun rôle assigné");
         }
-        if (!actor.getRole().canPerform(cmd.getActionType())) {
+        if (!actor.getRole().canPerform(cmd.getAction())) {
             return ValidationResult.INVALID(
                 "L'action " + cmd.getActionType() + " n'est pas autorisée pour le rôle " + actor.getRole().getName()
             );
@@ -1,7 +1,9 @@
 package com.werewolf.validation;
 
 import com.werewolf.game.GameSession;
+import com.werewolf.game.GameState;
 import com.werewolf.game.Player;
+import com.werewolf.game.action.ActionType;
 import com.werewolf.network.shared.GameCommand;
 
 public class TargetValidationValidator extends AbstractValidator {
@@ -22,9 +24,8 @@ public class TargetValidationValidator extends AbstractValidator {
         // Ne pas pouvoir se cibler soi-même (Optionnel, mais pertinent pour KILL et VOTE)
         if (actor.getId().equals(targetId)) {
             // Seul le Médecin (Medic) peut se cibler lui-même (pour se protéger pendant la nuit)
-            boolean isMedicSelfHeal = actor.getRole() != null && 
-                                      "Medic".equals(actor.getRole().getName()) &&
-                                      session.getCurrentPhase() == com.werewolf.game.GameState.NIGHT;
+            boolean isMedicSelfHeal = cmd.getAction() == ActionType.HEAL &&
+                                      session.getCurrentPhase() == GameState.NIGHT;
             if (!isMedicSelfHeal) {
                 return ValidationResult.INVALID("Vous ne pouvez pas vous cibler vous-même");
             }
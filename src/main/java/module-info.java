@@ -21,8 +21,15 @@ module com.werewolf {
     exports com.werewolf.network.server;
     exports com.werewolf.network.client;
     exports com.werewolf.security;
+    exports com.werewolf.simulation;
+    exports com.werewolf.game.replay;
+    exports com.werewolf.game.stats;
+    exports com.werewolf.game.store;
+    exports com.werewolf.game.snapshot;
     exports com.werewolf.client.view to javafx.graphics;
     exports com.werewolf.client.model;
     exports com.werewolf.client.controller;
     exports com.werewolf.client.network;
+
+    uses com.werewolf.game.role.RoleProvider;
 }
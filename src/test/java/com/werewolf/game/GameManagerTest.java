@@ -0,0 +1,346 @@
+package com.werewolf.game;
+
+import com.werewolf.event.GameStateUpdate;
+import com.werewolf.game.action.ActionType;
+import com.werewolf.game.role.BuiltinRoles;
+import com.werewolf.game.role.Faction;
+import com.werewolf.game.role.RoleDefinition;
+import com.werewolf.game.role.RoleRegistry;
+import com.werewolf.game.role.WinCondition;
+import com.werewolf.game.stats.GameSummary;
+import com.werewolf.game.store.GameEvent;
+import com.werewolf.network.shared.GameCommand;
+import com.werewolf.network.server.PlayerConnectionManager;
+import com.werewolf.validation.CommandExecutionResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("GameManager Tests")
+public class GameManagerTest {
+
+    /**
+     * Planificateur manuel : l'heure n'avance que sur demande et les échéances se déclenchent explicitement.
+     */
+    static class ManualScheduler implements PhaseScheduler {
+        final List<Runnable> tasks = new ArrayList<>();
+        final List<Long> delays = new ArrayList<>();
+        long now = 1_000_000L;
+
+        @Override
+        public Timeout schedule(Runnable task, long delayMs) {
+            tasks.add(task);
+            delays.add(delayMs);
+            return new Timeout() {
+                private boolean cancelled;
+
+                @Override
+                public boolean cancel() {
+                    cancelled = true;
+                    return true;
+                }
+
+                @Override
+                public boolean isCancelled() {
+                    return cancelled;
+                }
+
+                @Override
+                public boolean isExpired() {
+                    return false;
+                }
+            };
+        }
+
+        @Override
+        public long currentTimeMillis() {
+            return now;
+        }
+
+        void fireLast() {
+            tasks.get(tasks.size() - 1).run();
+        }
+    }
+
+    private GameSession session;
+    private GameManager manager;
+    private ManualScheduler scheduler;
+    private final List<GameStateUpdate> updates = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        session = new GameSession("phases");
+        scheduler = new ManualScheduler();
+        // Exécution immédiate : le test joue le rôle de la boîte aux lettres
+        SessionMailbox mailbox = new SessionMailbox("phases", Runnable::run);
+        manager = new GameManager(session, new PlayerConnectionManager("phases"), mailbox, scheduler,
+                PhaseConfig.DEFAULT);
+        for (int i = 1; i <= 3; i++) {
+            session.addPlayer(new Player("p" + i, "Player" + i));
+        }
+        session.assignAdminIfNeeded();
+        session.subscribe(updates::add);
+    }
+
+    private GameStateUpdate lastPhaseChange() {
+        for (int i = updates.size() - 1; i >= 0; i--) {
+            if (updates.get(i).getMetadata().containsKey("phaseDeadline")) {
+                return updates.get(i);
+            }
+        }
+        return null;
+    }
+
+    // ============== PHASE CONFIG TESTS ==============
+
+    @Test
+    @DisplayName("Phase updates carry the authoritative deadline")
+    public void testDeadlineInPhaseUpdate() {
+        assertTrue(manager.startGame("p1").isSuccess());
+
+        GameStateUpdate night = lastPhaseChange();
+        assertEquals(GameState.NIGHT, night.getNewPhase());
+        assertEquals(30_000L, night.getMetadata().get("phaseDurationMs"));
+        assertEquals(scheduler.now + 30_000L, night.getMetadata().get("phaseDeadline"));
+        assertEquals(30_000L, scheduler.delays.get(0));
+    }
+
+    @Test
+    @DisplayName("Admin overrides apply to the session and are clamped")
+    public void testOverrides() {
+        assertTrue(manager.startGame("p1", Map.of("nightMs", 10_000, "discussionMs", 1L, "votingMs", "bad")).isSuccess());
+
+        PhaseConfig config = manager.getPhaseConfig();
+        assertEquals(10_000, config.getNightMs());
+        assertEquals(PhaseConfig.MIN_DURATION_MS, config.getDiscussionMs());
+        assertEquals(PhaseConfig.DEFAULT.getVotingMs(), config.getVotingMs());
+        assertEquals(10_000L, scheduler.delays.get(0));
+    }
+
+    // ============== EARLY ADVANCE TESTS ==============
+
+    @Test
+    @DisplayName("Discussion ends early once every alive player is ready")
+    public void testReadyAdvancesDiscussion() {
+        manager.startGame("p1");
+        scheduler.fireLast(); // Fin de la nuit sans victime
+        assertEquals(GameState.DAY_DISCUSSION, session.getCurrentPhase());
+
+        assertTrue(manager.handleReady("p1").isSuccess());
+        assertTrue(manager.handleReady("p1").isSuccess());
+        assertTrue(manager.handleReady("p2").isSuccess());
+        assertEquals(GameState.DAY_DISCUSSION, session.getCurrentPhase());
+
+        assertTrue(manager.handleReady("p3").isSuccess());
+        assertEquals(GameState.DAY_VOTING, session.getCurrentPhase());
+    }
+
+    @Test
+    @DisplayName("A ready player who leaves no longer counts, and the last holdout leaving starts the vote")
+    public void testReadyPlayersLeaving() {
+        session.addPlayer(new Player("p4", "Player4"));
+        manager.startGame("p1");
+        scheduler.fireLast();
+        assertEquals(GameState.DAY_DISCUSSION, session.getCurrentPhase());
+
+        manager.handleReady("p1");
+        manager.handleReady("p2");
+        manager.removePlayer("p1");
+        manager.handleReady("p3");
+        assertEquals(GameState.DAY_DISCUSSION, session.getCurrentPhase(), "p4 is not ready yet");
+
+        manager.removePlayer("p4");
+        assertEquals(GameState.DAY_VOTING, session.getCurrentPhase());
+    }
+
+    @Test
+    @DisplayName("A stale discussion deadline does not skip the vote")
+    public void testStaleDeadlineIgnored() {
+        manager.startGame("p1");
+        scheduler.fireLast();
+        Runnable discussionDeadline = scheduler.tasks.get(scheduler.tasks.size() - 1);
+        manager.handleReady("p1");
+        manager.handleReady("p2");
+        manager.handleReady("p3");
+
+        discussionDeadline.run();
+
+        assertEquals(GameState.DAY_VOTING, session.getCurrentPhase());
+    }
+
+    @Test
+    @DisplayName("Ready is rejected outside the discussion or when the rule is off")
+    public void testReadyRules() {
+        CommandExecutionResult lobby = manager.handleReady("p1");
+        assertFalse(lobby.isSuccess());
+
+        manager.startGame("p1", Map.of("advanceWhenReady", false));
+        scheduler.fireLast();
+        manager.handleReady("p1");
+        manager.handleReady("p2");
+        manager.handleReady("p3");
+        assertEquals(GameState.DAY_DISCUSSION, session.getCurrentPhase());
+    }
+
+    // ============== EVENT TESTS ==============
+
+    @Test
+    @DisplayName("Game events are recorded as the game unfolds")
+    public void testEventsRecorded() {
+        List<GameEvent> events = new ArrayList<>();
+        manager.setEventSink(events::add);
+
+        manager.startGame("p1");
+        scheduler.fireLast();
+        manager.recordChat("p2", "hello");
+
+        assertEquals(GameEvent.Type.GAME_STARTED, events.get(0).getType());
+        assertEquals(Long.toString(manager.getSeed()), events.get(0).getText());
+        assertEquals(3, events.stream().filter(e -> e.getType() == GameEvent.Type.ROLE).count());
+        List<String> phases = events.stream()
+                .filter(e -> e.getType() == GameEvent.Type.PHASE)
+                .map(GameEvent::getText)
+                .toList();
+        assertEquals(List.of("NIGHT", "DAY_DISCUSSION"), phases);
+        GameEvent chat = events.get(events.size() - 1);
+        assertEquals(GameEvent.Type.CHAT, chat.getType());
+        assertEquals("phases", chat.getSessionId());
+        assertEquals(scheduler.now, chat.getTime());
+    }
+
+    @Test
+    @DisplayName("The end of the game hands a per-player summary to the listener")
+    public void testGameSummary() {
+        List<GameSummary> summaries = new ArrayList<>();
+        manager.setGameSummaryListener(summaries::add);
+        manager.startGame("p1");
+        scheduler.fireLast(); // Nuit sans victime
+        scheduler.fireLast(); // Fin de la discussion
+
+        Player wolf = playerWithRole("Werewolf");
+        List<Player> villagers = session.getPlayers().stream().filter(p -> p != wolf).toList();
+        manager.handleCommand(wolf.getId(), new GameCommand(ActionType.VOTE, villagers.get(0).getId()));
+        for (Player villager : villagers) {
+            manager.handleCommand(villager.getId(), new GameCommand(ActionType.VOTE, wolf.getId()));
+        }
+
+        assertEquals(GameState.GAME_OVER, session.getCurrentPhase());
+        assertEquals(1, summaries.size());
+        GameSummary summary = summaries.get(0);
+        assertEquals(Faction.VILLAGE, summary.getWinner());
+        assertEquals(3, summary.getPlayers().size());
+        for (GameSummary.PlayerOutcome outcome : summary.getPlayers()) {
+            boolean isWolf = outcome.getUsername().equals(wolf.getUsername());
+            assertEquals(!isWolf, outcome.isWon());
+            assertEquals(!isWolf, outcome.isSurvived());
+            assertEquals(1, outcome.getVotes());
+            assertEquals(1, outcome.getCorrectVotes());
+        }
+    }
+
+    @Test
+    @DisplayName("A player who leaves mid-game is summarised as a loss")
+    public void testGameSummaryCountsQuitters() {
+        session.addPlayer(new Player("p4", "Player4"));
+        List<GameSummary> summaries = new ArrayList<>();
+        manager.setGameSummaryListener(summaries::add);
+        manager.startGame("p1");
+        scheduler.fireLast(); // Nuit sans victime
+
+        Player wolf = playerWithRole("Werewolf");
+        List<Player> others = session.getPlayers().stream().filter(p -> p != wolf).toList();
+        Player quitter = others.get(0);
+        manager.removePlayer(quitter.getId());
+        scheduler.fireLast(); // Fin de la discussion
+
+        List<Player> villagers = others.subList(1, others.size());
+        manager.handleCommand(wolf.getId(), new GameCommand(ActionType.VOTE, villagers.get(0).getId()));
+        for (Player villager : villagers) {
+            manager.handleCommand(villager.getId(), new GameCommand(ActionType.VOTE, wolf.getId()));
+        }
+
+        assertEquals(GameState.GAME_OVER, session.getCurrentPhase());
+        GameSummary summary = summaries.get(0);
+        assertEquals(Faction.VILLAGE, summary.getWinner());
+        assertEquals(4, summary.getPlayers().size());
+        GameSummary.PlayerOutcome left = summary.getPlayers().stream()
+                .filter(outcome -> outcome.getUsername().equals(quitter.getUsername()))
+                .findFirst()
+                .orElseThrow();
+        assertFalse(left.isWon());
+        assertFalse(left.isSurvived());
+    }
+
+    // ============== ROLE REGISTRY TESTS ==============
+
+    private Player playerWithRole(String roleName) {
+        return session.getPlayers().stream()
+                .filter(p -> roleName.equals(p.getRole().getName()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    @DisplayName("A registered role takes part in the night without engine changes")
+    public void testRegisteredRoleWakesAtNight() {
+        RoleDefinition bodyguard = RoleDefinition.builder("Bodyguard")
+                .actions(ActionType.VOTE)
+                .nightAction(ActionType.HEAL, 5, "Bodyguard, choose a player to guard.")
+                .build();
+        RoleRegistry roles = new RoleRegistry(List.of(BuiltinRoles.WEREWOLF, bodyguard, BuiltinRoles.VILLAGER));
+        manager = new GameManager(session, new PlayerConnectionManager("phases"),
+                new SessionMailbox("phases", Runnable::run), scheduler, PhaseConfig.DEFAULT, roles);
+
+        manager.startGame("p1");
+        Player wolf = playerWithRole("Werewolf");
+        Player guard = playerWithRole("Bodyguard");
+        Player villager = playerWithRole("Villager");
+
+        assertTrue(manager.handleCommand(wolf.getId(), new GameCommand(ActionType.KILL, villager.getId())).isSuccess());
+        assertEquals(GameState.NIGHT, session.getCurrentPhase(), "the bodyguard has not played yet");
+
+        assertTrue(manager.handleCommand(guard.getId(), new GameCommand(ActionType.HEAL, villager.getId())).isSuccess());
+        assertEquals(GameState.DAY_DISCUSSION, session.getCurrentPhase());
+        assertTrue(villager.isAlive());
+    }
+
+    @Test
+    @DisplayName("Werewolves and vampires each make their own kill")
+    public void testEachFactionKills() {
+        Faction vampires = Faction.define("VAMPIRES", WinCondition.PARITY, "Vampires win!");
+        RoleDefinition vampire = RoleDefinition.builder("Vampire")
+                .faction(vampires)
+                .actions(ActionType.VOTE)
+                .nightAction(ActionType.KILL, 25, "Vampires, choose a target.")
+                .build();
+        RoleRegistry roles = new RoleRegistry(List.of(BuiltinRoles.WEREWOLF, vampire, BuiltinRoles.VILLAGER));
+        manager = new GameManager(session, new PlayerConnectionManager("phases"),
+                new SessionMailbox("phases", Runnable::run), scheduler, PhaseConfig.DEFAULT, roles);
+        session.addPlayer(new Player("p4", "Player4"));
+        session.addPlayer(new Player("p5", "Player5"));
+
+        manager.startGame("p1");
+        Player wolf = playerWithRole("Werewolf");
+        Player bloodsucker = playerWithRole("Vampire");
+        List<Player> villagers = session.getPlayers().stream()
+                .filter(p -> "Villager".equals(p.getRole().getName()))
+                .toList();
+
+        assertTrue(manager.handleCommand(wolf.getId(),
+                new GameCommand(ActionType.KILL, villagers.get(0).getId())).isSuccess());
+        assertEquals(GameState.NIGHT, session.getCurrentPhase(), "the vampire has not played yet");
+
+        assertTrue(manager.handleCommand(bloodsucker.getId(),
+                new GameCommand(ActionType.KILL, villagers.get(1).getId())).isSuccess());
+        assertEquals(GameState.DAY_DISCUSSION, session.getCurrentPhase());
+        assertFalse(villagers.get(0).isAlive(), "the werewolves' victim");
+        assertFalse(villagers.get(1).isAlive(), "the vampires' victim");
+        assertTrue(villagers.get(2).isAlive());
+    }
+}
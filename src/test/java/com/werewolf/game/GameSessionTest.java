@@ -108,6 +108,53 @@ public class GameSessionTest {
         assertTrue(alive.isEmpty());
     }
     
+    // ============== ALIVE INDEX TESTS ==============
+
+    @Test
+    @DisplayName("Role and faction counters follow deaths, role changes and departures")
+    public void testAliveCounters() {
+        assertEquals(3, session.getAliveCount());
+        assertEquals(1, session.countAliveWerewolves());
+        assertEquals(2, session.countAliveVillagers());
+        assertEquals(1, session.countAliveWithRole("Medic"));
+        assertEquals(2, session.countAliveInFaction(Faction.VILLAGE));
+
+        player3.setAlive(false);
+        player3.setAlive(false);
+        assertEquals(0, session.countAliveWithRole("Medic"));
+        assertEquals(2, session.getAliveCount());
+
+        player1.setRole(new WerewolfRole());
+        assertEquals(2, session.countAliveWerewolves());
+        assertEquals(0, session.countAliveVillagers());
+
+        session.removePlayer("p2");
+        assertEquals(1, session.countAliveWithRole("Werewolf"));
+        assertEquals(1, session.getAliveCount());
+
+        // Un joueur retiré de la session ne la met plus à jour
+        player2.setAlive(false);
+        assertEquals(1, session.getAliveCount());
+    }
+
+    @Test
+    @DisplayName("Alive list is an immutable snapshot rebuilt only on change")
+    public void testAliveSnapshotCached() {
+        List<Player> first = session.getAlivePlayers();
+        assertSame(first, session.getAlivePlayers());
+        assertThrows(UnsupportedOperationException.class, () -> first.remove(0));
+        assertEquals(List.of(player1, player2, player3), first);
+
+        player2.setProtected(true);
+        assertSame(first, session.getAlivePlayers());
+
+        player2.setAlive(false);
+        List<Player> second = session.getAlivePlayers();
+        assertNotSame(first, second);
+        assertEquals(List.of(player1, player3), second);
+        assertEquals(3, first.size());
+    }
+
     // ============== ALL PLAYERS TESTS ==============
     
     @Test
@@ -0,0 +1,117 @@
+package com.werewolf.game;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("HashedWheelTimer Tests")
+public class HashedWheelTimerTest {
+
+    private final HashedWheelTimer timer = new HashedWheelTimer(5, 8);
+
+    @AfterEach
+    public void tearDown() {
+        timer.stop();
+    }
+
+    // ============== SCHEDULING TESTS ==============
+
+    @Test
+    @DisplayName("Timeouts expire after their delay")
+    public void testExpiresAfterDelay() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        Timeout timeout = timer.schedule(fired::countDown, 30);
+
+        assertTrue(fired.await(2, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 30);
+        assertTrue(timeout.isExpired());
+        assertEquals(0, timer.pendingTimeouts());
+    }
+
+    @Test
+    @DisplayName("Delays longer than one turn of the wheel wait for the right round")
+    public void testMultipleRounds() throws InterruptedException {
+        // 8 cases de 5 ms : un tour de roue dure 40 ms
+        CountDownLatch fired = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        timer.schedule(fired::countDown, 130);
+
+        assertTrue(fired.await(2, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 130);
+    }
+
+    @Test
+    @DisplayName("Timeouts fire in deadline order")
+    public void testOrdering() throws InterruptedException {
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(3);
+
+        timer.schedule(() -> { order.add(3); done.countDown(); }, 90);
+        timer.schedule(() -> { order.add(1); done.countDown(); }, 10);
+        timer.schedule(() -> { order.add(2); done.countDown(); }, 50);
+
+        assertTrue(done.await(2, TimeUnit.SECONDS));
+        assertEquals(List.of(1, 2, 3), order);
+    }
+
+    // ============== CANCELLATION TESTS ==============
+
+    @Test
+    @DisplayName("Cancelled timeouts never run")
+    public void testCancel() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch later = new CountDownLatch(1);
+
+        Timeout timeout = timer.schedule(runs::incrementAndGet, 20);
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        timer.schedule(later::countDown, 60);
+
+        assertTrue(later.await(2, TimeUnit.SECONDS));
+        assertEquals(0, runs.get());
+        assertTrue(timeout.isCancelled());
+        assertFalse(timeout.isExpired());
+    }
+
+    @Test
+    @DisplayName("Thousands of sessions share one timer thread")
+    public void testManyTimeouts() throws InterruptedException {
+        int sessions = 10_000;
+        CountDownLatch fired = new CountDownLatch(sessions / 2);
+        List<Timeout> timeouts = new ArrayList<>();
+        for (int i = 0; i < sessions; i++) {
+            timeouts.add(timer.schedule(fired::countDown, 200 + i % 50));
+        }
+        // Comme à chaque changement de phase, la moitié des échéances est annulée
+        for (int i = 0; i < sessions; i += 2) {
+            assertTrue(timeouts.get(i).cancel());
+        }
+
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+        assertEquals(0, timer.pendingTimeouts());
+        long timerThreads = Thread.getAllStackTraces().keySet().stream()
+                .filter(t -> t.getName().equals("werewolf-timer"))
+                .count();
+        assertTrue(timerThreads <= 2, "timer threads: " + timerThreads);
+    }
+
+    @Test
+    @DisplayName("Wheel size is rounded up to a power of two")
+    public void testWheelSize() {
+        assertEquals(8, timer.getWheelSize());
+        assertEquals(512, new HashedWheelTimer(100, 300).getWheelSize());
+        assertThrows(IllegalArgumentException.class, () -> new HashedWheelTimer(0, 8));
+    }
+}
@@ -0,0 +1,135 @@
+package com.werewolf.game;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SessionMailbox Tests")
+public class SessionMailboxTest {
+
+    private final ExecutorService pool = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    // ============== ORDERING TESTS ==============
+
+    @Test
+    @DisplayName("Events from many threads run one at a time, in order per producer")
+    public void testSerialExecution() throws InterruptedException {
+        SessionMailbox mailbox = new SessionMailbox("serial", pool);
+        int producers = 8;
+        int perProducer = 1000;
+        AtomicBoolean running = new AtomicBoolean();
+        AtomicBoolean overlapped = new AtomicBoolean();
+        List<List<Integer>> seen = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            seen.add(new ArrayList<>());
+        }
+        CountDownLatch done = new CountDownLatch(producers * perProducer);
+
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            List<Integer> mine = seen.get(p);
+            threads[p] = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    int value = i;
+                    mailbox.execute(() -> {
+                        if (!running.compareAndSet(false, true)) {
+                            overlapped.set(true);
+                        }
+                        assertTrue(mailbox.inMailbox());
+                        // Liste non synchronisée : seule la boîte y écrit
+                        mine.add(value);
+                        running.set(false);
+                        done.countDown();
+                    });
+                }
+            });
+            threads[p].start();
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertFalse(overlapped.get());
+        for (List<Integer> values : seen) {
+            assertEquals(perProducer, values.size());
+            for (int i = 0; i < perProducer; i++) {
+                assertEquals(i, values.get(i));
+            }
+        }
+        assertFalse(mailbox.inMailbox());
+    }
+
+    @Test
+    @DisplayName("Many mailboxes share a small pool")
+    public void testSharedPool() throws InterruptedException {
+        int sessions = 500;
+        CountDownLatch done = new CountDownLatch(sessions * 10);
+        AtomicInteger[] counters = new AtomicInteger[sessions];
+        for (int s = 0; s < sessions; s++) {
+            SessionMailbox mailbox = new SessionMailbox("session-" + s, pool);
+            AtomicInteger counter = counters[s] = new AtomicInteger();
+            for (int i = 0; i < 10; i++) {
+                mailbox.execute(() -> {
+                    counter.incrementAndGet();
+                    done.countDown();
+                });
+            }
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        for (AtomicInteger counter : counters) {
+            assertEquals(10, counter.get());
+        }
+    }
+
+    @Test
+    @DisplayName("A failing event does not stop the mailbox")
+    public void testFailureIsolation() throws InterruptedException {
+        SessionMailbox mailbox = new SessionMailbox("failing", pool);
+        CountDownLatch done = new CountDownLatch(1);
+
+        mailbox.execute(() -> {
+            throw new IllegalStateException("boom");
+        });
+        mailbox.execute(done::countDown);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+
+    // ============== CLOSE TESTS ==============
+
+    @Test
+    @DisplayName("Closed mailboxes ignore new events")
+    public void testClose() throws InterruptedException {
+        SessionMailbox mailbox = new SessionMailbox("closed", pool);
+        AtomicInteger counter = new AtomicInteger();
+        CountDownLatch first = new CountDownLatch(1);
+        mailbox.execute(() -> {
+            counter.incrementAndGet();
+            first.countDown();
+        });
+        assertTrue(first.await(5, TimeUnit.SECONDS));
+
+        mailbox.close();
+        mailbox.execute(counter::incrementAndGet);
+
+        assertTrue(mailbox.isClosed());
+        assertEquals(0, mailbox.pendingCount());
+        Thread.sleep(50);
+        assertEquals(1, counter.get());
+    }
+}
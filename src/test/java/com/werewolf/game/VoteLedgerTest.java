@@ -0,0 +1,142 @@
+package com.werewolf.game;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("VoteLedger Tests")
+public class VoteLedgerTest {
+
+    // ============== COUNTING TESTS ==============
+
+    @Test
+    @DisplayName("Votes are counted and changed in place")
+    public void testCastAndChange() {
+        VoteLedger ledger = new VoteLedger();
+
+        assertNull(ledger.cast("a", "x"));
+        assertNull(ledger.cast("b", "x"));
+        assertNull(ledger.cast("c", "y"));
+        assertEquals(2, ledger.countFor("x"));
+        assertEquals("x", ledger.getLeader());
+
+        assertEquals("x", ledger.cast("b", "y"));
+        assertEquals(1, ledger.countFor("x"));
+        assertEquals(2, ledger.countFor("y"));
+        assertEquals("y", ledger.getLeader());
+        assertEquals(3, ledger.size());
+
+        // Revoter pour la même cible ne change rien
+        assertEquals("y", ledger.cast("c", "y"));
+        assertEquals(2, ledger.countFor("y"));
+    }
+
+    @Test
+    @DisplayName("Ties are tracked and broken as votes move")
+    public void testTies() {
+        VoteLedger ledger = new VoteLedger();
+        ledger.cast("a", "x");
+        ledger.cast("b", "y");
+
+        assertTrue(ledger.isTie());
+        assertNull(ledger.getLeader());
+        assertEquals(Set.of("x", "y"), ledger.getLeaders());
+
+        ledger.cast("c", "x");
+        assertFalse(ledger.isTie());
+        assertEquals("x", ledger.getLeader());
+
+        ledger.retract("c");
+        assertTrue(ledger.isTie());
+        assertEquals(1, ledger.getMaxCount());
+    }
+
+    @Test
+    @DisplayName("Retracting and clearing empty the ledger")
+    public void testRetractAndClear() {
+        VoteLedger ledger = new VoteLedger();
+        assertTrue(ledger.getLeaders().isEmpty());
+        assertNull(ledger.retract("nobody"));
+
+        ledger.cast("a", "x");
+        assertEquals("x", ledger.retract("a"));
+        assertTrue(ledger.isEmpty());
+        assertEquals(0, ledger.getMaxCount());
+        assertNull(ledger.getLeader());
+
+        ledger.cast("a", "x");
+        ledger.cast("b", "x");
+        ledger.clear();
+        assertEquals(0, ledger.countFor("x"));
+        assertTrue(ledger.getLeaders().isEmpty());
+        ledger.cast("c", "z");
+        assertEquals("z", ledger.getLeader());
+    }
+
+    @Test
+    @DisplayName("Votes keep their cast order and replaying them rebuilds the same tie order")
+    public void testCastOrder() {
+        VoteLedger ledger = new VoteLedger();
+        ledger.cast("a", "y");
+        ledger.cast("b", "y");
+        ledger.cast("c", "y");
+        ledger.cast("d", "x");
+        ledger.cast("e", "x");
+        // y redescend à égalité avec x après avoir mené
+        ledger.cast("c", "z");
+
+        assertEquals(List.of("a", "b", "d", "e", "c"), List.copyOf(ledger.getVotes().keySet()));
+        assertEquals(List.of("y", "x"), ledger.getLeadersInCastOrder());
+
+        VoteLedger replayed = new VoteLedger();
+        ledger.getVotes().forEach(replayed::cast);
+        assertEquals(ledger.getVotes(), replayed.getVotes());
+        assertEquals(ledger.getLeadersInCastOrder(), replayed.getLeadersInCastOrder());
+    }
+
+    // ============== CONSISTENCY TESTS ==============
+
+    @Test
+    @DisplayName("Leaders match a full recount on a large table")
+    public void testMatchesRecount() {
+        VoteLedger ledger = new VoteLedger();
+        Map<String, String> votes = new HashMap<>();
+        Random random = new Random(42);
+        int players = 500;
+
+        for (int i = 0; i < 20_000; i++) {
+            String voter = "p" + random.nextInt(players);
+            if (random.nextInt(10) == 0) {
+                ledger.retract(voter);
+                votes.remove(voter);
+            } else {
+                String target = "p" + random.nextInt(players / 10);
+                ledger.cast(voter, target);
+                votes.put(voter, target);
+            }
+
+            if (i % 97 == 0) {
+                Map<String, Integer> recount = new HashMap<>();
+                votes.values().forEach(target -> recount.merge(target, 1, Integer::sum));
+                int max = recount.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+                Set<String> leaders = new HashSet<>();
+                recount.forEach((target, count) -> {
+                    if (count == max) {
+                        leaders.add(target);
+                    }
+                });
+                assertEquals(max, ledger.getMaxCount());
+                assertEquals(leaders, new HashSet<>(ledger.getLeaders()));
+                assertEquals(votes, ledger.getVotes());
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.werewolf.game.action;
+
+import com.werewolf.game.GameState;
+import com.werewolf.game.role.MedicRole;
+import com.werewolf.game.role.PlayerRole;
+import com.werewolf.game.role.SeerRole;
+import com.werewolf.game.role.VillagerRole;
+import com.werewolf.game.role.WerewolfRole;
+import com.werewolf.network.shared.GameCommand;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ActionType Tests")
+public class ActionTypeTest {
+
+    // ============== PARSING TESTS ==============
+
+    @Test
+    @DisplayName("Action names are parsed regardless of case")
+    public void testParse() {
+        assertEquals(ActionType.KILL, ActionType.parse("kill"));
+        assertEquals(ActionType.HEAL, ActionType.parse("Heal"));
+        assertSame(ActionType.VOTE, ActionType.parse("VOTE"));
+        assertNull(ActionType.parse("INVESTIGATE"));
+        assertNull(ActionType.parse(null));
+    }
+
+    @Test
+    @DisplayName("Commands carry the parsed action")
+    public void testCommandAction() {
+        GameCommand command = new GameCommand("vote", "p2");
+        assertEquals(ActionType.VOTE, command.getAction());
+        assertEquals("vote", command.getActionType());
+
+        command.setActionType("CHAT");
+        assertNull(command.getAction());
+
+        assertEquals("PEEK", new GameCommand(ActionType.PEEK, "p2").getActionType());
+    }
+
+    // ============== PERMISSION TESTS ==============
+
+    @Test
+    @DisplayName("Role masks match the allowed action lists")
+    public void testRoleMasks() {
+        for (PlayerRole role : List.of(new VillagerRole(), new WerewolfRole(), new MedicRole(), new SeerRole())) {
+            assertEquals(ActionType.maskOf(role.getAllowedActions()), role.getActionMask(), role.getName());
+            for (ActionType action : ActionType.values()) {
+                assertEquals(role.canPerform(action.name()), role.canPerform(action), role.getName() + " " + action);
+            }
+        }
+        assertFalse(new WerewolfRole().canPerform((ActionType) null));
+    }
+
+    @Test
+    @DisplayName("Each action is allowed only during its phase")
+    public void testPhaseMasks() {
+        assertTrue(ActionType.KILL.isAllowedIn(GameState.NIGHT));
+        assertFalse(ActionType.KILL.isAllowedIn(GameState.DAY_VOTING));
+        assertTrue(ActionType.VOTE.isAllowedIn(GameState.DAY_VOTING));
+        assertFalse(ActionType.VOTE.isAllowedIn(GameState.NIGHT));
+        // D'autres actions de nuit peuvent avoir été déclarées : seules celles du jeu de base sont vérifiées
+        int builtinNight = ActionType.maskOf(ActionType.KILL, ActionType.HEAL, ActionType.PEEK);
+        assertEquals(builtinNight, ActionType.phaseMask(GameState.NIGHT) & builtinNight);
+        assertEquals(0, ActionType.phaseMask(GameState.NIGHT) & ActionType.VOTE.bit());
+        assertEquals(0, ActionType.phaseMask(GameState.LOBBY));
+        assertFalse(ActionType.HEAL.isAllowedIn(null));
+    }
+}
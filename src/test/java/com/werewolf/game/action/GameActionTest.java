@@ -221,14 +221,13 @@ public class GameActionTest {
     }
     
     @Test
-    @DisplayName("Each factory call creates new instance")
-    public void testActionFactoryCreatesNewInstances() {
+    @DisplayName("Factory reuses one stateless instance per action type")
+    public void testActionFactoryReusesInstances() {
         ActionFactory factory = new ActionFactory();
         
         GameAction action1 = factory.getAction("KILL");
-        GameAction action2 = factory.getAction("KILL");
+        GameAction action2 = factory.getAction(ActionType.KILL);
         
-        // Should be different instances (not same cached instance)
-        assertNotSame(action1, action2, "Factory should create new instances");
+        assertSame(action1, action2, "Factory should reuse the cached instance");
     }
 }
@@ -0,0 +1,126 @@
+package com.werewolf.game.action;
+
+import com.werewolf.game.GameSession;
+import com.werewolf.game.Player;
+import com.werewolf.game.role.Faction;
+import com.werewolf.game.role.WinCondition;
+import com.werewolf.game.role.SeerRole;
+import com.werewolf.game.role.WerewolfRole;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("NightResolution Tests")
+public class NightResolutionTest {
+
+    private final ActionFactory factory = new ActionFactory();
+    private GameSession session;
+    private NightResolution night;
+
+    @BeforeEach
+    public void setUp() {
+        session = new GameSession("night");
+        for (int i = 1; i <= 5; i++) {
+            session.addPlayer(new Player("p" + i, "Player" + i));
+        }
+        night = new NightResolution(session, new Random(7));
+    }
+
+    // Étape du jeu de base pour le camp qui joue habituellement l'action
+    private NightStage stage(ActionType action) {
+        Faction faction = action == ActionType.KILL ? Faction.WEREWOLVES : Faction.VILLAGE;
+        return new NightStage(action, faction, factory.getAction(action));
+    }
+
+    private NightStage[] stages(ActionType... actions) {
+        NightStage[] stages = new NightStage[actions.length];
+        for (int i = 0; i < actions.length; i++) {
+            stages[i] = stage(actions[i]);
+        }
+        return stages;
+    }
+
+    // ============== PIPELINE TESTS ==============
+
+    @Test
+    @DisplayName("Protection resolved before the kill saves the target")
+    public void testProtectionBeforeKill() {
+        night.choose(ActionType.KILL, Faction.WEREWOLVES, "p1", "p3");
+        night.choose(ActionType.HEAL, Faction.VILLAGE, "p2", "p3");
+
+        night.resolve(stages(ActionType.HEAL, ActionType.KILL));
+
+        assertTrue(session.getPlayer("p3").isAlive());
+        assertTrue(night.getDeaths().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Stage order decides the outcome")
+    public void testStageOrder() {
+        night.choose(ActionType.KILL, Faction.WEREWOLVES, "p1", "p3");
+        night.choose(ActionType.HEAL, Faction.VILLAGE, "p2", "p3");
+
+        night.resolve(stages(ActionType.KILL, ActionType.HEAL));
+
+        assertFalse(session.getPlayer("p3").isAlive());
+        assertEquals(List.of(session.getPlayer("p3")), night.getDeaths());
+    }
+
+    @Test
+    @DisplayName("Wolves kill their leading target, ties are drawn among the leaders")
+    public void testKillTally() {
+        night.choose(ActionType.KILL, Faction.WEREWOLVES, "p1", "p3");
+        night.choose(ActionType.KILL, Faction.WEREWOLVES, "p2", "p4");
+        night.resolve(stages(ActionType.KILL));
+
+        assertEquals(1, night.getDeaths().size());
+        String victim = night.getDeaths().get(0).getId();
+        assertTrue(victim.equals("p3") || victim.equals("p4"));
+    }
+
+    @Test
+    @DisplayName("Each faction playing the kill resolves its own victim")
+    public void testKillPerFaction() {
+        Faction vampires = Faction.define("VAMPIRES", WinCondition.PARITY, "Vampires win!");
+        night.choose(ActionType.KILL, Faction.WEREWOLVES, "p1", "p3");
+        night.choose(ActionType.KILL, vampires, "p2", "p4");
+
+        night.resolve(new NightStage[] {stage(ActionType.KILL),
+                new NightStage(ActionType.KILL, vampires, factory.getAction(ActionType.KILL))});
+
+        assertEquals(List.of(session.getPlayer("p3"), session.getPlayer("p4")), night.getDeaths());
+    }
+
+    @Test
+    @DisplayName("Visions are collected as private results")
+    public void testVisions() {
+        session.getPlayer("p1").setRole(new SeerRole());
+        session.getPlayer("p4").setRole(new WerewolfRole());
+        night.choose(ActionType.PEEK, "p1", "p4");
+
+        night.resolve(stages(ActionType.PEEK));
+
+        assertEquals(1, night.getPrivateResults().size());
+        NightResolution.PrivateResult vision = night.getPrivateResults().get(0);
+        assertEquals("p1", vision.getPlayerId());
+        assertTrue(vision.getMessage().contains("Werewolf"));
+    }
+
+    @Test
+    @DisplayName("Reset clears choices and effects between nights")
+    public void testReset() {
+        night.choose(ActionType.KILL, Faction.WEREWOLVES, "p1", "p3");
+        night.resolve(stages(ActionType.KILL));
+
+        night.reset();
+
+        assertEquals(0, night.choiceCount(ActionType.KILL, Faction.WEREWOLVES));
+        assertTrue(night.getDeaths().isEmpty());
+        assertTrue(night.getPrivateResults().isEmpty());
+    }
+}
@@ -0,0 +1,158 @@
+package com.werewolf.game.replay;
+
+import com.werewolf.game.GameManager;
+import com.werewolf.game.GameSession;
+import com.werewolf.game.GameState;
+import com.werewolf.game.PhaseConfig;
+import com.werewolf.game.Player;
+import com.werewolf.game.PlayerMessenger;
+import com.werewolf.game.SessionMailbox;
+import com.werewolf.game.role.RoleRegistry;
+import com.werewolf.simulation.GameResult;
+import com.werewolf.simulation.GameSimulator;
+import com.werewolf.simulation.VirtualClock;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Game Replay Tests")
+public class GameReplayTest {
+
+    // ============== LOG FORMAT TESTS ==============
+
+    @Test
+    @DisplayName("Inputs survive a round trip through the log")
+    public void testRoundTrip() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputLogWriter writer = new InputLogWriter(out)) {
+            writer.append(GameInput.seed(1_000, -42L, "table", PhaseConfig.DEFAULT));
+            writer.append(GameInput.join(1_010, "p1", "Alice"));
+            writer.append(GameInput.start(1_500, "p1", Map.of("nightMs", 10_000, "advanceWhenReady", false, "x", "y")));
+            writer.append(GameInput.command(900, "p1", "KILL", "p2"));
+            writer.append(GameInput.timer(31_500, GameState.NIGHT));
+            writer.append(GameInput.outcome(40_000, null));
+        }
+
+        List<GameInput> inputs = InputLogReader.read(new ByteArrayInputStream(out.toByteArray()));
+
+        assertEquals(6, inputs.size());
+        GameInput seed = inputs.get(0);
+        assertEquals(-42L, seed.getNumber());
+        assertEquals("table", seed.getValue());
+        assertEquals(PhaseConfig.DEFAULT.toMap(), seed.getSettings());
+        assertEquals("Alice", inputs.get(1).getValue());
+        assertEquals(Map.of("nightMs", 10_000L, "advanceWhenReady", false), inputs.get(2).getSettings());
+        // Une heure qui recule reste représentable
+        assertEquals(900, inputs.get(3).getTime());
+        assertEquals("p2", inputs.get(3).getTargetId());
+        assertEquals("NIGHT", inputs.get(4).getValue());
+        assertEquals(GameInput.Type.OUTCOME, inputs.get(5).getType());
+        assertNull(inputs.get(5).getValue());
+    }
+
+    @Test
+    @DisplayName("A truncated last frame is ignored")
+    public void testTruncatedTail() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        InputLogWriter writer = new InputLogWriter(out);
+        writer.append(GameInput.seed(0, 7, "table", PhaseConfig.DEFAULT));
+        writer.append(GameInput.join(5, "p1", "Alice"));
+        writer.flush();
+
+        byte[] bytes = out.toByteArray();
+        List<GameInput> inputs = InputLogReader.read(new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - 3)));
+
+        assertEquals(1, inputs.size());
+        assertThrows(IOException.class, () -> InputLogReader.read(new ByteArrayInputStream(new byte[8])));
+    }
+
+    // ============== REPLAY TESTS ==============
+
+    private static List<GameInput> record(GameSimulator simulator, int players, long seed, GameResult[] result)
+            throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputLogWriter writer = new InputLogWriter(out)) {
+            result[0] = simulator.play(players, seed, writer);
+        }
+        return InputLogReader.read(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    @Test
+    @DisplayName("Recorded games replay to the same outcome")
+    public void testReplayMatchesRecording() throws IOException {
+        GameSimulator simulator = new GameSimulator();
+        GameReplayer replayer = new GameReplayer();
+        GameResult[] played = new GameResult[1];
+
+        for (long seed = 0; seed < 50; seed++) {
+            int players = 3 + (int) (seed % 10);
+            List<GameInput> inputs = record(simulator, players, seed, played);
+
+            ReplayResult replayed = replayer.replay(inputs);
+
+            assertTrue(replayed.matchesRecording(), "seed " + seed + ": " + replayed.getDivergences());
+            assertEquals(played[0].getWinner(), replayed.getWinner(), "seed " + seed);
+            assertEquals(GameState.GAME_OVER, replayed.getFinalPhase());
+            assertEquals(players, replayed.getRoles().size());
+        }
+    }
+
+    @Test
+    @DisplayName("A log that no longer matches the game is reported")
+    public void testDivergenceDetected() throws IOException {
+        List<GameInput> inputs = new ArrayList<>(record(new GameSimulator(), 6, 11, new GameResult[1]));
+        // Une échéance de vote juste après le lancement : la partie rejouée est encore dans la nuit
+        for (int i = 0; i < inputs.size(); i++) {
+            GameInput input = inputs.get(i);
+            if (input.getType() == GameInput.Type.START) {
+                inputs.add(i + 1, GameInput.timer(input.getTime(), GameState.DAY_VOTING));
+                break;
+            }
+        }
+
+        ReplayResult replayed = new GameReplayer().replay(inputs);
+
+        assertFalse(replayed.getDivergences().isEmpty());
+        assertFalse(replayed.matchesRecording());
+        assertThrows(IllegalArgumentException.class, () -> new GameReplayer().replay(inputs.subList(1, 2)));
+    }
+
+    @Test
+    @DisplayName("The same seed deals the same roles")
+    public void testSeededDeal() {
+        assertEquals(deal(123L), deal(123L));
+        Set<Map<String, String>> deals = new HashSet<>();
+        for (long seed = 0; seed < 10; seed++) {
+            deals.add(deal(seed));
+        }
+        assertTrue(deals.size() > 1, "the seed must drive the shuffle");
+    }
+
+    private static Map<String, String> deal(long seed) {
+        GameSession session = new GameSession("deal");
+        GameManager manager = new GameManager(session, PlayerMessenger.DISCARD,
+                new SessionMailbox("deal", Runnable::run), new VirtualClock(), PhaseConfig.DEFAULT,
+                RoleRegistry.getDefault(), seed);
+        for (int i = 0; i < 9; i++) {
+            manager.addPlayer("p" + i, "Player" + i);
+        }
+        manager.startGame("p0");
+        Map<String, String> roles = new LinkedHashMap<>();
+        for (Player player : session.getPlayers()) {
+            roles.put(player.getId(), player.getRole().getName());
+        }
+        return roles;
+    }
+}
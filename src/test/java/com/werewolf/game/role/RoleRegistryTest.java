@@ -0,0 +1,314 @@
+package com.werewolf.game.role;
+
+import com.werewolf.game.GameSession;
+import com.werewolf.game.GameState;
+import com.werewolf.game.Player;
+import com.werewolf.game.VoteLedger;
+import com.werewolf.game.action.ActionType;
+import com.werewolf.game.action.GameAction;
+import com.werewolf.game.action.NightResolution;
+import com.werewolf.game.action.NightStage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RoleRegistry Tests")
+public class RoleRegistryTest {
+
+    private static final RoleDefinition BODYGUARD = RoleDefinition.builder("Bodyguard")
+            .actions(ActionType.VOTE)
+            .nightAction(ActionType.HEAL, 5, "Bodyguard, choose a player to guard.")
+            .minPlayers(6)
+            .build();
+
+    private static Map<String, Long> composition(RoleRegistry registry, int players) {
+        return registry.deal(players).stream()
+                .collect(Collectors.groupingBy(PlayerRole::getName, Collectors.counting()));
+    }
+
+    // ============== BUILT-IN ROLES TESTS ==============
+
+    @Test
+    @DisplayName("Built-in roles are dealt as before")
+    public void testBuiltinDistribution() {
+        RoleRegistry registry = RoleRegistry.getDefault();
+
+        assertEquals(Map.of("Werewolf", 1L, "Villager", 2L), composition(registry, 3));
+        assertEquals(Map.of("Werewolf", 1L, "Seer", 1L, "Villager", 2L), composition(registry, 4));
+        assertEquals(Map.of("Werewolf", 1L, "Seer", 1L, "Medic", 1L, "Villager", 2L), composition(registry, 5));
+        assertEquals(Map.of("Werewolf", 2L, "Seer", 1L, "Medic", 1L, "Villager", 4L), composition(registry, 8));
+    }
+
+    @Test
+    @DisplayName("Definitions agree with the role classes")
+    public void testBuiltinDefinitions() {
+        for (RoleDefinition definition : new BuiltinRoles().getRoles()) {
+            PlayerRole role = definition.getRole();
+            assertEquals(ActionType.maskOf(definition.getActions().toArray(new ActionType[0])),
+                    role.getActionMask(), definition.getName());
+            assertEquals(definition.getFaction(), role.getFaction(), definition.getName());
+        }
+    }
+
+    @Test
+    @DisplayName("Night roles are ordered by priority")
+    public void testNightOrder() {
+        RoleRegistry registry = RoleRegistry.getDefault();
+
+        assertEquals(List.of("Medic", "Werewolf", "Seer"),
+                registry.getNightRoles().stream().map(RoleDefinition::getName).collect(Collectors.toList()));
+        assertEquals(List.of(ActionType.HEAL, ActionType.KILL, ActionType.PEEK), registry.getNightActions());
+        assertEquals(0, registry.actorsFor(ActionType.VOTE).length);
+    }
+
+    // ============== EXTENSION TESTS ==============
+
+    @Test
+    @DisplayName("A declared role joins the tables without a dedicated class")
+    public void testCustomRole() {
+        List<RoleDefinition> declared = new ArrayList<>(new BuiltinRoles().getRoles());
+        declared.add(BODYGUARD);
+        RoleRegistry registry = new RoleRegistry(declared);
+
+        assertEquals(1L, composition(registry, 6).get("Bodyguard"));
+        assertNull(composition(registry, 5).get("Bodyguard"));
+        assertEquals("Bodyguard", registry.getNightRoles().get(0).getName());
+        Map<String, RoleDefinition> healers = Arrays.stream(registry.actorsFor(ActionType.HEAL))
+                .collect(Collectors.toMap(RoleDefinition::getName, Function.identity()));
+        assertEquals(2, healers.size());
+
+        PlayerRole role = registry.get("Bodyguard").getRole();
+        assertInstanceOf(ConfiguredRole.class, role);
+        assertTrue(role.canPerform(ActionType.HEAL));
+        assertFalse(role.canPerform(ActionType.KILL));
+        assertEquals(Faction.VILLAGE, role.getFaction());
+    }
+
+    @Test
+    @DisplayName("Later declarations replace a role by name")
+    public void testOverride() {
+        RoleDefinition solitaryWolf = RoleDefinition.builder("Werewolf")
+                .faction(Faction.WEREWOLVES)
+                .nightAction(ActionType.KILL, 20, "Wake up.")
+                .build();
+        List<RoleDefinition> declared = new ArrayList<>(new BuiltinRoles().getRoles());
+        declared.add(solitaryWolf);
+        RoleRegistry registry = new RoleRegistry(declared);
+
+        assertEquals(1L, composition(registry, 12).get("Werewolf"));
+        assertEquals("Werewolf", registry.getDefinitions().get(0).getName());
+    }
+
+    @Test
+    @DisplayName("Invalid catalogues are rejected")
+    public void testInvalidCatalogues() {
+        assertThrows(IllegalArgumentException.class, () -> new RoleRegistry(List.of(BuiltinRoles.WEREWOLF)));
+        RoleDefinition secondFiller = RoleDefinition.builder("Peasant").filler().build();
+        assertThrows(IllegalArgumentException.class,
+                () -> new RoleRegistry(List.of(BuiltinRoles.VILLAGER, secondFiller)));
+        assertThrows(IllegalArgumentException.class,
+                () -> RoleDefinition.builder("Judge").nightAction(ActionType.VOTE, 1, "?"));
+    }
+
+    // ============== WIN CONDITION TESTS ==============
+
+    @Test
+    @DisplayName("Factions apply their win condition")
+    public void testWinConditions() {
+        assertTrue(Faction.VILLAGE.getWinCondition().isMet(3, 0));
+        assertFalse(Faction.VILLAGE.getWinCondition().isMet(3, 1));
+        assertTrue(Faction.WEREWOLVES.getWinCondition().isMet(1, 1));
+        assertFalse(Faction.WEREWOLVES.getWinCondition().isMet(1, 2));
+        assertFalse(Faction.WEREWOLVES.getWinCondition().isMet(0, 0));
+    }
+
+    // ============== PLUGGABLE RULES TESTS ==============
+
+    /**
+     * Action de nuit qui n'existe pas dans le jeu de base : la sorcière empoisonne sa cible.
+     */
+    private static final class PoisonAction implements GameAction {
+        static final ActionType POISON = ActionType.define("POISON", GameState.NIGHT);
+
+        @Override
+        public ActionType getType() {
+            return POISON;
+        }
+
+        @Override
+        public void resolve(NightResolution night, VoteLedger choices) {
+            for (String targetId : choices.getVotes().values()) {
+                night.kill(night.getPlayer(targetId));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("A provider brings its own night action, faction and win condition")
+    public void testProviderDeclaresActionAndFaction() {
+        WinCondition lastStanding = (members, opponents) -> members == 1 && opponents == 0;
+        Faction solo = Faction.define("SOLO", lastStanding, "The witch wins alone!");
+        RoleDefinition witch = RoleDefinition.builder("Witch")
+                .faction(solo)
+                .actions(ActionType.VOTE)
+                .nightAction(new PoisonAction(), 25, "Witch, choose a player to poison.")
+                .minPlayers(6)
+                .build();
+        List<RoleDefinition> declared = new ArrayList<>(new BuiltinRoles().getRoles());
+        declared.add(witch);
+        RoleRegistry registry = new RoleRegistry(declared);
+
+        assertTrue(registry.getFactions().contains(solo));
+        assertSame(lastStanding, solo.getWinCondition());
+        assertSame(solo, Faction.valueOf("solo"));
+        assertEquals(List.of(ActionType.HEAL, ActionType.KILL, PoisonAction.POISON, ActionType.PEEK),
+                registry.getNightActions());
+        assertInstanceOf(PoisonAction.class, registry.getNightStages()[2].getResolver());
+        assertSame(solo, registry.getNightStages()[2].getFaction());
+        assertTrue(witch.getRole().canPerform(PoisonAction.POISON));
+
+        // L'étape fournie s'exécute dans la résolution de nuit comme celles du jeu de base
+        GameSession session = new GameSession("witch");
+        Player witchPlayer = new Player("w", "Witch");
+        witchPlayer.setRole(witch.getRole());
+        session.addPlayer(witchPlayer);
+        session.addPlayer(new Player("v", "Victim"));
+        NightResolution night = new NightResolution(session, new Random(1));
+        night.choose(PoisonAction.POISON, "w", "v");
+        night.resolve(registry.getNightStages());
+        assertFalse(session.getPlayer("v").isAlive());
+    }
+
+    @Test
+    @DisplayName("A night action without a resolution stage is rejected")
+    public void testNightActionWithoutStage() {
+        ActionType curse = ActionType.define("CURSE", GameState.NIGHT);
+        RoleDefinition warlock = RoleDefinition.builder("Warlock").nightAction(curse, 5, "Curse.").build();
+        List<RoleDefinition> declared = new ArrayList<>(new BuiltinRoles().getRoles());
+        declared.add(warlock);
+
+        assertThrows(IllegalArgumentException.class, () -> new RoleRegistry(declared));
+        assertThrows(IllegalArgumentException.class, () -> ActionType.define("CURSE", GameState.DAY_VOTING));
+    }
+
+    @Test
+    @DisplayName("The role file declares factions and roles")
+    public void testRoleFile(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("roles.properties");
+        Files.writeString(file, String.join("\n",
+                "faction.VAMPIRES.win=PARITY",
+                "faction.VAMPIRES.message=Vampires win!",
+                "role.Vampire.faction=VAMPIRES",
+                "role.Vampire.actions=VOTE",
+                "role.Vampire.night=KILL",
+                "role.Vampire.priority=25",
+                "role.Vampire.onePer=6",
+                "role.Hermit.actions=VOTE",
+                "role.Hermit.minPlayers=7"));
+        List<RoleDefinition> declared = new ArrayList<>(new BuiltinRoles().getRoles());
+        declared.addAll(RoleConfig.load(file).getRoles());
+        RoleRegistry registry = new RoleRegistry(declared);
+
+        Faction vampires = Faction.valueOf("VAMPIRES");
+        assertSame(WinCondition.PARITY, vampires.getWinCondition());
+        assertEquals("Vampires win!", vampires.getWinMessage());
+        assertEquals(List.of(Faction.VILLAGE, Faction.WEREWOLVES, vampires), List.copyOf(registry.getFactions()));
+        assertEquals(vampires, registry.get("Vampire").getRole().getFaction());
+        assertEquals(2, registry.actorsFor(ActionType.KILL).length);
+        // Les vampires ne rejoignent pas le vote des loups : chaque camp a son étape de meurtre
+        List<String> stages = Arrays.stream(registry.getNightStages())
+                .map(NightStage::toString)
+                .collect(Collectors.toList());
+        assertEquals(List.of("HEAL/VILLAGE", "KILL/WEREWOLVES", "KILL/VAMPIRES", "PEEK/VILLAGE"), stages);
+        assertEquals(List.of(registry.get("Vampire")), List.of(registry.actorsOf(2)));
+        assertEquals(1L, composition(registry, 7).get("Hermit"));
+        assertNull(composition(registry, 6).get("Hermit"));
+    }
+
+    @Test
+    @DisplayName("Two role files load in one JVM without leaking into each other or using up the registries")
+    public void testTwoRoleFiles(@TempDir Path dir) throws Exception {
+        Path cult = dir.resolve("cult.properties");
+        Files.writeString(cult, String.join("\n",
+                "faction.CULT.win=PARITY",
+                "faction.CULT.message=The cult wins!",
+                "role.Cultist.faction=CULT",
+                "role.Cultist.actions=VOTE, KILL",
+                "role.Cultist.night=KILL",
+                "role.Cultist.priority=25",
+                "role.Cultist.onePer=6"));
+        Path spirits = dir.resolve("spirits.properties");
+        Files.writeString(spirits, String.join("\n",
+                "faction.SPIRITS.win=ELIMINATION",
+                "role.Ghost.faction=SPIRITS",
+                "role.Ghost.actions=VOTE",
+                "role.Ghost.minPlayers=7"));
+
+        RoleRegistry withCult = registryWith(cult);
+        int factions = Faction.values().length;
+        int actions = ActionType.values().length;
+        RoleRegistry withSpirits = registryWith(spirits);
+        RoleRegistry cultAgain = registryWith(cult);
+
+        Faction cultFaction = Faction.valueOf("CULT");
+        Faction spiritFaction = Faction.valueOf("SPIRITS");
+        assertEquals(factions + 1, Faction.values().length, "reloading a file declares nothing new");
+        assertEquals(actions, ActionType.values().length);
+        assertSame(cultFaction, cultAgain.get("Cultist").getRole().getFaction());
+        assertTrue(withCult.getFactions().contains(cultFaction));
+        assertFalse(withCult.getFactions().contains(spiritFaction));
+        assertFalse(withSpirits.getFactions().contains(cultFaction));
+        assertNull(withSpirits.get("Cultist"));
+        assertEquals("SPIRITS win!", spiritFaction.getWinMessage());
+
+        // Une redéclaration contradictoire ou un fichier invalide ne déclarent rien
+        Properties conflicting = new Properties();
+        conflicting.load(new StringReader("faction.CULT.win=ELIMINATION"));
+        assertThrows(IllegalArgumentException.class, () -> RoleConfig.parse(conflicting));
+        Properties renamed = new Properties();
+        renamed.load(new StringReader("faction.CULT.win=PARITY\nfaction.CULT.message=Cult victory"));
+        assertThrows(IllegalArgumentException.class, () -> RoleConfig.parse(renamed));
+        Properties invalid = new Properties();
+        invalid.load(new StringReader("faction.AURORA.win=PARITY\nfaction.OMENS.win=HAUNTING"));
+        assertThrows(IllegalArgumentException.class, () -> RoleConfig.parse(invalid));
+        assertSame(WinCondition.PARITY, cultFaction.getWinCondition());
+        assertEquals(factions + 1, Faction.values().length);
+    }
+
+    private static RoleRegistry registryWith(Path file) throws IOException {
+        List<RoleDefinition> declared = new ArrayList<>(new BuiltinRoles().getRoles());
+        declared.addAll(RoleConfig.load(file).getRoles());
+        return new RoleRegistry(declared);
+    }
+
+    @Test
+    @DisplayName("Invalid role files are rejected")
+    public void testInvalidRoleFile() throws Exception {
+        Properties unknownAction = new Properties();
+        unknownAction.load(new StringReader("role.Thief.actions=STEAL"));
+        assertThrows(IllegalArgumentException.class, () -> RoleConfig.parse(unknownAction));
+
+        Properties unknownCondition = new Properties();
+        unknownCondition.load(new StringReader("faction.GHOSTS.win=HAUNTING"));
+        assertThrows(IllegalArgumentException.class, () -> RoleConfig.parse(unknownCondition));
+
+        Properties unknownKey = new Properties();
+        unknownKey.load(new StringReader("roles.Thief=1"));
+        assertThrows(IllegalArgumentException.class, () -> RoleConfig.parse(unknownKey));
+    }
+}
@@ -0,0 +1,257 @@
+package com.werewolf.game.snapshot;
+
+import com.werewolf.game.GameManager;
+import com.werewolf.game.GameRandom;
+import com.werewolf.game.GameSession;
+import com.werewolf.game.GameState;
+import com.werewolf.game.PhaseConfig;
+import com.werewolf.game.Player;
+import com.werewolf.game.PlayerMessenger;
+import com.werewolf.game.SessionMailbox;
+import com.werewolf.game.replay.GameInput;
+import com.werewolf.game.role.RoleRegistry;
+import com.werewolf.simulation.GameSimulator;
+import com.werewolf.simulation.VirtualClock;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Session Snapshot Tests")
+public class SessionSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    /**
+     * Partie rejouée pas à pas à partir d'un journal enregistré.
+     */
+    private static final class Table {
+        final GameSession session;
+        final VirtualClock clock;
+        final GameManager manager;
+
+        Table(GameInput seed, long now) {
+            session = new GameSession(seed.getValue());
+            clock = new VirtualClock(now);
+            manager = new GameManager(session, PlayerMessenger.DISCARD,
+                    new SessionMailbox(session.getSessionId(), Runnable::run), clock,
+                    PhaseConfig.DEFAULT.withOverrides(seed.getSettings()), RoleRegistry.getDefault(), seed.getNumber());
+        }
+
+        void play(List<GameInput> inputs) {
+            inputs.forEach(manager::replayInput);
+        }
+
+        Map<String, String> outcome() {
+            Map<String, String> players = new LinkedHashMap<>();
+            for (Player player : session.getPlayersInJoinOrder()) {
+                players.put(player.getId(), player.getRole().getName() + (player.isAlive() ? "" : " (dead)"));
+            }
+            players.put("phase", session.getCurrentPhase().name());
+            players.put("winner", String.valueOf(manager.getWinner()));
+            return players;
+        }
+    }
+
+    private static List<GameInput> recordGame(long seed) {
+        List<GameInput> inputs = new ArrayList<>();
+        new GameSimulator().play(7, seed, inputs::add);
+        return inputs;
+    }
+
+    // Entrées de la partie : la graine en tête ne se rejoue pas, l'issue est ignorée
+    private static Table playUntil(List<GameInput> inputs, int end) {
+        Table table = new Table(inputs.get(0), inputs.get(0).getTime());
+        table.play(inputs.subList(1, end));
+        return table;
+    }
+
+    // ============== RANDOM STATE TESTS ==============
+
+    @Test
+    @DisplayName("The game random draws like java.util.Random and resumes from its state")
+    public void testGameRandom() {
+        GameRandom random = new GameRandom(1234L);
+        Random reference = new Random(1234L);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(reference.nextInt(50), random.nextInt(50));
+        }
+
+        GameRandom resumed = new GameRandom(0L);
+        resumed.setState(random.getState());
+        assertEquals(random.nextLong(), resumed.nextLong());
+        assertEquals(random.nextDouble(), resumed.nextDouble());
+    }
+
+    // ============== SNAPSHOT TESTS ==============
+
+    @Test
+    @DisplayName("A snapshot survives encoding and restores the same state")
+    public void testEncodeAndRestore() throws IOException {
+        List<GameInput> inputs = recordGame(11L);
+        int middle = inputs.size() / 2;
+        Table original = playUntil(inputs, middle);
+        SessionSnapshot snapshot = original.manager.snapshot();
+        byte[] encoded = SnapshotFormat.encode(snapshot);
+
+        SessionSnapshot decoded = SnapshotFormat.decode(Arrays.copyOfRange(encoded, 4, encoded.length));
+        Table restored = new Table(inputs.get(0), snapshot.getTime());
+        restored.manager.restore(decoded, List.of());
+
+        assertEquals(original.session.getCurrentPhase(), restored.session.getCurrentPhase());
+        assertEquals(snapshot.getPlayers().size(), restored.session.getPlayers().size());
+        assertArrayEquals(encoded, SnapshotFormat.encode(restored.manager.snapshot()));
+    }
+
+    @Test
+    @DisplayName("Players who left mid-game are kept in the snapshot for the summary")
+    public void testDepartedPlayersRestored() throws IOException {
+        List<GameInput> inputs = recordGame(11L);
+        int middle = inputs.size() / 2;
+        Table original = playUntil(inputs, middle);
+        Player quitter = original.session.getPlayersInJoinOrder().get(1);
+        original.manager.replayInput(GameInput.leave(original.clock.currentTimeMillis(), quitter.getId()));
+        SessionSnapshot snapshot = original.manager.snapshot();
+        assertEquals(1, snapshot.getDeparted().size());
+        assertEquals(quitter.getId(), snapshot.getDeparted().get(0).getId());
+        assertEquals(quitter.getRole().getName(), snapshot.getDeparted().get(0).getRole());
+        byte[] encoded = SnapshotFormat.encode(snapshot);
+
+        SessionSnapshot decoded = SnapshotFormat.decode(Arrays.copyOfRange(encoded, 4, encoded.length));
+        Table restored = new Table(inputs.get(0), snapshot.getTime());
+        restored.manager.restore(decoded, List.of());
+
+        assertNull(restored.session.getPlayer(quitter.getId()));
+        assertArrayEquals(encoded, SnapshotFormat.encode(restored.manager.snapshot()));
+    }
+
+    @Test
+    @DisplayName("A restored game ends exactly as the uninterrupted one")
+    public void testRestoredGameContinues() throws IOException {
+        for (long seed = 1; seed <= 5; seed++) {
+            List<GameInput> inputs = recordGame(seed);
+            Table full = playUntil(inputs, inputs.size());
+            for (int cut = 2; cut < inputs.size(); cut += 7) {
+                Table original = playUntil(inputs, cut);
+                byte[] encoded = SnapshotFormat.encode(original.manager.snapshot());
+                Table restored = new Table(inputs.get(0), original.clock.currentTimeMillis());
+                restored.manager.restore(SnapshotFormat.decode(Arrays.copyOfRange(encoded, 4, encoded.length)),
+                        List.of());
+
+                restored.play(inputs.subList(cut, inputs.size()));
+
+                assertEquals(full.outcome(), restored.outcome(), "seed " + seed + ", cut at entry " + cut);
+            }
+            assertEquals(GameState.GAME_OVER, full.session.getCurrentPhase());
+        }
+    }
+
+    @Test
+    @DisplayName("A restored tie between wolves is drawn as in the uninterrupted game")
+    public void testRestoredTieDrawsSameVictim() throws IOException {
+        for (long seed = 1; seed <= 20; seed++) {
+            GameInput seedInput = GameInput.seed(0L, seed, "tie", PhaseConfig.DEFAULT);
+            Table original = new Table(seedInput, 0L);
+            for (int i = 1; i <= 8; i++) {
+                original.manager.replayInput(GameInput.join(0L, "p" + i, "Player" + i));
+            }
+            original.manager.replayInput(GameInput.start(0L, "p1", Map.of()));
+            List<String> wolves = new ArrayList<>();
+            List<String> villagers = new ArrayList<>();
+            for (Player player : original.session.getPlayersInJoinOrder()) {
+                (player.getRole().getName().equals("Werewolf") ? wolves : villagers).add(player.getId());
+            }
+            assertEquals(2, wolves.size());
+
+            // Le premier loup change d'avis deux fois : l'égalité dépend de l'ordre des votes, pas seulement de leur état
+            String first = wolves.get(0);
+            String second = wolves.get(1);
+            original.manager.replayInput(GameInput.command(0L, first, "KILL", villagers.get(0)));
+            original.manager.replayInput(GameInput.command(0L, second, "KILL", villagers.get(1)));
+            original.manager.replayInput(GameInput.command(0L, first, "KILL", villagers.get(2)));
+            original.manager.replayInput(GameInput.command(0L, first, "KILL", villagers.get(0)));
+
+            byte[] encoded = SnapshotFormat.encode(original.manager.snapshot());
+            Table restored = new Table(seedInput, original.clock.currentTimeMillis());
+            restored.manager.restore(SnapshotFormat.decode(Arrays.copyOfRange(encoded, 4, encoded.length)),
+                    List.of());
+
+            original.manager.replayInput(GameInput.timer(0L, GameState.NIGHT));
+            restored.manager.replayInput(GameInput.timer(0L, GameState.NIGHT));
+
+            assertEquals(GameState.DAY_DISCUSSION, original.session.getCurrentPhase());
+            assertEquals(original.outcome(), restored.outcome(), "seed " + seed);
+        }
+    }
+
+    // ============== RECOVERY TESTS ==============
+
+    @Test
+    @DisplayName("A recovery file restores its snapshot and replays the inputs written after it")
+    public void testRecoveryWithTail() throws IOException {
+        List<GameInput> inputs = recordGame(21L);
+        int cut = inputs.size() / 3;
+        int crash = 2 * inputs.size() / 3;
+        Table original = playUntil(inputs, cut);
+        RecoveryStore store = new RecoveryStore(dir);
+        RecoveryLog log = store.open(original.session.getSessionId());
+        log.checkpoint(original.manager.snapshot());
+        inputs.subList(cut, crash).forEach(log::append);
+        assertEquals(crash - cut, log.getPendingInputs());
+        log.close();
+
+        List<RecoveredSession> recovered = store.recover();
+
+        assertEquals(1, recovered.size());
+        RecoveredSession session = recovered.get(0);
+        assertEquals(crash - cut, session.getTail().size());
+        assertEquals(inputs.get(crash - 1).getTime(), session.getTail().get(crash - cut - 1).getTime());
+        Table restored = new Table(inputs.get(0), session.getSnapshot().getTime());
+        restored.manager.restore(session.getSnapshot(), session.getTail());
+        restored.play(inputs.subList(crash, inputs.size()));
+        assertEquals(playUntil(inputs, inputs.size()).outcome(), restored.outcome());
+    }
+
+    @Test
+    @DisplayName("Finished, truncated and unreadable recovery files are handled on startup")
+    public void testRecoverEdgeCases() throws IOException {
+        List<GameInput> inputs = recordGame(31L);
+        RecoveryStore store = new RecoveryStore(dir);
+
+        // Partie terminée pendant l'arrêt : rien à reprendre, le fichier est effacé
+        Table finished = playUntil(inputs, 2);
+        RecoveryLog over = store.open("over");
+        over.checkpoint(finished.manager.snapshot());
+        inputs.subList(2, inputs.size()).forEach(over::append);
+        over.close();
+
+        // Dernière entrée tronquée par l'arrêt
+        RecoveryLog truncated = store.open("truncated");
+        truncated.checkpoint(playUntil(inputs, 5).manager.snapshot());
+        inputs.subList(5, 8).forEach(truncated::append);
+        truncated.close();
+        byte[] bytes = Files.readAllBytes(truncated.getFile());
+        Files.write(truncated.getFile(), Arrays.copyOf(bytes, bytes.length - 2));
+
+        Files.write(dir.resolve("garbage" + RecoveryStore.EXTENSION), new byte[] {1, 2, 3, 4, 5, 6});
+
+        List<RecoveredSession> recovered = store.recover();
+
+        assertEquals(1, recovered.size());
+        assertEquals(2, recovered.get(0).getTail().size());
+        assertFalse(Files.exists(over.getFile()));
+        assertTrue(Files.exists(dir.resolve("garbage" + RecoveryStore.EXTENSION)));
+    }
+}
@@ -0,0 +1,164 @@
+package com.werewolf.game.stats;
+
+import com.werewolf.game.role.Faction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("StatsService Tests")
+public class StatsServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private StatsService stats;
+
+    @AfterEach
+    public void tearDown() {
+        if (stats != null) {
+            stats.close();
+        }
+    }
+
+    private static GameSummary.PlayerOutcome villager(String name, boolean won, boolean survived) {
+        return new GameSummary.PlayerOutcome(name, "Villager", Faction.VILLAGE, won, survived, 2, 1, 0, 0);
+    }
+
+    private static GameSummary.PlayerOutcome seer(String name, boolean won, int peeks, int correct) {
+        return new GameSummary.PlayerOutcome(name, "Seer", Faction.VILLAGE, won, true, 1, 1, peeks, correct);
+    }
+
+    private static GameSummary.PlayerOutcome wolf(String name, boolean won) {
+        return new GameSummary.PlayerOutcome(name, "Werewolf", Faction.WEREWOLVES, won, won, 2, 2, 0, 0);
+    }
+
+    private static GameSummary game(Faction winner, GameSummary.PlayerOutcome... players) {
+        return new GameSummary("table", 0, winner, List.of(players));
+    }
+
+    private static List<String> names(List<PlayerStats> entries) {
+        return entries.stream().map(PlayerStats::getUsername).collect(Collectors.toList());
+    }
+
+    // ============== UPDATE TESTS ==============
+
+    @Test
+    @DisplayName("Finished games add up per username")
+    public void testIncrementalUpdate() {
+        stats = new StatsService(null, 1, 60_000);
+        stats.onGameOver(game(Faction.VILLAGE, villager("alice", true, true), wolf("bob", false)));
+        stats.onGameOver(game(Faction.WEREWOLVES, villager("alice", false, false), wolf("bob", true)));
+        stats.onGameOver(game(Faction.VILLAGE, seer("alice", true, 3, 2), wolf("carol", false)));
+        stats.flush();
+
+        PlayerStats alice = stats.getStats("alice");
+        assertEquals(3, alice.getGames());
+        assertEquals(2, alice.getWins());
+        assertEquals(2, alice.getWins(Faction.VILLAGE));
+        assertEquals(0, alice.getWins(Faction.WEREWOLVES));
+        assertEquals(2.0 / 3, alice.getSurvivalRate(), 1e-9);
+        assertEquals(3.0 / 5, alice.getVoteAccuracy(), 1e-9);
+        assertEquals(2.0 / 3, alice.getSeerAccuracy(), 1e-9);
+        assertEquals(1, stats.getStats("bob").getWins(Faction.WEREWOLVES));
+        assertNull(stats.getStats("nobody"));
+        assertEquals(3, stats.getGameCount());
+        assertEquals(3, stats.getPlayerCount());
+    }
+
+    // ============== LEADERBOARD TESTS ==============
+
+    @Test
+    @DisplayName("Leaderboards stay sorted as scores change")
+    public void testLeaderboardOrder() {
+        stats = new StatsService(null, 1, 60_000);
+        stats.onGameOver(game(Faction.VILLAGE, villager("alice", true, true), villager("bob", true, true),
+                wolf("carol", false)));
+        stats.onGameOver(game(Faction.VILLAGE, villager("bob", true, true), wolf("carol", false)));
+        stats.flush();
+
+        assertEquals(List.of("bob", "alice", "carol"), names(stats.top(Leaderboard.WINS, 10)));
+        assertEquals(List.of("bob"), names(stats.top(Leaderboard.WINS, 1)));
+
+        // Une défaite ne change pas le nombre de victoires : l'entrée reste unique
+        stats.onGameOver(game(Faction.WEREWOLVES, villager("bob", false, false), wolf("carol", true)));
+        stats.flush();
+        assertEquals(List.of("bob", "alice", "carol"), names(stats.top(Leaderboard.WINS, 10)));
+        assertEquals(List.of("bob", "carol", "alice"), names(stats.top(Leaderboard.GAMES_PLAYED, 10)));
+    }
+
+    @Test
+    @DisplayName("Rate leaderboards require a minimum sample")
+    public void testMinimumSample() {
+        stats = new StatsService(null, 2, 60_000);
+        stats.onGameOver(game(Faction.VILLAGE, villager("lucky", true, true), seer("seer", true, 1, 1)));
+        stats.onGameOver(game(Faction.VILLAGE, villager("steady", true, true), seer("seer", true, 1, 0)));
+        stats.onGameOver(game(Faction.WEREWOLVES, villager("steady", false, false)));
+        stats.flush();
+
+        assertEquals(List.of("seer", "steady"), names(stats.top(Leaderboard.WIN_RATE, 10)));
+        assertEquals(List.of("seer"), names(stats.top(Leaderboard.SEER_ACCURACY, 10)));
+        assertEquals(Leaderboard.SEER_ACCURACY, Leaderboard.parse(" seer_accuracy "));
+        assertNull(Leaderboard.parse("bogus"));
+    }
+
+    @Test
+    @DisplayName("Leaderboards match a full sort on a large population")
+    public void testMatchesFullSort() {
+        stats = new StatsService(null, 5, 60_000);
+        Random random = new Random(7);
+        for (int i = 0; i < 20_000; i++) {
+            List<GameSummary.PlayerOutcome> players = new ArrayList<>();
+            boolean villageWins = random.nextBoolean();
+            for (int p = 0; p < 6; p++) {
+                String name = "p" + random.nextInt(2_000);
+                players.add(p == 0 ? wolf(name, !villageWins) : villager(name, villageWins, random.nextBoolean()));
+            }
+            stats.onGameOver(new GameSummary("t" + i, i, villageWins ? Faction.VILLAGE : Faction.WEREWOLVES, players));
+        }
+        stats.flush();
+
+        List<PlayerStats> all = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            PlayerStats player = stats.getStats("p" + i);
+            if (player != null) {
+                all.add(player);
+            }
+        }
+        all.sort((a, b) -> a.getWinRate() != b.getWinRate() ? Double.compare(b.getWinRate(), a.getWinRate())
+                : a.getUsername().compareTo(b.getUsername()));
+        assertEquals(names(all.subList(0, 50)), names(stats.top(Leaderboard.WIN_RATE, 50)));
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 1_000; i++) {
+            stats.top(Leaderboard.WINS, 10);
+        }
+        assertTrue((System.nanoTime() - start) / 1_000 < 1_000_000, "1000 queries should take well under a second");
+    }
+
+    // ============== CHECKPOINT TESTS ==============
+
+    @Test
+    @DisplayName("Statistics are checkpointed and reloaded")
+    public void testCheckpoint() {
+        Path file = directory.resolve("stats.bin");
+        stats = new StatsService(file, 1, 60_000);
+        stats.onGameOver(game(Faction.WEREWOLVES, seer("alice", false, 2, 1), wolf("bob", true)));
+        stats.close();
+
+        stats = new StatsService(file, 1, 60_000);
+        PlayerStats bob = stats.getStats("bob");
+        assertEquals(1, stats.getGameCount());
+        assertEquals(1, bob.getWins(Faction.WEREWOLVES));
+        assertEquals(1, stats.getStats("alice").getCorrectPeeks());
+        assertEquals(List.of("bob", "alice"), names(stats.top(Leaderboard.WINS, 10)));
+    }
+}
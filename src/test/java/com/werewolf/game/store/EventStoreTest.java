@@ -0,0 +1,117 @@
+package com.werewolf.game.store;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("EventStore Tests")
+public class EventStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private static GameEvent event(int i) {
+        return new GameEvent(GameEvent.Type.values()[i % GameEvent.Type.values().length], 1_000L + i,
+                "table-" + (i % 3), "p" + i, i % 2 == 0 ? null : "p" + (i + 1), "text " + i);
+    }
+
+    private List<GameEvent> readAll() throws IOException {
+        List<GameEvent> events = new ArrayList<>();
+        EventReader.open(directory).forEachRemaining(events::add);
+        return events;
+    }
+
+    // ============== WRITE / READ TESTS ==============
+
+    @Test
+    @DisplayName("Events are read back in the order they were recorded")
+    public void testRoundTrip() throws IOException {
+        List<GameEvent> expected = new ArrayList<>();
+        EventStore store = new EventStore(directory);
+        for (int i = 0; i < 100; i++) {
+            expected.add(event(i));
+            store.record(event(i));
+        }
+        store.close();
+
+        assertEquals(expected, readAll());
+        assertEquals(100, store.getWrittenCount());
+        assertEquals(0, store.getDroppedCount());
+    }
+
+    @Test
+    @DisplayName("Full segments roll over to new files")
+    public void testSegmentRolling() throws IOException {
+        EventStore store = new EventStore(directory, 4_096, 50, 100_000);
+        for (int i = 0; i < 5_000; i++) {
+            store.record(event(i));
+        }
+        store.close();
+
+        assertTrue(EventReader.listSegments(directory).size() > 10);
+        List<GameEvent> events = readAll();
+        assertEquals(5_000, events.size());
+        for (int i = 0; i < events.size(); i++) {
+            assertEquals(event(i), events.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("A reopened store appends to a fresh segment")
+    public void testReopen() throws IOException {
+        EventStore first = new EventStore(directory, 8_192, 50, 1_000);
+        first.record(event(0));
+        first.close();
+        EventStore second = new EventStore(directory, 8_192, 50, 1_000);
+        second.record(event(1));
+        second.close();
+
+        assertEquals(2, EventReader.listSegments(directory).size());
+        assertEquals(List.of(event(0), event(1)), readAll());
+    }
+
+    @Test
+    @DisplayName("A session history is filtered from the shared store")
+    public void testSessionHistory() throws IOException {
+        EventStore store = new EventStore(directory);
+        for (int i = 0; i < 30; i++) {
+            store.record(event(i));
+        }
+        store.close();
+
+        List<GameEvent> history = EventReader.sessionHistory(directory, "table-1").collect(Collectors.toList());
+        assertEquals(10, history.size());
+        assertTrue(history.stream().allMatch(e -> e.getSessionId().equals("table-1")));
+        assertTrue(EventReader.open(directory.resolve("missing")).stream().findAny().isEmpty());
+    }
+
+    // ============== THROUGHPUT TESTS ==============
+
+    @Test
+    @DisplayName("Recording never blocks and a full queue drops instead of waiting")
+    public void testNonBlocking() throws IOException {
+        EventStore store = new EventStore(directory, 1 << 20, 10, 200_000);
+        long start = System.nanoTime();
+        for (int i = 0; i < 100_000; i++) {
+            store.record(event(i));
+        }
+        long recordMs = (System.nanoTime() - start) / 1_000_000;
+        store.close();
+
+        assertEquals(100_000, store.getWrittenCount() + store.getDroppedCount());
+        assertEquals(100_000, readAll().size() + store.getDroppedCount());
+        assertTrue(recordMs < 5_000, "recording took " + recordMs + " ms");
+
+        long dropped = store.getDroppedCount();
+        store.record(event(0));
+        assertEquals(dropped + 1, store.getDroppedCount(), "a closed store drops new events");
+    }
+}
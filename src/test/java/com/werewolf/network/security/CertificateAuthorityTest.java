@@ -0,0 +1,117 @@
+package com.werewolf.network.security;
+
+import org.junit.jupiter.api.Test;
+
+import com.werewolf.security.CertificateAuthority;
+import com.werewolf.security.IssuedCertificate;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLServerSocket;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.TrustManagerFactory;
+import java.security.KeyStore;
+import java.security.cert.CertPathValidator;
+import java.security.cert.CertificateFactory;
+import java.security.cert.PKIXParameters;
+import java.security.cert.TrustAnchor;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CertificateAuthorityTest {
+
+    private static final String CA_DNAME = "CN=TestCA, O=Werewolf, C=FR";
+    private static final String PASSWORD = "test_password";
+
+    private static void validate(CertificateAuthority ca, X509Certificate[] chain) throws Exception {
+        CertificateFactory factory = CertificateFactory.getInstance("X.509");
+        PKIXParameters parameters = new PKIXParameters(Set.of(new TrustAnchor(ca.getCertificate(), null)));
+        parameters.setRevocationEnabled(false);
+        CertPathValidator.getInstance("PKIX").validate(
+                factory.generateCertPath(Arrays.asList(chain).subList(0, chain.length - 1)), parameters);
+    }
+
+    private static SSLContext context(KeyStore keyStore, KeyStore trustStore) throws Exception {
+        KeyManagerFactory kmf = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        kmf.init(keyStore, PASSWORD.toCharArray());
+        TrustManagerFactory tmf = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        tmf.init(trustStore);
+        SSLContext context = SSLContext.getInstance("TLSv1.3");
+        context.init(kmf.getKeyManagers(), tmf.getTrustManagers(), null);
+        return context;
+    }
+
+    @Test
+    void testIssuedCertificateChainsToAuthority() throws Exception {
+        CertificateAuthority ca = CertificateAuthority.create(CA_DNAME, Duration.ofDays(30));
+        IssuedCertificate server = ca.issue("CN=WerewolfServer, O=Werewolf, C=FR", Duration.ofDays(1));
+
+        X509Certificate root = ca.getCertificate();
+        assertEquals("EC", root.getPublicKey().getAlgorithm());
+        assertTrue(root.getBasicConstraints() >= 0, "The root must be a CA certificate");
+        assertEquals(-1, server.getCertificate().getBasicConstraints(), "A leaf must not be a CA certificate");
+        assertEquals(root.getSubjectX500Principal(), server.getCertificate().getIssuerX500Principal());
+        assertDoesNotThrow(() -> validate(ca, server.getChain()));
+        assertEquals(1, ca.getIssuedCount());
+    }
+
+    @Test
+    void testAuthorityReloadedFromKeyStore() throws Exception {
+        CertificateAuthority ca = CertificateAuthority.create(CA_DNAME, Duration.ofDays(30));
+        CertificateAuthority reloaded = CertificateAuthority.load(ca.toKeyStore("ca", PASSWORD), "ca", PASSWORD);
+
+        IssuedCertificate issued = reloaded.issueClientCertificate("p1");
+        assertEquals(ca.getCertificate(), reloaded.getCertificate());
+        assertDoesNotThrow(() -> validate(ca, issued.getChain()));
+    }
+
+    @Test
+    void testPlayerIdCannotInjectNameComponents() throws Exception {
+        CertificateAuthority ca = CertificateAuthority.create(CA_DNAME, Duration.ofDays(30));
+        X509Certificate certificate = ca.issueClientCertificate("eve, O=Admins").getCertificate();
+
+        String name = certificate.getSubjectX500Principal().getName();
+        assertTrue(name.startsWith("CN=eve\\, O\\=Admins,"), name);
+        assertTrue(name.endsWith("O=Werewolf,C=FR"), name);
+    }
+
+    @Test
+    void testMTLSHandshakeWithPerPlayerCertificate() throws Exception {
+        CertificateAuthority ca = CertificateAuthority.create(CA_DNAME, Duration.ofDays(30));
+        KeyStore trustStore = ca.toTrustStore();
+        SSLContext serverContext = context(
+                ca.issue("CN=WerewolfServer, O=Werewolf, C=FR", Duration.ofDays(1)).toKeyStore("server", PASSWORD),
+                trustStore);
+        SSLContext clientContext = context(ca.issueClientCertificate("Player-42").toKeyStore("client", PASSWORD),
+                trustStore);
+
+        AtomicReference<String> seenByServer = new AtomicReference<>();
+        try (SSLServerSocket serverSocket = (SSLServerSocket) serverContext.getServerSocketFactory()
+                .createServerSocket(0)) {
+            serverSocket.setNeedClientAuth(true);
+            Thread acceptor = new Thread(() -> {
+                try (SSLSocket accepted = (SSLSocket) serverSocket.accept()) {
+                    accepted.startHandshake();
+                    X509Certificate peer = (X509Certificate) accepted.getSession().getPeerCertificates()[0];
+                    seenByServer.set(peer.getSubjectX500Principal().getName());
+                } catch (Exception e) {
+                    seenByServer.set("failed: " + e);
+                }
+            });
+            acceptor.start();
+            try (SSLSocket client = (SSLSocket) clientContext.getSocketFactory()
+                    .createSocket("127.0.0.1", serverSocket.getLocalPort())) {
+                client.setSoTimeout(5000);
+                client.startHandshake();
+            }
+            acceptor.join(5000);
+        }
+        assertNotNull(seenByServer.get());
+        assertTrue(seenByServer.get().startsWith("CN=Player-42,"), seenByServer.get());
+    }
+}
@@ -3,6 +3,7 @@ package com.werewolf.network.security;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Test;
 
+import com.werewolf.security.CertificateAuthority;
 import com.werewolf.security.CertificateManager;
 
 import java.io.File;
@@ -64,6 +65,27 @@ class CertificateManagerTest {
         assertDoesNotThrow(() -> cert.checkValidity(new Date()), "Generated certificate should be valid today");
     }
 
+    @Test
+    void testGeneratedInProcessWithEllipticCurveKeys() throws Exception {
+        new File(CertificateManager.SERVER_KEYSTORE).delete();
+        long start = System.nanoTime();
+        CertificateManager.initializeCertificates(TEST_PASSWORD);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        assertTrue(elapsedMs < 5_000, "Generation took " + elapsedMs + " ms");
+
+        KeyStore serverKeyStore = CertificateManager.loadKeyStore(CertificateManager.SERVER_KEYSTORE, TEST_PASSWORD);
+        X509Certificate cert = (X509Certificate) serverKeyStore.getCertificate("server");
+        X509Certificate ca = (X509Certificate) serverKeyStore.getCertificate("ca");
+        assertEquals("EC", cert.getPublicKey().getAlgorithm());
+        assertDoesNotThrow(() -> cert.verify(ca.getPublicKey()), "Server certificate should be signed by the CA");
+
+        // L'autorité rechargée depuis son magasin signe avec la même clé
+        CertificateAuthority authority = CertificateAuthority.load(
+                CertificateManager.loadKeyStore(CertificateManager.CA_KEYSTORE, TEST_PASSWORD), "ca", TEST_PASSWORD);
+        X509Certificate player = authority.issueClientCertificate("Player-1").getCertificate();
+        assertDoesNotThrow(() -> player.verify(ca.getPublicKey()));
+    }
+
     @AfterAll
     static void cleanUp() {
         new File(CertificateManager.CA_CERT).delete();
@@ -3,6 +3,7 @@ package com.werewolf.network.security;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import com.werewolf.security.CertificateManager;
 import com.werewolf.security.SSLContextFactory;
@@ -13,6 +14,11 @@ import javax.net.ssl.SSLServerSocketFactory;
 import javax.net.ssl.SSLSocket;
 import javax.net.ssl.SSLSocketFactory;
 import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.cert.X509Certificate;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
@@ -22,6 +28,9 @@ class SSLContextFactoryTest {
 
     private static final String TEST_PASSWORD = "test_password";
 
+    @TempDir
+    Path dir;
+
     @BeforeAll
     static void setUp() {
         CertificateManager.initializeCertificates(TEST_PASSWORD);
@@ -106,6 +115,89 @@ class SSLContextFactoryTest {
         }
     }
 
+    /**
+     * Négocie une connexion avec un serveur du contexte donné et renvoie le sujet du certificat présenté.
+     */
+    private String serverSubject(SSLContext serverContext, SSLContext clientContext) throws Exception {
+        try (SSLServerSocket server = (SSLServerSocket) serverContext.getServerSocketFactory().createServerSocket(0)) {
+            server.setNeedClientAuth(true);
+            Thread acceptor = new Thread(() -> {
+                try (SSLSocket accepted = (SSLSocket) server.accept()) {
+                    accepted.startHandshake();
+                    accepted.getInputStream().read();
+                } catch (Exception e) {
+                    // Le client a vu l'échec de son côté
+                }
+            });
+            acceptor.start();
+            try (SSLSocket client = (SSLSocket) clientContext.getSocketFactory()
+                    .createSocket("127.0.0.1", server.getLocalPort())) {
+                client.setSoTimeout(5000);
+                client.startHandshake();
+                X509Certificate peer = (X509Certificate) client.getSession().getPeerCertificates()[0];
+                return peer.getSubjectX500Principal().getName();
+            } finally {
+                acceptor.join(5000);
+            }
+        }
+    }
+
+    @Test
+    void testContextCached() throws Exception {
+        SSLContext first = SSLContextFactory.createClientSSLContext(CertificateManager.CLIENT_KEYSTORE, TEST_PASSWORD,
+                CertificateManager.CLIENT_TRUSTSTORE, TEST_PASSWORD);
+        SSLContext second = SSLContextFactory.createClientSSLContext(CertificateManager.CLIENT_KEYSTORE, TEST_PASSWORD,
+                CertificateManager.CLIENT_TRUSTSTORE, TEST_PASSWORD);
+        SSLContext server = SSLContextFactory.createServerSSLContext(CertificateManager.SERVER_KEYSTORE, TEST_PASSWORD,
+                CertificateManager.SERVER_TRUSTSTORE, TEST_PASSWORD);
+
+        assertSame(first, second);
+        assertNotSame(first, server);
+        assertTrue(server.getServerSessionContext().getSessionTimeout() > 0);
+    }
+
+    @Test
+    void testHotReload() throws Exception {
+        Path keyStore = dir.resolve("server.p12");
+        Path trustStore = dir.resolve("server-truststore.p12");
+        Files.copy(Path.of(CertificateManager.SERVER_KEYSTORE), keyStore);
+        Files.copy(Path.of(CertificateManager.SERVER_TRUSTSTORE), trustStore);
+        SSLContext client = SSLContextFactory.createClientSSLContext(CertificateManager.CLIENT_KEYSTORE, TEST_PASSWORD,
+                CertificateManager.CLIENT_TRUSTSTORE, TEST_PASSWORD);
+
+        SSLContext server = SSLContextFactory.createServerSSLContext(keyStore.toString(), TEST_PASSWORD,
+                trustStore.toString(), TEST_PASSWORD);
+        assertTrue(serverSubject(server, client).contains("CN=WerewolfServer"));
+
+        // Nouvelle identité signée par la même autorité
+        Files.copy(Path.of(CertificateManager.CLIENT_KEYSTORE), keyStore, StandardCopyOption.REPLACE_EXISTING);
+        Files.setLastModifiedTime(keyStore, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+
+        SSLContext reloaded = SSLContextFactory.createServerSSLContext(keyStore.toString(), TEST_PASSWORD,
+                trustStore.toString(), TEST_PASSWORD);
+        assertSame(server, reloaded);
+        assertTrue(serverSubject(reloaded, client).contains("CN=WerewolfClient"));
+    }
+
+    @Test
+    void testBrokenStoreKeepsPrevious() throws Exception {
+        Path keyStore = dir.resolve("server.p12");
+        Path trustStore = dir.resolve("server-truststore.p12");
+        Files.copy(Path.of(CertificateManager.SERVER_KEYSTORE), keyStore);
+        Files.copy(Path.of(CertificateManager.SERVER_TRUSTSTORE), trustStore);
+        SSLContext client = SSLContextFactory.createClientSSLContext(CertificateManager.CLIENT_KEYSTORE, TEST_PASSWORD,
+                CertificateManager.CLIENT_TRUSTSTORE, TEST_PASSWORD);
+        SSLContext server = SSLContextFactory.createServerSSLContext(keyStore.toString(), TEST_PASSWORD,
+                trustStore.toString(), TEST_PASSWORD);
+
+        // Fichier à moitié écrit
+        Files.write(keyStore, new byte[] { 1, 2, 3 });
+        SSLContextFactory.createServerSSLContext(keyStore.toString(), TEST_PASSWORD, trustStore.toString(),
+                TEST_PASSWORD);
+
+        assertTrue(serverSubject(server, client).contains("CN=WerewolfServer"));
+    }
+
     @AfterAll
     static void cleanUp() {
         // Systematic cleanup to ensure repeatable tests
@@ -0,0 +1,51 @@
+package com.werewolf.network.server;
+
+import com.werewolf.network.shared.Message;
+import com.werewolf.network.shared.MessageCodecs;
+import com.werewolf.network.shared.MessageFraming;
+import com.werewolf.network.shared.MessageType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ConnectionCodec Tests")
+public class ConnectionCodecTest {
+
+    private static byte[] payload(byte[] frame) {
+        return Arrays.copyOfRange(frame, MessageFraming.HEADER_SIZE, frame.length);
+    }
+
+    @Test
+    @DisplayName("Java serialization is refused unless allowed")
+    public void testSerializationDisabledByDefault() throws IOException {
+        byte[] serialized = payload(MessageCodecs.JAVA.encode(new Message(MessageType.PING, "a", "ping")));
+
+        assertThrows(IOException.class, () -> new ConnectionCodec(false).decode(serialized));
+        assertEquals(MessageType.PING, new ConnectionCodec(true).decode(serialized).getType());
+    }
+
+    @Test
+    @DisplayName("Clients that do not negotiate are answered in their own format")
+    public void testAdoptsFirstFrameCodec() throws IOException {
+        ConnectionCodec codec = new ConnectionCodec(true);
+        codec.decode(payload(MessageCodecs.JAVA.encode(new Message(MessageType.PING, "a", "ping"))));
+
+        assertSame(MessageCodecs.JAVA, codec.getOutbound());
+    }
+
+    @Test
+    @DisplayName("Negotiation overrides the detected format")
+    public void testNegotiation() throws IOException {
+        ConnectionCodec codec = new ConnectionCodec(true);
+        codec.decode(payload(MessageCodecs.JAVA.encode(new Message(MessageType.PING, "a", "ping"))));
+
+        assertSame(MessageCodecs.BINARY, codec.negotiate(MessageCodecs.CLIENT_OFFER));
+        assertSame(MessageCodecs.BINARY, codec.getOutbound());
+        assertNull(codec.negotiate("xml/2"));
+        assertSame(MessageCodecs.BINARY, codec.getOutbound());
+    }
+}
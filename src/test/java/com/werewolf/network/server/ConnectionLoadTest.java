@@ -0,0 +1,160 @@
+package com.werewolf.network.server;
+
+import com.werewolf.game.PhaseConfig;
+import com.werewolf.network.shared.Message;
+import com.werewolf.network.shared.MessageFraming;
+import com.werewolf.network.shared.MessageType;
+import com.werewolf.security.CertificateManager;
+import com.werewolf.security.SSLContextFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocket;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test de charge : ouvre des connexions mTLS par paliers et relève le tas et les threads plateforme du processus
+ * (les threads virtuels n'apparaissent pas dans {@link Thread#getAllStackTraces()}).
+ * Désactivé par défaut ; lancer avec {@code mvn test -Ploadtest -Dtest=ConnectionLoadTest}.
+ * Paramètres : {@code werewolf.loadtest.transport} (VIRTUAL, BLOCKING ou NIO), {@code werewolf.loadtest.connections}
+ * et {@code werewolf.loadtest.step}. Chaque connexion consomme deux descripteurs (client et serveur) : ajuster
+ * {@code ulimit -n} en conséquence.
+ */
+@DisplayName("Connection load Tests")
+@EnabledIfSystemProperty(named = "werewolf.loadtest", matches = "true")
+public class ConnectionLoadTest {
+
+    private static final String TEST_PASSWORD = "test_password";
+
+    private final List<SSLSocket> clients = new ArrayList<>();
+    private BlockingServerTransport blockingTransport;
+    private NioServerTransport nioTransport;
+
+    @AfterEach
+    public void tearDown() {
+        for (SSLSocket client : clients) {
+            try {
+                client.close();
+            } catch (IOException e) {
+                // Au mieux
+            }
+        }
+        if (blockingTransport != null) {
+            blockingTransport.shutdown();
+        }
+        if (nioTransport != null) {
+            nioTransport.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Connection count against heap and platform threads")
+    public void testConnectionScaling() throws Exception {
+        TransportMode mode = TransportMode.valueOf(System.getProperty("werewolf.loadtest.transport", "VIRTUAL"));
+        int target = Integer.getInteger("werewolf.loadtest.connections", 2000);
+        int step = Integer.getInteger("werewolf.loadtest.step", 250);
+
+        CertificateManager.initializeCertificates(TEST_PASSWORD);
+        SSLContext serverContext = SSLContextFactory.createServerSSLContext(
+                CertificateManager.SERVER_KEYSTORE, TEST_PASSWORD,
+                CertificateManager.SERVER_TRUSTSTORE, TEST_PASSWORD);
+        SSLContext clientContext = SSLContextFactory.createClientSSLContext(
+                CertificateManager.CLIENT_KEYSTORE, TEST_PASSWORD,
+                CertificateManager.CLIENT_TRUSTSTORE, TEST_PASSWORD);
+
+        // Les clients restent muets pendant toute la mesure : pas de battements de cœur
+        ServerConfig config = new ServerConfig(0, 10, 10, target + 1, mode, 2, false, 256,
+                BackpressurePolicy.DROP_STALE, 100, PhaseConfig.DEFAULT, null, null, null, null, 5_000, 0, 0, 0,
+                10_000, Runtime.getRuntime().availableProcessors());
+        SessionRegistry registry = new SessionRegistry(config.getMaxPlayersPerSession(), config.getMaxSessions());
+        int port = startServer(mode, serverContext, config, registry);
+
+        System.gc();
+        long baseHeap = usedHeap();
+        int baseThreads = Thread.getAllStackTraces().size();
+
+        System.out.println("transport=" + mode + " java=" + Runtime.version());
+        System.out.println(String.format("%12s %14s %14s %16s %10s",
+                "connections", "heap (MB)", "KB/conn", "platform thr.", "carriers"));
+
+        while (clients.size() < target) {
+            int next = Math.min(target, clients.size() + step);
+            while (clients.size() < next) {
+                clients.add(openAndPing(clientContext, port));
+            }
+            System.gc();
+            long heap = usedHeap() - baseHeap;
+            System.out.println(String.format("%12d %14.1f %14.1f %16d %10d",
+                    clients.size(), heap / (1024.0 * 1024.0), heap / 1024.0 / clients.size(),
+                    Thread.getAllStackTraces().size() - baseThreads, countCarrierThreads()));
+        }
+
+        assertEquals(target, activeConnections());
+    }
+
+    private int startServer(TransportMode mode, SSLContext serverContext, ServerConfig config,
+            SessionRegistry registry) throws IOException {
+        int port;
+        Thread acceptor;
+        if (mode == TransportMode.NIO) {
+            nioTransport = new NioServerTransport(serverContext, config, registry);
+            port = nioTransport.bind();
+            acceptor = new Thread(() -> {
+                try {
+                    nioTransport.serve();
+                } catch (IOException e) {
+                    // Port fermé en fin de test
+                }
+            });
+        } else {
+            blockingTransport = new BlockingServerTransport(serverContext, config, registry);
+            port = blockingTransport.bind();
+            acceptor = new Thread(() -> {
+                try {
+                    blockingTransport.serve();
+                } catch (IOException e) {
+                    // Port fermé en fin de test
+                }
+            });
+        }
+        acceptor.setDaemon(true);
+        acceptor.start();
+        return port;
+    }
+
+    private int activeConnections() {
+        return nioTransport != null ? nioTransport.getActiveConnectionCount()
+                : blockingTransport.getActiveConnectionCount();
+    }
+
+    private SSLSocket openAndPing(SSLContext clientContext, int port) throws IOException {
+        SSLSocket socket = (SSLSocket) clientContext.getSocketFactory().createSocket("127.0.0.1", port);
+        socket.setSoTimeout(10000);
+        socket.startHandshake();
+        MessageFraming.write(socket.getOutputStream(), new Message(MessageType.PING, "load", "ping"));
+        Message pong = MessageFraming.read(new DataInputStream(new BufferedInputStream(socket.getInputStream())));
+        assertEquals(MessageType.PONG, pong.getType());
+        return socket;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    // Threads porteurs des threads virtuels (pool ForkJoin dédié de la JVM)
+    private static long countCarrierThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().matches("ForkJoinPool-\\d+-worker-\\d+"))
+                .count();
+    }
+}
@@ -0,0 +1,143 @@
+package com.werewolf.network.server;
+
+import com.werewolf.network.shared.EncodedMessage;
+import com.werewolf.network.shared.Message;
+import com.werewolf.network.shared.MessageType;
+import com.werewolf.simulation.VirtualClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("HeartbeatMonitor Tests")
+public class HeartbeatMonitorTest {
+
+    /**
+     * Connexion factice qui conserve les messages envoyés et note sa fermeture.
+     */
+    private static class RecordingConnection implements ClientConnection {
+        private final String playerId;
+        final List<Message> sent = new ArrayList<>();
+        boolean closed;
+
+        RecordingConnection(String playerId) {
+            this.playerId = playerId;
+        }
+
+        @Override
+        public String getPlayerId() {
+            return playerId;
+        }
+
+        @Override
+        public void send(EncodedMessage message) {
+            sent.add(message.getMessage());
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        @Override
+        public ConnectionCodec getCodec() {
+            return new ConnectionCodec(false);
+        }
+    }
+
+    private VirtualClock clock;
+    private HeartbeatMonitor monitor;
+
+    @BeforeEach
+    public void setUp() {
+        clock = new VirtualClock(1_000);
+        monitor = new HeartbeatMonitor(clock, Runnable::run, 10_000, 30_000);
+        monitor.start();
+    }
+
+    // ============== PING TESTS ==============
+
+    @Test
+    @DisplayName("Only silent connections are pinged, and the PONG yields the round-trip time")
+    public void testPingAndRtt() {
+        RecordingConnection quiet = new RecordingConnection("quiet");
+        RecordingConnection chatty = new RecordingConnection("chatty");
+        HeartbeatMonitor.Heartbeat quietBeat = monitor.register(quiet);
+        HeartbeatMonitor.Heartbeat chattyBeat = monitor.register(chatty);
+
+        clock.schedule(() -> chattyBeat.onMessage(new Message(MessageType.CHAT, "chatty", "hello")), 5_000);
+        clock.advance();
+        clock.advance(); // t = 11 000 : seule la connexion muette depuis un intervalle est sondée
+        assertTrue(chatty.sent.isEmpty());
+        assertEquals(1, quiet.sent.size());
+        Message ping = quiet.sent.get(0);
+        assertEquals(MessageType.PING, ping.getType());
+
+        clock.schedule(() -> quietBeat.onMessage(new Message(MessageType.PONG, "quiet", ping.getContent())), 40);
+        clock.advance();
+        assertEquals(40, quietBeat.getRttMs());
+        assertEquals(40, monitor.getAverageRttMs());
+        assertEquals(-1, chattyBeat.getRttMs());
+        assertEquals(1, monitor.getPingsSent());
+    }
+
+    @Test
+    @DisplayName("A stale or forged PONG does not produce an RTT sample")
+    public void testStalePongIgnored() {
+        RecordingConnection connection = new RecordingConnection("p1");
+        HeartbeatMonitor.Heartbeat heartbeat = monitor.register(connection);
+
+        heartbeat.onMessage(new Message(MessageType.PONG, "p1", 123L));
+        assertEquals(-1, heartbeat.getRttMs());
+
+        clock.advance();
+        heartbeat.onMessage(new Message(MessageType.PONG, "p1", "not a timestamp"));
+        assertEquals(-1, heartbeat.getRttMs());
+        assertEquals(clock.currentTimeMillis(), heartbeat.getLastSeen(), "any frame still counts as activity");
+    }
+
+    // ============== RECLAIM TESTS ==============
+
+    @Test
+    @DisplayName("A connection silent past the idle timeout is closed and unregistered")
+    public void testIdleConnectionReclaimed() {
+        RecordingConnection dead = new RecordingConnection("dead");
+        RecordingConnection alive = new RecordingConnection("alive");
+        monitor.register(dead);
+        HeartbeatMonitor.Heartbeat aliveBeat = monitor.register(alive);
+
+        for (int i = 0; i < 3; i++) {
+            clock.advance();
+            Message ping = alive.sent.get(alive.sent.size() - 1);
+            aliveBeat.onMessage(new Message(MessageType.PONG, "alive", ping.getContent()));
+        }
+
+        assertTrue(dead.closed);
+        assertFalse(alive.closed);
+        assertEquals(2, dead.sent.size(), "pinged at 10 s and 20 s, closed at 30 s");
+        assertEquals(1, monitor.getConnectionCount());
+        assertEquals(1, monitor.getReclaimedConnections());
+    }
+
+    @Test
+    @DisplayName("Closed connections leave the sweep, and a zero interval disables the monitor")
+    public void testCloseAndDisabled() {
+        RecordingConnection connection = new RecordingConnection("p1");
+        monitor.register(connection).close();
+        clock.advance();
+        assertTrue(connection.sent.isEmpty());
+        assertEquals(0, monitor.getConnectionCount());
+
+        VirtualClock idle = new VirtualClock();
+        HeartbeatMonitor disabled = new HeartbeatMonitor(idle, Runnable::run, 0, 30_000);
+        disabled.start();
+        disabled.register(new RecordingConnection("p2"));
+        assertFalse(disabled.isEnabled());
+        assertEquals(0, disabled.getConnectionCount());
+        assertFalse(idle.advance());
+    }
+}
@@ -0,0 +1,258 @@
+package com.werewolf.network.server;
+
+import com.werewolf.game.PhaseConfig;
+import com.werewolf.network.shared.JoinGameRequest;
+import com.werewolf.network.shared.Message;
+import com.werewolf.network.shared.MessageCodecs;
+import com.werewolf.network.shared.MessageFraming;
+import com.werewolf.network.shared.MessageType;
+import com.werewolf.network.shared.PlayerListUpdate;
+import com.werewolf.security.CertificateManager;
+import com.werewolf.security.SSLContextFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocket;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.OutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("NIO transport Tests")
+public class NioServerTransportTest {
+
+    private static final String TEST_PASSWORD = "test_password";
+
+    private NioServerTransport transport;
+    private SessionRegistry registry;
+    private SSLContext clientContext;
+    private int port;
+
+    @BeforeAll
+    static void initCertificates() {
+        CertificateManager.initializeCertificates(TEST_PASSWORD);
+    }
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        SSLContext serverContext = SSLContextFactory.createServerSSLContext(
+                CertificateManager.SERVER_KEYSTORE, TEST_PASSWORD,
+                CertificateManager.SERVER_TRUSTSTORE, TEST_PASSWORD);
+        clientContext = SSLContextFactory.createClientSSLContext(
+                CertificateManager.CLIENT_KEYSTORE, TEST_PASSWORD,
+                CertificateManager.CLIENT_TRUSTSTORE, TEST_PASSWORD);
+
+        ServerConfig config = new ServerConfig(0, 10, 10, 100, TransportMode.NIO, 2);
+        registry = new SessionRegistry(config.getMaxPlayersPerSession(), config.getMaxSessions());
+        transport = new NioServerTransport(serverContext, config, registry);
+        port = transport.bind();
+        Thread acceptor = new Thread(() -> {
+            try {
+                transport.serve();
+            } catch (Exception e) {
+                // Le port est fermé à la fin du test
+            }
+        });
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        transport.shutdown();
+    }
+
+    private SSLSocket connect() throws Exception {
+        SSLSocket socket = (SSLSocket) clientContext.getSocketFactory().createSocket("127.0.0.1", port);
+        socket.setSoTimeout(5000);
+        socket.startHandshake();
+        return socket;
+    }
+
+    private Message readUntil(DataInputStream in, MessageType type) throws Exception {
+        while (true) {
+            Message message = MessageFraming.read(in);
+            if (message.getType() == type) {
+                return message;
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Ping over mTLS returns a pong")
+    public void testPingPong() throws Exception {
+        try (SSLSocket socket = connect()) {
+            OutputStream out = socket.getOutputStream();
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+
+            MessageFraming.write(out, new Message(MessageType.PING, "tester", "ping"));
+
+            Message pong = readUntil(in, MessageType.PONG);
+            assertEquals("Server", pong.getSender());
+
+            AcceptMetrics metrics = transport.getAcceptMetrics();
+            assertEquals(1, metrics.getAccepted());
+            assertEquals(1, metrics.getHandshakes());
+            assertEquals(0, metrics.getHandshakesInFlight());
+        }
+    }
+
+    @Test
+    @DisplayName("A reconnecting client resumes its TLS session")
+    public void testSessionResumption() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            try (SSLSocket socket = connect()) {
+                DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                // Le ticket de session arrive après la négociation : la réponse garantit qu'il a été lu
+                MessageFraming.write(socket.getOutputStream(), new Message(MessageType.PING, "tester", "ping"));
+                readUntil(in, MessageType.PONG);
+            }
+        }
+
+        AcceptMetrics metrics = transport.getAcceptMetrics();
+        assertEquals(2, metrics.getHandshakes());
+        assertEquals(1, metrics.getResumedHandshakes());
+        assertEquals(0.5, metrics.getResumptionRatio());
+    }
+
+    @Test
+    @DisplayName("A client that never completes its handshake is closed at the deadline")
+    public void testHandshakeTimeout() throws Exception {
+        transport.shutdown();
+        SSLContext serverContext = SSLContextFactory.createServerSSLContext(
+                CertificateManager.SERVER_KEYSTORE, TEST_PASSWORD,
+                CertificateManager.SERVER_TRUSTSTORE, TEST_PASSWORD);
+        ServerConfig config = new ServerConfig(0, 10, 10, 100, TransportMode.NIO, 1, false, 256,
+                BackpressurePolicy.DROP_STALE, 100, PhaseConfig.DEFAULT, null, null, null, null,
+                5_000, 0, 0, 0, 300, 1);
+        transport = new NioServerTransport(serverContext, config, registry);
+        port = transport.bind();
+        Thread acceptor = new Thread(() -> {
+            try {
+                transport.serve();
+            } catch (Exception e) {
+                // Le port est fermé à la fin du test
+            }
+        });
+        acceptor.setDaemon(true);
+        acceptor.start();
+
+        // Connexion TCP nue : la négociation mTLS ne commence jamais
+        try (java.net.Socket silent = new java.net.Socket("127.0.0.1", port)) {
+            silent.setSoTimeout(5000);
+            long start = System.currentTimeMillis();
+            // Le serveur peut envoyer une alerte TLS avant de fermer
+            while (silent.getInputStream().read() != -1) {
+                assertTrue(System.currentTimeMillis() - start < 4000);
+            }
+            assertTrue(System.currentTimeMillis() - start < 4000);
+        }
+
+        long deadline = System.currentTimeMillis() + 2000;
+        while (transport.getActiveConnectionCount() != 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(0, transport.getActiveConnectionCount());
+        assertEquals(1, transport.getAcceptMetrics().getHandshakeTimeouts());
+        assertEquals(0, transport.getAcceptMetrics().getHandshakesInFlight());
+    }
+
+    @Test
+    @DisplayName("CONNECT negotiates the binary codec")
+    public void testCodecNegotiation() throws Exception {
+        try (SSLSocket socket = connect()) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+
+            MessageFraming.write(socket.getOutputStream(),
+                    new Message(MessageType.CONNECT, "tester", MessageCodecs.CLIENT_OFFER));
+
+            Message reply = readUntil(in, MessageType.CONNECT);
+            assertEquals(MessageCodecs.BINARY.getName(), reply.getContent());
+        }
+    }
+
+    @Test
+    @DisplayName("Java-serialized frames are refused by default")
+    public void testSerializedFrameRejected() throws Exception {
+        try (SSLSocket socket = connect()) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+
+            MessageFraming.write(socket.getOutputStream(), new Message(MessageType.PING, "tester", "ping"),
+                    MessageCodecs.JAVA);
+
+            assertThrows(java.io.IOException.class, () -> MessageFraming.read(in));
+        }
+    }
+
+    @Test
+    @DisplayName("Joined players receive the broadcast player list")
+    public void testJoinBroadcast() throws Exception {
+        try (SSLSocket alice = connect(); SSLSocket bob = connect()) {
+            DataInputStream aliceIn = new DataInputStream(new BufferedInputStream(alice.getInputStream()));
+            DataInputStream bobIn = new DataInputStream(new BufferedInputStream(bob.getInputStream()));
+
+            MessageFraming.write(alice.getOutputStream(),
+                    new Message(MessageType.JOIN_GAME, "Alice", new JoinGameRequest("Alice", "nio-table")));
+            readUntil(aliceIn, MessageType.PLAYER_LIST_UPDATE);
+
+            MessageFraming.write(bob.getOutputStream(),
+                    new Message(MessageType.JOIN_GAME, "Bob", new JoinGameRequest("Bob", "nio-table")));
+
+            PlayerListUpdate seenByBob = (PlayerListUpdate) readUntil(bobIn, MessageType.PLAYER_LIST_UPDATE).getContent();
+            PlayerListUpdate seenByAlice = (PlayerListUpdate) readUntil(aliceIn, MessageType.PLAYER_LIST_UPDATE).getContent();
+
+            assertEquals(java.util.List.of("Alice", "Bob"), seenByBob.getPlayerNames());
+            assertEquals(java.util.List.of("Alice", "Bob"), seenByAlice.getPlayerNames());
+            assertEquals("Alice", seenByAlice.getAdminName());
+        }
+    }
+
+    @Test
+    @DisplayName("A client that stops reading is evicted without stalling broadcasts")
+    public void testSlowConsumerEvicted() throws Exception {
+        try (SSLSocket socket = connect()) {
+            socket.setReceiveBufferSize(4096);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            MessageFraming.write(socket.getOutputStream(),
+                    new Message(MessageType.JOIN_GAME, "Slow", new JoinGameRequest("Slow", "slow-table")));
+            readUntil(in, MessageType.PLAYER_LIST_UPDATE);
+
+            // Le client ne lit plus : les envois doivent s'accumuler puis provoquer son éviction
+            PlayerConnectionManager connections = registry.getSession("slow-table").getConnections();
+            String payload = "x".repeat(32 * 1024);
+            long start = System.currentTimeMillis();
+            for (int i = 0; i < 2000 && transport.getOutboundMetrics().getEvictedClients() == 0; i++) {
+                connections.broadcastToAll(new Message(MessageType.CHAT, "Server", payload));
+            }
+
+            assertTrue(System.currentTimeMillis() - start < 5000, "Broadcasting must not block on a slow client");
+            assertEquals(1, transport.getOutboundMetrics().getEvictedClients());
+        }
+    }
+
+    @Test
+    @DisplayName("Session is released when its players disconnect")
+    public void testDisconnectReleasesSession() throws Exception {
+        try (SSLSocket socket = connect()) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            MessageFraming.write(socket.getOutputStream(),
+                    new Message(MessageType.JOIN_GAME, "Carol", new JoinGameRequest("Carol", "short-lived")));
+            readUntil(in, MessageType.PLAYER_LIST_UPDATE);
+            assertNotNull(registry.getSession("short-lived"));
+        }
+
+        long deadline = System.currentTimeMillis() + 5000;
+        // Le départ est traité par la boîte aux lettres de la session, en parallèle de la fermeture du canal
+        while ((registry.getSession("short-lived") != null || transport.getActiveConnectionCount() != 0)
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertNull(registry.getSession("short-lived"));
+        assertEquals(0, transport.getActiveConnectionCount());
+    }
+}
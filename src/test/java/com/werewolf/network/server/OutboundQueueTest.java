@@ -0,0 +1,123 @@
+package com.werewolf.network.server;
+
+import com.werewolf.network.shared.EncodedMessage;
+import com.werewolf.network.shared.Message;
+import com.werewolf.network.shared.MessageType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("OutboundQueue Tests")
+public class OutboundQueueTest {
+
+    private final OutboundMetrics metrics = new OutboundMetrics();
+
+    private static EncodedMessage state(String text) {
+        return new EncodedMessage(new Message(MessageType.GAME_STATE_UPDATE, "Server", text), true);
+    }
+
+    private static EncodedMessage playerList(String text) {
+        return new EncodedMessage(new Message(MessageType.PLAYER_LIST_UPDATE, "Server", text), true);
+    }
+
+    private static EncodedMessage privateMessage(String text) {
+        return new EncodedMessage(new Message(MessageType.GAME_STATE_UPDATE, "Server", text));
+    }
+
+    private static byte[] frame(int marker) {
+        return new byte[] { (byte) marker };
+    }
+
+    // ============== DROP_STALE TESTS ==============
+
+    @Test
+    @DisplayName("Drop stale discards the oldest state broadcast when full")
+    public void testDropStale() {
+        OutboundQueue queue = new OutboundQueue(3, BackpressurePolicy.DROP_STALE, metrics);
+        assertTrue(queue.offer(privateMessage("role"), frame(1)));
+        assertTrue(queue.offer(state("a"), frame(2)));
+        assertTrue(queue.offer(state("b"), frame(3)));
+
+        assertTrue(queue.offer(state("c"), frame(4)));
+
+        assertEquals(3, queue.size());
+        assertEquals(1, queue.poll()[0]);
+        assertEquals(3, queue.poll()[0]);
+        assertEquals(4, queue.poll()[0]);
+        assertEquals(1, metrics.getDroppedMessages());
+    }
+
+    @Test
+    @DisplayName("Full queue with nothing droppable evicts the client")
+    public void testEvictWhenNothingDroppable() {
+        OutboundQueue queue = new OutboundQueue(2, BackpressurePolicy.DROP_STALE, metrics);
+        queue.offer(privateMessage("a"), frame(1));
+        queue.offer(privateMessage("b"), frame(2));
+
+        assertFalse(queue.offer(state("c"), frame(3)));
+        assertEquals(1, metrics.getEvictedClients());
+    }
+
+    // ============== COALESCE TESTS ==============
+
+    @Test
+    @DisplayName("Coalesce keeps only the latest queued player list")
+    public void testCoalesceSnapshots() {
+        OutboundQueue queue = new OutboundQueue(10, BackpressurePolicy.COALESCE, metrics);
+        queue.offer(playerList("1"), frame(1));
+        queue.offer(privateMessage("x"), frame(2));
+        queue.offer(playerList("2"), frame(3));
+
+        assertEquals(2, queue.size());
+        assertEquals(2, queue.poll()[0]);
+        assertEquals(3, queue.poll()[0]);
+        assertEquals(1, metrics.getCoalescedMessages());
+    }
+
+    @Test
+    @DisplayName("Coalesce collapses state broadcasts when full")
+    public void testCoalesceWhenFull() {
+        OutboundQueue queue = new OutboundQueue(3, BackpressurePolicy.COALESCE, metrics);
+        queue.offer(state("a"), frame(1));
+        queue.offer(state("b"), frame(2));
+        queue.offer(state("c"), frame(3));
+
+        assertTrue(queue.offer(state("d"), frame(4)));
+
+        assertEquals(2, queue.size());
+        assertEquals(3, queue.poll()[0]);
+        assertEquals(4, queue.poll()[0]);
+    }
+
+    // ============== DISCONNECT TESTS ==============
+
+    @Test
+    @DisplayName("Disconnect policy never drops and evicts at capacity")
+    public void testDisconnectPolicy() {
+        OutboundQueue queue = new OutboundQueue(2, BackpressurePolicy.DISCONNECT, metrics);
+        queue.offer(state("a"), frame(1));
+        queue.offer(state("b"), frame(2));
+
+        assertFalse(queue.offer(state("c"), frame(3)));
+        assertEquals(0, metrics.getDroppedMessages());
+        assertEquals(2, queue.getHighWaterMark());
+    }
+
+    // ============== METRICS TESTS ==============
+
+    @Test
+    @DisplayName("Metrics track queued depth")
+    public void testDepthMetrics() {
+        OutboundQueue queue = new OutboundQueue(5, BackpressurePolicy.DROP_STALE, metrics);
+        queue.offer(state("a"), frame(1));
+        queue.offer(state("b"), frame(2));
+        assertEquals(2, metrics.getQueuedMessages());
+
+        queue.poll();
+        assertEquals(1, metrics.getQueuedMessages());
+        queue.clear();
+        assertEquals(0, metrics.getQueuedMessages());
+        assertEquals(2, metrics.getPeakDepth());
+    }
+}
@@ -0,0 +1,286 @@
+package com.werewolf.network.server;
+
+import com.werewolf.game.GameState;
+import com.werewolf.game.Player;
+import com.werewolf.network.shared.EncodedMessage;
+import com.werewolf.network.shared.Message;
+import com.werewolf.network.shared.MessageCodecs;
+import com.werewolf.network.shared.MessageType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PlayerConnectionManager Tests")
+public class PlayerConnectionManagerTest {
+
+    /**
+     * Connexion factice qui conserve les trames qu'elle aurait écrites.
+     */
+    private static class RecordingConnection implements ClientConnection {
+        private final String playerId;
+        private final ConnectionCodec codec;
+        final List<byte[]> frames = new ArrayList<>();
+        final List<Boolean> droppable = new ArrayList<>();
+
+        RecordingConnection(String playerId, ConnectionCodec codec) {
+            this.playerId = playerId;
+            this.codec = codec;
+        }
+
+        @Override
+        public String getPlayerId() {
+            return playerId;
+        }
+
+        @Override
+        public void send(EncodedMessage message) throws IOException {
+            frames.add(codec.encode(message));
+            droppable.add(message.isDroppable());
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public ConnectionCodec getCodec() {
+            return codec;
+        }
+    }
+
+    private PlayerConnectionManager connections;
+    private List<RecordingConnection> recorded;
+
+    @BeforeEach
+    public void setUp() {
+        connections = new PlayerConnectionManager("test-session");
+        recorded = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            RecordingConnection connection = new RecordingConnection("p" + i, new ConnectionCodec(true));
+            recorded.add(connection);
+            connections.registerConnection(connection.getPlayerId(), connection);
+        }
+    }
+
+    @Test
+    @DisplayName("Broadcast shares a single encoded frame across connections")
+    public void testBroadcastEncodesOnce() {
+        connections.broadcastToAll(new Message(MessageType.CHAT, "Server", "Bonjour"));
+
+        byte[] first = recorded.get(0).frames.get(0);
+        for (RecordingConnection connection : recorded) {
+            assertEquals(1, connection.frames.size());
+            assertSame(first, connection.frames.get(0));
+        }
+    }
+
+    @Test
+    @DisplayName("Each codec encodes a broadcast once")
+    public void testOneFramePerCodec() {
+        recorded.get(1).getCodec().negotiate("java");
+        recorded.get(2).getCodec().negotiate("java");
+
+        connections.broadcastToAll(new Message(MessageType.CHAT, "Server", "Bonjour"));
+
+        assertSame(recorded.get(1).frames.get(0), recorded.get(2).frames.get(0));
+        assertSame(recorded.get(0).frames.get(0), recorded.get(3).frames.get(0));
+        assertNotSame(recorded.get(0).frames.get(0), recorded.get(1).frames.get(0));
+    }
+
+    @Test
+    @DisplayName("Broadcast except skips the excluded player")
+    public void testBroadcastExcept() {
+        connections.broadcastExcept("p0", new Message(MessageType.CHAT, "Server", "Bonjour"));
+
+        assertTrue(recorded.get(0).frames.isEmpty());
+        assertSame(recorded.get(1).frames.get(0), recorded.get(5).frames.get(0));
+    }
+
+    @Test
+    @DisplayName("Session updates are broadcast once through the managed session")
+    public void testSessionUpdateFanOut() throws IOException {
+        ManagedSession managed = new ManagedSession("fan-out", 10);
+        List<RecordingConnection> members = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            RecordingConnection connection = new RecordingConnection("m" + i, new ConnectionCodec(false));
+            members.add(connection);
+            managed.getConnections().registerConnection(connection.getPlayerId(), connection);
+            managed.getSession().addPlayer(new Player(connection.getPlayerId(), "Joueur" + i));
+        }
+        members.forEach(member -> member.frames.clear());
+
+        managed.getSession().updatePhase(GameState.NIGHT, "La nuit tombe.");
+
+        byte[] frame = members.get(0).frames.get(0);
+        members.forEach(member -> assertSame(frame, member.frames.get(0)));
+        assertEquals(MessageType.GAME_STATE_UPDATE, MessageCodecs.BINARY.decode(
+                java.util.Arrays.copyOfRange(frame, 4, frame.length)).getType());
+        managed.shutdown();
+    }
+
+    // ============== DELTA TESTS ==============
+
+    private static com.werewolf.event.GameStateUpdate decodeUpdate(byte[] frame) throws IOException {
+        Message message = MessageCodecs.BINARY.decode(java.util.Arrays.copyOfRange(frame, 4, frame.length));
+        return (com.werewolf.event.GameStateUpdate) message.getContent();
+    }
+
+    private static ManagedSession tableOf(int players, List<RecordingConnection> members) {
+        ManagedSession managed = new ManagedSession("table-" + players, players + 1);
+        for (int i = 0; i < players; i++) {
+            RecordingConnection connection = new RecordingConnection("m" + i, new ConnectionCodec(false));
+            members.add(connection);
+            managed.getConnections().registerConnection(connection.getPlayerId(), connection);
+            managed.getSession().addPlayer(new Player(connection.getPlayerId(), "Joueur" + i));
+        }
+        return managed;
+    }
+
+    @Test
+    @DisplayName("Joining connections get a snapshot, then sequenced deltas")
+    public void testSnapshotThenDeltas() throws IOException {
+        List<RecordingConnection> members = new ArrayList<>();
+        ManagedSession managed = tableOf(3, members);
+
+        managed.getSession().updatePhase(GameState.NIGHT, "La nuit tombe.");
+        managed.getSession().getPlayer("m1").setAlive(false);
+        managed.getSession().updatePhase(GameState.DAY_DISCUSSION, "Le jour se lève.");
+
+        com.werewolf.event.GameStateUpdate first = decodeUpdate(members.get(0).frames.get(0));
+        assertTrue(first.isSnapshot());
+        assertEquals(1, first.getSequence());
+        assertEquals(3, first.getAlivePlayers().size());
+
+        com.werewolf.event.GameStateUpdate second = decodeUpdate(members.get(0).frames.get(1));
+        assertTrue(second.isDelta());
+        assertEquals(2, second.getSequence());
+        assertEquals(List.of("m1"), second.getRemovedPlayerIds());
+        assertTrue(second.getAddedPlayers().isEmpty());
+        assertNull(second.getAlivePlayers());
+        assertEquals(GameState.DAY_DISCUSSION, second.getNewPhase());
+        managed.shutdown();
+    }
+
+    @Test
+    @DisplayName("Chat delta size does not grow with table size")
+    public void testChatDeltaSizeIndependentOfTable() throws IOException {
+        List<RecordingConnection> small = new ArrayList<>();
+        List<RecordingConnection> large = new ArrayList<>();
+        ManagedSession smallTable = tableOf(4, small);
+        ManagedSession largeTable = tableOf(40, large);
+        smallTable.getSession().notifySessionUpdate("Début");
+        largeTable.getSession().notifySessionUpdate("Début");
+
+        smallTable.getSession().notifySessionUpdate("[Alice] : bonjour");
+        largeTable.getSession().notifySessionUpdate("[Alice] : bonjour");
+
+        assertEquals(small.get(0).frames.get(1).length, large.get(0).frames.get(1).length);
+        assertTrue(large.get(0).frames.get(0).length > 5 * large.get(0).frames.get(1).length);
+        smallTable.shutdown();
+        largeTable.shutdown();
+    }
+
+    @Test
+    @DisplayName("Resync sends a snapshot at the current sequence")
+    public void testResync() throws IOException {
+        List<RecordingConnection> members = new ArrayList<>();
+        ManagedSession managed = tableOf(3, members);
+        managed.getSession().notifySessionUpdate("un");
+        managed.getSession().notifySessionUpdate("deux");
+
+        managed.getConnections().resync("m2");
+
+        List<byte[]> frames = members.get(2).frames;
+        com.werewolf.event.GameStateUpdate snapshot = decodeUpdate(frames.get(frames.size() - 1));
+        assertTrue(snapshot.isSnapshot());
+        assertEquals(2, snapshot.getSequence());
+        assertEquals(3, snapshot.getAlivePlayers().size());
+        assertEquals(2, members.get(0).frames.size());
+        managed.shutdown();
+    }
+
+    @Test
+    @DisplayName("Phase changes are never dropped and resync snapshots keep the phase metadata")
+    public void testPhaseChangeKeptAndResyncCarriesMetadata() throws IOException {
+        List<RecordingConnection> members = new ArrayList<>();
+        ManagedSession managed = tableOf(3, members);
+        managed.getSession().notifySessionUpdate("un");
+        managed.getSession().notifySessionUpdate("deux");
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("winner", "Les villageois gagnent");
+        metadata.put("roles", Map.of("Alice", "Villager"));
+        managed.getSession().updatePhase(GameState.GAME_OVER, "Fin", metadata);
+        managed.getSession().notifySessionUpdate("[Alice] : bravo");
+
+        // Le message de discussion après la fin de partie reste lui aussi conservé : rien ne suivra
+        List<Boolean> droppable = members.get(0).droppable;
+        assertEquals(List.of(true, false, false), droppable.subList(droppable.size() - 3, droppable.size()));
+
+        managed.getConnections().resync("m2");
+        List<byte[]> frames = members.get(2).frames;
+        com.werewolf.event.GameStateUpdate snapshot = decodeUpdate(frames.get(frames.size() - 1));
+        assertTrue(snapshot.isSnapshot());
+        assertEquals(GameState.GAME_OVER, snapshot.getNewPhase());
+        assertEquals("Les villageois gagnent", snapshot.getMetadata().get("winner"));
+        assertEquals(Map.of("Alice", "Villager"), snapshot.getMetadata().get("roles"));
+        managed.shutdown();
+    }
+
+    // ============== RESUME TESTS ==============
+
+    @Test
+    @DisplayName("A resumed connection receives only the deltas it missed")
+    public void testResumeReplaysMissedDeltas() throws IOException {
+        List<RecordingConnection> members = new ArrayList<>();
+        ManagedSession managed = tableOf(3, members);
+        managed.getSession().notifySessionUpdate("un");
+        managed.getSession().notifySessionUpdate("deux");
+        managed.getConnections().unregisterConnection("m2", members.get(2));
+        managed.getSession().notifySessionUpdate("trois");
+        managed.getSession().getPlayer("m1").setAlive(false);
+        managed.getSession().notifySessionUpdate("quatre");
+
+        RecordingConnection reconnected = new RecordingConnection("m2", new ConnectionCodec(false));
+        int replayed = managed.getConnections().resumeConnection("m2", reconnected, 2);
+
+        assertEquals(2, replayed);
+        assertEquals(2, reconnected.frames.size());
+        com.werewolf.event.GameStateUpdate third = decodeUpdate(reconnected.frames.get(0));
+        assertTrue(third.isDelta());
+        assertEquals(3, third.getSequence());
+        assertEquals(List.of("m1"), decodeUpdate(reconnected.frames.get(1)).getRemovedPlayerIds());
+        // Trame partagée avec les joueurs restés connectés
+        assertSame(members.get(0).frames.get(3), reconnected.frames.get(1));
+        managed.shutdown();
+    }
+
+    @Test
+    @DisplayName("A connection too far behind gets a snapshot and replaces the stale one")
+    public void testResumeFallsBackToSnapshot() throws IOException {
+        List<RecordingConnection> members = new ArrayList<>();
+        ManagedSession managed = tableOf(3, members);
+        for (int i = 0; i < 300; i++) {
+            managed.getSession().notifySessionUpdate("message " + i);
+        }
+
+        RecordingConnection reconnected = new RecordingConnection("m0", new ConnectionCodec(false));
+        assertEquals(-1, managed.getConnections().resumeConnection("m0", reconnected, 10));
+        assertEquals(-1, managed.getConnections().resumeConnection("m0", reconnected, 301));
+
+        com.werewolf.event.GameStateUpdate snapshot = decodeUpdate(reconnected.frames.get(0));
+        assertTrue(snapshot.isSnapshot());
+        assertEquals(300, snapshot.getSequence());
+        // L'ancienne connexion ne retire plus la nouvelle en se fermant
+        managed.getConnections().unregisterConnection("m0", members.get(0));
+        assertTrue(managed.getConnections().isConnected("m0"));
+        managed.shutdown();
+    }
+}
@@ -0,0 +1,401 @@
+package com.werewolf.network.server;
+
+import com.werewolf.game.GameManager;
+import com.werewolf.game.GameState;
+import com.werewolf.game.PhaseConfig;
+import com.werewolf.game.snapshot.RecoveryStore;
+import com.werewolf.game.stats.StatsService;
+import com.werewolf.simulation.VirtualClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SessionRegistry Tests")
+public class SessionRegistryTest {
+
+    private SessionRegistry registry;
+
+    @TempDir
+    Path recoveryDir;
+
+    @BeforeEach
+    public void setUp() {
+        registry = new SessionRegistry(3, 4);
+    }
+
+    // ============== ROUTING TESTS ==============
+
+    @Test
+    @DisplayName("Players without a requested session share the open lobby")
+    public void testAutoMatchFillsOpenLobby() {
+        ManagedSession first = registry.join(null);
+        ManagedSession second = registry.join(null);
+
+        assertNotNull(first);
+        assertSame(first, second);
+        assertEquals(2, first.getSeatCount());
+        assertEquals(1, registry.getSessionCount());
+    }
+
+    @Test
+    @DisplayName("A new lobby is opened when the current one is full")
+    public void testAutoMatchOpensNewLobbyWhenFull() {
+        ManagedSession first = registry.join(null);
+        registry.join(null);
+        registry.join(null);
+
+        ManagedSession fourth = registry.join(null);
+
+        assertNotNull(fourth);
+        assertNotSame(first, fourth);
+        assertEquals(2, registry.getSessionCount());
+    }
+
+    @Test
+    @DisplayName("Named sessions are created on demand and reused")
+    public void testNamedSession() {
+        ManagedSession table = registry.join("table-1");
+        ManagedSession again = registry.join("table-1");
+
+        assertEquals("table-1", table.getSessionId());
+        assertSame(table, again);
+        assertSame(table, registry.getSession("table-1"));
+    }
+
+    @Test
+    @DisplayName("Full named session rejects new players")
+    public void testNamedSessionFull() {
+        registry.join("table-1");
+        registry.join("table-1");
+        registry.join("table-1");
+
+        assertNull(registry.join("table-1"));
+    }
+
+    @Test
+    @DisplayName("Session limit is enforced")
+    public void testSessionLimit() {
+        for (int i = 0; i < 4; i++) {
+            assertNotNull(registry.join("table-" + i));
+        }
+
+        assertNull(registry.join("table-overflow"));
+    }
+
+    @Test
+    @DisplayName("Concurrent creations never exceed the session limit")
+    public void testSessionLimitUnderContention() throws Exception {
+        int threads = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<ManagedSession>> joins = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                String sessionId = "table-" + i;
+                joins.add(pool.submit(() -> {
+                    start.await();
+                    return registry.join(sessionId);
+                }));
+            }
+            start.countDown();
+            int joined = 0;
+            for (Future<ManagedSession> join : joins) {
+                if (join.get(10, TimeUnit.SECONDS) != null) {
+                    joined++;
+                }
+            }
+
+            assertEquals(4, joined);
+            assertEquals(4, registry.getSessionCount());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // ============== TEARDOWN TESTS ==============
+
+    @Test
+    @DisplayName("Session is removed when its last player leaves")
+    public void testSessionRemovedWhenEmpty() {
+        ManagedSession table = registry.join("table-1");
+        registry.join("table-1");
+
+        registry.leave(table);
+        assertSame(table, registry.getSession("table-1"));
+
+        registry.leave(table);
+        assertNull(registry.getSession("table-1"));
+        assertTrue(table.isClosed());
+        assertEquals(0, registry.getSessionCount());
+    }
+
+    @Test
+    @DisplayName("Closed session cannot be joined and is replaced")
+    public void testClosedSessionReplaced() {
+        ManagedSession table = registry.join("table-1");
+        registry.leave(table);
+
+        assertFalse(table.tryReserveSeat());
+
+        ManagedSession replacement = registry.join("table-1");
+        assertNotNull(replacement);
+        assertNotSame(table, replacement);
+    }
+
+    @Test
+    @DisplayName("Each session owns its own connection manager")
+    public void testSessionsAreIsolated() {
+        ManagedSession a = registry.join("a");
+        ManagedSession b = registry.join("b");
+
+        assertNotSame(a.getConnections(), b.getConnections());
+        assertNotSame(a.getGameManager(), b.getGameManager());
+        assertNotSame(a.getSession(), b.getSession());
+    }
+
+    @Test
+    @DisplayName("A named session rejects new players once its game has started")
+    public void testNamedSessionRejectsStartedGame() {
+        ManagedSession table = registry.join("table-1");
+        table.getSession().updatePhase(GameState.NIGHT);
+
+        assertNull(registry.join("table-1"));
+        assertEquals(1, table.getSeatCount());
+    }
+
+    @Test
+    @DisplayName("Accepted connections receive server-unique player IDs")
+    public void testPlayerIdsAreUnique() {
+        assertEquals("Player-1", registry.nextPlayerId());
+        assertEquals("Player-2", registry.nextPlayerId());
+    }
+
+    // ============== RECOVERY TESTS ==============
+
+    // Registre à exécution immédiate : les boîtes aux lettres traitent leurs tâches sur le thread appelant
+    private static SessionRegistry recoverableRegistry(VirtualClock clock) {
+        return new SessionRegistry(5, 4, Runnable::run, clock, PhaseConfig.DEFAULT);
+    }
+
+    /**
+     * @return le jeton de reprise de Bob, remis avant l'arrêt
+     */
+    private String interruptedGame() throws IOException, InterruptedException {
+        SessionRegistry before = recoverableRegistry(new VirtualClock(1_000));
+        assertEquals(0, before.enableRecovery(new RecoveryStore(recoveryDir), 1_000, 60_000));
+        ManagedSession table = before.join("session-7");
+        GameManager manager = table.getGameManager();
+        manager.addPlayer("p1", "Alice");
+        manager.addPlayer("p2", "Bob");
+        manager.addPlayer("p3", "Carol");
+        before.issueResumeToken(table, "p1");
+        String bobToken = before.issueResumeToken(table, "p2");
+        assertTrue(manager.startGame("p1").isSuccess());
+        assertTrue(before.suspendRecovery(1_000));
+        return bobToken;
+    }
+
+    @Test
+    @DisplayName("Interrupted sessions are restored and their seats reclaimed only with a resume token")
+    public void testRestoredSessionsRequireResumeToken() throws Exception {
+        String bobToken = interruptedGame();
+        SessionRegistry after = recoverableRegistry(new VirtualClock(500_000));
+
+        assertEquals(1, after.enableRecovery(new RecoveryStore(recoveryDir), 1_000, 60_000));
+
+        ManagedSession restored = after.findResumable(bobToken);
+        assertNotNull(restored);
+        assertEquals("session-7", restored.getSessionId());
+        assertEquals(GameState.NIGHT, restored.getSession().getCurrentPhase());
+        assertEquals(3, restored.getSession().getPlayers().size());
+        assertNotNull(restored.getSession().getPlayer("p2").getRole());
+        assertNull(after.findResumable("forged-token"));
+
+        assertEquals("p2", restored.resume(bobToken));
+        assertTrue(restored.isAwaiting("p2"));
+        assertTrue(restored.claimAwaitedSeat("p2"));
+        assertFalse(restored.claimAwaitedSeat("p2"));
+        // Carol n'avait pas de jeton : sa place reste attendue, personne ne peut la prendre
+        assertTrue(restored.isAwaiting("p3"));
+
+        // Sans jeton, le même pseudo mène à un nouveau salon, sans reprendre le nom de la session reprise
+        ManagedSession lobby = after.join(null);
+        assertEquals("session-8", lobby.getSessionId());
+        assertTrue(lobby.getSession().getPlayers().isEmpty());
+    }
+
+    @Test
+    @DisplayName("New connections never receive the ID of a restored player")
+    public void testPlayerIdsSkipRestoredPlayers() throws Exception {
+        SessionRegistry before = recoverableRegistry(new VirtualClock(1_000));
+        before.enableRecovery(new RecoveryStore(recoveryDir), 1_000, 60_000);
+        ManagedSession table = before.join("table");
+        table.getGameManager().addPlayer("Player-41", "Alice");
+        before.issueResumeToken(table, "Player-41");
+        assertTrue(before.suspendRecovery(1_000));
+
+        SessionRegistry after = recoverableRegistry(new VirtualClock(500_000));
+        assertEquals(1, after.enableRecovery(new RecoveryStore(recoveryDir), 1_000, 60_000));
+
+        assertEquals("Player-42", after.nextPlayerId());
+    }
+
+    @Test
+    @DisplayName("A stranger cannot join a restored session, so leaving cannot close it on its awaited players")
+    public void testStrangerCannotCloseRestoredSession() throws Exception {
+        String bobToken = interruptedGame();
+        VirtualClock clock = new VirtualClock(500_000);
+        SessionRegistry after = recoverableRegistry(clock);
+        after.enableRecovery(new RecoveryStore(recoveryDir), 60_000, 10_000);
+        ManagedSession restored = after.findResumable(bobToken);
+        assertEquals(3, restored.getSeatCount());
+
+        // Le nom de la session ne suffit pas pour y entrer, donc ni pour en sortir et la fermer
+        assertNull(after.join("session-7"));
+        assertEquals(3, restored.getSeatCount());
+        assertFalse(restored.isClosed());
+        assertEquals(1, after.getSessionCount());
+        assertSame(restored, after.findResumable(bobToken));
+
+        // Bob reprend le siège gardé pour lui, sans en réserver un autre
+        restored.resume(bobToken);
+        assertTrue(restored.claimAwaitedSeat("p2"));
+        assertEquals(3, restored.getSeatCount());
+        try (var files = Files.list(recoveryDir)) {
+            assertEquals(1, files.count());
+        }
+
+        // À l'échéance, les places des absents sont rendues : Bob reste seul dans la session
+        assertTrue(clock.advance());
+        assertEquals(1, restored.getSeatCount());
+        assertFalse(restored.isClosed());
+        assertNull(restored.getSession().getPlayer("p1"));
+        assertNotNull(restored.getSession().getPlayer("p2"));
+    }
+
+    @Test
+    @DisplayName("The first returning player leaving does not close a restored session that still awaits players")
+    public void testReturningPlayerLeavingKeepsRestoredSession() throws Exception {
+        String bobToken = interruptedGame();
+        VirtualClock clock = new VirtualClock(500_000);
+        SessionRegistry after = recoverableRegistry(clock);
+        after.enableRecovery(new RecoveryStore(recoveryDir), 60_000, 10_000);
+        ManagedSession restored = after.findResumable(bobToken);
+        restored.resume(bobToken);
+        assertTrue(restored.claimAwaitedSeat("p2"));
+
+        // Délai de grâce de Bob écoulé : sa place est rendue, celles des deux autres restent gardées
+        after.leave(restored);
+        assertFalse(restored.isClosed());
+        assertEquals(1, after.getSessionCount());
+        try (var files = Files.list(recoveryDir)) {
+            assertEquals(1, files.count());
+        }
+
+        // Personne d'autre n'est revenu : la session est abandonnée à l'échéance
+        assertTrue(clock.advance());
+        assertTrue(restored.isClosed());
+        assertEquals(0, after.getSessionCount());
+    }
+
+    @Test
+    @DisplayName("A restored session nobody rejoins is abandoned and its file deleted")
+    public void testUnclaimedSessionAbandoned() throws Exception {
+        interruptedGame();
+        VirtualClock clock = new VirtualClock(500_000);
+        SessionRegistry after = recoverableRegistry(clock);
+        after.enableRecovery(new RecoveryStore(recoveryDir), 60_000, 10);
+        assertEquals(1, after.getSessionCount());
+
+        assertTrue(clock.advance());
+
+        assertEquals(0, after.getSessionCount());
+        try (var files = Files.list(recoveryDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    // ============== RESUME TESTS ==============
+
+    @Test
+    @DisplayName("Resume tokens lead back to the player's seat until it is given up")
+    public void testResumeTokens() {
+        ManagedSession table = registry.join("table-1");
+        table.getGameManager().addPlayer("p1", "Alice");
+        String token = registry.issueResumeToken(table, "p1");
+
+        assertSame(table, registry.findResumable(token));
+        assertEquals("p1", table.resume(token));
+        assertNull(registry.findResumable("forged"));
+
+        registry.revokeResumeTokens(table, "p1");
+        assertNull(registry.findResumable(token));
+        assertNull(table.resume(token));
+    }
+
+    @Test
+    @DisplayName("A disconnected player keeps its seat until the grace window ends")
+    public void testGraceWindow() {
+        VirtualClock clock = new VirtualClock(0);
+        SessionRegistry graceful = recoverableRegistry(clock);
+        ManagedSession table = graceful.join("table-1");
+        table.getGameManager().addPlayer("p1", "Alice");
+        table.getGameManager().addPlayer("p2", "Bob");
+        String token = graceful.issueResumeToken(table, "p1");
+        int[] expired = new int[1];
+
+        table.detach("p1", 30_000, () -> expired[0]++);
+        assertTrue(table.isDetached("p1"));
+        assertEquals("p1", table.resume(token));
+        assertFalse(table.isDetached("p1"));
+        assertFalse(clock.advance(), "the removal is cancelled");
+        assertEquals(0, expired[0]);
+
+        table.detach("p2", 30_000, () -> expired[0]++);
+        assertTrue(clock.advance());
+        assertEquals(30_000, clock.currentTimeMillis());
+        assertEquals(1, expired[0]);
+        assertFalse(table.isDetached("p2"));
+    }
+
+    // ============== STATISTICS TESTS ==============
+
+    @Test
+    @DisplayName("Replacing the statistics service closes the previous one")
+    public void testStatsServiceReplacement() {
+        StatsService first = registry.getStatsService();
+        assertSame(first, registry.getStatsService(), "the default service is created once");
+
+        int[] closed = new int[1];
+        StatsService previous = new StatsService() {
+            @Override
+            public void close() {
+                closed[0]++;
+                super.close();
+            }
+        };
+        registry.setStatsService(previous);
+        registry.setStatsService(previous);
+        assertEquals(0, closed[0], "setting the same service again keeps it open");
+
+        StatsService replacement = new StatsService();
+        registry.setStatsService(replacement);
+        assertEquals(1, closed[0]);
+        assertSame(replacement, registry.getStatsService());
+        replacement.close();
+    }
+}
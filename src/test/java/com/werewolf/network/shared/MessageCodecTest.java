@@ -0,0 +1,166 @@
+package com.werewolf.network.shared;
+
+import com.werewolf.event.GameStateUpdate;
+import com.werewolf.game.GameState;
+import com.werewolf.game.Player;
+import com.werewolf.game.role.WerewolfRole;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MessageCodec Tests")
+public class MessageCodecTest {
+
+    private static Message roundTrip(Message message) throws IOException {
+        byte[] frame = MessageCodecs.BINARY.encode(message);
+        return MessageFraming.decode(Arrays.copyOfRange(frame, MessageFraming.HEADER_SIZE, frame.length));
+    }
+
+    private static GameStateUpdate sampleUpdate(int playerCount) {
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < playerCount; i++) {
+            Player player = new Player("Player-" + (50000 + i), "Joueur" + i);
+            player.setRole(new WerewolfRole());
+            players.add(player);
+        }
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("prompt", true);
+        metadata.put("killedPlayer", "Joueur3");
+        return new GameStateUpdate("La nuit tombe.", GameState.NIGHT, players, metadata);
+    }
+
+    // ============== ROUND-TRIP TESTS ==============
+
+    @Test
+    @DisplayName("Game state update round-trips without roles")
+    public void testGameStateUpdateRoundTrip() throws IOException {
+        GameStateUpdate update = sampleUpdate(3);
+        update.getAlivePlayers().get(1).setAlive(false);
+
+        Message decoded = roundTrip(new Message(MessageType.GAME_STATE_UPDATE, "Server", update));
+        GameStateUpdate copy = (GameStateUpdate) decoded.getContent();
+
+        assertEquals(MessageType.GAME_STATE_UPDATE, decoded.getType());
+        assertEquals("Server", decoded.getSender());
+        assertEquals("La nuit tombe.", copy.getMessage());
+        assertEquals(GameState.NIGHT, copy.getNewPhase());
+        assertEquals(3, copy.getAlivePlayers().size());
+        assertEquals("Player-50001", copy.getAlivePlayers().get(1).getId());
+        assertEquals("Joueur1", copy.getAlivePlayers().get(1).getUsername());
+        assertFalse(copy.getAlivePlayers().get(1).isAlive());
+        assertNull(copy.getAlivePlayers().get(0).getRole());
+        assertEquals(Boolean.TRUE, copy.getMetadata().get("prompt"));
+        assertEquals("Joueur3", copy.getMetadata().get("killedPlayer"));
+    }
+
+    @Test
+    @DisplayName("Sequenced deltas round-trip")
+    public void testDeltaRoundTrip() throws IOException {
+        Player joined = new Player("Player-7", "Gaston");
+        GameStateUpdate delta = GameStateUpdate.delta(42, "Bob est mort.", GameState.DAY_DISCUSSION,
+                List.of("Player-2"), List.of(joined), new HashMap<>());
+
+        GameStateUpdate copy = (GameStateUpdate) roundTrip(
+                new Message(MessageType.GAME_STATE_UPDATE, "Server", delta)).getContent();
+
+        assertTrue(copy.isDelta());
+        assertEquals(42, copy.getSequence());
+        assertEquals(List.of("Player-2"), copy.getRemovedPlayerIds());
+        assertEquals("Gaston", copy.getAddedPlayers().get(0).getUsername());
+        assertNull(copy.getAlivePlayers());
+    }
+
+    @Test
+    @DisplayName("Commands, join requests and player lists round-trip")
+    public void testProtocolContentsRoundTrip() throws IOException {
+        GameCommand command = new GameCommand("VOTE", "Player-2");
+        command.addMetadata("round", 3);
+        GameCommand commandCopy = (GameCommand) roundTrip(new Message(MessageType.VOTE, "Alice", command)).getContent();
+        assertEquals("VOTE", commandCopy.getActionType());
+        assertEquals("Player-2", commandCopy.getTargetPlayerId());
+        assertEquals(3, commandCopy.getMetadata().get("round"));
+
+        JoinGameRequest join = (JoinGameRequest) roundTrip(
+                new Message(MessageType.JOIN_GAME, "Bob", new JoinGameRequest("Bob", "table-1"))).getContent();
+        assertEquals("Bob", join.getUsername());
+        assertEquals("table-1", join.getSessionId());
+
+        PlayerListUpdate list = (PlayerListUpdate) roundTrip(new Message(MessageType.PLAYER_LIST_UPDATE, "Server",
+                new PlayerListUpdate(List.of("Alice", "Bob"), "Alice"))).getContent();
+        assertEquals(List.of("Alice", "Bob"), list.getPlayerNames());
+        assertEquals("Alice", list.getAdminName());
+    }
+
+    @Test
+    @DisplayName("Nested metadata maps and null values round-trip")
+    public void testNestedMetadataRoundTrip() throws IOException {
+        Map<String, String> roles = new HashMap<>();
+        roles.put("Alice", "Loup-Garou");
+        roles.put("Bob", "Villageois");
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("roles", roles);
+        metadata.put("winner", null);
+
+        GameStateUpdate copy = (GameStateUpdate) roundTrip(new Message(MessageType.GAME_STATE_UPDATE, "Server",
+                new GameStateUpdate("Fin", GameState.GAME_OVER, null, metadata))).getContent();
+
+        assertNull(copy.getAlivePlayers());
+        assertEquals(roles, copy.getMetadata().get("roles"));
+        assertTrue(copy.getMetadata().containsKey("winner"));
+    }
+
+    // ============== SIZE TESTS ==============
+
+    @Test
+    @DisplayName("Binary frame is several times smaller than Java serialization")
+    public void testBinaryIsCompact() throws IOException {
+        Message message = new Message(MessageType.GAME_STATE_UPDATE, "Server", sampleUpdate(10));
+
+        int binary = MessageCodecs.BINARY.encode(message).length;
+        int serialized = MessageCodecs.JAVA.encode(message).length;
+
+        assertTrue(binary * 4 < serialized, "binary=" + binary + " serialized=" + serialized);
+    }
+
+    // ============== REJECTION TESTS ==============
+
+    @Test
+    @DisplayName("A forged length near Integer.MAX_VALUE is rejected as an IOException")
+    public void testRejectsOverflowingLength() {
+        // Chaîne de l'expéditeur annoncée à 0x7FFFFFFE octets : position + taille déborde
+        byte[] forgedString = { BinaryMessageCodec.VERSION, 0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07, 0, 0, 0 };
+        // Taille négative une fois décrémentée (0x80000000 - 1)
+        byte[] minLength = { BinaryMessageCodec.VERSION, 0, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x08, 0, 0 };
+
+        assertThrows(IOException.class, () -> MessageFraming.decode(forgedString));
+        assertThrows(IOException.class, () -> MessageFraming.decode(minLength));
+    }
+
+    @Test
+    @DisplayName("Truncated, unknown or foreign frames are rejected")
+    public void testRejectsMalformedFrames() throws IOException {
+        byte[] frame = MessageCodecs.BINARY.encode(new Message(MessageType.CHAT, "Alice", "Bonjour"));
+        byte[] truncated = Arrays.copyOfRange(frame, MessageFraming.HEADER_SIZE, frame.length - 2);
+
+        assertThrows(IOException.class, () -> MessageFraming.decode(truncated));
+        assertThrows(IOException.class, () -> MessageFraming.decode(new byte[] { BinaryMessageCodec.VERSION, 0, 0, 99 }));
+        assertThrows(IOException.class, () -> MessageFraming.decode(new byte[] { 42, 1, 2 }));
+    }
+
+    @Test
+    @DisplayName("Negotiation picks the first supported codec")
+    public void testChooseCodec() {
+        assertSame(MessageCodecs.BINARY, MessageCodecs.choose(MessageCodecs.CLIENT_OFFER, false));
+        assertSame(MessageCodecs.JAVA, MessageCodecs.choose("java", true));
+        assertNull(MessageCodecs.choose("java", false));
+        assertNull(MessageCodecs.choose("xml/2", true));
+    }
+}
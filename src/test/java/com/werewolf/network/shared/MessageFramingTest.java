@@ -0,0 +1,59 @@
+package com.werewolf.network.shared;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MessageFraming Tests")
+public class MessageFramingTest {
+
+    @Test
+    @DisplayName("Frame round-trips through a stream")
+    public void testStreamRoundTrip() throws IOException {
+        byte[] frame = MessageFraming.encode(new Message(MessageType.CHAT, "Alice", "Bonjour"));
+
+        Message decoded = MessageFraming.read(new DataInputStream(new ByteArrayInputStream(frame)));
+
+        assertEquals(MessageType.CHAT, decoded.getType());
+        assertEquals("Alice", decoded.getSender());
+        assertEquals("Bonjour", decoded.getContent());
+    }
+
+    @Test
+    @DisplayName("Decoder rebuilds frames delivered one byte at a time")
+    public void testDecoderByteByByte() throws IOException {
+        byte[] first = MessageFraming.encode(new Message(MessageType.PING, "a", "1"));
+        byte[] second = MessageFraming.encode(new Message(MessageType.PONG, "b", "2"));
+        byte[] stream = new byte[first.length + second.length];
+        System.arraycopy(first, 0, stream, 0, first.length);
+        System.arraycopy(second, 0, stream, first.length, second.length);
+
+        FrameDecoder decoder = new FrameDecoder();
+        List<Message> received = new ArrayList<>();
+        for (byte b : stream) {
+            decoder.feed(ByteBuffer.wrap(new byte[] { b }), payload -> received.add(MessageFraming.decode(payload)));
+        }
+
+        assertEquals(2, received.size());
+        assertEquals(MessageType.PING, received.get(0).getType());
+        assertEquals(MessageType.PONG, received.get(1).getType());
+        assertFalse(decoder.hasPartialFrame());
+    }
+
+    @Test
+    @DisplayName("Oversized frame length is rejected")
+    public void testRejectsOversizedFrame() {
+        ByteBuffer header = ByteBuffer.allocate(4).putInt(MessageFraming.MAX_FRAME_SIZE + 1);
+        header.flip();
+
+        assertThrows(IOException.class, () -> new FrameDecoder().feed(header, payload -> fail("No frame expected")));
+    }
+}
@@ -0,0 +1,95 @@
+package com.werewolf.simulation;
+
+import com.werewolf.game.Timeout;
+import com.werewolf.game.role.Faction;
+import com.werewolf.game.role.RoleRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Simulation Tests")
+public class SimulationTest {
+
+    // ============== VIRTUAL CLOCK TESTS ==============
+
+    @Test
+    @DisplayName("The virtual clock jumps to each deadline in order")
+    public void testVirtualClock() {
+        VirtualClock clock = new VirtualClock();
+        List<String> fired = new ArrayList<>();
+
+        clock.schedule(() -> fired.add("b"), 45_000);
+        Timeout cancelled = clock.schedule(() -> fired.add("x"), 10_000);
+        clock.schedule(() -> fired.add("a"), 30_000);
+        assertTrue(cancelled.cancel());
+
+        assertTrue(clock.advance());
+        assertEquals(30_000, clock.currentTimeMillis());
+        assertTrue(clock.advance());
+        assertEquals(45_000, clock.currentTimeMillis());
+        assertFalse(clock.advance());
+        assertEquals(List.of("a", "b"), fired);
+    }
+
+    // ============== GAME TESTS ==============
+
+    @Test
+    @DisplayName("Simulated games always reach a winner")
+    public void testGamesFinish() {
+        GameSimulator simulator = new GameSimulator();
+        for (int i = 0; i < 300; i++) {
+            int players = 3 + i % 14;
+            GameResult result = simulator.play(players, i);
+
+            assertNotNull(result.getWinner(), result.toString());
+            assertTrue(result.getNights() >= 1);
+            // Le temps de jeu s'écoule sur l'horloge virtuelle, pas en temps réel
+            assertTrue(result.getDurationMs() >= 0);
+        }
+    }
+
+    @Test
+    @DisplayName("Three players always end with werewolf parity after the first night")
+    public void testSmallestTable() {
+        GameResult result = new GameSimulator().play(3, 1);
+
+        assertEquals(Faction.WEREWOLVES, result.getWinner());
+        assertEquals(1, result.getNights());
+    }
+
+    // ============== RUNNER TESTS ==============
+
+    @Test
+    @DisplayName("The fork-join runner covers every game and merges the reports")
+    public void testRunner() {
+        SimulationRunner runner = new SimulationRunner(new GameSimulator(), 4, 9, 99);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            SimulationReport report = runner.run(3_000, pool);
+
+            assertEquals(3_000, report.getGames());
+            assertEquals(0, report.getUnfinished());
+            for (int players = 4; players <= 9; players++) {
+                assertEquals(500, report.getGames(players));
+                assertEquals(500, report.getWins(players, Faction.VILLAGE) + report.getWins(players, Faction.WEREWOLVES));
+            }
+            assertTrue(report.format(RoleRegistry.getDefault()).contains("2 Werewolf, Seer, Medic, 4 Villager"));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Composition labels follow the registry")
+    public void testComposition() {
+        RoleRegistry roles = RoleRegistry.getDefault();
+
+        assertEquals("Werewolf, 2 Villager", SimulationReport.composition(roles, 3));
+        assertEquals("3 Werewolf, Seer, Medic, 7 Villager", SimulationReport.composition(roles, 12));
+    }
+}